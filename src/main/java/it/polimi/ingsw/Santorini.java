@@ -2,8 +2,11 @@ package it.polimi.ingsw;
 
 import it.polimi.ingsw.client.cli.CLI;
 import it.polimi.ingsw.client.gui.GUI;
+import it.polimi.ingsw.client.replay.ReplayRecorder;
 import it.polimi.ingsw.server.Server;
 
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.InputMismatchException;
 import java.util.Scanner;
 
@@ -16,13 +19,17 @@ import java.util.Scanner;
 public class Santorini {
 
     /**
-     * Method main selects CLI, GUI or Server based on the arguments provided.
+     * Method main selects CLI, GUI or Server based on the arguments provided. The --record option makes the clients
+     * save their matches into replay files.
      *
      * @param args of type String[]
      */
     public static void main(String[] args){
+        if (args != null && Arrays.asList(args).contains("--record")) {
+            System.setProperty(ReplayRecorder.RECORD_PROPERTY, "true");
+        }
         System.out.println("Hi! Welcome to Santorini!\nWhat do you want to launch?");
-        System.out.println("0. SERVER\n1. CLIENT (CLI INTERFACE)\n2. CLIENT (GUI INTERFACE)");
+        System.out.println("0. SERVER\n1. CLIENT (CLI INTERFACE)\n2. CLIENT (GUI INTERFACE)\n3. REPLAY VIEWER");
         System.out.println("\n>Type the number of the desired option!");
         System.out.print(">");
         Scanner scanner = new Scanner(System.in);
@@ -40,7 +47,31 @@ public class Santorini {
                 System.out.println("You selected the GUI interface, have fun!\nStarting...");
                 GUI.main(null);
             }
+            case 3 -> replay(scanner);
             default -> System.err.println("Invalid argument, please run the executable again with one of these options:\n1.server\n2.client");
         }
     }
+
+    /**
+     * Method replay asks for a recorded match and the interface to watch it with.
+     *
+     * @param scanner of type Scanner - the standard input scanner.
+     */
+    private static void replay(Scanner scanner) {
+        System.out.println(">Insert the replay file name (matches recorded with the --record option are saved " +
+                "into the \"" + ReplayRecorder.DIRECTORY + "\" folder)");
+        System.out.print(">");
+        scanner.nextLine();
+        Path file = Path.of(scanner.nextLine().trim());
+        if (!file.toFile().exists()) {
+            file = ReplayRecorder.DIRECTORY.resolve(file);
+        }
+        System.out.println(">Type 1 to watch it on the CLI, 2 on the GUI");
+        System.out.print(">");
+        if (scanner.nextLine().trim().equals("2")) {
+            GUI.main(new String[] {"--replay=" + file});
+        } else {
+            CLI.replay(file);
+        }
+    }
 }
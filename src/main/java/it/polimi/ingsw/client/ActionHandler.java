@@ -6,16 +6,20 @@ import it.polimi.ingsw.client.gui.controllers.MainGuiController;
 import it.polimi.ingsw.constants.Constants;
 import it.polimi.ingsw.constants.Couple;
 import it.polimi.ingsw.constants.Move;
+import it.polimi.ingsw.model.Card;
 import it.polimi.ingsw.model.player.Action;
+import it.polimi.ingsw.model.rules.Position;
+import it.polimi.ingsw.model.rules.Rules;
 import it.polimi.ingsw.server.answers.*;
 import it.polimi.ingsw.server.answers.turn.EndTurnMessage;
 import it.polimi.ingsw.server.answers.turn.ModifiedTurnMessage;
 import it.polimi.ingsw.server.answers.turn.StartTurnMessage;
 import it.polimi.ingsw.server.answers.turn.WorkersRequestMessage;
 import it.polimi.ingsw.server.answers.worker.*;
-import javafx.application.Platform;
 
 import java.beans.PropertyChangeSupport;
+import java.util.List;
+import java.util.Map;
 
 /**
  * ActionHandler class handles the answers from the server notifying the correct part of the GUI or
@@ -34,6 +38,9 @@ public class ActionHandler {
   private final PropertyChangeSupport view = new PropertyChangeSupport(this);
   private CLI cli;
   private GUI gui;
+  private Action previewAction;
+  private List<Couple> previewSpaces;
+  private boolean previewShown;
 
   /**
    * Constructor of the ActionHandler in case players are using the CLI.
@@ -245,25 +252,146 @@ public class ActionHandler {
   }
 
   /**
-   * Method fireSelectSpaces fires selected spaces from the answer to modelView and updates CLI.
+   * Method preparePreview computes, before a select move or select build request is sent, the
+   * spaces the server is going to answer with, using the shared rules on the client board. The
+   * spaces are computed only when they're sure to match the server ones: the first move of the
+   * turn, unless an opponent plays Athena (whose power is not tracked by the client), and the
+   * first build.
+   *
+   * @param action of type Action - the select action being sent.
+   */
+  public synchronized void preparePreview(Action action) {
+    clearPreview();
+    if (modelView.getGod() == null) {
+      return;
+    }
+    Card god = Card.parseInput(modelView.getGod());
+    Position position = modelView.getBoard().toPosition();
+    int worker =
+        modelView
+            .getBoard()
+            .getWorkerIndex(Position.colorId(modelView.getColor()), modelView.getActiveWorker());
+    if (worker < 0) {
+      return;
+    }
+    int spaces;
+    if (action.equals(Action.SELECT_MOVE)
+        && modelView.getTurnPhase() == 0
+        && !opponentPlays(Card.ATHENA)) {
+      spaces = Rules.moves(position, worker, god, true);
+    } else if (action.equals(Action.SELECT_BUILD)
+        && (modelView.getTurnPhase() == 1 || god == Card.PROMETHEUS)) {
+      spaces = Rules.builds(position, worker, god);
+    } else {
+      return;
+    }
+    if (spaces != 0) {
+      previewAction = action;
+      previewSpaces = Rules.toCouples(spaces);
+    }
+  }
+
+  /**
+   * Method showPreview applies the prepared preview as if the server answer was received, so the
+   * views can show the selectable spaces without waiting for the server. It has no effect if no
+   * preview was prepared or the answer has already been received.
+   */
+  public synchronized void showPreview() {
+    if (previewSpaces != null && !previewShown) {
+      previewShown = true;
+      applySelectSpaces(previewAction, previewSpaces);
+    }
+  }
+
+  /** Method clearPreview discards the current preview. */
+  private void clearPreview() {
+    previewAction = null;
+    previewSpaces = null;
+    previewShown = false;
+  }
+
+  /**
+   * Method opponentPlays returns true if an opponent plays the provided god.
+   *
+   * @param god of type Card - the god.
+   * @return boolean true if an opponent plays it, false otherwise.
+   */
+  private boolean opponentPlays(Card god) {
+    if (modelView.getPlayerMapGod() == null) {
+      return true;
+    }
+    for (Map.Entry<String, String> entry : modelView.getPlayerMapGod().entrySet()) {
+      if (!entry.getKey().equalsIgnoreCase(modelView.getPlayerName())
+          && god.toString().equalsIgnoreCase(entry.getValue())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Method sameSpaces returns true if two lists contain the same coordinates in the same order.
+   *
+   * @param first of type List&lt;Couple&gt; - the first list.
+   * @param second of type List&lt;Couple&gt; - the second list.
+   * @return boolean true if the lists match, false otherwise.
+   */
+  private static boolean sameSpaces(List<Couple> first, List<Couple> second) {
+    if (second == null || first.size() != second.size()) {
+      return false;
+    }
+    for (int i = 0; i < first.size(); i++) {
+      if (first.get(i).getRow() != second.get(i).getRow()
+          || first.get(i).getColumn() != second.get(i).getColumn()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Method fireSelectSpaces fires selected spaces from the answer to modelView and updates CLI. If
+   * the answer has already been applied by a preview, the views are updated only if the server
+   * spaces differ from the previewed ones.
    *
    * @param answer of type SelectSpacesMessage - the answer received from the server.
    */
-  private void fireSelectSpaces(SelectSpacesMessage answer) {
-    modelView.setSelectSpaces(answer.getMessage());
+  private synchronized void fireSelectSpaces(SelectSpacesMessage answer) {
+    if (previewShown && answer.getAction().equals(previewAction)) {
+      List<Couple> preview = previewSpaces;
+      clearPreview();
+      if (!sameSpaces(preview, answer.getMessage())) {
+        modelView.setSelectSpaces(answer.getMessage());
+        boolean build = answer.getAction().equals(Action.SELECT_BUILD);
+        view.firePropertyChange(SELECT, new boolean[] {!build, build, false}, null);
+      }
+      return;
+    }
+    clearPreview();
+    applySelectSpaces(answer.getAction(), answer.getMessage());
+  }
+
+  /**
+   * Method applySelectSpaces stores the selectable spaces into modelView and updates the views.
+   *
+   * @param action of type Action - the select action.
+   * @param spaces of type List&lt;Couple&gt; - the selectable spaces.
+   */
+  private void applySelectSpaces(Action action, List<Couple> spaces) {
+    modelView.setSelectSpaces(spaces);
     modelView.activateInput();
-    if (answer.getAction().equals(Action.SELECT_BUILD)) {
+    if (action.equals(Action.SELECT_BUILD)) {
       checkTurnActive();
       view.firePropertyChange(SELECT, new boolean[] {false, true, false}, null);
-    } else if (answer.getAction().equals(Action.SELECT_MOVE)) {
+    } else if (action.equals(Action.SELECT_MOVE)) {
       checkTurnActive();
       view.firePropertyChange(SELECT, new boolean[] {true, false, false}, null);
-    } else if (answer.getAction().equals(Action.SELECT_FORCE_WORKER)) {
+    } else if (action.equals(Action.SELECT_FORCE_WORKER)) {
       checkTurnActive();
       modelView.setGodPowerActive(true);
       view.firePropertyChange(SELECT, new boolean[] {false, false, false, true}, null);
       return;
-    } else if (answer.getAction().equals(Action.SELECT_REMOVE)) {
+    } else if (action.equals(Action.SELECT_REMOVE)) {
       checkTurnActive();
       modelView.setGodPowerActive(true);
       view.firePropertyChange(SELECT, new boolean[] {false, false, false, true}, null);
@@ -344,7 +472,7 @@ public class ActionHandler {
       if (cli != null) {
         view.firePropertyChange(FIRST_BOARD_UPDATE, null, null);
       } else if (gui != null) {
-        Platform.runLater(
+        gui.postUpdate(
             () -> {
               ((MainGuiController) gui.getControllerFromName(MAIN_SCENE_FXML))
                   .setWorker(message.getWorker1().getRow(), message.getWorker1().getColumn());
@@ -425,7 +553,11 @@ public class ActionHandler {
    *
    * @param answer of type Answer - the answer from the server.
    */
-  private void fireGameError(Answer answer) {
+  private synchronized void fireGameError(Answer answer) {
+    if (previewShown) {
+      modelView.setTurnPhase(modelView.getTurnPhase() - 1);
+    }
+    clearPreview();
     modelView.activateInput();
     view.firePropertyChange("gameError", null, answer);
   }
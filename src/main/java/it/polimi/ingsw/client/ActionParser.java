@@ -3,7 +3,15 @@ package it.polimi.ingsw.client;
 import it.polimi.ingsw.client.messages.actions.ChallengerPhaseAction;
 import it.polimi.ingsw.client.messages.actions.UserAction;
 import it.polimi.ingsw.client.messages.actions.turnactions.EndTurnAction;
+import it.polimi.ingsw.client.messages.actions.turnactions.HintAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.BuildAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.MoveAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.PackedAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.SelectBuildAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.SelectMoveAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.WorkerAction;
 import it.polimi.ingsw.constants.Constants;
+import it.polimi.ingsw.model.player.Action;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
@@ -21,16 +29,20 @@ public class ActionParser implements PropertyChangeListener {
     private final ConnectionSocket connection;
     private final ModelView modelView;
     private final InputChecker inputChecker;
+    private final ActionHandler actionHandler;
 
     /**
      * Constructor ActionParser creates a new ActionParser instance.
      *
      * @param connection of type ConnectionSocket - the socket used for the connection.
      * @param modelView of type ModelView - the structure, stored into the client, containing simple logic of the model.
+     * @param actionHandler of type ActionHandler - the handler of the server answers, which previews the selectable
+     *                      spaces.
      */
-    public ActionParser(ConnectionSocket connection, ModelView modelView) {
+    public ActionParser(ConnectionSocket connection, ModelView modelView, ActionHandler actionHandler) {
         this.connection = connection;
         this.modelView = modelView;
+        this.actionHandler = actionHandler;
         inputChecker = new InputChecker(connection, modelView);
     }
 
@@ -102,7 +114,7 @@ public class ActionParser implements PropertyChangeListener {
     /**
      * Synchronized action method, called when a player inserts a command in the CLI interface, manages its selection
      * before sending it to the server through the socket. It also performs an initial check of the rightness of the
-     * captured command.
+     * captured command. Moves and builds are sent as a PackedAction of the active worker.
      * @param input of type String - the input from the player.
      * @return boolean true if sendMessage != null, false otherwise.
      */
@@ -128,6 +140,7 @@ public class ActionParser implements PropertyChangeListener {
                 case "FORCEWORKER" -> sendMessage = checkForceWorker(in, modelView.getTurnPhase());
                 case "REMOVELEVEL" -> sendMessage = checkRemoveLevel(in, modelView.getTurnPhase());
                 case "END" -> sendMessage = new EndTurnAction();
+                case "HINT" -> sendMessage = new HintAction();
                 case "QUIT" -> {
                     inputChecker.quit();
                     return true;
@@ -145,6 +158,13 @@ public class ActionParser implements PropertyChangeListener {
             return false;
         }
         if (sendMessage != null) {
+            if (sendMessage instanceof SelectMoveAction) {
+                actionHandler.preparePreview(Action.SELECT_MOVE);
+            } else if (sendMessage instanceof SelectBuildAction) {
+                actionHandler.preparePreview(Action.SELECT_BUILD);
+            } else if (sendMessage instanceof MoveAction || sendMessage instanceof BuildAction) {
+                sendMessage = PackedAction.of(modelView.getActiveWorker(), (WorkerAction) sendMessage);
+            }
             connection.send(sendMessage);
             return true;
         }
@@ -186,6 +206,7 @@ public class ActionParser implements PropertyChangeListener {
             System.out.println(RED + "Error: not your turn!" + RST);
         } else if (action(evt.getNewValue().toString())) {
             modelView.deactivateInput();
+            actionHandler.showPreview();
         } else {
             modelView.activateInput();
         }
@@ -3,14 +3,26 @@ package it.polimi.ingsw.client;
 import it.polimi.ingsw.constants.Constants;
 import it.polimi.ingsw.constants.Couple;
 import it.polimi.ingsw.model.player.Action;
+import it.polimi.ingsw.model.player.PlayerColors;
+import it.polimi.ingsw.model.rules.Position;
+
+import java.util.Arrays;
 
 /**
- * ClientBoard class is a simplified representation of the gameBoard in model.
+ * ClientBoard class is a simplified representation of the gameBoard in model. It also keeps track
+ * of the cells changed since the last time the board has been drawn, so views can redraw only
+ * those ones, and indexes the cell of every worker by color ordinal and worker number, so finding a
+ * worker doesn't need to scan the grid.
  *
  * @author Alice Piemonti
  */
 public class ClientBoard {
+  private static final int ALL_CELLS =
+      (1 << (Constants.GRID_MAX_SIZE * Constants.GRID_MAX_SIZE)) - 1;
+  private static final int NO_CELL = -1;
   private final Cell[][] grid;
+  private final int[][] workerCells;
+  private int dirtyCells = ALL_CELLS;
 
   /** Constructor ClientBoard creates a new ClientBoard instance. */
   public ClientBoard() {
@@ -20,6 +32,10 @@ public class ClientBoard {
         grid[i][j] = new Cell();
       }
     }
+    workerCells = new int[PlayerColors.values().length + 1][3];
+    for (int[] cells : workerCells) {
+      Arrays.fill(cells, NO_CELL);
+    }
   }
 
   /**
@@ -31,6 +47,96 @@ public class ClientBoard {
     return grid;
   }
 
+  /**
+   * Method toPosition returns a packed snapshot of this board, used to apply the game rules on the
+   * client.
+   *
+   * @return Position - the snapshot.
+   */
+  public Position toPosition() {
+    Position position = new Position();
+    for (int row = Constants.GRID_MIN_SIZE; row < Constants.GRID_MAX_SIZE; row++) {
+      for (int col = Constants.GRID_MIN_SIZE; col < Constants.GRID_MAX_SIZE; col++) {
+        int index = Position.index(row, col);
+        Cell cell = grid[row][col];
+        position.setHeight(index, cell.getLevel());
+        position.setDome(index, cell.isDome());
+        if (cell.getColor() != null) {
+          position.setWorker(index, Position.colorId(cell.getColor()), cell.getWorkerNum());
+        }
+      }
+    }
+    return position;
+  }
+
+  /**
+   * Method load replaces the content of every cell with the one of a packed snapshot, as taken by
+   * toPosition.
+   *
+   * @param position of type Position - the snapshot.
+   */
+  public void load(Position position) {
+    for (int row = Constants.GRID_MIN_SIZE; row < Constants.GRID_MAX_SIZE; row++) {
+      for (int col = Constants.GRID_MIN_SIZE; col < Constants.GRID_MAX_SIZE; col++) {
+        int index = Position.index(row, col);
+        grid[row][col].setLevel(position.getHeight(index));
+        grid[row][col].setDome(position.isDome(index));
+        if (position.isOccupied(index)) {
+          String color = PlayerColors.values()[position.getColorId(index) - 1].name();
+          place(row, col, color, position.getWorkerNum(index));
+        } else {
+          place(row, col, null, 0);
+        }
+      }
+    }
+  }
+
+  /**
+   * Method removeWorkers removes from the board the workers of a player.
+   *
+   * @param color of type String - the player's color.
+   */
+  public void removeWorkers(String color) {
+    for (int row = Constants.GRID_MIN_SIZE; row < Constants.GRID_MAX_SIZE; row++) {
+      for (int col = Constants.GRID_MIN_SIZE; col < Constants.GRID_MAX_SIZE; col++) {
+        if (getColor(row, col) != null && getColor(row, col).equalsIgnoreCase(color)) {
+          place(row, col, null, 0);
+        }
+      }
+    }
+  }
+
+  /**
+   * Method markDirty marks a cell as changed since the last draw.
+   *
+   * @param row of type int - the cell's row.
+   * @param col of type int - the cell's column.
+   */
+  public void markDirty(int row, int col) {
+    dirtyCells |= 1 << (row * Constants.GRID_MAX_SIZE + col);
+  }
+
+  /** Method markAllDirty marks every cell as changed, forcing a full redraw. */
+  public void markAllDirty() {
+    dirtyCells = ALL_CELLS;
+  }
+
+  /**
+   * Method isDirty checks if a cell has changed since the last draw.
+   *
+   * @param row of type int - the cell's row.
+   * @param col of type int - the cell's column.
+   * @return boolean true if the cell has to be redrawn, false otherwise.
+   */
+  public boolean isDirty(int row, int col) {
+    return (dirtyCells & 1 << (row * Constants.GRID_MAX_SIZE + col)) != 0;
+  }
+
+  /** Method clearDirty marks every cell as drawn. */
+  public void clearDirty() {
+    dirtyCells = 0;
+  }
+
   /**
    * Method setWorkerNum sets the worker's number into the selected cell.
    *
@@ -39,7 +145,7 @@ public class ClientBoard {
    * @param num of type int - the worker's number
    */
   public void setWorkerNum(int row, int col, int num) {
-    grid[row][col].setWorkerNum(num);
+    place(row, col, grid[row][col].getColor(), num);
   }
 
   /**
@@ -61,7 +167,34 @@ public class ClientBoard {
    * @param color of type String - the player's color.
    */
   public void setColor(int row, int col, String color) {
-    grid[row][col].setColor(color);
+    place(row, col, color, grid[row][col].getWorkerNum());
+  }
+
+  /**
+   * Method place sets the worker standing on a cell, keeping the worker index up to date. The index
+   * entry of the previous worker is cleared only if it still points to this cell, so swapping
+   * workers gives the same index whatever the order the cells are updated in.
+   *
+   * @param row of type int - the cell's row.
+   * @param col of type int - the cell's column.
+   * @param color of type String - the worker's color, null if the cell gets empty.
+   * @param num of type int - the worker's number, 0 if the cell gets empty.
+   */
+  private void place(int row, int col, String color, int num) {
+    Cell cell = grid[row][col];
+    int index = Position.index(row, col);
+    if (cell.getColor() != null && cell.getWorkerNum() > 0) {
+      int[] cells = workerCells[Position.colorId(cell.getColor())];
+      if (cells[cell.getWorkerNum()] == index) {
+        cells[cell.getWorkerNum()] = NO_CELL;
+      }
+    }
+    cell.setColor(color);
+    cell.setWorkerNum(num);
+    if (color != null && num > 0) {
+      workerCells[Position.colorId(color)][num] = index;
+    }
+    markDirty(row, col);
   }
 
   /**
@@ -69,19 +202,25 @@ public class ClientBoard {
    *
    * @param color of type String - worker's color
    * @param workerNum of type int - the number identifying worker.
-   * @return of type Couple - worker's position.
+   * @return of type Couple - worker's position, null if the worker is not on the board.
    */
   public Couple getWorkerPosition(String color, int workerNum) {
-    for (int row = Constants.GRID_MIN_SIZE; row < Constants.GRID_MAX_SIZE; row++) {
-      for (int col = Constants.GRID_MIN_SIZE; col < Constants.GRID_MAX_SIZE; col++) {
-        if (getColor(row, col) != null
-            && getColor(row, col).equals(color)
-            && getWorkerNum(row, col) == workerNum) {
-          return new Couple(row, col);
-        }
-      }
+    int index = getWorkerIndex(Position.colorId(color), workerNum);
+    return index == NO_CELL ? null : new Couple(Position.row(index), Position.col(index));
+  }
+
+  /**
+   * Method getWorkerIndex gets the index of the cell where a worker stands.
+   *
+   * @param colorId of type int - the worker's color id (see Position.colorId).
+   * @param workerNum of type int - the number identifying worker.
+   * @return int - the cell index, -1 if the worker is not on the board.
+   */
+  public int getWorkerIndex(int colorId, int workerNum) {
+    if (workerNum < 1 || workerNum > 2) {
+      return NO_CELL;
     }
-    return null;
+    return workerCells[colorId][workerNum];
   }
 
   /**
@@ -117,10 +256,8 @@ public class ClientBoard {
   public void move(int oldRow, int oldCol, int newRow, int newCol) {
     String color = grid[oldRow][oldCol].getColor();
     int num = grid[oldRow][oldCol].getWorkerNum();
-    grid[oldRow][oldCol].setColor(null);
-    grid[oldRow][oldCol].setWorkerNum(0);
-    grid[newRow][newCol].setColor(color);
-    grid[newRow][newCol].setWorkerNum(num);
+    place(oldRow, oldCol, null, 0);
+    place(newRow, newCol, color, num);
   }
 
   /**
@@ -150,8 +287,7 @@ public class ClientBoard {
   public void minotaurDoubleMove(
       int oldRow1, int oldCol1, int oldRow2, int oldCol2, int newRow2, int newCol2) {
     setWorkerNumColors(oldRow1, oldCol1, oldRow2, oldCol2, newRow2, newCol2);
-    grid[oldRow1][oldCol1].setColor(null);
-    grid[oldRow1][oldCol1].setWorkerNum(0);
+    place(oldRow1, oldCol1, null, 0);
   }
 
   /**
@@ -170,10 +306,8 @@ public class ClientBoard {
     String color2 = grid[oldRow2][oldCol2].getColor();
     int num1 = grid[oldRow1][oldCol1].getWorkerNum();
     int num2 = grid[oldRow2][oldCol2].getWorkerNum();
-    grid[newRow2][newCol2].setColor(color2);
-    grid[newRow2][newCol2].setWorkerNum(num2);
-    grid[oldRow2][oldCol2].setColor(color1);
-    grid[oldRow2][oldCol2].setWorkerNum(num1);
+    place(newRow2, newCol2, color2, num2);
+    place(oldRow2, oldCol2, color1, num1);
   }
 
   /**
@@ -191,5 +325,6 @@ public class ClientBoard {
     } else if (dome || grid[row][col].getLevel() == 3) {
       grid[row][col].setDome(true);
     } else grid[row][col].addLevel();
+    markDirty(row, col);
   }
 }
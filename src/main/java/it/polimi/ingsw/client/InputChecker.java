@@ -404,17 +404,7 @@ public class InputChecker {
    * @return Couple - the correct worker's position, null otherwise.
    */
   private Couple findWorker(int activeWorker, String color) {
-    Couple couple;
-    for (int row = 0; row < Constants.GRID_MAX_SIZE; row++) {
-      for (int column = 0; column < Constants.GRID_MAX_SIZE; column++) {
-        if (modelView.getBoard().getGrid()[row][column].getWorkerNum() == activeWorker
-            && modelView.getBoard().getGrid()[row][column].getColor().equals(color)) {
-          couple = new Couple(row, column);
-          return couple;
-        }
-      }
-    }
-    return null;
+    return modelView.getBoard().getWorkerPosition(color, activeWorker);
   }
 
   /**
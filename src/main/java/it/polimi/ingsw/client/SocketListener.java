@@ -1,5 +1,6 @@
 package it.polimi.ingsw.client;
 
+import it.polimi.ingsw.client.replay.ReplayRecorder;
 import it.polimi.ingsw.server.answers.SerializedAnswer;
 
 import java.beans.PropertyChangeEvent;
@@ -11,7 +12,7 @@ import java.util.logging.Logger;
 
 /**
  * Method SocketListeners listens for a server answer on the socket, passing it to the client model
- * class.
+ * class. If recording is enabled, the board answers are also saved into a replay file.
  *
  * @author Luca Pirovano
  * @see Runnable
@@ -23,6 +24,8 @@ public class SocketListener implements Runnable {
   private final ActionHandler actionHandler;
   private final Logger logger = Logger.getLogger(getClass().getName());
   private final ObjectInputStream inputStream;
+  private final ReplayRecorder recorder =
+      ReplayRecorder.isEnabled() ? new ReplayRecorder(ReplayRecorder.DIRECTORY) : null;
 
   /**
    * Constructor SocketListener creates a new SocketListener instance.
@@ -50,6 +53,9 @@ public class SocketListener implements Runnable {
    * @param serverMessage of type SerializedAnswer - the serialized answer.
    */
   public void process(SerializedAnswer serverMessage) {
+    if (recorder != null) {
+      recorder.record(serverMessage.getServerAnswer(), modelView.getPlayerName());
+    }
     modelView.setServerAnswer(serverMessage.getServerAnswer());
     actionHandler.answerHandler();
   }
@@ -76,6 +82,9 @@ public class SocketListener implements Runnable {
     } catch (ClassNotFoundException e) {
       System.err.println(e.getMessage());
     } finally {
+      if (recorder != null) {
+        recorder.close();
+      }
       try {
         inputStream.close();
         socket.close();
@@ -3,6 +3,8 @@ package it.polimi.ingsw.client.cli;
 import it.polimi.ingsw.client.*;
 import it.polimi.ingsw.client.messages.ChosenColor;
 import it.polimi.ingsw.client.messages.NumberOfPlayers;
+import it.polimi.ingsw.client.replay.Replay;
+import it.polimi.ingsw.client.replay.ReplayPlayer;
 import it.polimi.ingsw.constants.Constants;
 import it.polimi.ingsw.constants.Printable;
 import it.polimi.ingsw.exceptions.DuplicateNicknameException;
@@ -14,6 +16,7 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeSupport;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -37,6 +40,8 @@ public class CLI implements UI, Runnable {
     private static final String RST = "RST";
     private static final String WHITE = "WHITE";
     private static final String BG_PURPLE = "BG_PURPLE";
+    private static final String CLEAR_SCREEN = "\033[H\033[2J";
+    private static final boolean WINDOWS = System.getProperty("os.name").contains("Windows");
     private static final HashMap<String, String> nameMapColor = new HashMap<>();
     private final PrintStream output;
     private final Scanner input;
@@ -44,6 +49,8 @@ public class CLI implements UI, Runnable {
     private final ActionHandler actionHandler;
     private final PropertyChangeSupport listeners = new PropertyChangeSupport(this);
     private final DisplayCell[][] grid;
+    private final StringBuilder frame = new StringBuilder(16 * 1024);
+    private int drawnActiveWorker = -1;
     private boolean activeGame;
     private ConnectionSocket connectionSocket;
     private int maxSideIndex;
@@ -96,6 +103,84 @@ public class CLI implements UI, Runnable {
         cli.run();
     }
 
+    /**
+     * Method replay plays a recorded match back on the CLI, with no server connection.
+     *
+     * @param file of type Path - the replay file.
+     */
+    public static void replay(Path file) {
+        Replay replay;
+        try {
+            replay = Replay.load(file);
+        } catch (IOException e) {
+            System.err.println("Unable to load the replay: " + e.getMessage());
+            return;
+        }
+        new CLI().runReplay(replay);
+    }
+
+    /**
+     * Method runReplay reads the replay commands until the player quits, redrawing the board on every frame shown.
+     *
+     * @param replay of type Replay - the loaded replay.
+     */
+    private void runReplay(Replay replay) {
+        ReplayPlayer replayPlayer = new ReplayPlayer(replay, modelView, this);
+        replayPlayer.seek(0);
+        while (true) {
+            String[] cmd = input.nextLine().trim().toUpperCase().split("\\s+");
+            try {
+                switch (cmd[0]) {
+                    case "N", "NEXT" -> {
+                        replayPlayer.pause();
+                        replayPlayer.next();
+                    }
+                    case "P", "PREV" -> {
+                        replayPlayer.pause();
+                        replayPlayer.previous();
+                    }
+                    case "TURN" -> replayPlayer.seekTurn(Integer.parseInt(cmd[1]));
+                    case "FRAME" -> replayPlayer.seek(Integer.parseInt(cmd[1]));
+                    case "PLAY" -> {
+                        if (cmd.length > 1) {
+                            replayPlayer.setSpeed(Double.parseDouble(cmd[1]));
+                        }
+                        replayPlayer.play();
+                    }
+                    case "PAUSE" -> {
+                        if (replayPlayer.isPlaying()) {
+                            replayPlayer.togglePlayback();
+                        }
+                    }
+                    case "QUIT" -> {
+                        replayPlayer.close();
+                        return;
+                    }
+                    default -> printReplayHelp(replayPlayer.status());
+                }
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                printReplayHelp(replayPlayer.status());
+            }
+        }
+    }
+
+    /**
+     * Method printReplayHelp prints the replay status and the available replay commands.
+     *
+     * @param status of type String - the replay status.
+     */
+    private void printReplayHelp(String status) {
+        System.out.println(nameMapColor.get(YELLOW) + "REPLAY " + nameMapColor.get(RST) + status);
+        System.out.println(nameMapColor.get(YELLOW) + "N/P" + nameMapColor.get(RST) + ": next/previous answer, " +
+                nameMapColor.get(YELLOW) + "TURN <n>" + nameMapColor.get(RST) + ", " +
+                nameMapColor.get(YELLOW) + "FRAME <n>" + nameMapColor.get(RST) + ": go to, " +
+                nameMapColor.get(YELLOW) + "PLAY [speed]" + nameMapColor.get(RST) + ", " +
+                nameMapColor.get(YELLOW) + "PAUSE" + nameMapColor.get(RST) + ", " +
+                nameMapColor.get(YELLOW) + "QUIT" + nameMapColor.get(RST));
+        System.out.print(">");
+        System.out.flush();
+    }
+
     /**
      * Method clearScreen flushes terminal's screen.
      */
@@ -160,7 +245,7 @@ public class CLI implements UI, Runnable {
         } catch (DuplicateNicknameException | InvalidNicknameException e) {
             setup();
         }
-        listeners.addPropertyChangeListener("action", new ActionParser(connectionSocket, modelView));
+        listeners.addPropertyChangeListener("action", new ActionParser(connectionSocket, modelView, actionHandler));
     }
 
     /**
@@ -203,197 +288,77 @@ public class CLI implements UI, Runnable {
      * @param grid of type DisplayCell[][] - the printed board.
      */
     private void firstBuildBoard(DisplayCell[][] grid) {
-        String[] rows = Printable.getLEVELS()[0].split("\n");
+        String[] rows = CellGlyphs.get(new Cell(), false);
         for (int i = 0; i <= 4; i++) {
             for (int j = 0; j <= 4; j++) {
-                for (int k = 0; k <= 10; k++) {
-                    grid[i][j].setCellRows(k, rows[k]);
-                }
+                grid[i][j].setCellRows(rows);
             }
         }
     }
 
     /**
-     * Method boardUpdater updates grid after a change occurred in ClientBoard.
+     * Method boardUpdater updates grid after a change occurred in ClientBoard. Only the cells marked as dirty by the
+     * ClientBoard are looked up again; if the highlighted worker has changed, every cell is.
      *
      * @param grid of type DisplayCell[][] - the printed board.
      */
     private void boardUpdater(DisplayCell[][] grid) {
-        String[] rows;
+        ClientBoard board = modelView.getBoard();
+        int activeWorker = modelView.isTurnActive() ? modelView.getActiveWorker() : 0;
+        if (activeWorker != drawnActiveWorker) {
+            board.markAllDirty();
+            drawnActiveWorker = activeWorker;
+        }
         for (int i = 0; i <= 4; i++) {
             for (int j = 0; j <= 4; j++) {
-                for (int k = 0; k <= 10; k++) {
-                    int level = modelView.getBoard().getGrid()[i][j].getLevel();
-                    rows = generateTypeOfLevel(i, j, level);
-                    grid[i][j].setCellRows(k, rows[k]);
+                if (board.isDirty(i, j)) {
+                    Cell cell = board.getGrid()[i][j];
+                    boolean selected = activeWorker != 0 && cell.getWorkerNum() == activeWorker &&
+                            modelView.getColor().equalsIgnoreCase(cell.getColor());
+                    grid[i][j].setCellRows(CellGlyphs.get(cell, selected));
                 }
             }
         }
+        board.clearDirty();
     }
 
-    /**
-     * Method generateTypeOfLevel generates right levels for CLI use.
-     *
-     * @param i     of type int - a counter.
-     * @param j     of type int - a counter.
-     * @param level of type int - the level to print.
-     * @return String[] - the grid's level row.
-     */
-    private String[] generateTypeOfLevel(int i, int j, int level) {
-        String[] rows;
-        if (!modelView.getBoard().getGrid()[i][j].isDome()) {
-            rows = generateRows(level, Printable.getLEVELS());
-            if (modelView.getBoard().getGrid()[i][j].getColor() != null) {
-                addWorkerToCell(nameMapColor.get(modelView.getBoard().getGrid()[i][j].getColor().toUpperCase()), rows,
-                        level, modelView.getBoard().getGrid()[i][j].getWorkerNum());
-            }
-        } else if (level == 3) {
-            rows = generateRows(4, Printable.getLEVELS());
-        } else {
-            rows = generateRows(level, Printable.getLEVELSWITHDOME());
-        }
-        return rows;
-    }
 
     /**
-     * Method generateRows splits levels array into multiple Strings.
-     *
-     * @param level  of type int - the grid's level.
-     * @param levels of type String[] - the possible levels printable.
-     * @return String[] - the rows generated.
+     * Method renderBoard updates the printed board and writes it to the terminal, replacing the previous screen.
      */
-    private String[] generateRows(int level, String[] levels) {
-        String[] rows;
-        rows = levels[level].split("\n");
-        return rows;
-    }
-
-    /**
-     * Method addWorkerToCell adds worker to Printable cell.
-     *
-     * @param color of type String - the worker's color.
-     * @param rows of type String[] - the rows used to insert player.
-     * @param level of type int - the level modified.
-     * @param type of type int - the type of worker.
-     */
-    private void addWorkerToCell(String color, String[] rows, int level, int type) {
-        String[] temp = new String[3];
-        String[] player = new String[3];
-        int[] cellInfos = new int[]{level, type};
-        int[][] indexes = new int[Constants.GRID_MAX_SIZE][1];
-        String lowerBody = nameMapColor.get(WHITE) + "1";
-        String lowerBody2 = nameMapColor.get(WHITE) + "2";
-        String backgroundColor = BG_BLACK;
-        player[0] =  "@";
-        player[1] = "╥";
-        player[2] = null;
-        indexes[0][0] = 16;
-        indexes[1][0] = 11;
-        indexes[2][0] = 22;
-        indexes[3][0] = 24;
-        indexes[4][0] = 34;
-        if (type == 1) {
-            player[2] = lowerBody;
-        } else {
-            player[2] = lowerBody2;
-        }
-        if (level == 3) {
-            for (int i = 0; i <= 2; i++) {
-                int j;
-                j = getRightIndex(i == 0 || i == 2, -1, 3);
-                HashMap<Integer, String[]> stringMap = createStringMap(temp, player);
-                int[] counters = new int[]{i, j};
-                insertPlayer(color, rows, cellInfos, stringMap, indexes, backgroundColor, counters);
-            }
-        } else {
-            int j = getRightIndex(level == 2, 2, 0);
-            for (int i = 0; i <= 2; i++) {
-                HashMap<Integer, String[]> stringMap = createStringMap(temp, player);
-                int[] counters = new int[]{i, j};
-                insertPlayer(color, rows, cellInfos, stringMap, indexes, backgroundColor, counters);
-            }
-        }
-    }
-
-    /**
-     * Method getRightIndex gets right index in order to print levels on the grid.
-     *
-     * @param b  of type boolean - defines the two cases in order split row in the correct spot.
-     * @param i2 of type int - the first type of counter.
-     * @param i3 of type int - the second type of counters.
-     * @return int - the correct counter.
-     */
-    private int getRightIndex(boolean b, int i2, int i3) {
-        int j;
-        if (b) {
-            j = i2;
-        } else {
-            j = i3;
-        }
-        return j;
-    }
-
-    /**
-     * Method createStringMap encapsulates player and temp arrays used for addWorkerToCell method for complaints
-     * reasons.
-     *
-     * @param temp   of type String[] - temporary cell's rows in which player is inserted.
-     * @param player of type String[] - the player to be inserted into the rows.
-     *@return HashMaps&lt;Integer, String[]&gt; - the two strings.
-     */
-    private HashMap<Integer, String[]> createStringMap(String[] temp, String[] player) {
-        HashMap<Integer, String[]> stringMap = new HashMap<>();
-        stringMap.put(0, player);
-        stringMap.put(1, temp);
-        return stringMap;
-    }
-
-    /**
-     * Method insertPlayer inserts right player into the row.
-     *
-     * @param color of type String  - the player's color
-     * @param rows of type String[] - the cell's row
-     * @param cellInfos of type int[] - the grid's levels
-     * @param stringMap of type HashMap&lt;Integer, String[]&gt; - the hashmap mapping levels to correct strings.
-     * @param indexes of type int[][] - the indexes for each level.
-     * @param backgroundColor of type String - the worker's background color.
-     * @param counters of type int[] - the indexes in order to print correctly.
-     */
-    private void insertPlayer(String color, String[] rows, int[] cellInfos, HashMap<Integer, String[]> stringMap,
-                              int[][] indexes, String backgroundColor, int[] counters) {
-        if (counters[0] == 2 && modelView.getActiveWorker() == cellInfos[1] && modelView.isTurnActive() &&
-                color.equalsIgnoreCase(nameMapColor.get(modelView.getColor().toUpperCase()))) {
-            color = Constants.ANSI_WHITE;
-            backgroundColor = BG_PURPLE;
+    private void renderBoard() {
+        if (WINDOWS) {
+            clearScreen();
         }
-        stringMap.get(1)[counters[0]] = rows[counters[0] + 4].substring(0, indexes[cellInfos[0]][0] - counters[1]) +
-                color + nameMapColor.get(backgroundColor) +
-                stringMap.get(0)[counters[0]] + nameMapColor.get(RST) + rows[counters[0] + 4].substring(
-                        indexes[cellInfos[0]][0] - counters[1] + 1);
-        rows[counters[0] + 4] = stringMap.get(1)[counters[0]];
+        boardUpdater(grid);
+        printBoard(grid);
     }
 
-
     /**
-     * Method printBoard prints board to the player.
+     * Method printBoard prints board to the player. The whole frame (screen clearing included) is composed into a
+     * reusable buffer and written with a single flush, so the board never shows up half drawn.
      *
      * @param grid - the printed board.
      */
     private void printBoard(DisplayCell[][] grid) {
-        System.out.println(Printable.ROW_WAVE);
-        System.out.println(Printable.ROW_WAVE);
+        frame.setLength(0);
+        if (!WINDOWS) {
+            frame.append(CLEAR_SCREEN);
+        }
+        frame.append(Printable.ROW_WAVE).append('\n');
+        frame.append(Printable.ROW_WAVE).append('\n');
         String[] sideMenuRows= buildSideMenu();
         String[] guideMenuRows= buildSideHelp();
         int check = 0;
-        System.out.print(Printable.COUPLE_ROW_WAVE + nameMapColor.get(YELLOW) + Printable.LINE_BLOCK +
-                nameMapColor.get("RST") + Printable.COUPLE_ROW_WAVE + "  " + sideMenuRows[0]);
+        frame.append(Printable.COUPLE_ROW_WAVE).append(nameMapColor.get(YELLOW)).append(Printable.LINE_BLOCK)
+                .append(nameMapColor.get("RST")).append(Printable.COUPLE_ROW_WAVE).append("  ").append(sideMenuRows[0]);
         for (int i = 0; i <= 4; i++) {
             for (int k = 0; k <11; k++) {
-                System.out.print(Printable.COUPLE_ROW_WAVE + nameMapColor.get(YELLOW) + Printable.SINGLE_LINE_BLOCK +
-                        nameMapColor.get("RST"));
+                frame.append(Printable.COUPLE_ROW_WAVE).append(nameMapColor.get(YELLOW))
+                        .append(Printable.SINGLE_LINE_BLOCK).append(nameMapColor.get("RST"));
                 for (int j = 0; j <= 4; j++) {
-                    System.out.print(grid[i][j].getCellRows(k) + nameMapColor.get(YELLOW) + Printable.SINGLE_LINE_BLOCK
-                            + nameMapColor.get("RST"));
+                    frame.append(grid[i][j].getCellRows(k)).append(nameMapColor.get(YELLOW))
+                            .append(Printable.SINGLE_LINE_BLOCK).append(nameMapColor.get("RST"));
                 }
                 insertMenus(sideMenuRows, guideMenuRows, check, k);
             }
@@ -403,12 +368,14 @@ public class CLI implements UI, Runnable {
                 check = lastCellRow(guideMenuRows, check);
             }
             else {
-                System.out.println(Printable.COUPLE_ROW_WAVE + nameMapColor.get(YELLOW) + Printable.LINE_BLOCK +
-                        nameMapColor.get("RST") + Printable.COUPLE_ROW_WAVE);
+                frame.append(Printable.COUPLE_ROW_WAVE).append(nameMapColor.get(YELLOW)).append(Printable.LINE_BLOCK)
+                        .append(nameMapColor.get("RST")).append(Printable.COUPLE_ROW_WAVE).append('\n');
             }
         }
-        System.out.println(Printable.ROW_WAVE);
-        System.out.println(Printable.ROW_WAVE);
+        frame.append(Printable.ROW_WAVE).append('\n');
+        frame.append(Printable.ROW_WAVE).append('\n');
+        System.out.print(frame);
+        System.out.flush();
     }
 
     /**
@@ -419,14 +386,12 @@ public class CLI implements UI, Runnable {
      * @return int - checker updated.
      */
     private int lastCellRow(String[] sideMenuRows, int check) {
+        frame.append(Printable.COUPLE_ROW_WAVE).append(nameMapColor.get(YELLOW)).append(Printable.LINE_BLOCK)
+                .append(nameMapColor.get("RST")).append(Printable.COUPLE_ROW_WAVE);
         if (maxSideIndex > 11) {
-            System.out.println(Printable.COUPLE_ROW_WAVE + nameMapColor.get(YELLOW) + Printable.LINE_BLOCK +
-                    nameMapColor.get("RST") + Printable.COUPLE_ROW_WAVE + "  " + sideMenuRows[11]);
-        }
-        else {
-            System.out.println(Printable.COUPLE_ROW_WAVE + nameMapColor.get(YELLOW) + Printable.LINE_BLOCK +
-                    nameMapColor.get("RST") + Printable.COUPLE_ROW_WAVE);
+            frame.append("  ").append(sideMenuRows[11]);
         }
+        frame.append('\n');
         check++;
         return check;
     }
@@ -446,30 +411,30 @@ public class CLI implements UI, Runnable {
             if(k<maxSideIndex) {
                 insertGuideMenuRows(guideMenuRows, k);
             } else {
-                System.out.println(Printable.COUPLE_ROW_WAVE);
+                frame.append(Printable.COUPLE_ROW_WAVE).append('\n');
             }
         }  else {
-            System.out.println(Printable.COUPLE_ROW_WAVE);
+            frame.append(Printable.COUPLE_ROW_WAVE).append('\n');
         }
     }
 
     /**
-     * Method insertSideMenuRows inserts side menu rows into the output stream.
+     * Method insertSideMenuRows inserts side menu rows into the frame.
      *
      * @param sideMenuRow of type String - the side status menu.
      */
     private void insertSideMenuRows(String sideMenuRow) {
-        System.out.print(Printable.COUPLE_ROW_WAVE + "  " + sideMenuRow);
+        frame.append(Printable.COUPLE_ROW_WAVE).append("  ").append(sideMenuRow);
     }
 
     /**
-     * Method insertGuideMenuRows inserts guide rows into the output stream.
+     * Method insertGuideMenuRows inserts guide rows into the frame.
      *
      * @param guideMenuRows of type String[] - the side guide's rows.
      * @param i2 of type int - the counter required for correct printing.
      */
     private void insertGuideMenuRows(String[] guideMenuRows, int i2) {
-        System.out.println(Printable.COUPLE_ROW_WAVE + " " + guideMenuRows[i2]);
+        frame.append(Printable.COUPLE_ROW_WAVE).append(" ").append(guideMenuRows[i2]).append('\n');
     }
 
     /**
@@ -535,6 +500,7 @@ public class CLI implements UI, Runnable {
                         nameMapColor.get(YELLOW) + "BUILD (no args)/BUILD <row> <column>" + nameMapColor.get(RST) +
                         ": print spaces/builds worker to cell." + "\n" +
                         godSideMenu +
+                        nameMapColor.get(YELLOW) + "HINT" + nameMapColor.get(RST) + ": suggest a turn." + "\n" +
                         nameMapColor.get(YELLOW) + "END" + nameMapColor.get(RST) + ": end turn";
         sideMenuHelp = menu.split("\n");
         maxSideIndex = sideMenuHelp.length;
@@ -805,6 +771,10 @@ public class CLI implements UI, Runnable {
             case "singleLost" -> System.err.println("All workers blocked, YOU LOSE!");
             case "otherLost" -> otherPlayerLost(evt);
             case "matchStarted" -> System.out.println("The match has started!");
+            case ReplayPlayer.REPLAY_FRAME -> {
+                renderBoard();
+                printReplayHelp(command);
+            }
             default -> System.out.println("Unrecognized answer");
         }
     }
@@ -862,9 +832,7 @@ public class CLI implements UI, Runnable {
      * @param evt of type PropertyChangeEvent - the event containing loser's nickname.
      */
     private void otherPlayerLost(PropertyChangeEvent evt) {
-        clearScreen();
-        boardUpdater(grid);
-        printBoard(grid);
+        renderBoard();
         System.out.println(nameMapColor.get(YELLOW) + "Player " + evt.getNewValue() + " has lost." +
                 nameMapColor.get(RST));
     }
@@ -934,9 +902,7 @@ public class CLI implements UI, Runnable {
      * Method firstUpdateCli prints and updates for the first CLI.
      */
     public void firstUpdateCli() {
-        clearScreen();
-        boardUpdater(grid);
-        printBoard(grid);
+        renderBoard();
         try {
             firstPrintMenu();
         } catch (InterruptedException e) {
@@ -952,9 +918,7 @@ public class CLI implements UI, Runnable {
      * @param message of type String - the content of message received.
      */
     public void updateCli(boolean[] actions, String message) {
-        clearScreen();
-        boardUpdater(grid);
-        printBoard(grid);
+        renderBoard();
         try {
             printMenu(actions, message);
         } catch (InterruptedException e) {
@@ -0,0 +1,115 @@
+package it.polimi.ingsw.client.cli;
+
+import it.polimi.ingsw.client.Cell;
+import it.polimi.ingsw.constants.Constants;
+import it.polimi.ingsw.constants.Printable;
+import it.polimi.ingsw.model.player.PlayerColors;
+
+/**
+ * CellGlyphs class is the table of every printable cell. The appearance of a cell only depends on
+ * its level, dome, worker color, worker number and on the worker being the selected one, so every
+ * combination is generated once when the class is loaded and drawing a board is made of array
+ * lookups only. The returned rows are shared and must not be modified.
+ *
+ * @author Nicolò Sonnino
+ */
+public final class CellGlyphs {
+  private static final int LEVELS = 4;
+  private static final int COLORS = PlayerColors.values().length + 1;
+  private static final int WORKERS = 3;
+  private static final int[] WORKER_INDEXES = new int[] {16, 11, 22, 24};
+  private static final String[] WORKER_COLORS =
+      new String[] {null, Constants.ANSI_BLUE, Constants.ANSI_RED, Constants.ANSI_GREEN};
+  private static final String[][] GLYPHS = new String[LEVELS * 2 * COLORS * WORKERS * 2][];
+
+  static {
+    for (int level = 0; level < LEVELS; level++) {
+      String[] plain = Printable.getLEVELS()[level].split("\n");
+      String[] dome =
+          (level == 3 ? Printable.getLEVELS()[4] : Printable.getLEVELSWITHDOME()[level])
+              .split("\n");
+      for (int color = 0; color < COLORS; color++) {
+        for (int worker = 0; worker < WORKERS; worker++) {
+          for (int selected = 0; selected < 2; selected++) {
+            GLYPHS[key(level, false, color, worker, selected == 1)] =
+                color == 0 || worker == 0
+                    ? plain
+                    : addWorker(plain, level, WORKER_COLORS[color], worker, selected == 1);
+            GLYPHS[key(level, true, color, worker, selected == 1)] = dome;
+          }
+        }
+      }
+    }
+  }
+
+  private CellGlyphs() {}
+
+  /**
+   * Method key returns the table index of a cell appearance.
+   *
+   * @param level of type int - the cell level.
+   * @param dome of type boolean - true if the cell has a dome.
+   * @param color of type int - the worker color index, 0 if the cell is empty.
+   * @param worker of type int - the worker number, 0 if the cell is empty.
+   * @param selected of type boolean - true if the worker is the selected one.
+   * @return int - the table index.
+   */
+  private static int key(int level, boolean dome, int color, int worker, boolean selected) {
+    return (((level * 2 + (dome ? 1 : 0)) * COLORS + color) * WORKERS + worker) * 2
+        + (selected ? 1 : 0);
+  }
+
+  /**
+   * Method get returns the printable rows of a cell.
+   *
+   * @param cell of type Cell - the cell of the client board.
+   * @param selected of type boolean - true if the worker on the cell is the selected one.
+   * @return String[] - the shared rows of the cell.
+   */
+  public static String[] get(Cell cell, boolean selected) {
+    int color =
+        cell.getColor() == null
+            ? 0
+            : PlayerColors.valueOf(cell.getColor().toUpperCase()).ordinal() + 1;
+    return GLYPHS[key(cell.getLevel(), cell.isDome(), color, cell.getWorkerNum(), selected)];
+  }
+
+  /**
+   * Method addWorker draws a worker (head, body and number) inside the rows of a cell.
+   *
+   * @param levelRows of type String[] - the rows of the empty cell.
+   * @param level of type int - the cell level.
+   * @param color of type String - the worker color.
+   * @param worker of type int - the worker number.
+   * @param selected of type boolean - true if the worker is the selected one.
+   * @return String[] - the rows of the cell with the worker.
+   */
+  private static String[] addWorker(
+      String[] levelRows, int level, String color, int worker, boolean selected) {
+    String[] rows = levelRows.clone();
+    String[] player = new String[] {"@", "╥", Constants.ANSI_WHITE + worker};
+    for (int i = 0; i <= 2; i++) {
+      int shift;
+      if (level == 3) {
+        shift = i == 1 ? 3 : -1;
+      } else {
+        shift = level == 2 ? 2 : 0;
+      }
+      int index = WORKER_INDEXES[level] - shift;
+      String background = Constants.ANSI_BACKGROUND_BLACK;
+      String foreground = color;
+      if (i == 2 && selected) {
+        foreground = Constants.ANSI_WHITE;
+        background = Constants.ANSI_BACKGROUND_PURPLE;
+      }
+      rows[i + 4] =
+          rows[i + 4].substring(0, index)
+              + foreground
+              + background
+              + player[i]
+              + Constants.ANSI_RESET
+              + rows[i + 4].substring(index + 1);
+    }
+    return rows;
+  }
+}
@@ -6,7 +6,7 @@ package it.polimi.ingsw.client.cli;
  * @author Nicolò Sonnino
  */
 public class DisplayCell {
-  private final String[] cellRows;
+  private String[] cellRows;
 
   /** Constructor DisplayCell creates a new DisplayCell instance. */
   public DisplayCell() {
@@ -32,4 +32,13 @@ public class DisplayCell {
   public void setCellRows(int i, String string) {
     cellRows[i] = string;
   }
+
+  /**
+   * Method setCellRows replaces all the cell's rows.
+   *
+   * @param rows of type String[] - the cell's rows, which are shared and never modified.
+   */
+  public void setCellRows(String[] rows) {
+    cellRows = rows;
+  }
 }
@@ -8,6 +8,8 @@ import it.polimi.ingsw.client.gui.controllers.GUIController;
 import it.polimi.ingsw.client.gui.controllers.LoaderController;
 import it.polimi.ingsw.client.gui.controllers.MainGuiController;
 import it.polimi.ingsw.client.gui.controllers.ResizeHandler;
+import it.polimi.ingsw.client.replay.Replay;
+import it.polimi.ingsw.client.replay.ReplayPlayer;
 import it.polimi.ingsw.constants.Couple;
 import it.polimi.ingsw.constants.Move;
 import it.polimi.ingsw.server.answers.*;
@@ -22,7 +24,7 @@ import javafx.geometry.Rectangle2D;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
-import javafx.scene.image.Image;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.Pane;
 import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
@@ -34,6 +36,7 @@ import javafx.util.Duration;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeSupport;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -57,6 +60,7 @@ public class GUI extends Application implements UI {
     private final PropertyChangeSupport listeners = new PropertyChangeSupport(this);
     private final ModelView modelView;
     private final ActionHandler actionHandler;
+    private final UpdateQueue updates = new UpdateQueue();
     private final Logger logger = Logger.getLogger(getClass().getName());
     /**
      * Maps each scene name to the effective scene object, in order to easily find it during scene changing operations.
@@ -75,6 +79,7 @@ public class GUI extends Application implements UI {
     private Stage stage;
     private MediaPlayer player;
     private boolean[] actionCheckers;
+    private ReplayPlayer replayPlayer;
 
 
     /**
@@ -87,7 +92,8 @@ public class GUI extends Application implements UI {
     }
 
     /**
-     * Main class of the GUI, which is called from the "Santorini" launcher in case user decides to play with it.
+     * Main class of the GUI, which is called from the "Santorini" launcher in case user decides to play with it. With
+     * a "--replay=file" argument the GUI plays the recorded match back instead.
      *
      * @param args of type String[] - parsed arguments.
      */
@@ -101,7 +107,7 @@ public class GUI extends Application implements UI {
     public void run() {
         stage.setTitle("Santorini");
         stage.setScene(currentScene);
-        stage.getIcons().add(new Image(getClass().getResourceAsStream("/graphics/icons/santorini.png")));
+        stage.getIcons().add(ImageCache.get("/graphics/icons/santorini.png"));
         stage.show();
         ResizeHandler resize = new ResizeHandler((Pane) currentScene.lookup("#mainPane"));
         currentScene.widthProperty().addListener(resize.getWidthListener());
@@ -128,7 +134,86 @@ public class GUI extends Application implements UI {
         Font.loadFont(getClass().getResourceAsStream("/fonts/DalekPinpointBold.ttf"), 14);
         Font.loadFont(getClass().getResourceAsStream("/fonts/Roboto-Regular.ttf"), 12);
         Font.loadFont(getClass().getResourceAsStream("/fonts/Roboto-Medium.ttf"), 12);
-        run();
+        String replayFile = getParameters().getNamed().get("replay");
+        if (replayFile != null) {
+            runReplay(replayFile);
+        } else {
+            run();
+        }
+    }
+
+    /**
+     * Method runReplay shows the main scene playing a recorded match back, with no server connection. The replay is
+     * driven from the keyboard: left/right arrows move by one answer, up/down arrows by one turn, space plays and
+     * pauses, +/- change the playback speed.
+     *
+     * @param file of type String - the replay file path.
+     */
+    private void runReplay(String file) {
+        Replay replay;
+        try {
+            replay = Replay.load(Paths.get(file));
+        } catch (IOException e) {
+            Alert alert = new Alert(Alert.AlertType.ERROR, "Unable to load the replay: " + e.getMessage());
+            alert.showAndWait();
+            Platform.exit();
+            return;
+        }
+        MainGuiController controller = (MainGuiController) getControllerFromName(MAIN_GUI);
+        replayPlayer = new ReplayPlayer(replay, modelView, this);
+        replayPlayer.seek(0);
+        currentScene = nameMapScene.get(MAIN_GUI);
+        stage.setTitle("Santorini - Replay");
+        stage.setScene(currentScene);
+        stage.getIcons().add(ImageCache.get("/graphics/icons/santorini.png"));
+        stage.show();
+        ResizeHandler resize = new ResizeHandler((Pane) currentScene.lookup("#mainPane"));
+        currentScene.widthProperty().addListener(resize.getWidthListener());
+        currentScene.heightProperty().addListener(resize.getHeightListener());
+        controller.init();
+        controller.replayMode();
+        currentScene.addEventFilter(KeyEvent.KEY_PRESSED, this::replayKey);
+    }
+
+    /**
+     * Method replayKey drives the replay player from the keyboard.
+     *
+     * @param event of type KeyEvent - the key pressed.
+     */
+    private void replayKey(KeyEvent event) {
+        switch (event.getCode()) {
+            case RIGHT -> {
+                replayPlayer.pause();
+                replayPlayer.next();
+            }
+            case LEFT -> {
+                replayPlayer.pause();
+                replayPlayer.previous();
+            }
+            case UP -> replayPlayer.seekTurn(replayPlayer.getTurn() + 1);
+            case DOWN -> replayPlayer.seekTurn(replayPlayer.getTurn() - 1);
+            case SPACE -> replayPlayer.togglePlayback();
+            case ADD, PLUS, EQUALS -> replayPlayer.setSpeed(replayPlayer.getSpeed() * 2);
+            case SUBTRACT, MINUS -> replayPlayer.setSpeed(replayPlayer.getSpeed() / 2);
+            default -> {
+                return;
+            }
+        }
+        event.consume();
+    }
+
+    /**
+     * Method replayFrame redraws the board and the turn status on a new frame of the replay.
+     *
+     * @param status of type String - the description of the frame.
+     */
+    private void replayFrame(String status) {
+        updates.post(() -> replayPlayer.read(() -> {
+            MainGuiController controller = (MainGuiController) getControllerFromName(MAIN_GUI);
+            controller.redrawBoard();
+            controller.updateTurnStatus();
+            controller.getActionsLabel().setText(status);
+        }));
     }
 
     /**
@@ -235,6 +320,15 @@ public class GUI extends Application implements UI {
         return actionHandler;
     }
 
+    /**
+     * Method postUpdate enqueues a scene update; the updates posted before the FX thread is free are applied together.
+     *
+     * @param update of type Runnable - the update to be run on the JavaFX application thread.
+     */
+    public void postUpdate(Runnable update) {
+        updates.post(update);
+    }
+
     /**
      * Method getControllerFromName gets a scene controller based on inserted name from the dedicated hashmap.
      *
@@ -300,10 +394,10 @@ public class GUI extends Application implements UI {
             }
             case "WorkerPlacement" -> {
                 MainGuiController controller = (MainGuiController) getControllerFromName(MAIN_GUI);
-                Platform.runLater(() -> {
+                WorkerPlacement req = (WorkerPlacement) modelView.getServerAnswer();
+                updates.post(() -> {
                     changeStage(MAIN_GUI);
-                    controller.workerPlacement(((WorkerPlacement) modelView.getServerAnswer()).
-                            getAvailableCoordinates());
+                    controller.workerPlacement(req.getAvailableCoordinates());
                 });
             }
             default -> logger.log(Level.WARNING, "No action to be performed!");
@@ -320,17 +414,17 @@ public class GUI extends Application implements UI {
         if (modelView.getGamePhase() == 0) {
             if (msg.contains("Match starting") || msg.contains("The match has started")) {
                 LoaderController controller = (LoaderController) getControllerFromName(LOADER);
-                Platform.runLater(() -> controller.setText(msg));
+                updates.post(() -> controller.setText(msg));
             } else if (msg.contains("is the challenger")) {
                 LoaderController controller = (LoaderController) getControllerFromName(LOADER);
-                Platform.runLater(() -> controller.setText(msg.split(" ")[0] +
+                updates.post(() -> controller.setText(msg.split(" ")[0] +
                         " is the challenger\nHe's choosing gods power!"));
             } else if (msg.contains("disconnected from the server")) {
                 LoaderController controller = (LoaderController) getControllerFromName(LOADER);
-                Platform.runLater(() -> controller.setText("WAITING FOR PLAYERS"));
+                updates.post(() -> controller.setText("WAITING FOR PLAYERS"));
             } else if (msg.contains("is choosing")) {
                 LoaderController controller = (LoaderController) getControllerFromName(LOADER);
-                Platform.runLater(() -> {
+                updates.post(() -> {
                     controller.setFontSize(30);
                     controller.setText(msg);
                 });
@@ -365,6 +459,7 @@ public class GUI extends Application implements UI {
             case "singleLost" -> singleLoser();
             case "otherLost" -> otherLoser(evt.getNewValue().toString());
             case "matchStarted" -> matchStarted();
+            case ReplayPlayer.REPLAY_FRAME -> replayFrame(evt.getNewValue().toString());
             default -> logger.log(Level.WARNING, "No actions to be performed");
         }
     }
@@ -373,7 +468,7 @@ public class GUI extends Application implements UI {
      * Method newPlayerTurn updates the GUI star icon with the new current player.
      */
     private void newPlayerTurn() {
-        Platform.runLater(() -> {
+        updates.post(() -> {
             MainGuiController controller = (MainGuiController) getControllerFromName(MAIN_GUI);
             controller.updateTurnStatus();
         });
@@ -383,9 +478,10 @@ public class GUI extends Application implements UI {
      * Method modifiedTurnHandling handles ModifiedTurnMessages and show actions accordantly.
      */
     private void modifiedTurnHandling() {
-        Platform.runLater(() -> {
+        boolean[] checkers = actionCheckers;
+        updates.post(() -> {
             MainGuiController controller = (MainGuiController) getControllerFromName(MAIN_GUI);
-            controller.showActions(actionCheckers);
+            controller.showActions(checkers);
         });
     }
 
@@ -394,7 +490,7 @@ public class GUI extends Application implements UI {
      */
 
     private void endTurn() {
-        Platform.runLater(() -> {
+        updates.post(() -> {
             MainGuiController controller = (MainGuiController) getControllerFromName(MAIN_GUI);
             controller.endTurn();
         });
@@ -405,7 +501,7 @@ public class GUI extends Application implements UI {
      */
 
     private void matchStarted() {
-        Platform.runLater(() -> {
+        updates.post(() -> {
             changeStage(MAIN_GUI);
             MainGuiController controller = (MainGuiController) getControllerFromName(MAIN_GUI);
             controller.init();
@@ -433,11 +529,11 @@ public class GUI extends Application implements UI {
      * @param loser of type String - loser's nickname.
      */
     public void removeWorkers(String loser) {
-        Platform.runLater(() -> {
+        updates.post(() -> {
             MainGuiController controller = (MainGuiController) getControllerFromName(MAIN_GUI);
             List<Couple> positions = modelView.getWorkersPositionByColor(loser);
             for (Couple position : positions) {
-                controller.getGrid().getChildren().remove(controller.getWorkerFromGrid(position.getRow(), position.getColumn()));
+                controller.removeWorker(position.getRow(), position.getColumn());
             }
             modelView.unregisterPlayer(loser);
         });
@@ -511,7 +607,7 @@ public class GUI extends Application implements UI {
      * Method selectWorker handles worker's selection.
      */
     private void selectWorker() {
-        Platform.runLater(() -> {
+        updates.post(() -> {
             MainGuiController controller = (MainGuiController) getControllerFromName(MAIN_GUI);
             controller.updateTurnStatus();
             controller.selectWorker();
@@ -519,14 +615,16 @@ public class GUI extends Application implements UI {
     }
 
     /**
-     * Method checkAction checks Message type and calls controller's methods.
+     * Method checkAction checks Message type and calls controller's methods. The answer and the action checkers are
+     * captured when the update is posted, since more answers may be received before it's applied.
      */
     private void checkAction() {
-        Platform.runLater(() -> {
-            Answer message = modelView.getServerAnswer();
+        Answer message = modelView.getServerAnswer();
+        boolean[] checkers = actionCheckers;
+        updates.post(() -> {
             MainGuiController controller = (MainGuiController) getControllerFromName(MAIN_GUI);
             if (message instanceof ModifiedTurnMessage) {
-                controller.showActions(actionCheckers);
+                controller.showActions(checkers);
                 return;
             } else if (message instanceof MoveMessage) {
                 Move move = ((MoveMessage) message).getMessage();
@@ -541,7 +639,7 @@ public class GUI extends Application implements UI {
             }
             controller.normalCells();
             if (modelView.isTurnActive() && activeGame) {
-                controller.showActions(actionCheckers);
+                controller.showActions(checkers);
                 deselectWorkers(controller);
             }
         });
@@ -572,9 +670,11 @@ public class GUI extends Application implements UI {
      * Method showSpacesList receives spaces from server and calls highlight cell method of the controller.
      */
     private void showSpacesList() {
-        Platform.runLater(() -> {
+        boolean build = actionCheckers[1];
+        updates.post(() -> {
             MainGuiController controller = (MainGuiController) getControllerFromName(MAIN_GUI);
-            controller.highlightCell(actionCheckers[1]);
+            controller.normalCells();
+            controller.highlightCell(build);
             deselectWorkers(controller);
         });
     }
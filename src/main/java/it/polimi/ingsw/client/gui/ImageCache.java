@@ -0,0 +1,131 @@
+package it.polimi.ingsw.client.gui;
+
+import it.polimi.ingsw.model.Card;
+import javafx.scene.image.Image;
+import javafx.scene.paint.ImagePattern;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * ImageCache class is the process-wide cache of the images under /graphics. Every image is decoded
+ * once and then shared by all the nodes showing it (an Image is immutable, so the same instance
+ * can back any number of ImageViews and fills). The graphics used by the god tiles and the game
+ * board can be decoded in background before they're needed, by calling preload.
+ *
+ * @author Alice Piemonti
+ */
+public final class ImageCache {
+  public static final String GODS = "/graphics/gods/";
+  public static final String POWERS = "/graphics/gods/power/";
+  public static final String HAMMER = "/graphics/icons/hammer_";
+  public static final String PNG = ".png";
+  private static final Logger LOGGER = Logger.getLogger(ImageCache.class.getName());
+  private static final Map<String, Image> images = new ConcurrentHashMap<>();
+  private static final Map<String, ImagePattern> patterns = new ConcurrentHashMap<>();
+  private static final AtomicBoolean preloaded = new AtomicBoolean();
+
+  private ImageCache() {}
+
+  /**
+   * Method get returns the image found at the provided resource path, decoding it at the first
+   * request.
+   *
+   * @param path of type String - the resource path (e.g. /graphics/icons/mute.png).
+   * @return Image - the shared image, null if the resource does not exist.
+   */
+  public static Image get(String path) {
+    Image image = images.get(path);
+    if (image == null) {
+      image = load(path);
+      if (image != null) {
+        Image previous = images.putIfAbsent(path, image);
+        image = previous != null ? previous : image;
+      }
+    }
+    return image;
+  }
+
+  /**
+   * Method getPattern returns a fill painting the image found at the provided resource path.
+   *
+   * @param path of type String - the resource path.
+   * @return ImagePattern - the shared fill, null if the resource does not exist.
+   */
+  public static ImagePattern getPattern(String path) {
+    ImagePattern pattern = patterns.get(path);
+    if (pattern == null) {
+      Image image = get(path);
+      if (image == null) {
+        return null;
+      }
+      pattern = new ImagePattern(image);
+      patterns.putIfAbsent(path, pattern);
+    }
+    return pattern;
+  }
+
+  /**
+   * Method getWorkerFill returns the fill of the workers of a player.
+   *
+   * @param color of type String - the player's color.
+   * @return ImagePattern - the hammer fill of that color.
+   */
+  public static ImagePattern getWorkerFill(String color) {
+    return getPattern(HAMMER + color.toLowerCase() + PNG);
+  }
+
+  /**
+   * Method preload decodes in background the graphics of the god tiles and of the game board, so
+   * they're ready when the scenes are shown. Only the first call has effect.
+   */
+  public static void preload() {
+    if (!preloaded.compareAndSet(false, true)) {
+      return;
+    }
+    List<String> paths = new ArrayList<>();
+    for (Card card : Card.values()) {
+      paths.add(GODS + card.toString() + PNG);
+      paths.add(POWERS + card.toString() + PNG);
+    }
+    paths.add(POWERS + "panel_hero.png");
+    paths.add("/graphics/bgs/versus_bg1.png");
+    paths.add("/graphics/bgs/god_name.png");
+    paths.add("/graphics/icons/clp_star_empty.png");
+    paths.add("/graphics/icons/clp_star_full.png");
+    for (String color : new String[] {"red", "green", "blue"}) {
+      paths.add(HAMMER + color + PNG);
+      paths.add("/graphics/" + color + PNG);
+    }
+    Thread loader = new Thread(() -> paths.forEach(ImageCache::get), "image-preloader");
+    loader.setDaemon(true);
+    loader.setPriority(Thread.MIN_PRIORITY);
+    loader.start();
+  }
+
+  /**
+   * Method load decodes an image from the resources.
+   *
+   * @param path of type String - the resource path.
+   * @return Image - the decoded image, null if the resource does not exist.
+   */
+  private static Image load(String path) {
+    try (InputStream stream = ImageCache.class.getResourceAsStream(path)) {
+      if (stream == null) {
+        LOGGER.warning("Missing image " + path);
+        return null;
+      }
+      return new Image(stream);
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, e.getMessage(), e);
+      return null;
+    }
+  }
+}
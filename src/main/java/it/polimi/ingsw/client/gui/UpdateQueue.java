@@ -0,0 +1,52 @@
+package it.polimi.ingsw.client.gui;
+
+import javafx.application.Platform;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * UpdateQueue class collects the scene updates produced by the server answers and applies them on
+ * the JavaFX application thread. Updates posted before the FX thread gets to them are drained
+ * together in a single Platform.runLater, so a burst of answers (e.g. a Minotaur push followed by a
+ * build and an end turn) costs one layout and paint cycle instead of one per answer. Updates are
+ * always applied in the order they were posted.
+ *
+ * @author Alice Piemonti
+ */
+public class UpdateQueue {
+  private static final Logger LOGGER = Logger.getLogger(UpdateQueue.class.getName());
+  private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+
+  /**
+   * Method post enqueues a scene update, scheduling a drain on the FX thread if none is pending.
+   *
+   * @param update of type Runnable - the update to be run on the FX thread.
+   */
+  public void post(Runnable update) {
+    pending.add(update);
+    if (scheduled.compareAndSet(false, true)) {
+      Platform.runLater(this::drain);
+    }
+  }
+
+  /**
+   * Method drain runs every pending update. The flag is cleared before polling, so an update posted
+   * while draining is either run by this drain or schedules the next one.
+   */
+  private void drain() {
+    scheduled.set(false);
+    Runnable update;
+    while ((update = pending.poll()) != null) {
+      try {
+        update.run();
+      } catch (RuntimeException e) {
+        LOGGER.log(Level.SEVERE, e.getMessage(), e);
+      }
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package it.polimi.ingsw.client.gui.controllers;
 
 import it.polimi.ingsw.client.gui.GUI;
+import it.polimi.ingsw.client.gui.ImageCache;
 import it.polimi.ingsw.client.gui.tiles.GodTile;
 import it.polimi.ingsw.client.messages.ChosenColor;
 import it.polimi.ingsw.client.messages.NumberOfPlayers;
@@ -17,8 +18,10 @@ import javafx.scene.control.Label;
 import javafx.scene.text.Font;
 import javafx.stage.Stage;
 
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -36,6 +39,8 @@ public class LoaderController implements GUIController {
   private GUI gui;
   @FXML private Label displayStatus;
   private static final String ACTION = "action";
+  private final Map<Card, GodTile> addTiles = new EnumMap<>(Card.class);
+  private final Map<Card, GodTile> chooseTiles = new EnumMap<>(Card.class);
 
   /**
    * Method setText sets the text of this LoaderController object.
@@ -49,7 +54,8 @@ public class LoaderController implements GUIController {
   /**
    * Method goTile opens a new god tile which displays information about the name, thumbnail and
    * description of a single god. It's used during the challenger selection phase and during the
-   * single user selection phase.
+   * single user selection phase. Each tile is built the first time it's opened, then its window
+   * is kept and shown again.
    *
    * @param god of type Card - the god tile to be opened.
    * @param isChoosing of type boolean - the value that states if the phase is the challenger or the
@@ -57,13 +63,17 @@ public class LoaderController implements GUIController {
    * @return boolean true if the god is chosen / selected, false otherwise.
    */
   public boolean godTile(Card god, boolean isChoosing) {
-    Stage godDetails = new Stage();
-    GodTile godTile = new GodTile(god, godDetails, gui, isChoosing);
-    Scene scene = new Scene(godTile);
-    godDetails.setScene(scene);
-    godDetails.setResizable(false);
-    godDetails.showAndWait();
-    return godTile.getValue();
+    Map<Card, GodTile> tiles = isChoosing ? chooseTiles : addTiles;
+    GodTile godTile = tiles.get(god);
+    if (godTile == null) {
+      Stage godDetails = new Stage();
+      godTile = new GodTile(god, godDetails, gui, isChoosing);
+      Scene scene = new Scene(godTile);
+      godDetails.setScene(scene);
+      godDetails.setResizable(false);
+      tiles.put(god, godTile);
+    }
+    return godTile.show();
   }
 
   /**
@@ -204,9 +214,15 @@ public class LoaderController implements GUIController {
     displayStatus.setFont(Font.font(size));
   }
 
-  /** @see GUIController#setGui(GUI) */
+  /**
+   * Method setGui sets the GUI reference and starts decoding the god and board graphics in
+   * background, while the player is still in the lobby.
+   *
+   * @see GUIController#setGui(GUI)
+   */
   @Override
   public void setGui(GUI gui) {
     this.gui = gui;
+    ImageCache.preload();
   }
 }
@@ -2,8 +2,8 @@ package it.polimi.ingsw.client.gui.controllers;
 
 import it.polimi.ingsw.client.ClientBoard;
 import it.polimi.ingsw.client.gui.GUI;
-import it.polimi.ingsw.client.gui.shapes.Block;
-import it.polimi.ingsw.client.gui.shapes.Dome;
+import it.polimi.ingsw.client.gui.ImageCache;
+import it.polimi.ingsw.client.gui.shapes.PieceLayer;
 import it.polimi.ingsw.client.gui.shapes.Worker;
 import it.polimi.ingsw.constants.Constants;
 import it.polimi.ingsw.constants.Couple;
@@ -21,7 +21,6 @@ import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
-import javafx.scene.paint.ImagePattern;
 
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -37,8 +36,6 @@ public class MainGuiController implements GUIController {
   public static final String RIGHT_BOARD = "rightBoard";
   public static final String ACTION = "action";
   public static final String GRAYED_OUT = "grayedOut";
-  public static final String GRAPHICS_ICONS_HAMMER = "/graphics/icons/hammer_";
-  public static final String PNG = ".png";
   private final HashMap<String, Color> colors;
   private final HashMap<Integer, Label> playerMapLabel = new HashMap<>();
   private final HashMap<Integer, ImageView> playerMapRect = new HashMap<>();
@@ -47,6 +44,7 @@ public class MainGuiController implements GUIController {
   private final HashMap<Color, Image> colorMapImage = new HashMap<>();
   private GUI gui;
   private ClientBoard board;
+  private PieceLayer pieces;
   @FXML private GridPane grid;
   @FXML private Label actionsLabel;
   @FXML private Button buttonMove;
@@ -74,11 +72,9 @@ public class MainGuiController implements GUIController {
     colors.put("BLUE", Color.DARKBLUE);
     colors.put("GREEN", Color.GREEN);
     colors.put("CYAN", Color.CYAN);
-    colorMapImage.put(Color.RED, new Image(getClass().getResourceAsStream("/graphics/red.png")));
-    colorMapImage.put(
-        Color.GREEN, new Image(getClass().getResourceAsStream("/graphics/green.png")));
-    colorMapImage.put(
-        Color.DARKBLUE, new Image(getClass().getResourceAsStream("/graphics/blue.png")));
+    colorMapImage.put(Color.RED, ImageCache.get("/graphics/red.png"));
+    colorMapImage.put(Color.GREEN, ImageCache.get("/graphics/green.png"));
+    colorMapImage.put(Color.DARKBLUE, ImageCache.get("/graphics/blue.png"));
   }
 
   /** Method init sets players' nicknames, colors and customAction visibility. */
@@ -130,13 +126,12 @@ public class MainGuiController implements GUIController {
     for (int i = 0; i < gui.getModelView().getPlayerMapColor().size(); i++) {
       playerMapStar
           .get(playerMapLabel.get(i).getText())
-          .setImage(
-              new Image(getClass().getResourceAsStream("/graphics/icons/clp_star_empty.png")));
+          .setImage(ImageCache.get("/graphics/icons/clp_star_empty.png"));
     }
     String currentPlayer = gui.getModelView().getCurrentPlayer();
     playerMapStar
         .get(currentPlayer)
-        .setImage(new Image(getClass().getResourceAsStream("/graphics/icons/clp_star_full.png")));
+        .setImage(ImageCache.get("/graphics/icons/clp_star_full.png"));
   }
 
   /**
@@ -202,16 +197,46 @@ public class MainGuiController implements GUIController {
   }
 
   /**
-   * Method setWorker adds a triangle (worker) into gridPane at row/col.
+   * Method setWorker shows a worker into gridPane at row/col.
    *
    * @param row of type int - the row of the cell.
    * @param col of type int - the column of the cell.
    */
   public void setWorker(int row, int col) {
-    Worker worker = new Worker(row, col, this);
-    grid.add(worker, col, row);
-    worker.radiusXProperty().bind(grid.widthProperty().divide(30));
-    worker.radiusYProperty().bind(grid.heightProperty().divide(30));
+    pieces.updateWorker(row, col, board.getColor(row, col));
+  }
+
+  /**
+   * Method redrawBoard shows again the cells of the client board changed since the last redraw.
+   */
+  public void redrawBoard() {
+    for (int row = Constants.GRID_MIN_SIZE; row < Constants.GRID_MAX_SIZE; row++) {
+      for (int col = Constants.GRID_MIN_SIZE; col < Constants.GRID_MAX_SIZE; col++) {
+        if (board.isDirty(row, col)) {
+          pieces.updateCell(row, col, board.getGrid()[row][col]);
+        }
+      }
+    }
+    board.clearDirty();
+  }
+
+  /** Method replayMode hides the action buttons, which can't be used while watching a replay. */
+  public void replayMode() {
+    buttonMove.setVisible(false);
+    buttonBuild.setVisible(false);
+    buttonEnd.setVisible(false);
+    buttonCustom.setVisible(false);
+    actionsLabel.setVisible(true);
+  }
+
+  /**
+   * Method removeWorker hides the worker shown at row/col.
+   *
+   * @param row of type int - the row of the cell.
+   * @param col of type int - the column of the cell.
+   */
+  public void removeWorker(int row, int col) {
+    pieces.updateWorker(row, col, null);
   }
 
   /** Method selectWorker makes the two workers selectable. */
@@ -246,36 +271,15 @@ public class MainGuiController implements GUIController {
   }
 
   /**
-   * Method addBlock adds an inner rectangle into the others one, if worker is on the selected cell
-   * is brought to the front.
+   * Method addBlock shows an inner rectangle into the others one; workers are always drawn above
+   * the blocks.
    *
    * @param row of type int - the row.
    * @param col of type int - the column.
    * @param level of type int - the level of the block
    */
   public void addBlock(int row, int col, int level) {
-    Worker worker = null;
-    for (Node node : grid.getChildren()) {
-      if (GridPane.getRowIndex(node) == row
-          && GridPane.getColumnIndex(node) == col
-          && node instanceof Worker) {
-        worker = (Worker) node;
-        grid.getChildren().remove(node);
-        break;
-      }
-    }
-    Block block = new Block(level, grid.getWidth() / 5, grid.getWidth() / 5);
-    grid.add(block, col, row);
-    double sqrt = Math.sqrt(Math.pow(level, 2) * 1.2) + 5;
-    block.widthProperty().bind(grid.widthProperty().divide(sqrt));
-    block.heightProperty().bind(grid.heightProperty().divide(sqrt));
-    // block.setScaleX(grid.getScene().lookup("#gridPane").getScaleX());
-    // block.setScaleY(grid.getScene().lookup("#gridPane").getScaleY());
-    if (worker != null) {
-      grid.add(worker, col, row);
-      worker.radiusXProperty().bind(grid.widthProperty().divide(30));
-      worker.radiusYProperty().bind(grid.heightProperty().divide(30));
-    }
+    pieces.setBlock(row, col, level, true);
   }
 
   /**
@@ -283,18 +287,10 @@ public class MainGuiController implements GUIController {
    *
    * @param row of type int - the row.
    * @param col of type int - the column.
-   * @param level of type int - the level of the block
+   * @param level of type int - the level of the cell after the removal.
    */
   public void removeBlock(int row, int col, int level) {
-    for (Node node : grid.getChildren()) {
-      if (GridPane.getRowIndex(node) == row
-          && GridPane.getColumnIndex(node) == col
-          && node instanceof Block
-          && level + 1 == ((Block) node).getLevel()) {
-        grid.getChildren().remove(node);
-        return;
-      }
-    }
+    pieces.setBlock(row, col, level + 1, false);
   }
   /**
    * Method getWorkerFromGrid returns the node of the grid which represents a worker at a specific
@@ -305,16 +301,7 @@ public class MainGuiController implements GUIController {
    * @return node of type Worker - the worker's node.
    */
   public Worker getWorkerFromGrid(int row, int col) {
-    Worker worker = null;
-    for (Node node : grid.getChildren()) {
-      if (GridPane.getRowIndex(node) == row
-          && GridPane.getColumnIndex(node) == col
-          && node instanceof Worker) {
-        worker = (Worker) node;
-        break;
-      }
-    }
-    return worker;
+    return pieces.getWorker(row, col);
   }
 
   /**
@@ -324,10 +311,7 @@ public class MainGuiController implements GUIController {
    * @param col of type int - the column of the cell.
    */
   public void addDome(int row, int col) {
-    Dome dome = new Dome(grid.getWidth() / 5, grid.getHeight());
-    grid.add(dome, col, row);
-    dome.radiusXProperty().bind(grid.widthProperty().divide(20));
-    dome.radiusYProperty().bind(grid.heightProperty().divide(20));
+    pieces.showDome(row, col);
   }
 
   /**
@@ -340,11 +324,8 @@ public class MainGuiController implements GUIController {
    * @param newCol of type int - the worker's new column.
    */
   public void move(int oldRow, int oldCol, int newRow, int newCol) {
-    grid.getChildren().remove(getWorkerFromGrid(oldRow, oldCol));
-    Worker worker = new Worker(newRow, newCol, this);
-    grid.add(worker, newCol, newRow);
-    worker.radiusXProperty().bind(grid.widthProperty().divide(30));
-    worker.radiusYProperty().bind(grid.heightProperty().divide(30));
+    setWorker(oldRow, oldCol);
+    setWorker(newRow, newCol);
   }
 
   /**
@@ -356,25 +337,8 @@ public class MainGuiController implements GUIController {
    * @param oldCol2 of type int - the other worker's old column (Apollo's new column).
    */
   public void apolloDoubleMove(int oldRow1, int oldCol1, int oldRow2, int oldCol2) {
-    Worker worker1 = getWorkerFromGrid(oldRow1, oldCol1);
-    worker1.deselect();
-    worker1.setFill(
-        new ImagePattern(
-            new Image(
-                getClass()
-                    .getResourceAsStream(
-                        GRAPHICS_ICONS_HAMMER
-                            + board.getColor(oldRow1, oldCol1).toLowerCase()
-                            + PNG))));
-    Worker worker2 = getWorkerFromGrid(oldRow2, oldCol2);
-    worker2.setFill(
-        new ImagePattern(
-            new Image(
-                getClass()
-                    .getResourceAsStream(
-                        "/graphics/icons/hammer_"
-                            + board.getColor(oldRow2, oldCol2).toLowerCase()
-                            + ".png"))));
+    setWorker(oldRow1, oldCol1);
+    setWorker(oldRow2, oldCol2);
   }
 
   /**
@@ -389,28 +353,9 @@ public class MainGuiController implements GUIController {
    */
   public void minotaurDoubleMove(
       int oldRow1, int oldCol1, int oldRow2, int oldCol2, int newRow2, int newCol2) {
-    Worker worker1 = getWorkerFromGrid(oldRow2, oldCol2);
-    worker1.setFill(
-        new ImagePattern(
-            new Image(
-                getClass()
-                    .getResourceAsStream(
-                        "/graphics/icons/hammer_"
-                            + board.getColor(oldRow2, oldCol2).toLowerCase()
-                            + ".png"))));
-    grid.getChildren().remove(getWorkerFromGrid(oldRow1, oldCol1));
-    Worker worker2 = new Worker(newRow2, newCol2, this);
-    worker2.setFill(
-        new ImagePattern(
-            new Image(
-                getClass()
-                    .getResourceAsStream(
-                        "/graphics/icons/hammer_"
-                            + board.getColor(newRow2, newCol2).toLowerCase()
-                            + ".png"))));
-    grid.add(worker2, newCol2, newRow2);
-    worker2.radiusXProperty().bind(grid.widthProperty().divide(30));
-    worker2.radiusYProperty().bind(grid.heightProperty().divide(30));
+    setWorker(oldRow1, oldCol1);
+    setWorker(oldRow2, oldCol2);
+    setWorker(newRow2, newCol2);
   }
 
   /**
@@ -553,6 +498,7 @@ public class MainGuiController implements GUIController {
   public void setGui(GUI gui) {
     this.gui = gui;
     board = gui.getModelView().getBoard();
+    pieces = new PieceLayer(grid, this);
   }
 
   /**
@@ -3,6 +3,7 @@ package it.polimi.ingsw.client.gui.controllers;
 import it.polimi.ingsw.client.ActionParser;
 import it.polimi.ingsw.client.ConnectionSocket;
 import it.polimi.ingsw.client.gui.GUI;
+import it.polimi.ingsw.client.gui.ImageCache;
 import it.polimi.ingsw.constants.Constants;
 import it.polimi.ingsw.exceptions.DuplicateNicknameException;
 import it.polimi.ingsw.exceptions.InvalidNicknameException;
@@ -10,7 +11,6 @@ import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 
 import java.awt.*;
@@ -62,11 +62,11 @@ public class MainMenuController implements GUIController {
   public void mute() {
     if (muted) {
       gui.getPlayer().play();
-      music.setImage(new Image(getClass().getResourceAsStream("/graphics/icons/speaker.png")));
+      music.setImage(ImageCache.get("/graphics/icons/speaker.png"));
       muted = false;
     } else {
       gui.getPlayer().stop();
-      music.setImage(new Image(getClass().getResourceAsStream("/graphics/icons/mute.png")));
+      music.setImage(ImageCache.get("/graphics/icons/mute.png"));
       muted = true;
     }
   }
@@ -116,7 +116,8 @@ public class MainMenuController implements GUIController {
         loaderController.setText("WAITING FOR PLAYERS");
         gui.getListeners()
             .addPropertyChangeListener(
-                "action", new ActionParser(connectionSocket, gui.getModelView()));
+                "action",
+                new ActionParser(connectionSocket, gui.getModelView(), gui.getActionHandler()));
 
       } catch (DuplicateNicknameException e) {
         Alert alert = new Alert(Alert.AlertType.ERROR);
@@ -0,0 +1,132 @@
+package it.polimi.ingsw.client.gui.shapes;
+
+import it.polimi.ingsw.client.Cell;
+import it.polimi.ingsw.client.gui.controllers.MainGuiController;
+import it.polimi.ingsw.constants.Constants;
+import javafx.scene.layout.GridPane;
+
+/**
+ * PieceLayer class is the pool of the pieces shown on the board. Every cell of the GridPane gets
+ * its three blocks, its dome and a worker when the layer is created, all of them hidden; updating
+ * the board only shows, hides or refills these nodes, so no node is ever allocated or added to the
+ * grid during the match and the grid children never change. Nodes are added by level, so blocks
+ * are always drawn below domes and workers.
+ *
+ * @author Alice Piemonti
+ */
+public class PieceLayer {
+  private static final int LEVELS = 3;
+  private final Block[][][] blocks;
+  private final Dome[][] domes;
+  private final Worker[][] workers;
+
+  /**
+   * Constructor PieceLayer creates a new PieceLayer instance, filling the grid with hidden pieces.
+   *
+   * @param grid of type GridPane - the board grid.
+   * @param controller of type MainGuiController - the MainGuiController reference.
+   */
+  public PieceLayer(GridPane grid, MainGuiController controller) {
+    int size = Constants.GRID_MAX_SIZE;
+    blocks = new Block[LEVELS][size][size];
+    domes = new Dome[size][size];
+    workers = new Worker[size][size];
+    for (int level = 1; level <= LEVELS; level++) {
+      double sqrt = Math.sqrt(Math.pow(level, 2) * 1.2) + 5;
+      for (int row = 0; row < size; row++) {
+        for (int col = 0; col < size; col++) {
+          Block block = new Block(level, 0, 0);
+          block.setVisible(false);
+          grid.add(block, col, row);
+          block.widthProperty().bind(grid.widthProperty().divide(sqrt));
+          block.heightProperty().bind(grid.heightProperty().divide(sqrt));
+          blocks[level - 1][row][col] = block;
+        }
+      }
+    }
+    for (int row = 0; row < size; row++) {
+      for (int col = 0; col < size; col++) {
+        Dome dome = new Dome(0, 0);
+        dome.setVisible(false);
+        grid.add(dome, col, row);
+        dome.radiusXProperty().bind(grid.widthProperty().divide(20));
+        dome.radiusYProperty().bind(grid.heightProperty().divide(20));
+        domes[row][col] = dome;
+      }
+    }
+    for (int row = 0; row < size; row++) {
+      for (int col = 0; col < size; col++) {
+        Worker worker = new Worker(row, col, controller);
+        grid.add(worker, col, row);
+        worker.radiusXProperty().bind(grid.widthProperty().divide(30));
+        worker.radiusYProperty().bind(grid.heightProperty().divide(30));
+        workers[row][col] = worker;
+      }
+    }
+  }
+
+  /**
+   * Method setBlock shows or hides the block of a certain level.
+   *
+   * @param row of type int - the row of the cell.
+   * @param col of type int - the column of the cell.
+   * @param level of type int - the level of the block (1 to 3).
+   * @param visible of type boolean - true to show the block, false to hide it.
+   */
+  public void setBlock(int row, int col, int level, boolean visible) {
+    blocks[level - 1][row][col].setVisible(visible);
+  }
+
+  /**
+   * Method showDome shows the dome of a cell.
+   *
+   * @param row of type int - the row of the cell.
+   * @param col of type int - the column of the cell.
+   */
+  public void showDome(int row, int col) {
+    domes[row][col].setVisible(true);
+  }
+
+  /**
+   * Method updateWorker shows the worker standing on a cell of the client board, or hides the
+   * worker node if the cell is empty.
+   *
+   * @param row of type int - the row of the cell.
+   * @param col of type int - the column of the cell.
+   * @param color of type String - the color of the worker on the cell, null if it's empty.
+   */
+  public void updateWorker(int row, int col, String color) {
+    if (color == null) {
+      workers[row][col].hide();
+    } else {
+      workers[row][col].show(color);
+    }
+  }
+
+  /**
+   * Method updateCell shows the pieces of a cell of the client board, whatever was shown before.
+   *
+   * @param row of type int - the row of the cell.
+   * @param col of type int - the column of the cell.
+   * @param cell of type Cell - the cell of the client board.
+   */
+  public void updateCell(int row, int col, Cell cell) {
+    for (int level = 1; level <= LEVELS; level++) {
+      setBlock(row, col, level, level <= cell.getLevel());
+    }
+    domes[row][col].setVisible(cell.isDome());
+    updateWorker(row, col, cell.getColor());
+  }
+
+  /**
+   * Method getWorker returns the worker node shown on a cell.
+   *
+   * @param row of type int - the row of the cell.
+   * @param col of type int - the column of the cell.
+   * @return Worker - the worker node, null if no worker is shown on the cell.
+   */
+  public Worker getWorker(int row, int col) {
+    Worker worker = workers[row][col];
+    return worker.isVisible() ? worker : null;
+  }
+}
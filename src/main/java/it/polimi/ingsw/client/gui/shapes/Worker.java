@@ -1,13 +1,12 @@
 package it.polimi.ingsw.client.gui.shapes;
 
+import it.polimi.ingsw.client.gui.ImageCache;
 import it.polimi.ingsw.client.gui.controllers.MainGuiController;
 import it.polimi.ingsw.constants.Constants;
 import javafx.scene.Cursor;
-import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.GridPane;
 import javafx.scene.paint.Color;
-import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Ellipse;
 import javafx.scene.shape.Polygon;
 
@@ -24,7 +23,7 @@ public class Worker extends Ellipse {
   private final MainGuiController controller;
 
   /**
-   * Constructor Worker creates a new Worker instance.
+   * Constructor Worker creates a new Worker instance, hidden until a worker stands on its cell.
    *
    * @param row of type int - the row of the cell.
    * @param col of type int - the column of the cell.
@@ -32,10 +31,10 @@ public class Worker extends Ellipse {
    */
   public Worker(int row, int col, MainGuiController controller) {
     setStroke(Color.BLACK);
+    setVisible(false);
     this.row = row;
     this.col = col;
     this.controller = controller;
-    setColor();
   }
   /** Method makeSelectable makes the worker selectable. */
   public void makeSelectable() {
@@ -119,15 +118,25 @@ public class Worker extends Ellipse {
     this.col = col;
   }
 
-  /** Method setColor sets right color to the worker. */
-  public void setColor() {
+  /**
+   * Method show shows the worker with the right color, dropping any previous mouse handler.
+   *
+   * @param color of type String - the color of the worker.
+   */
+  public void show(String color) {
+    hide();
+    setFill(ImageCache.getWorkerFill(color));
+    setVisible(true);
+  }
 
-    String color =
-        "/graphics/icons/hammer_"
-            + controller.getGUI().getModelView().getBoard().getColor(row, col).toLowerCase()
-            + ".png";
-    Image img = new Image(getClass().getResourceAsStream(color));
-    setFill(new ImagePattern(img));
+  /** Method hide hides the worker and drops its mouse handlers. */
+  public void hide() {
+    setVisible(false);
+    deselect();
+    setOnMousePressed(null);
+    setOnMouseReleased(null);
+    setOnMouseDragged(null);
+    setCursor(Cursor.DEFAULT);
   }
 
   /**
@@ -1,6 +1,7 @@
 package it.polimi.ingsw.client.gui.tiles;
 
 import it.polimi.ingsw.client.gui.GUI;
+import it.polimi.ingsw.client.gui.ImageCache;
 import it.polimi.ingsw.model.Card;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -60,8 +61,7 @@ public class GodTile extends HBox {
   /** Method createFirstLayer sets god's image layer. */
   private void createFirstLayer() {
     ImageView god =
-        new ImageView(
-            getClass().getResource("/graphics/gods/" + card.toString() + ".png").toExternalForm());
+        new ImageView(ImageCache.get(ImageCache.GODS + card.toString() + ImageCache.PNG));
     Pane firstLayer = new Pane();
     firstLayer.getChildren().add(god);
     god.setLayoutX(3);
@@ -73,8 +73,7 @@ public class GodTile extends HBox {
 
   /** Method createSecondLayer sets the stone fragment's layer. */
   private void createSecondLayer() {
-    ImageView secondLayer =
-        new ImageView(getClass().getResource("/graphics/bgs/versus_bg1.png").toExternalForm());
+    ImageView secondLayer = new ImageView(ImageCache.get("/graphics/bgs/versus_bg1.png"));
     secondLayer.setFitWidth(400);
     secondLayer.setPreserveRatio(true);
     mainPane.getChildren().add(secondLayer);
@@ -83,8 +82,7 @@ public class GodTile extends HBox {
   /** Method createThirdLayer sets god's name background and description layer. */
   private void createThirdLayer() {
     Pane thirdLayer = new Pane();
-    ImageView img1 =
-        new ImageView(getClass().getResource("/graphics/bgs/god_name.png").toExternalForm());
+    ImageView img1 = new ImageView(ImageCache.get("/graphics/bgs/god_name.png"));
     img1.setFitHeight(77);
     img1.setFitWidth(245);
     img1.setLayoutX(10);
@@ -104,9 +102,7 @@ public class GodTile extends HBox {
     descText.setLayoutX(275);
     descText.setLayoutY(90);
 
-    ImageView powerBackground =
-        new ImageView(
-            getClass().getResource("/graphics/gods/power/panel_hero.png").toExternalForm());
+    ImageView powerBackground = new ImageView(ImageCache.get(ImageCache.POWERS + "panel_hero.png"));
     thirdLayer.getChildren().add(powerBackground);
     powerBackground.setFitHeight(75);
     powerBackground.setFitWidth(145);
@@ -125,10 +121,7 @@ public class GodTile extends HBox {
     mainPane.getChildren().add(fourthLayer);
 
     ImageView power =
-        new ImageView(
-            getClass()
-                .getResource("/graphics/gods/power/" + card.toString() + ".png")
-                .toExternalForm());
+        new ImageView(ImageCache.get(ImageCache.POWERS + card.toString() + ImageCache.PNG));
     fourthLayer.getChildren().add(power);
     power.setFitHeight(38);
     power.setPreserveRatio(true);
@@ -198,6 +191,18 @@ public class GodTile extends HBox {
     stage.close();
   }
 
+  /**
+   * Method show opens the window of this tile and waits for it to be closed. A tile can be shown
+   * any number of times.
+   *
+   * @return boolean true if the god has been added or chosen, false otherwise.
+   */
+  public boolean show() {
+    value = false;
+    stage.showAndWait();
+    return value;
+  }
+
   /**
    * Method getValue returns the value of this GodTile object.
    *
@@ -0,0 +1,158 @@
+package it.polimi.ingsw.client.loadtest;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LoadReport class collects the measurements taken by every synthetic client during a load test
+ * run and prints a summary of them. All the methods are synchronized, since clients record their
+ * values from their own threads.
+ * @author Luca Pirovano
+ */
+public class LoadReport {
+  private final Samples connectLatencies = new Samples();
+  private final Samples matchLatencies = new Samples();
+  private final Samples roundTrips = new Samples();
+  private final Map<Outcome, Integer> outcomes = new EnumMap<>(Outcome.class);
+  private long actionsSent;
+  private long errorsReceived;
+
+  /** Outcome enum represents the way a synthetic client session has terminated. */
+  public enum Outcome {
+    WON,
+    LOST,
+    ABORTED,
+    REJECTED,
+    CONNECTION_FAILED,
+    PROTOCOL_ERROR,
+    TIMEOUT
+  }
+
+  /**
+   * Method recordConnect stores the time needed to obtain the connection confirmation from the
+   * server.
+   * @param nanos of type long - the connect latency, in nanoseconds.
+   */
+  public synchronized void recordConnect(long nanos) {
+    connectLatencies.add(nanos);
+  }
+
+  /**
+   * Method recordMatchStart stores the time elapsed between the connection confirmation and the
+   * MatchStartedMessage reception.
+   * @param nanos of type long - the time to match, in nanoseconds.
+   */
+  public synchronized void recordMatchStart(long nanos) {
+    matchLatencies.add(nanos);
+  }
+
+  /**
+   * Method recordSession stores the per-client counters at the end of its session. Round trips are
+   * buffered by the client itself, so that the report lock is taken once per session.
+   * @param outcome of type Outcome - the session outcome.
+   * @param trips of type long[] - the action round trip samples, in nanoseconds.
+   * @param tripsCount of type int - the number of valid samples inside trips.
+   * @param actions of type int - the number of actions sent by the client.
+   * @param errors of type int - the number of GameError answers received by the client.
+   */
+  public synchronized void recordSession(
+      Outcome outcome, long[] trips, int tripsCount, int actions, int errors) {
+    outcomes.merge(outcome, 1, Integer::sum);
+    for (int i = 0; i < tripsCount; i++) {
+      roundTrips.add(trips[i]);
+    }
+    actionsSent += actions;
+    errorsReceived += errors;
+  }
+
+  /**
+   * Method print writes the report on the provided stream.
+   * @param out of type PrintStream - the destination stream.
+   * @param elapsedNanos of type long - the whole test duration, in nanoseconds.
+   */
+  public synchronized void print(PrintStream out, long elapsedNanos) {
+    int sessions = outcomes.values().stream().mapToInt(Integer::intValue).sum();
+    int failed =
+        sessions
+            - outcomes.getOrDefault(Outcome.WON, 0)
+            - outcomes.getOrDefault(Outcome.LOST, 0)
+            - outcomes.getOrDefault(Outcome.ABORTED, 0);
+    out.println("---------------- LOAD TEST REPORT ----------------");
+    out.printf("Duration:            %.1f s%n", elapsedNanos / 1e9);
+    out.printf("Sessions:            %d (%d failed)%n", sessions, failed);
+    outcomes.forEach((outcome, count) -> out.printf("  %-18s %d%n", outcome, count));
+    out.println("Connect latency:     " + connectLatencies.summary());
+    out.println("Time to match:       " + matchLatencies.summary());
+    out.println("Action round trip:   " + roundTrips.summary());
+    out.printf(
+        "Actions sent:        %d (%.1f/s)%n",
+        actionsSent, actionsSent / Math.max(elapsedNanos / 1e9, 1e-9));
+    out.printf(
+        "Error rate:          %.3f%% (%d game errors, %d failed sessions)%n",
+        actionsSent + sessions == 0
+            ? 0.0
+            : 100.0 * (errorsReceived + failed) / (actionsSent + sessions),
+        errorsReceived,
+        failed);
+    out.println("--------------------------------------------------");
+  }
+
+  /**
+   * Samples class is a growable array of latency samples, which avoids boxing thousands of values
+   * inside a list.
+   */
+  private static class Samples {
+    private long[] values = new long[1024];
+    private int size;
+
+    /**
+     * Method add appends a sample.
+     * @param value of type long - the sample, in nanoseconds.
+     */
+    void add(long value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    /**
+     * Method summary sorts the samples and formats count, p50, p99 and max in milliseconds.
+     * @return String - the formatted summary.
+     */
+    String summary() {
+      if (size == 0) {
+        return "no samples";
+      }
+      long[] sorted = Arrays.copyOf(values, size);
+      Arrays.sort(sorted);
+      return String.format(
+          "n=%d p50=%.2f ms p99=%.2f ms max=%.2f ms",
+          size, millis(percentile(sorted, 50)), millis(percentile(sorted, 99)),
+          millis(sorted[size - 1]));
+    }
+
+    /**
+     * Method percentile returns the nearest-rank percentile of a sorted array.
+     * @param sorted of type long[] - the sorted samples.
+     * @param percent of type int - the requested percentile.
+     * @return long - the percentile value.
+     */
+    private static long percentile(long[] sorted, int percent) {
+      int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+      return sorted[Math.max(rank - 1, 0)];
+    }
+
+    /**
+     * Method millis converts nanoseconds into fractional milliseconds.
+     * @param nanos of type long - the value to convert.
+     * @return double - the value in milliseconds.
+     */
+    private static double millis(long nanos) {
+      return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+  }
+}
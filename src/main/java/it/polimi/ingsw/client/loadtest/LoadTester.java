@@ -0,0 +1,67 @@
+package it.polimi.ingsw.client.loadtest;
+
+import it.polimi.ingsw.constants.Constants;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LoadTester class is the entry point of the load generator. It spawns a swarm of synthetic
+ * clients against a running server, waits for their sessions to end and prints a LoadReport.
+ *
+ * <p>Arguments are provided as key=value pairs: host, port, clients, players, rampup (total
+ * ramp-up time in milliseconds), timeout (idle timeout of each client in milliseconds) and seed.
+ * The "loadtest" Maven profile runs it through exec:java, mapping each argument to a
+ * loadtest.&lt;key&gt; property.
+ * @author Luca Pirovano
+ */
+public class LoadTester {
+  private static final Map<String, String> DEFAULTS =
+      Map.of(
+          "host", "127.0.0.1",
+          "port", "12345",
+          "clients", "100",
+          "players", "2",
+          "rampup", "5000",
+          "timeout", "60000",
+          "seed", "0");
+
+  private LoadTester() {}
+
+  /**
+   * The main method of the load generator.
+   * @param args of type String[] - the key=value arguments described above.
+   * @throws InterruptedException when the main thread is interrupted while waiting the clients.
+   */
+  public static void main(String[] args) throws InterruptedException {
+    Map<String, String> settings = Constants.parseArguments(args, DEFAULTS);
+    InetSocketAddress address =
+        new InetSocketAddress(settings.get("host"), Integer.parseInt(settings.get("port")));
+    int clients = Integer.parseInt(settings.get("clients"));
+    int players = Integer.parseInt(settings.get("players"));
+    long rampUp = Long.parseLong(settings.get("rampup"));
+    int timeout = Integer.parseInt(settings.get("timeout"));
+    long seed = Long.parseLong(settings.get("seed"));
+
+    System.out.println(Constants.getInfo() + "Starting " + clients + " synthetic clients against "
+        + address + " (" + players + " players per match)");
+    LoadReport report = new LoadReport();
+    ExecutorService executor = Executors.newCachedThreadPool();
+    long start = System.nanoTime();
+    long interval = clients > 1 ? TimeUnit.MILLISECONDS.toNanos(rampUp) / clients : 0;
+    for (int i = 0; i < clients; i++) {
+      executor.submit(new SyntheticClient("load" + i, address, players, timeout, report, seed + i));
+      if (interval > 0) {
+        TimeUnit.NANOSECONDS.sleep(interval);
+      }
+    }
+    executor.shutdown();
+    while (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+      System.out.println(Constants.getInfo() + "Waiting for the running sessions...");
+    }
+    report.print(System.out, System.nanoTime() - start);
+  }
+}
@@ -0,0 +1,462 @@
+package it.polimi.ingsw.client.loadtest;
+
+import it.polimi.ingsw.client.messages.ChosenColor;
+import it.polimi.ingsw.client.messages.Message;
+import it.polimi.ingsw.client.messages.NumberOfPlayers;
+import it.polimi.ingsw.client.messages.actions.ChallengerPhaseAction;
+import it.polimi.ingsw.client.messages.actions.UserAction;
+import it.polimi.ingsw.client.messages.actions.WorkerSetupAction;
+import it.polimi.ingsw.client.messages.actions.turnactions.EndTurnAction;
+import it.polimi.ingsw.client.messages.actions.turnactions.StartTurnAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.BuildAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.MoveAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.PackedAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.SelectBuildAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.SelectMoveAction;
+import it.polimi.ingsw.client.loadtest.LoadReport.Outcome;
+import it.polimi.ingsw.client.sdk.AnswerListener;
+import it.polimi.ingsw.client.sdk.HeadlessClient;
+import it.polimi.ingsw.constants.Couple;
+import it.polimi.ingsw.model.Card;
+import it.polimi.ingsw.model.player.Action;
+import it.polimi.ingsw.model.player.PlayerColors;
+import it.polimi.ingsw.server.answers.*;
+import it.polimi.ingsw.server.answers.turn.EndTurnMessage;
+import it.polimi.ingsw.server.answers.turn.ModifiedTurnMessage;
+import it.polimi.ingsw.server.answers.turn.WorkersRequestMessage;
+import it.polimi.ingsw.server.answers.worker.*;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * SyntheticClient class is a bot playing on top of a HeadlessClient. It registers a nickname,
+ * answers the lobby and setup requests, places its workers and plays random turns chosen among the
+ * spaces received inside SelectSpacesMessage answers, recording every measurement into a shared
+ * LoadReport.
+ * @author Luca Pirovano
+ */
+public class SyntheticClient implements Runnable, AnswerListener {
+  private static final int MAX_TURN_ACTIONS = 40;
+  /** The answers replying to an action sent by the client during its own turn. */
+  private static final Set<Class<? extends Answer>> TURN_ANSWERS =
+      Set.of(
+          ModifiedTurnMessage.class,
+          SelectSpacesMessage.class,
+          MoveMessage.class,
+          DoubleMoveMessage.class,
+          BuildMessage.class,
+          EndTurnMessage.class);
+  private final String nickname;
+  private final int playersNumber;
+  private final int idleTimeout;
+  private final LoadReport report;
+  private final Random rnd;
+  private final HeadlessClient client;
+  private final CountDownLatch finished = new CountDownLatch(1);
+  private long startedAt;
+  private long connectedAt;
+  private long pendingSince;
+  private long[] roundTrips = new long[64];
+  private int roundTripsCount;
+  private int actions;
+  private int errors;
+  private Outcome outcome;
+  private TurnState state = TurnState.IDLE;
+  private final Deque<Card> challengerPool = new ArrayDeque<>();
+  private boolean addingGods;
+  private int colorAttempts;
+  private List<int[]> placementSpaces;
+  private List<Couple> offeredSpaces;
+  private int worker;
+  private boolean otherWorkerTried;
+  private int turnActions;
+
+  /** TurnState enum represents the last request sent by the client inside its own turn. */
+  private enum TurnState {
+    IDLE,
+    STARTING,
+    MOVING,
+    SELECTING_BUILD,
+    BUILDING,
+    ENDING
+  }
+
+  /**
+   * Constructor SyntheticClient creates a new SyntheticClient instance.
+   * @param nickname of type String - the unique nickname of the synthetic player.
+   * @param address of type InetSocketAddress - the server address.
+   * @param playersNumber of type int - the lobby size requested when this client is the host.
+   * @param idleTimeout of type int - the maximum silence, in milliseconds, before giving up.
+   * @param report of type LoadReport - the shared report.
+   * @param seed of type long - the seed of the client random choices.
+   */
+  public SyntheticClient(
+      String nickname,
+      InetSocketAddress address,
+      int playersNumber,
+      int idleTimeout,
+      LoadReport report,
+      long seed) {
+    this.nickname = nickname;
+    this.playersNumber = playersNumber;
+    this.idleTimeout = idleTimeout;
+    this.report = report;
+    this.rnd = new Random(seed);
+    this.client = new HeadlessClient(address, this);
+  }
+
+  /**
+   * Method run opens the connection and waits until the match is over; the collected counters are
+   * handed to the report as soon as the outcome is known.
+   * @see Runnable#run()
+   */
+  @Override
+  public void run() {
+    startedAt = System.nanoTime();
+    try {
+      client.connect(nickname, idleTimeout);
+      finished.await();
+    } catch (IOException e) {
+      finish(Outcome.CONNECTION_FAILED);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      finish(Outcome.ABORTED);
+    }
+  }
+
+  /**
+   * Method onAnswer closes the round trip of the last action sent, if the answer replies to it: a
+   * GameError or a turn answer received while the client is playing its turn. Broadcasts,
+   * countdowns and the other players' notices don't close it.
+   * @param answer of type Answer - the answer received from the server.
+   */
+  @Override
+  public void onAnswer(Answer answer) {
+    boolean reply =
+        answer instanceof GameError
+            || (state != TurnState.IDLE && TURN_ANSWERS.contains(answer.getClass()));
+    if (pendingSince != 0 && reply) {
+      addRoundTrip(System.nanoTime() - pendingSince);
+      pendingSince = 0;
+    }
+  }
+
+  @Override
+  public void onConnection(ConnectionMessage answer) {
+    if (connectedAt == 0) {
+      connectedAt = System.nanoTime();
+      report.recordConnect(connectedAt - startedAt);
+    } else if (answer.getType() == 1) {
+      finish(Outcome.ABORTED);
+    }
+  }
+
+  @Override
+  public void onPlayersNumberRequest(RequestPlayersNumber answer) {
+    send(new NumberOfPlayers(playersNumber));
+  }
+
+  @Override
+  public void onColor(ColorMessage answer) {
+    chooseColor(answer);
+  }
+
+  @Override
+  public void onChallenger(ChallengerMessages answer) {
+    challengerPhase(answer);
+  }
+
+  @Override
+  public void onWorkerPlacement(WorkerPlacement answer) {
+    placementSpaces = new ArrayList<>(answer.getAvailableCoordinates());
+    placeWorkers();
+  }
+
+  @Override
+  public void onMatchStarted(MatchStartedMessage answer) {
+    report.recordMatchStart(System.nanoTime() - connectedAt);
+  }
+
+  @Override
+  public void onWorkersRequest(WorkersRequestMessage answer) {
+    worker = rnd.nextInt(2);
+    otherWorkerTried = false;
+    turnActions = 0;
+    startTurn();
+  }
+
+  @Override
+  public void onSelectSpaces(SelectSpacesMessage answer) {
+    offeredSpaces =
+        answer.getMessage() == null ? new ArrayList<>() : new ArrayList<>(answer.getMessage());
+    if (offeredSpaces.isEmpty()) {
+      state = TurnState.ENDING;
+      send(new EndTurnAction());
+    } else if (answer.getAction() == Action.SELECT_MOVE) {
+      move();
+    } else {
+      build();
+    }
+  }
+
+  @Override
+  public void onModifiedTurn(ModifiedTurnMessage answer) {
+    if (state == TurnState.STARTING) {
+      state = TurnState.MOVING;
+      send(new SelectMoveAction());
+    }
+  }
+
+  @Override
+  public void onMove(MoveMessage answer) {
+    moved();
+  }
+
+  @Override
+  public void onDoubleMove(DoubleMoveMessage answer) {
+    moved();
+  }
+
+  @Override
+  public void onBuild(BuildMessage answer) {
+    if (state == TurnState.BUILDING) {
+      state = TurnState.ENDING;
+      send(new EndTurnAction());
+    }
+  }
+
+  @Override
+  public void onEndTurn(EndTurnMessage answer) {
+    state = TurnState.IDLE;
+  }
+
+  @Override
+  public void onGameError(GameError answer) {
+    errors++;
+    recover(answer);
+  }
+
+  @Override
+  public void onWin(WinMessage answer) {
+    finish(Outcome.WON);
+  }
+
+  @Override
+  public void onLose(LoseMessage answer) {
+    finish(Outcome.LOST);
+  }
+
+  @Override
+  public void onPlayerLost(PlayerLostMessage answer) {
+    if (nickname.equals(answer.getLoser())) {
+      finish(Outcome.LOST);
+    }
+  }
+
+  /**
+   * Method onDisconnected turns the cause of an unexpected disconnection into the outcome.
+   * @param cause of type Exception - the cause, null if the client has been closed.
+   */
+  @Override
+  public void onDisconnected(Exception cause) {
+    if (cause instanceof SocketTimeoutException) {
+      finish(Outcome.TIMEOUT);
+    } else if (cause instanceof EOFException) {
+      finish(Outcome.ABORTED);
+    } else if (cause instanceof IOException) {
+      finish(connectedAt == 0 ? Outcome.CONNECTION_FAILED : Outcome.ABORTED);
+    } else {
+      finish(cause == null ? Outcome.ABORTED : Outcome.PROTOCOL_ERROR);
+    }
+  }
+
+  /**
+   * Method finish records the session, only the first time it's called, and closes the
+   * connection.
+   * @param result of type Outcome - the outcome of the session.
+   */
+  private void finish(Outcome result) {
+    synchronized (this) {
+      if (outcome != null) {
+        return;
+      }
+      outcome = result;
+      report.recordSession(outcome, roundTrips, roundTripsCount, actions, errors);
+    }
+    client.close();
+    finished.countDown();
+  }
+
+  /** Method moved asks for the build spaces once the worker has moved. */
+  private void moved() {
+    if (state == TurnState.MOVING) {
+      state = TurnState.SELECTING_BUILD;
+      send(new SelectBuildAction());
+    }
+  }
+
+  /**
+   * Method chooseColor answers a color request with one of the remaining colors; the server
+   * sends a ColorMessage without text as confirmation, which is ignored.
+   * @param answer of type ColorMessage - the color request.
+   */
+  private void chooseColor(ColorMessage answer) {
+    if (answer.getMessage() == null) {
+      return;
+    }
+    List<PlayerColors> remaining = answer.getRemaining();
+    PlayerColors color =
+        remaining.isEmpty()
+            ? PlayerColors.values()[colorAttempts % PlayerColors.values().length]
+            : remaining.get(rnd.nextInt(remaining.size()));
+    colorAttempts++;
+    send(new ChosenColor(color));
+  }
+
+  /**
+   * Method challengerPhase plays the god selection: the challenger adds random gods until the deck
+   * is full, the other players pick a random god from the deck and the challenger finally chooses
+   * a random starting player.
+   * @param answer of type ChallengerMessages - the challenger phase answer.
+   */
+  private void challengerPhase(ChallengerMessages answer) {
+    if (answer.getSelectable() != null) {
+      List<Card> selectable = answer.getSelectable();
+      send(new ChallengerPhaseAction("CHOOSE", selectable.get(rnd.nextInt(selectable.size()))));
+    } else if (answer.isStartingPlayer()) {
+      send(new ChallengerPhaseAction(rnd.nextInt(answer.getPlayers().size())));
+    } else if (answer.getMessage() != null && answer.getMessage().contains("you are the challenger")) {
+      List<Card> gods = new ArrayList<>(Arrays.asList(Card.values()));
+      Collections.shuffle(gods, rnd);
+      challengerPool.clear();
+      challengerPool.addAll(gods);
+      addingGods = true;
+      send(new ChallengerPhaseAction("ADD", challengerPool.pop()));
+    } else if (addingGods && answer.getMessage() != null) {
+      if (answer.getMessage().contains("All gods have been added")
+          || answer.getMessage().contains("no more god")
+          || challengerPool.isEmpty()) {
+        addingGods = false;
+      } else {
+        send(new ChallengerPhaseAction("ADD", challengerPool.pop()));
+      }
+    }
+  }
+
+  /**
+   * Method placeWorkers picks two distinct free spaces among the available ones.
+   */
+  private void placeWorkers() {
+    if (placementSpaces.size() < 2) {
+      throw new IllegalStateException("No space left for the workers");
+    }
+    int[] first = placementSpaces.remove(rnd.nextInt(placementSpaces.size()));
+    int[] second = placementSpaces.get(rnd.nextInt(placementSpaces.size()));
+    send(
+        new WorkerSetupAction(
+            new String[] {
+              "SET",
+              String.valueOf(first[0]),
+              String.valueOf(first[1]),
+              String.valueOf(second[0]),
+              String.valueOf(second[1])
+            }));
+  }
+
+  /**
+   * Method startTurn selects the current worker.
+   */
+  private void startTurn() {
+    state = TurnState.STARTING;
+    send(new StartTurnAction(worker == 0 ? "worker1" : "worker2"));
+  }
+
+  /**
+   * Method move sends a move towards a random offered space, packed like the CLI does.
+   */
+  private void move() {
+    Couple target = offeredSpaces.remove(rnd.nextInt(offeredSpaces.size()));
+    state = TurnState.MOVING;
+    send(PackedAction.of(worker + 1, new MoveAction(target.getRow(), target.getColumn())));
+  }
+
+  /**
+   * Method build sends a build onto a random offered space, packed like the CLI does.
+   */
+  private void build() {
+    Couple target = offeredSpaces.remove(rnd.nextInt(offeredSpaces.size()));
+    state = TurnState.BUILDING;
+    send(PackedAction.of(worker + 1, new BuildAction(target.getRow(), target.getColumn())));
+  }
+
+  /**
+   * Method recover reacts to a GameError, retrying with another choice when possible.
+   * @param error of type GameError - the error received.
+   */
+  private void recover(GameError error) {
+    if (error.getError() == ErrorsType.DUPLICATENICKNAME
+        || error.getError() == ErrorsType.INVALIDNICKNAME
+        || error.getError() == ErrorsType.FULLSERVER) {
+      finish(Outcome.REJECTED);
+    } else if (error.getError() == ErrorsType.CELLOCCUPIED && placementSpaces != null) {
+      placeWorkers();
+    } else if (state == TurnState.STARTING && !otherWorkerTried) {
+      otherWorkerTried = true;
+      worker = 1 - worker;
+      startTurn();
+    } else if (state == TurnState.MOVING && offeredSpaces != null && !offeredSpaces.isEmpty()) {
+      move();
+    } else if (state == TurnState.BUILDING && offeredSpaces != null && !offeredSpaces.isEmpty()) {
+      build();
+    } else if (state == TurnState.ENDING) {
+      state = TurnState.SELECTING_BUILD;
+      send(new SelectBuildAction());
+    }
+  }
+
+  /**
+   * Method send queues a setup message.
+   * @param message of type Message - the message to be sent.
+   */
+  private void send(Message message) {
+    client.send(message);
+  }
+
+  /**
+   * Method send queues a user action. The round trip timer is started only for the actions of the
+   * client's own turn, whose replies are told apart by onAnswer.
+   * @param action of type UserAction - the action to be sent.
+   */
+  private void send(UserAction action) {
+    if (state != TurnState.IDLE && ++turnActions > MAX_TURN_ACTIONS) {
+      throw new IllegalStateException("Turn is not progressing");
+    }
+    actions++;
+    pendingSince = state != TurnState.IDLE ? System.nanoTime() : 0;
+    client.send(action);
+  }
+
+  /**
+   * Method addRoundTrip buffers a round trip sample locally, in order to keep the report lock out
+   * of the receiving loop.
+   * @param nanos of type long - the round trip, in nanoseconds.
+   */
+  private void addRoundTrip(long nanos) {
+    if (roundTripsCount == roundTrips.length) {
+      roundTrips = Arrays.copyOf(roundTrips, roundTripsCount * 2);
+    }
+    roundTrips[roundTripsCount++] = nanos;
+  }
+}
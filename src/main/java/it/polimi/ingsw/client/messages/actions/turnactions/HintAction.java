@@ -0,0 +1,12 @@
+package it.polimi.ingsw.client.messages.actions.turnactions;
+
+import it.polimi.ingsw.client.messages.actions.UserAction;
+
+/**
+ * HintAction class is a UserAction sent by the client to the server, it asks for the best turn
+ * the player can play from the current position.
+ *
+ * @author Luca Pirovano
+ * @see UserAction
+ */
+public class HintAction implements UserAction {}
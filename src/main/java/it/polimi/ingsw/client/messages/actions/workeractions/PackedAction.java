@@ -0,0 +1,96 @@
+package it.polimi.ingsw.client.messages.actions.workeractions;
+
+import it.polimi.ingsw.constants.Couple;
+import it.polimi.ingsw.model.player.Action;
+import it.polimi.ingsw.model.rules.Step;
+
+/**
+ * PackedAction class is a UserAction sent by the client to the server, it carries a move, a forced
+ * worker, a build or a block removed as a single encoded step instead of an action object holding
+ * a Couple. The server unpacks it into the matching action.
+ *
+ * @author Alice Piemonti
+ * @see Step
+ */
+public class PackedAction extends WorkerAction {
+
+  private final short step;
+
+  /**
+   * Constructor PackedAction creates a new PackedAction instance.
+   *
+   * @param step of type short - the encoded step, holding a single worker action.
+   * @throws IllegalArgumentException when the step holds no action or more than one.
+   */
+  public PackedAction(short step) {
+    if (!Step.isSingle(step)) {
+      throw new IllegalArgumentException("Not a single action: " + Step.toString(step));
+    }
+    this.step = step;
+  }
+
+  /**
+   * Method of packs a move or build action.
+   *
+   * @param workerNum of type int - the worker playing the action (1 or 2).
+   * @param action of type WorkerAction - a MoveAction, a BuildAction or an AtlasBuildAction.
+   * @return PackedAction - the packed action.
+   * @throws IllegalArgumentException when the action can't be packed.
+   */
+  public static PackedAction of(int workerNum, WorkerAction action) {
+    if (action instanceof MoveAction) {
+      MoveAction move = (MoveAction) action;
+      int to = Step.index(move.getMessage());
+      return new PackedAction(
+          move.getAction() == Action.FORCE_WORKER
+              ? Step.force(workerNum, to)
+              : Step.move(workerNum, to));
+    }
+    if (action instanceof BuildAction) {
+      BuildAction build = (BuildAction) action;
+      int cell = Step.index(build.getMessage());
+      if (build.getAction() == Action.REMOVE) {
+        return new PackedAction(Step.remove(workerNum, cell));
+      }
+      boolean dome = build instanceof AtlasBuildAction && ((AtlasBuildAction) build).isDome();
+      return new PackedAction(Step.build(workerNum, cell, dome));
+    }
+    throw new IllegalArgumentException("Not a move or build action: " + action);
+  }
+
+  /**
+   * Method toAction unpacks the action.
+   *
+   * @return WorkerAction - a MoveAction, a BuildAction or an AtlasBuildAction for a dome.
+   */
+  public WorkerAction toAction() {
+    if (Step.getTo(step) != Step.NONE) {
+      Couple to = Step.couple(Step.getTo(step));
+      return new MoveAction(
+          to.getRow(), to.getColumn(), Step.isForce(step) ? Action.FORCE_WORKER : Action.MOVE);
+    }
+    Couple build = Step.couple(Step.getBuild(step));
+    if (Step.isRemove(step)) {
+      return new BuildAction(build.getRow(), build.getColumn(), Action.REMOVE);
+    }
+    if (Step.isDome(step)) {
+      return new AtlasBuildAction(build.getRow(), build.getColumn(), true);
+    }
+    return new BuildAction(build.getRow(), build.getColumn());
+  }
+
+  /**
+   * Method getWorkerNum returns the worker playing the action.
+   *
+   * @return int - 1 or 2.
+   */
+  public int getWorkerNum() {
+    return Step.getWorkerNum(step);
+  }
+
+  /** @see WorkerAction#getMessage() */
+  @Override
+  public Short getMessage() {
+    return step;
+  }
+}
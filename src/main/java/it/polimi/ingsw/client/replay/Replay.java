@@ -0,0 +1,333 @@
+package it.polimi.ingsw.client.replay;
+
+import it.polimi.ingsw.client.ClientBoard;
+import it.polimi.ingsw.constants.Couple;
+import it.polimi.ingsw.constants.Move;
+import it.polimi.ingsw.model.rules.Position;
+import it.polimi.ingsw.server.answers.Answer;
+import it.polimi.ingsw.server.answers.MatchStartedMessage;
+import it.polimi.ingsw.server.answers.SetWorkersMessage;
+import it.polimi.ingsw.server.answers.turn.StartTurnMessage;
+import it.polimi.ingsw.server.answers.turn.WorkersRequestMessage;
+import it.polimi.ingsw.server.answers.worker.BuildMessage;
+import it.polimi.ingsw.server.answers.worker.DoubleMoveMessage;
+import it.polimi.ingsw.server.answers.worker.MoveMessage;
+import it.polimi.ingsw.server.answers.worker.PlayerLostMessage;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replay class is a recorded match loaded in memory. The match is a list of frames, each one being
+ * a server answer which changes the board or the current player; the state shown at frame f is
+ * the one obtained applying the first f answers to an empty board. A keyframe (the packed board
+ * and the current player) is stored every KEYFRAME_INTERVAL frames, so any frame can be rebuilt
+ * applying less than KEYFRAME_INTERVAL answers to the closest keyframe before it.
+ *
+ * @author Alice Piemonti
+ * @see ReplayRecorder
+ * @see ReplayPlayer
+ */
+public class Replay {
+  public static final int KEYFRAME_INTERVAL = 16;
+  private final List<Answer> frames;
+  private final int[] turnStarts;
+  private final Keyframe[] keyframes;
+  private final Map<String, String> playerMapColor;
+  private final Map<String, String> playerMapGod;
+
+  /**
+   * Constructor Replay creates a new Replay instance, computing its keyframes.
+   *
+   * @param frames of type List&lt;Answer&gt; - the recorded board answers.
+   * @param match of type MatchStartedMessage - the lineup of the match.
+   */
+  private Replay(List<Answer> frames, MatchStartedMessage match) {
+    this.frames = frames;
+    playerMapColor = Collections.unmodifiableMap(new LinkedHashMap<>(match.getPlayerMapColor()));
+    playerMapGod = Collections.unmodifiableMap(new LinkedHashMap<>(match.getPlayerMapGod()));
+    frames.replaceAll(this::withLoserColor);
+    List<Integer> starts = new ArrayList<>();
+    keyframes = new Keyframe[frames.size() / KEYFRAME_INTERVAL + 1];
+    ClientBoard board = new ClientBoard();
+    String currentPlayer = null;
+    for (int frame = 0; frame <= frames.size(); frame++) {
+      if (frame % KEYFRAME_INTERVAL == 0) {
+        keyframes[frame / KEYFRAME_INTERVAL] = new Keyframe(board.toPosition(), currentPlayer);
+      }
+      if (frame == frames.size()) {
+        break;
+      }
+      Answer answer = frames.get(frame);
+      if (answer instanceof StartTurnMessage) {
+        starts.add(frame);
+      }
+      currentPlayer = apply(answer, board, currentPlayer);
+    }
+    turnStarts = starts.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  /**
+   * Method withLoserColor returns a frame whose loser is given by color. The losing player's own
+   * client receives a PlayerLostMessage without the color, which is then taken from the lineup.
+   *
+   * @param frame of type Answer - the recorded answer.
+   * @return Answer - the frame to be applied.
+   */
+  private Answer withLoserColor(Answer frame) {
+    if (frame instanceof PlayerLostMessage && ((PlayerLostMessage) frame).getLoserColor() == null) {
+      String loser = ((PlayerLostMessage) frame).getLoser();
+      return new PlayerLostMessage(loser, playerMapColor.get(loser));
+    }
+    return frame;
+  }
+
+  /**
+   * Method load reads a replay file written by a ReplayRecorder. A file truncated while writing
+   * (e.g. because the client has been closed during the match) is read up to its last complete
+   * answer.
+   *
+   * @param file of type Path - the replay file.
+   * @return Replay - the loaded replay.
+   * @throws IOException when the file can't be read or doesn't contain a started match.
+   */
+  public static Replay load(Path file) throws IOException {
+    List<Answer> frames = new ArrayList<>();
+    MatchStartedMessage match = null;
+    try (ObjectInputStream input =
+        new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      while (true) {
+        Object object = input.readObject();
+        if (object instanceof MatchStartedMessage) {
+          match = (MatchStartedMessage) object;
+        } else if (object instanceof Answer) {
+          frames.add((Answer) object);
+        }
+      }
+    } catch (EOFException | StreamCorruptedException e) {
+      // end of the recorded answers
+    } catch (ClassNotFoundException e) {
+      throw new IOException("Unknown answer in replay file: " + e.getMessage(), e);
+    }
+    if (match == null) {
+      throw new IOException("The replay file doesn't contain a started match");
+    }
+    return new Replay(frames, match);
+  }
+
+  /**
+   * Method toFrame returns the answer to be recorded for an answer received from the server, or
+   * null if it doesn't change the board. A WorkersRequestMessage is the start of the recording
+   * player's turn, so it's recorded as the StartTurnMessage the other players receive.
+   *
+   * @param answer of type Answer - the answer received from the server.
+   * @param playerName of type String - the nickname of the recording player.
+   * @return Answer - the answer to be recorded, null if it has to be skipped.
+   */
+  public static Answer toFrame(Answer answer, String playerName) {
+    if (answer instanceof WorkersRequestMessage) {
+      return new StartTurnMessage(playerName);
+    }
+    if (answer instanceof SetWorkersMessage
+        || answer instanceof MatchStartedMessage
+        || answer instanceof StartTurnMessage
+        || answer instanceof MoveMessage
+        || answer instanceof DoubleMoveMessage
+        || answer instanceof BuildMessage
+        || answer instanceof PlayerLostMessage) {
+      return answer;
+    }
+    return null;
+  }
+
+  /**
+   * Method apply updates a client board with a recorded answer, the same way the ActionHandler
+   * does during the match.
+   *
+   * @param answer of type Answer - the recorded answer.
+   * @param board of type ClientBoard - the board to be updated.
+   * @param currentPlayer of type String - the player on turn before the answer.
+   * @return String - the player on turn after the answer.
+   */
+  static String apply(Answer answer, ClientBoard board, String currentPlayer) {
+    if (answer instanceof StartTurnMessage) {
+      return answer.getMessage().toString();
+    } else if (answer instanceof SetWorkersMessage) {
+      SetWorkersMessage message = (SetWorkersMessage) answer;
+      Couple worker1 = message.getWorker1();
+      Couple worker2 = message.getWorker2();
+      board.setColor(worker1.getRow(), worker1.getColumn(), message.getMessage());
+      board.setWorkerNum(worker1.getRow(), worker1.getColumn(), 1);
+      board.setColor(worker2.getRow(), worker2.getColumn(), message.getMessage());
+      board.setWorkerNum(worker2.getRow(), worker2.getColumn(), 2);
+    } else if (answer instanceof MoveMessage) {
+      Move move = (Move) answer.getMessage();
+      board.move(
+          move.getOldPosition().getRow(),
+          move.getOldPosition().getColumn(),
+          move.getNewPosition().getRow(),
+          move.getNewPosition().getColumn());
+    } else if (answer instanceof DoubleMoveMessage) {
+      applyDoubleMove((DoubleMoveMessage) answer, board);
+    } else if (answer instanceof BuildMessage) {
+      BuildMessage message = (BuildMessage) answer;
+      board.build(
+          message.getMessage().getRow(),
+          message.getMessage().getColumn(),
+          message.getDome(),
+          message.getAction());
+    } else if (answer instanceof PlayerLostMessage) {
+      board.removeWorkers(((PlayerLostMessage) answer).getLoserColor());
+    }
+    return currentPlayer;
+  }
+
+  /**
+   * Method applyDoubleMove updates a client board with an Apollo or Minotaur move.
+   *
+   * @param answer of type DoubleMoveMessage - the recorded answer.
+   * @param board of type ClientBoard - the board to be updated.
+   */
+  private static void applyDoubleMove(DoubleMoveMessage answer, ClientBoard board) {
+    Move myMove = answer.getMyMove();
+    Move otherMove = answer.getOtherMove();
+    if (answer.getMessage().equals("ApolloDoubleMove")) {
+      board.apolloDoubleMove(
+          myMove.getOldPosition().getRow(),
+          myMove.getOldPosition().getColumn(),
+          otherMove.getOldPosition().getRow(),
+          otherMove.getOldPosition().getColumn());
+    } else if (answer.getMessage().equals("MinotaurDoubleMove")) {
+      board.minotaurDoubleMove(
+          myMove.getOldPosition().getRow(),
+          myMove.getOldPosition().getColumn(),
+          otherMove.getOldPosition().getRow(),
+          otherMove.getOldPosition().getColumn(),
+          otherMove.getNewPosition().getRow(),
+          otherMove.getNewPosition().getColumn());
+    }
+  }
+
+  /**
+   * Method getFrameCount returns the number of recorded answers.
+   *
+   * @return int - the number of frames.
+   */
+  public int getFrameCount() {
+    return frames.size();
+  }
+
+  /**
+   * Method getFrame returns a recorded answer.
+   *
+   * @param frame of type int - the frame index.
+   * @return Answer - the recorded answer.
+   */
+  Answer getFrame(int frame) {
+    return frames.get(frame);
+  }
+
+  /**
+   * Method getKeyframe returns the closest keyframe at or before a frame.
+   *
+   * @param frame of type int - the frame index.
+   * @return Keyframe - the keyframe, whose frame index is frame rounded down to KEYFRAME_INTERVAL.
+   */
+  Keyframe getKeyframe(int frame) {
+    return keyframes[frame / KEYFRAME_INTERVAL];
+  }
+
+  /**
+   * Method getTurnCount returns the number of turns played in the match.
+   *
+   * @return int - the number of turns.
+   */
+  public int getTurnCount() {
+    return turnStarts.length;
+  }
+
+  /**
+   * Method getTurnFrame returns the frame showing the beginning of a turn.
+   *
+   * @param turn of type int - the turn, from 1 to getTurnCount (0 is the workers placement).
+   * @return int - the frame index.
+   */
+  public int getTurnFrame(int turn) {
+    return turn == 0 ? 0 : turnStarts[turn - 1] + 1;
+  }
+
+  /**
+   * Method getTurn returns the turn a frame belongs to.
+   *
+   * @param frame of type int - the frame index.
+   * @return int - the turn, 0 during the workers placement.
+   */
+  public int getTurn(int frame) {
+    int index = Arrays.binarySearch(turnStarts, frame);
+    return index >= 0 ? index : -index - 1;
+  }
+
+  /**
+   * Method getPlayerMapColor returns the color of every player.
+   *
+   * @return Map&lt;String, String&gt; - the colors by nickname.
+   */
+  public Map<String, String> getPlayerMapColor() {
+    return playerMapColor;
+  }
+
+  /**
+   * Method getPlayerMapGod returns the god of every player.
+   *
+   * @return Map&lt;String, String&gt; - the gods by nickname.
+   */
+  public Map<String, String> getPlayerMapGod() {
+    return playerMapGod;
+  }
+
+  /** Keyframe class is a snapshot of the replay state. */
+  static final class Keyframe {
+    private final Position position;
+    private final String currentPlayer;
+
+    /**
+     * Constructor Keyframe creates a new Keyframe instance.
+     *
+     * @param position of type Position - the packed board.
+     * @param currentPlayer of type String - the player on turn, null before the first turn.
+     */
+    private Keyframe(Position position, String currentPlayer) {
+      this.position = position;
+      this.currentPlayer = currentPlayer;
+    }
+
+    /**
+     * Method getPosition returns the packed board.
+     *
+     * @return Position - the board.
+     */
+    Position getPosition() {
+      return position;
+    }
+
+    /**
+     * Method getCurrentPlayer returns the player on turn.
+     *
+     * @return String - the nickname, null before the first turn.
+     */
+    String getCurrentPlayer() {
+      return currentPlayer;
+    }
+  }
+}
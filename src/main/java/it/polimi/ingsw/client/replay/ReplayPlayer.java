@@ -0,0 +1,255 @@
+package it.polimi.ingsw.client.replay;
+
+import it.polimi.ingsw.client.ModelView;
+import it.polimi.ingsw.model.Card;
+
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReplayPlayer class plays a Replay back on the ModelView of a CLI or GUI, with no server
+ * connection. Every frame shown is written into the ModelView board through the same ClientBoard
+ * updates used during a match, and the view is told to redraw with a REPLAY_FRAME property change;
+ * the player on turn is shown as the ModelView player, so the views show their name, color and
+ * god. Seeking restores the closest keyframe and applies the few answers after it, so it costs the
+ * same wherever the frame is.
+ *
+ * @author Alice Piemonti
+ * @see Replay
+ */
+public class ReplayPlayer {
+  public static final String REPLAY_FRAME = "replayFrame";
+  public static final double MIN_SPEED = 0.25;
+  public static final double MAX_SPEED = 16;
+  private static final long FRAME_MILLIS = 1000;
+  private final Replay replay;
+  private final ModelView modelView;
+  private final PropertyChangeSupport view = new PropertyChangeSupport(this);
+  private final ScheduledExecutorService clock;
+  private ScheduledFuture<?> playback;
+  private String currentPlayer;
+  private double speed = 1;
+  private int frame;
+
+  /**
+   * Constructor ReplayPlayer creates a new ReplayPlayer instance, showing the empty board.
+   *
+   * @param replay of type Replay - the replay to be played.
+   * @param modelView of type ModelView - the ModelView of the view.
+   * @param listener of type PropertyChangeListener - the view, notified on every frame shown.
+   */
+  public ReplayPlayer(Replay replay, ModelView modelView, PropertyChangeListener listener) {
+    this.replay = replay;
+    this.modelView = modelView;
+    view.addPropertyChangeListener(listener);
+    clock =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "replay-clock");
+              thread.setDaemon(true);
+              return thread;
+            });
+    modelView.setPlayerMapColor(replay.getPlayerMapColor());
+    modelView.setPlayerMapGod(replay.getPlayerMapGod());
+  }
+
+  /**
+   * Method seek shows a frame of the replay.
+   *
+   * @param target of type int - the frame index, clamped between 0 and the frame count.
+   */
+  public synchronized void seek(int target) {
+    target = Math.max(0, Math.min(target, replay.getFrameCount()));
+    Replay.Keyframe keyframe = replay.getKeyframe(target);
+    modelView.getBoard().load(keyframe.getPosition());
+    currentPlayer = keyframe.getCurrentPlayer();
+    for (int i = target - target % Replay.KEYFRAME_INTERVAL; i < target; i++) {
+      currentPlayer = Replay.apply(replay.getFrame(i), modelView.getBoard(), currentPlayer);
+    }
+    frame = target;
+    show();
+  }
+
+  /**
+   * Method seekTurn shows the beginning of a turn.
+   *
+   * @param turn of type int - the turn, clamped between 0 (workers placement) and the turn count.
+   */
+  public synchronized void seekTurn(int turn) {
+    seek(replay.getTurnFrame(Math.max(0, Math.min(turn, replay.getTurnCount()))));
+  }
+
+  /**
+   * Method next shows the frame following the current one.
+   *
+   * @return boolean true if a frame has been shown, false if the replay is over.
+   */
+  public synchronized boolean next() {
+    if (frame == replay.getFrameCount()) {
+      return false;
+    }
+    currentPlayer = Replay.apply(replay.getFrame(frame), modelView.getBoard(), currentPlayer);
+    frame++;
+    show();
+    return true;
+  }
+
+  /** Method previous shows the frame preceding the current one. */
+  public synchronized void previous() {
+    seek(frame - 1);
+  }
+
+  /**
+   * Method play starts the playback, showing a frame every second divided by the speed. A replay
+   * which is over is restarted from the beginning.
+   */
+  public synchronized void play() {
+    pause();
+    if (frame == replay.getFrameCount()) {
+      seek(0);
+    }
+    long period = (long) (FRAME_MILLIS / speed);
+    playback = clock.scheduleAtFixedRate(this::tick, period, period, TimeUnit.MILLISECONDS);
+    show();
+  }
+
+  /** Method togglePlayback pauses the playback if it's running, plays it otherwise. */
+  public synchronized void togglePlayback() {
+    if (isPlaying()) {
+      pause();
+      show();
+    } else {
+      play();
+    }
+  }
+
+  /**
+   * Method setSpeed changes the playback speed, also for a running playback.
+   *
+   * @param speed of type double - the playback speed, clamped between MIN_SPEED and MAX_SPEED.
+   */
+  public synchronized void setSpeed(double speed) {
+    this.speed = Math.max(MIN_SPEED, Math.min(speed, MAX_SPEED));
+    if (isPlaying()) {
+      play();
+    } else {
+      show();
+    }
+  }
+
+  /** Method pause stops the playback. */
+  public synchronized void pause() {
+    if (playback != null) {
+      playback.cancel(false);
+      playback = null;
+    }
+  }
+
+  /**
+   * Method isPlaying returns if the playback is running.
+   *
+   * @return boolean true if playing, false if paused.
+   */
+  public synchronized boolean isPlaying() {
+    return playback != null;
+  }
+
+  /** Method tick shows the next frame of the playback, stopping it at the end of the replay. */
+  private synchronized void tick() {
+    if (!next()) {
+      pause();
+      show();
+    }
+  }
+
+  /**
+   * Method getFrame returns the index of the frame shown.
+   *
+   * @return int - the frame index.
+   */
+  public synchronized int getFrame() {
+    return frame;
+  }
+
+  /**
+   * Method getTurn returns the turn shown.
+   *
+   * @return int - the turn, 0 during the workers placement.
+   */
+  public synchronized int getTurn() {
+    return replay.getTurn(frame);
+  }
+
+  /**
+   * Method getSpeed returns the playback speed.
+   *
+   * @return double - the speed.
+   */
+  public synchronized double getSpeed() {
+    return speed;
+  }
+
+  /**
+   * Method getReplay returns the replay played.
+   *
+   * @return Replay - the replay.
+   */
+  public Replay getReplay() {
+    return replay;
+  }
+
+  /**
+   * Method status returns a short description of the frame shown.
+   *
+   * @return String - the description.
+   */
+  public synchronized String status() {
+    return "Turn "
+        + getTurn()
+        + "/"
+        + replay.getTurnCount()
+        + " - frame "
+        + frame
+        + "/"
+        + replay.getFrameCount()
+        + " - "
+        + (isPlaying() ? "playing at " + speed + "x" : "paused");
+  }
+
+  /**
+   * Method read runs a task reading the ModelView while no frame is being applied, e.g. a view
+   * redrawing the board from another thread.
+   *
+   * @param reader of type Runnable - the task.
+   */
+  public synchronized void read(Runnable reader) {
+    reader.run();
+  }
+
+  /** Method close stops the playback clock. */
+  public void close() {
+    clock.shutdownNow();
+  }
+
+  /**
+   * Method show writes the player on turn into the ModelView and notifies the view. Before the
+   * first turn the first player of the lineup is shown.
+   */
+  private void show() {
+    String player = currentPlayer;
+    if (player == null) {
+      player = replay.getPlayerMapColor().keySet().stream().findFirst().orElse("");
+    }
+    String god = replay.getPlayerMapGod().get(player);
+    modelView.setCurrentPlayer(player);
+    modelView.setPlayerName(player);
+    modelView.setColor(replay.getPlayerMapColor().get(player));
+    modelView.setGod(god);
+    modelView.setGodDesc(god == null ? "" : Card.parseInput(god).godsDescription());
+    view.firePropertyChange(REPLAY_FRAME, null, status());
+  }
+}
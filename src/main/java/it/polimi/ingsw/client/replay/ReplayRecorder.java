@@ -0,0 +1,124 @@
+package it.polimi.ingsw.client.replay;
+
+import it.polimi.ingsw.server.answers.Answer;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * ReplayRecorder class saves into a replay file the answers received during a match which change
+ * the board, so the match can be watched again with a ReplayPlayer. Answers are written with the
+ * same java serialization used on the socket, one object after the other. The file is created only
+ * when the first of them arrives, so clients which never get to the match don't leave empty
+ * replays behind; if writing fails the recording is dropped and the match goes on.
+ *
+ * <p>Recording is off unless the client is started with the RECORD_PROPERTY system property set to
+ * true (or with the --record launcher option). Only the MAX_REPLAYS newest replays are kept: the
+ * older ones are deleted when a new one is created.
+ *
+ * @author Alice Piemonti
+ * @see Replay
+ */
+public class ReplayRecorder implements Closeable {
+  public static final Path DIRECTORY = Paths.get("replays");
+  public static final String EXTENSION = ".replay";
+  public static final String RECORD_PROPERTY = "santorini.record";
+  public static final int MAX_REPLAYS = 20;
+  private static final Logger LOGGER = Logger.getLogger(ReplayRecorder.class.getName());
+  private final Path directory;
+  private ObjectOutputStream output;
+  private boolean failed;
+
+  /**
+   * Constructor ReplayRecorder creates a new ReplayRecorder instance.
+   *
+   * @param directory of type Path - the directory where the replay file is created.
+   */
+  public ReplayRecorder(Path directory) {
+    this.directory = directory;
+  }
+
+  /**
+   * Method isEnabled returns true if the client has been asked to record its matches.
+   *
+   * @return boolean true if RECORD_PROPERTY is set to true, false otherwise.
+   */
+  public static boolean isEnabled() {
+    return Boolean.getBoolean(RECORD_PROPERTY);
+  }
+
+  /**
+   * Method record writes an answer received from the server, if it's part of the replay.
+   *
+   * @param answer of type Answer - the answer received.
+   * @param playerName of type String - the nickname of this client's player.
+   */
+  public synchronized void record(Answer answer, String playerName) {
+    Answer frame = Replay.toFrame(answer, playerName);
+    if (frame == null || failed) {
+      return;
+    }
+    try {
+      if (output == null) {
+        Files.createDirectories(directory);
+        prune();
+        Path file = directory.resolve("match-" + System.currentTimeMillis() + EXTENSION);
+        output = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        LOGGER.log(Level.FINE, () -> "Recording the match into " + file);
+      }
+      output.writeObject(frame);
+      output.reset();
+      output.flush();
+    } catch (IOException e) {
+      failed = true;
+      LOGGER.log(Level.WARNING, "Match recording stopped: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Method prune deletes the oldest replays, leaving room for the one being created. Replay names
+   * hold their creation time, so they sort from the oldest.
+   *
+   * @throws IOException when the directory can't be listed.
+   */
+  private void prune() throws IOException {
+    List<Path> replays;
+    try (Stream<Path> files = Files.list(directory)) {
+      replays =
+          files
+              .filter(file -> file.getFileName().toString().endsWith(EXTENSION))
+              .sorted()
+              .collect(Collectors.toList());
+    }
+    for (Path replay : replays.subList(0, Math.max(0, replays.size() - MAX_REPLAYS + 1))) {
+      try {
+        Files.delete(replay);
+      } catch (IOException e) {
+        LOGGER.log(Level.WARNING, "Can't delete old replay " + replay + ": " + e.getMessage());
+      }
+    }
+  }
+
+  /** Method close closes the replay file, if it has been created. */
+  @Override
+  public synchronized void close() {
+    if (output == null) {
+      return;
+    }
+    try {
+      output.close();
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, e.getMessage(), e);
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package it.polimi.ingsw.client.sdk;
+
+import it.polimi.ingsw.server.answers.Answer;
+import it.polimi.ingsw.server.answers.ChallengerMessages;
+import it.polimi.ingsw.server.answers.ColorMessage;
+import it.polimi.ingsw.server.answers.ConnectionMessage;
+import it.polimi.ingsw.server.answers.CustomMessage;
+import it.polimi.ingsw.server.answers.GameError;
+import it.polimi.ingsw.server.answers.MatchStartedMessage;
+import it.polimi.ingsw.server.answers.RequestPlayersNumber;
+import it.polimi.ingsw.server.answers.SetWorkersMessage;
+import it.polimi.ingsw.server.answers.WorkerPlacement;
+import it.polimi.ingsw.server.answers.turn.EndTurnMessage;
+import it.polimi.ingsw.server.answers.turn.HintMessage;
+import it.polimi.ingsw.server.answers.turn.ModifiedTurnMessage;
+import it.polimi.ingsw.server.answers.turn.StartTurnMessage;
+import it.polimi.ingsw.server.answers.turn.WorkersRequestMessage;
+import it.polimi.ingsw.server.answers.worker.BuildMessage;
+import it.polimi.ingsw.server.answers.worker.DoubleMoveMessage;
+import it.polimi.ingsw.server.answers.worker.LoseMessage;
+import it.polimi.ingsw.server.answers.worker.MoveMessage;
+import it.polimi.ingsw.server.answers.worker.PlayerLostMessage;
+import it.polimi.ingsw.server.answers.worker.SelectSpacesMessage;
+import it.polimi.ingsw.server.answers.worker.WinMessage;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * AnswerDispatcher class is the dispatch table from each Answer class to its AnswerListener
+ * callback, so routing an answer costs a single map lookup. Classes are matched exactly, as done
+ * by the server ActionRouter.
+ *
+ * @author Luca Pirovano
+ * @see AnswerListener
+ */
+public final class AnswerDispatcher {
+  private static final Map<Class<? extends Answer>, BiConsumer<AnswerListener, Answer>> ROUTES =
+      new HashMap<>();
+
+  static {
+    register(ConnectionMessage.class, AnswerListener::onConnection);
+    register(RequestPlayersNumber.class, AnswerListener::onPlayersNumberRequest);
+    register(ColorMessage.class, AnswerListener::onColor);
+    register(ChallengerMessages.class, AnswerListener::onChallenger);
+    register(WorkerPlacement.class, AnswerListener::onWorkerPlacement);
+    register(SetWorkersMessage.class, AnswerListener::onSetWorkers);
+    register(MatchStartedMessage.class, AnswerListener::onMatchStarted);
+    register(WorkersRequestMessage.class, AnswerListener::onWorkersRequest);
+    register(StartTurnMessage.class, AnswerListener::onStartTurn);
+    register(ModifiedTurnMessage.class, AnswerListener::onModifiedTurn);
+    register(SelectSpacesMessage.class, AnswerListener::onSelectSpaces);
+    register(MoveMessage.class, AnswerListener::onMove);
+    register(DoubleMoveMessage.class, AnswerListener::onDoubleMove);
+    register(BuildMessage.class, AnswerListener::onBuild);
+    register(EndTurnMessage.class, AnswerListener::onEndTurn);
+    register(GameError.class, AnswerListener::onGameError);
+    register(CustomMessage.class, AnswerListener::onCustomMessage);
+    register(HintMessage.class, AnswerListener::onHint);
+    register(WinMessage.class, AnswerListener::onWin);
+    register(LoseMessage.class, AnswerListener::onLose);
+    register(PlayerLostMessage.class, AnswerListener::onPlayerLost);
+  }
+
+  private AnswerDispatcher() {}
+
+  /**
+   * Method register adds the route of an answer type.
+   *
+   * @param type of type Class&lt;T&gt; - the exact class of the answer.
+   * @param callback of type BiConsumer&lt;AnswerListener, T&gt; - the listener callback.
+   * @param <T> the answer type.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T extends Answer> void register(
+      Class<T> type, BiConsumer<AnswerListener, T> callback) {
+    ROUTES.put(type, (listener, answer) -> callback.accept(listener, (T) answer));
+  }
+
+  /**
+   * Method dispatch passes an answer to the listener, first to onAnswer and then to its typed
+   * callback, if the answer type has one.
+   *
+   * @param answer of type Answer - the answer received.
+   * @param listener of type AnswerListener - the listener.
+   */
+  public static void dispatch(Answer answer, AnswerListener listener) {
+    listener.onAnswer(answer);
+    BiConsumer<AnswerListener, Answer> route = ROUTES.get(answer.getClass());
+    if (route != null) {
+      route.accept(listener, answer);
+    }
+  }
+}
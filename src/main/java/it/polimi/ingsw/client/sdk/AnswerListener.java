@@ -0,0 +1,200 @@
+package it.polimi.ingsw.client.sdk;
+
+import it.polimi.ingsw.server.answers.Answer;
+import it.polimi.ingsw.server.answers.ChallengerMessages;
+import it.polimi.ingsw.server.answers.ColorMessage;
+import it.polimi.ingsw.server.answers.ConnectionMessage;
+import it.polimi.ingsw.server.answers.CustomMessage;
+import it.polimi.ingsw.server.answers.GameError;
+import it.polimi.ingsw.server.answers.MatchStartedMessage;
+import it.polimi.ingsw.server.answers.RequestPlayersNumber;
+import it.polimi.ingsw.server.answers.SetWorkersMessage;
+import it.polimi.ingsw.server.answers.WorkerPlacement;
+import it.polimi.ingsw.server.answers.turn.EndTurnMessage;
+import it.polimi.ingsw.server.answers.turn.HintMessage;
+import it.polimi.ingsw.server.answers.turn.ModifiedTurnMessage;
+import it.polimi.ingsw.server.answers.turn.StartTurnMessage;
+import it.polimi.ingsw.server.answers.turn.WorkersRequestMessage;
+import it.polimi.ingsw.server.answers.worker.BuildMessage;
+import it.polimi.ingsw.server.answers.worker.DoubleMoveMessage;
+import it.polimi.ingsw.server.answers.worker.LoseMessage;
+import it.polimi.ingsw.server.answers.worker.MoveMessage;
+import it.polimi.ingsw.server.answers.worker.PlayerLostMessage;
+import it.polimi.ingsw.server.answers.worker.SelectSpacesMessage;
+import it.polimi.ingsw.server.answers.worker.WinMessage;
+
+/**
+ * AnswerListener interface receives the server answers of a HeadlessClient, with a callback for
+ * each Answer type. Every callback does nothing by default, so bots only override the ones they're
+ * interested in. Callbacks of a client are invoked one at a time, in the order the answers are
+ * received, from the client's reading thread.
+ *
+ * @author Luca Pirovano
+ * @see HeadlessClient
+ */
+public interface AnswerListener {
+
+  /**
+   * Method onAnswer is invoked for every answer received, before its typed callback.
+   *
+   * @param answer of type Answer - the answer received.
+   */
+  default void onAnswer(Answer answer) {}
+
+  /**
+   * Method onConnection is invoked on a connection answer: type 0 confirms the nickname, type 1
+   * closes the match.
+   *
+   * @param answer of type ConnectionMessage - the answer received.
+   */
+  default void onConnection(ConnectionMessage answer) {}
+
+  /**
+   * Method onPlayersNumberRequest is invoked when the client has to choose the lobby size.
+   *
+   * @param answer of type RequestPlayersNumber - the answer received.
+   */
+  default void onPlayersNumberRequest(RequestPlayersNumber answer) {}
+
+  /**
+   * Method onColor is invoked on a color request, or on a color confirmation.
+   *
+   * @param answer of type ColorMessage - the answer received.
+   */
+  default void onColor(ColorMessage answer) {}
+
+  /**
+   * Method onChallenger is invoked on every answer of the god selection phase.
+   *
+   * @param answer of type ChallengerMessages - the answer received.
+   */
+  default void onChallenger(ChallengerMessages answer) {}
+
+  /**
+   * Method onWorkerPlacement is invoked when the client has to place its workers.
+   *
+   * @param answer of type WorkerPlacement - the answer received.
+   */
+  default void onWorkerPlacement(WorkerPlacement answer) {}
+
+  /**
+   * Method onSetWorkers is invoked when a player has placed its workers.
+   *
+   * @param answer of type SetWorkersMessage - the answer received.
+   */
+  default void onSetWorkers(SetWorkersMessage answer) {}
+
+  /**
+   * Method onMatchStarted is invoked when every worker has been placed.
+   *
+   * @param answer of type MatchStartedMessage - the answer received.
+   */
+  default void onMatchStarted(MatchStartedMessage answer) {}
+
+  /**
+   * Method onWorkersRequest is invoked at the beginning of the client's turn.
+   *
+   * @param answer of type WorkersRequestMessage - the answer received.
+   */
+  default void onWorkersRequest(WorkersRequestMessage answer) {}
+
+  /**
+   * Method onStartTurn is invoked at the beginning of another player's turn.
+   *
+   * @param answer of type StartTurnMessage - the answer received.
+   */
+  default void onStartTurn(StartTurnMessage answer) {}
+
+  /**
+   * Method onModifiedTurn is invoked when the turn phases depend on the god power.
+   *
+   * @param answer of type ModifiedTurnMessage - the answer received.
+   */
+  default void onModifiedTurn(ModifiedTurnMessage answer) {}
+
+  /**
+   * Method onSelectSpaces is invoked on the spaces available for a move or build request.
+   *
+   * @param answer of type SelectSpacesMessage - the answer received.
+   */
+  default void onSelectSpaces(SelectSpacesMessage answer) {}
+
+  /**
+   * Method onMove is invoked when a worker has moved.
+   *
+   * @param answer of type MoveMessage - the answer received.
+   */
+  default void onMove(MoveMessage answer) {}
+
+  /**
+   * Method onDoubleMove is invoked when a worker has moved together with an opponent's one.
+   *
+   * @param answer of type DoubleMoveMessage - the answer received.
+   */
+  default void onDoubleMove(DoubleMoveMessage answer) {}
+
+  /**
+   * Method onBuild is invoked when a worker has built or removed a block.
+   *
+   * @param answer of type BuildMessage - the answer received.
+   */
+  default void onBuild(BuildMessage answer) {}
+
+  /**
+   * Method onEndTurn is invoked at the end of the client's turn.
+   *
+   * @param answer of type EndTurnMessage - the answer received.
+   */
+  default void onEndTurn(EndTurnMessage answer) {}
+
+  /**
+   * Method onGameError is invoked when a request has been refused.
+   *
+   * @param answer of type GameError - the answer received.
+   */
+  default void onGameError(GameError answer) {}
+
+  /**
+   * Method onCustomMessage is invoked on an informative text message.
+   *
+   * @param answer of type CustomMessage - the answer received.
+   */
+  default void onCustomMessage(CustomMessage answer) {}
+
+  /**
+   * Method onHint is invoked on the answer to a HintAction, the turn suggested to the client.
+   *
+   * @param answer of type HintMessage - the answer received.
+   */
+  default void onHint(HintMessage answer) {}
+
+  /**
+   * Method onWin is invoked when the client has won.
+   *
+   * @param answer of type WinMessage - the answer received.
+   */
+  default void onWin(WinMessage answer) {}
+
+  /**
+   * Method onLose is invoked when another player has won.
+   *
+   * @param answer of type LoseMessage - the answer received.
+   */
+  default void onLose(LoseMessage answer) {}
+
+  /**
+   * Method onPlayerLost is invoked when a player has lost.
+   *
+   * @param answer of type PlayerLostMessage - the answer received.
+   */
+  default void onPlayerLost(PlayerLostMessage answer) {}
+
+  /**
+   * Method onDisconnected is invoked once, when the connection is over.
+   *
+   * @param cause of type Exception - the cause (e.g. a SocketTimeoutException when the server has
+   *     been silent for too long, or the exception thrown by a callback), null if the client has
+   *     been closed.
+   */
+  default void onDisconnected(Exception cause) {}
+}
@@ -0,0 +1,224 @@
+package it.polimi.ingsw.client.sdk;
+
+import it.polimi.ingsw.client.messages.Message;
+import it.polimi.ingsw.client.messages.SerializedMessage;
+import it.polimi.ingsw.client.messages.SetupConnection;
+import it.polimi.ingsw.client.messages.actions.UserAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.PackedAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.WorkerAction;
+import it.polimi.ingsw.server.answers.SerializedAnswer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HeadlessClient class is a programmatic client speaking the same socket protocol as
+ * ConnectionSocket, with no CLI, GUI or ModelView behind it: answers are passed to an
+ * AnswerListener and requests are sent without blocking the caller. It's meant for bots, load
+ * tests and automated tests, which can run hundreds of clients in the same JVM.
+ *
+ * <p>Every client reads the socket on its own daemon thread, which invokes the listener. Writes are
+ * queued, in order, on a writer executor shared by default among all the clients; once a write
+ * fails the connection is closed and the following sends fail too.
+ *
+ * @author Luca Pirovano
+ * @see AnswerListener
+ */
+public class HeadlessClient implements Closeable {
+  private static final AtomicInteger WRITER_COUNT = new AtomicInteger();
+  private static final ExecutorService SHARED_WRITERS =
+      Executors.newCachedThreadPool(
+          runnable -> {
+            Thread thread =
+                new Thread(runnable, "headless-writer-" + WRITER_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          });
+  private final InetSocketAddress address;
+  private final AnswerListener listener;
+  private final Executor writer;
+  private final AtomicBoolean closed = new AtomicBoolean();
+  private Socket socket;
+  private ObjectOutputStream outputStream;
+  private CompletableFuture<Void> lastWrite = CompletableFuture.completedFuture(null);
+
+  /**
+   * Constructor HeadlessClient creates a new HeadlessClient instance using the shared writers.
+   *
+   * @param address of type InetSocketAddress - the server address.
+   * @param listener of type AnswerListener - the listener of the server answers.
+   */
+  public HeadlessClient(InetSocketAddress address, AnswerListener listener) {
+    this(address, listener, SHARED_WRITERS);
+  }
+
+  /**
+   * Constructor HeadlessClient creates a new HeadlessClient instance.
+   *
+   * @param address of type InetSocketAddress - the server address.
+   * @param listener of type AnswerListener - the listener of the server answers.
+   * @param writer of type Executor - the executor running the socket writes.
+   */
+  public HeadlessClient(InetSocketAddress address, AnswerListener listener, Executor writer) {
+    this.address = address;
+    this.listener = listener;
+    this.writer = writer;
+  }
+
+  /**
+   * Method connect opens the connection, starts reading the answers and asks the server for the
+   * nickname. The outcome of the nickname request is notified to the listener, as a
+   * ConnectionMessage or a GameError.
+   *
+   * @param nickname of type String - the nickname of the player.
+   * @param timeout of type int - the connect timeout and the maximum silence of the server, in
+   *     milliseconds (0 means no timeout).
+   * @throws IOException when the server is unreachable.
+   */
+  public void connect(String nickname, int timeout) throws IOException {
+    Socket opened = new Socket();
+    try {
+      opened.connect(address, timeout);
+      opened.setSoTimeout(timeout);
+      ObjectOutputStream output = new ObjectOutputStream(opened.getOutputStream());
+      output.flush();
+      ObjectInputStream input = new ObjectInputStream(opened.getInputStream());
+      synchronized (this) {
+        socket = opened;
+        outputStream = output;
+      }
+      Thread reader = new Thread(() -> read(input), "headless-" + nickname);
+      reader.setDaemon(true);
+      reader.start();
+    } catch (IOException e) {
+      opened.close();
+      throw e;
+    }
+    send(new SetupConnection(nickname));
+  }
+
+  /**
+   * Method send queues a setup message.
+   *
+   * @param message of type Message - the message to be sent.
+   * @return CompletableFuture&lt;Void&gt; - completed once the message has been written.
+   */
+  public CompletableFuture<Void> send(Message message) {
+    return write(new SerializedMessage(message));
+  }
+
+  /**
+   * Method send queues a user action.
+   *
+   * @param action of type UserAction - the action to be sent.
+   * @return CompletableFuture&lt;Void&gt; - completed once the action has been written.
+   */
+  public CompletableFuture<Void> send(UserAction action) {
+    return write(new SerializedMessage(action));
+  }
+
+  /**
+   * Method send queues a move or a build of the worker playing the turn, encoded into a single
+   * step (see PackedAction).
+   *
+   * @param workerNum of type int - the worker selected at the start of the turn (1 or 2).
+   * @param action of type WorkerAction - a MoveAction, a BuildAction or an AtlasBuildAction.
+   * @return CompletableFuture&lt;Void&gt; - completed once the action has been written.
+   * @throws IllegalArgumentException when the action can't be packed.
+   */
+  public CompletableFuture<Void> send(int workerNum, WorkerAction action) {
+    return send(PackedAction.of(workerNum, action));
+  }
+
+  /**
+   * Method isConnected returns if the connection is still open.
+   *
+   * @return boolean true if connected, false otherwise.
+   */
+  public synchronized boolean isConnected() {
+    return socket != null && !closed.get();
+  }
+
+  /** Method close closes the connection; the listener is notified with a null cause. */
+  @Override
+  public void close() {
+    disconnect(null);
+  }
+
+  /**
+   * Method write chains a write after the previous ones.
+   *
+   * @param output of type SerializedMessage - the serialized message.
+   * @return CompletableFuture&lt;Void&gt; - completed once the message has been written.
+   */
+  private synchronized CompletableFuture<Void> write(SerializedMessage output) {
+    if (outputStream == null) {
+      throw new IllegalStateException("The client is not connected");
+    }
+    ObjectOutputStream stream = outputStream;
+    lastWrite =
+        lastWrite.thenRunAsync(
+            () -> {
+              try {
+                stream.reset();
+                stream.writeObject(output);
+                stream.flush();
+              } catch (IOException e) {
+                disconnect(e);
+                throw new UncheckedIOException(e);
+              }
+            },
+            writer);
+    return lastWrite;
+  }
+
+  /**
+   * Method read passes every answer to the listener until the connection is over.
+   *
+   * @param input of type ObjectInputStream - the socket input stream.
+   */
+  private void read(ObjectInputStream input) {
+    try {
+      while (!closed.get()) {
+        SerializedAnswer answer = (SerializedAnswer) input.readObject();
+        AnswerDispatcher.dispatch(answer.getServerAnswer(), listener);
+      }
+    } catch (IOException | ClassNotFoundException | RuntimeException e) {
+      disconnect(e);
+    }
+  }
+
+  /**
+   * Method disconnect closes the socket and notifies the listener, only the first time.
+   *
+   * @param cause of type Exception - the cause, null if the client has been closed.
+   */
+  private void disconnect(Exception cause) {
+    if (!closed.compareAndSet(false, true)) {
+      return;
+    }
+    Socket toClose;
+    synchronized (this) {
+      toClose = socket;
+    }
+    try {
+      if (toClose != null) {
+        toClose.close();
+      }
+    } catch (IOException e) {
+      // already closed
+    }
+    listener.onDisconnected(cause);
+  }
+}
@@ -223,6 +223,28 @@ public class Constants {
     return (new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()) + " ERR: ");
   }
 
+  /**
+   * Method parseArguments reads the key=value arguments of a command line tool over its defaults.
+   * An unknown argument is reported together with the accepted keys, and the tool exits.
+   *
+   * @param args of type String[] - the command line arguments.
+   * @param defaults of type Map&lt;String, String&gt; - the accepted keys with their default values.
+   * @return Map&lt;String, String&gt; - the settings of the tool.
+   */
+  public static Map<String, String> parseArguments(String[] args, Map<String, String> defaults) {
+    Map<String, String> settings = new HashMap<>(defaults);
+    for (String arg : args) {
+      String[] pair = arg.split("=", 2);
+      if (pair.length != 2 || !defaults.containsKey(pair[0])) {
+        System.err.println(
+            getErr() + "Unknown argument " + arg + ", expected one of " + defaults.keySet());
+        System.exit(-1);
+      }
+      settings.put(pair[0], pair[1]);
+    }
+    return settings;
+  }
+
   /**
    * Method setADDRESS sets the ADDRESS of this Constants object.
    *
@@ -50,16 +50,13 @@ public class ActionController {
         if (worker.getPhase(phase) != null
                 && worker.getPhase(phase).getAction() == Action.SELECT_MOVE
                 && worker.getPhase(phase).isMust()) {
-            try {
-                worker.notifyWithMoves(gameBoard);
-            } catch (IllegalStateException | IllegalArgumentException e) {
-                return false;
-            }
+            if (!worker.publishMoves(gameBoard).isSelected()) return false;
             phase++;
             return true;
         } else if (worker.getPhase(phase) != null && (worker.getPhase(phase).getAction() == Action.SELECT_BUILD)) {
             return true;
-        } else if (worker.getPhase(phase).getAction() == Action.SELECT_FORCE_WORKER) {
+        } else if (worker.getPhase(phase) != null
+                && worker.getPhase(phase).getAction() == Action.SELECT_FORCE_WORKER) {
             if (worker.selectMoves(gameBoard).isEmpty() && ((Charon) worker).selectForceWorkerSpaces(gameBoard).isEmpty()) {
                 worker.setBlocked(true);
                 return false;
@@ -96,6 +93,7 @@ public class ActionController {
      * gameBoard is null, true otherwise.
      */
     public boolean readMessage(SelectMoveAction action) {
+        if (worker == null) return false;
         if (action.getMessage() == Action.SELECT_FORCE_WORKER) return selectForceWorkerReadMessage();
         int phaseTemp = phase;
         while (worker.getPhase(phase) != null
@@ -105,11 +103,7 @@ public class ActionController {
         }
         if (worker.getPhase(phase) != null
                 && worker.getPhase(phase).getAction() == Action.SELECT_MOVE) {
-            try {
-                worker.notifyWithMoves(gameBoard);
-            } catch (IllegalStateException | IllegalArgumentException e) {
-                return false;
-            }
+            if (!worker.publishMoves(gameBoard).isSelected()) return false;
             phase++;
             return true;
         }
@@ -128,11 +122,7 @@ public class ActionController {
         if (worker.getPhase(phase) != null
                 && worker.getPhase(phase).getAction() == Action.SELECT_FORCE_WORKER
                 && worker instanceof Charon) {
-            try {
-                ((Charon) worker).notifyWithForceWorkerSpaces(gameBoard);
-            } catch (IllegalStateException | IllegalArgumentException e) {
-                return false;
-            }
+            if (!((Charon) worker).publishForceWorkerSpaces(gameBoard).isSelected()) return false;
             phase++;
             return true;
         }
@@ -147,7 +137,7 @@ public class ActionController {
      * otherwise.
      */
     public boolean readMessage(SelectBuildAction action) {
-        if (action.getMessage() == Action.SELECT_BUILD) {
+        if (worker != null && action.getMessage() == Action.SELECT_BUILD) {
             int phaseTemp = phase;
             while (worker.getPhase(phase) != null
                     && worker.getPhase(phase).getAction() != Action.SELECT_BUILD
@@ -156,11 +146,7 @@ public class ActionController {
             }
             if (worker.getPhase(phase) != null
                     && worker.getPhase(phase).getAction() == Action.SELECT_BUILD) {
-                try {
-                    worker.notifyWithBuildable(gameBoard);
-                } catch (IllegalArgumentException | IllegalStateException e) {
-                    return false;
-                }
+                if (!worker.publishBuildable(gameBoard).isSelected()) return false;
                 phase++;
                 return true;
             }
@@ -184,11 +170,7 @@ public class ActionController {
                 && (worker instanceof Ares)
                 && worker.getPhase(phase) != null
                 && worker.getPhase(phase).getAction() == Action.SELECT_REMOVE) {
-            try {
-                ((Ares) worker).notifyWithRemovable(gameBoard, unmovedWorkerPosition);
-            } catch (IllegalArgumentException | IllegalStateException e) {
-                return false;
-            }
+            if (!((Ares) worker).publishRemovable(gameBoard, unmovedWorkerPosition).isSelected()) return false;
             phase++;
             return true;
         } else return false;
@@ -202,6 +184,7 @@ public class ActionController {
      * space, true otherwise.
      */
     public boolean readMessage(MoveAction action) {
+        if (worker == null) return false;
         if (action.getAction().equals(Action.MOVE)) {
             if (worker.getPhase(phase) == null || worker.getPhase(phase).getAction() != Action.MOVE)
                 return false;
@@ -232,6 +215,7 @@ public class ActionController {
      */
     public boolean readMessage(BuildAction action) {
         if (action.getAction() != Action.BUILD
+                || worker == null
                 || worker.getPhase(phase) == null
                 || worker.getPhase(phase).getAction() != Action.BUILD) return false;
         Couple couple = action.getMessage();
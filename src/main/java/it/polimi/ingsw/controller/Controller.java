@@ -1,5 +1,6 @@
 package it.polimi.ingsw.controller;
 
+import it.polimi.ingsw.client.messages.actions.ChallengerPhaseAction;
 import it.polimi.ingsw.client.messages.actions.WorkerSetupAction;
 import it.polimi.ingsw.model.CardSelectionModel;
 import it.polimi.ingsw.model.Game;
@@ -10,9 +11,6 @@ import it.polimi.ingsw.server.answers.ErrorsType;
 import it.polimi.ingsw.server.answers.GameError;
 import it.polimi.ingsw.server.answers.SetWorkersMessage;
 
-import java.beans.PropertyChangeEvent;
-import java.beans.PropertyChangeListener;
-import java.beans.PropertyChangeSupport;
 import java.util.ArrayList;
 
 
@@ -21,14 +19,12 @@ import java.util.ArrayList;
  * like the turn one, or the action one.
  *
  * @author Luca Pirovano
- * @see PropertyChangeListener
  */
-public class Controller implements PropertyChangeListener {
-    public static final String TURN_CONTROLLER = "turnController";
+public class Controller {
     private final Game model;
     private final GameHandler gameHandler;
     private final TurnController turnController;
-    private final PropertyChangeSupport controllerListeners = new PropertyChangeSupport(this);
+    private GodSelectionController selectionController;
 
 
     /**
@@ -42,7 +38,6 @@ public class Controller implements PropertyChangeListener {
         this.gameHandler = gameHandler;
         this.turnController = new TurnController(this, gameHandler, new ActionController(model.getGameBoard())
         );
-        controllerListeners.addPropertyChangeListener(TURN_CONTROLLER, turnController);
     }
 
 
@@ -92,9 +87,19 @@ public class Controller implements PropertyChangeListener {
      *
      */
     public void setSelectionController(int clientID) {
-        GodSelectionController selectionController = new GodSelectionController(new CardSelectionModel(model.getDeck()),
+        selectionController = new GodSelectionController(new CardSelectionModel(model.getDeck()),
                 this, gameHandler.getServer().getClientByID(clientID));
-        controllerListeners.addPropertyChangeListener("GODSELECTION", selectionController);
+    }
+
+
+    /**
+     * Method selectGod passes a challenger phase command to the god selection controller, if it has already been set.
+     * @param action of type ChallengerPhaseAction - the command sent by the player.
+     */
+    public void selectGod(ChallengerPhaseAction action) {
+        if (selectionController != null) {
+            selectionController.handle(action);
+        }
     }
 
 
@@ -148,18 +153,4 @@ public class Controller implements PropertyChangeListener {
         }
         return true;
     }
-
-    /**
-     * @see PropertyChangeListener#propertyChange(PropertyChangeEvent) */
-    @Override
-    public void propertyChange(PropertyChangeEvent evt) {
-        switch(evt.getPropertyName()) {
-            case "godSelection" -> controllerListeners.firePropertyChange("GODSELECTION", null,
-                    evt.getNewValue());
-            case "workerPlacement" -> placeWorkers((WorkerSetupAction) evt.getNewValue());
-            case TURN_CONTROLLER -> controllerListeners.firePropertyChange(TURN_CONTROLLER, null,
-                    evt.getNewValue());
-            default -> System.err.println("Unrecognized message!");
-        }
-    }
 }
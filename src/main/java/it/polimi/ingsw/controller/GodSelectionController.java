@@ -4,22 +4,19 @@ import it.polimi.ingsw.client.messages.actions.ChallengerPhaseAction;
 import it.polimi.ingsw.exceptions.OutOfBoundException;
 import it.polimi.ingsw.model.Card;
 import it.polimi.ingsw.model.CardSelectionModel;
+import it.polimi.ingsw.server.MatchPhase;
 import it.polimi.ingsw.server.VirtualClient;
 import it.polimi.ingsw.server.answers.ChallengerMessages;
 import it.polimi.ingsw.server.answers.CustomMessage;
 
-import java.beans.PropertyChangeEvent;
-import java.beans.PropertyChangeListener;
-
 
 /**
  * Class GodSelectionController represents the controller of the god powers selection, which is performed by the
  * challenger. It also handles the card choosing phase performed by players.
  *
  * @author Luca Pirovano
- * @see PropertyChangeListener
  */
-public class GodSelectionController implements PropertyChangeListener {
+public class GodSelectionController {
     private final CardSelectionModel cardModel;
     private final Controller mainController;
 
@@ -74,7 +71,7 @@ public class GodSelectionController implements PropertyChangeListener {
      * (not selected by the challenger or already chosen by someone else).
      */
     public boolean choose(Card arg) {
-        if (mainController.getGameHandler().isStarted() == 2) {
+        if (mainController.getGameHandler().getPhase() == MatchPhase.GOD_CHOICE) {
             int clientId = mainController.getModel().getCurrentPlayer().getClientID();
             VirtualClient client = mainController.getGameHandler().getServer().getClientByID(clientId);
             boolean result;
@@ -120,17 +117,16 @@ public class GodSelectionController implements PropertyChangeListener {
 
 
     /**
-     * Method propertyChange is the update method for MVC communication. It contains the command sent by the players for:
+     * Method handle executes a challenger phase command. It contains the command sent by the players for:
      * - listing all the gods present in the game;
      * - getting the description of a single god;
      * - adding a god to the match deck;
      * - choosing a god from the match deck (initial phase).
      *
-     * @param evt of type PropertyChangeEvent - the couple action-arg, which represents the action performed and the chosen card.
+     * @param cmd of type ChallengerPhaseAction - the couple action-arg, which represents the action performed and the
+     *            chosen card.
      */
-    @Override
-    public void propertyChange(PropertyChangeEvent evt) {
-        ChallengerPhaseAction cmd = (ChallengerPhaseAction) evt.getNewValue();
+    public void handle(ChallengerPhaseAction cmd) {
         switch (cmd.action) {
             case "LIST" -> cardModel.setNameList();
             case "DESC" -> desc(cmd.arg);
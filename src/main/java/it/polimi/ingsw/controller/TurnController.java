@@ -1,16 +1,20 @@
 package it.polimi.ingsw.controller;
 
-import it.polimi.ingsw.client.messages.actions.UserAction;
-import it.polimi.ingsw.client.messages.actions.turnactions.EndTurnAction;
 import it.polimi.ingsw.client.messages.actions.turnactions.StartTurnAction;
 import it.polimi.ingsw.client.messages.actions.workeractions.BuildAction;
 import it.polimi.ingsw.client.messages.actions.workeractions.MoveAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.PackedAction;
 import it.polimi.ingsw.client.messages.actions.workeractions.SelectBuildAction;
 import it.polimi.ingsw.client.messages.actions.workeractions.SelectMoveAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.WorkerAction;
+import it.polimi.ingsw.listeners.WorkerEventListener;
+import it.polimi.ingsw.listeners.events.MoveUpEvent;
+import it.polimi.ingsw.model.board.Mobility;
 import it.polimi.ingsw.model.player.Action;
 import it.polimi.ingsw.model.player.Phase;
 import it.polimi.ingsw.model.player.PlayerColors;
 import it.polimi.ingsw.model.player.Worker;
+import it.polimi.ingsw.model.rules.Step;
 import it.polimi.ingsw.server.GameHandler;
 import it.polimi.ingsw.server.answers.ErrorsType;
 import it.polimi.ingsw.server.answers.GameError;
@@ -21,8 +25,7 @@ import it.polimi.ingsw.server.answers.turn.WorkersRequestMessage;
 import it.polimi.ingsw.server.answers.worker.PlayerLostMessage;
 import it.polimi.ingsw.server.answers.worker.WinMessage;
 
-import java.beans.PropertyChangeEvent;
-import java.beans.PropertyChangeListener;
+import java.util.List;
 
 /**
  * Turn controller handles turn's moves and routing actions to the Action Controller
@@ -30,7 +33,7 @@ import java.beans.PropertyChangeListener;
  * @author Nicolò Sonnino
  */
 
-public class TurnController implements PropertyChangeListener {
+public class TurnController implements WorkerEventListener<MoveUpEvent> {
     /**
      * Controller reference required for routing model to the Turn Controller
      */
@@ -59,71 +62,71 @@ public class TurnController implements PropertyChangeListener {
     }
 
     /**
-     * Method propertyChange receives a property changed from a PropertyChangeSupport and pass different arguments
-     * to the ActionController.
+     * Method onEvent receives the Athena power notifications from her workers, forbidding or allowing the
+     * other players' workers to move up.
      *
-     * @param evt of type PropertyChangeEvent - the property change event.
+     * @param event of type MoveUpEvent - the Athena move event.
      */
-    public void propertyChange(PropertyChangeEvent evt) {
+    @Override
+    public void onEvent(MoveUpEvent event) {
         int i = 0;
-        if (evt.getNewValue().equals("AthenaMovedUp")) {
-            while (i < controller.getModel().getActivePlayers().size()) {
-                setMoveUp(i, false);
-                i++;
+        while (i < controller.getModel().getActivePlayers().size()) {
+            setMoveUp(i, !event.isMovedUp());
+            i++;
+        }
+    }
+
+    /**
+     * Method checkSelectMoveAction sends the player the spaces his worker can move to. If the worker can't move
+     * during a mandatory phase, the player loses.
+     *
+     * @param selectMoveAction of type SelectMoveAction - the action received.
+     */
+    public void checkSelectMoveAction(SelectMoveAction selectMoveAction) {
+        if (actionController.getWorker() == null) {
+            sendMoveError();
+            return;
+        }
+        Phase phase = actionController.getWorker().getPhase(actionController.phase);
+        if(!actionController.readMessage(selectMoveAction)) {
+            if(phase!=null && !phase.getAction().equals(Action.SELECT_MOVE)) {
+                sendMoveError();
             }
-        } else if (evt.getNewValue().equals("AthenaNormalMove")) {
-            while (i < controller.getModel().getActivePlayers().size()) {
-                setMoveUp(i, true);
-                i++;
+            else if (actionController.getWorker().getPhase(actionController.phase)!=null &&
+                    actionController.getWorker().getPhase(actionController.getPhase()).isMust()) {
+                endGame();
             }
-        } else {
-            Object arg = evt.getNewValue();
-            if (arg instanceof UserAction) {
-                if (arg instanceof StartTurnAction) {
-                    StartTurnAction startAction = (StartTurnAction) arg;
-                    startTurn(startAction);
-                } else if (arg instanceof BuildAction) {
-                    BuildAction buildAction = (BuildAction) arg;
-                    checkBuildAction(buildAction);
-                } else if (arg instanceof MoveAction) {
-                    MoveAction moveAction = (MoveAction) arg;
-                    checkMoveAction(moveAction);
-                } else if (arg instanceof SelectMoveAction) {
-                    SelectMoveAction selectMoveAction = (SelectMoveAction) arg;
-                    Phase phase = actionController.getWorker().getPhase(actionController.phase);
-                    if(!actionController.readMessage(selectMoveAction)) {
-                        if(phase!=null && !phase.getAction().equals(Action.SELECT_MOVE)) {
-                            sendMoveError();
-                        }
-                        else if (actionController.getWorker().getPhase(actionController.phase)!=null &&
-                                actionController.getWorker().getPhase(actionController.getPhase()).isMust()) {
-                            endGame();
-                        }
-                        else sendMoveError();
-                    }
-                } else if (arg instanceof SelectBuildAction) {
-                    SelectBuildAction workerAction = (SelectBuildAction) arg;
-                    Phase phase = actionController.getWorker().getPhase(actionController.phase);
-                    if(workerAction.getMessage().equals(Action.SELECT_REMOVE)){
-                        Worker unusedWorker = controller.getModel().getCurrentPlayer().getWorkers().get(findUnusedWorker
-                                (actionController.getWorker()));
-                        if(!actionController.readMessage(workerAction, unusedWorker.getPosition())){
-                            sendBuildError();
-                        }
-                    }
-                    else if (!actionController.readMessage(workerAction)) {
-                        if (phase!=null && !phase.getAction().equals(Action.SELECT_BUILD)) {
-                            sendBuildError();
-                        }
-                        else if (phase!=null && phase.isMust()) {
-                            endGame();
-                        } else sendBuildError();
-                    }
-                } else if (arg instanceof EndTurnAction) {
-                    endTurn();
-                }
+            else sendMoveError();
+        }
+    }
+
+    /**
+     * Method checkSelectBuildAction sends the player the spaces his worker can build onto (or remove from). If the
+     * worker can't build during a mandatory phase, the player loses.
+     *
+     * @param workerAction of type SelectBuildAction - the action received.
+     */
+    public void checkSelectBuildAction(SelectBuildAction workerAction) {
+        if (actionController.getWorker() == null) {
+            sendBuildError();
+            return;
+        }
+        Phase phase = actionController.getWorker().getPhase(actionController.phase);
+        if(workerAction.getMessage().equals(Action.SELECT_REMOVE)){
+            Worker unusedWorker = controller.getModel().getCurrentPlayer().getWorkers().get(findUnusedWorker
+                    (actionController.getWorker()));
+            if(!actionController.readMessage(workerAction, unusedWorker.getPosition())){
+                sendBuildError();
             }
         }
+        else if (!actionController.readMessage(workerAction)) {
+            if (phase!=null && !phase.getAction().equals(Action.SELECT_BUILD)) {
+                sendBuildError();
+            }
+            else if (phase!=null && phase.isMust()) {
+                endGame();
+            } else sendBuildError();
+        }
     }
 
 
@@ -145,7 +148,7 @@ public class TurnController implements PropertyChangeListener {
      *
      * @param workerAction of type MoveAction - the right type of MoveAction.
      */
-    private void checkMoveAction(MoveAction workerAction) {
+    public void checkMoveAction(MoveAction workerAction) {
         if (!actionController.readMessage(workerAction)) {
             sendMoveError();
         }
@@ -160,7 +163,7 @@ public class TurnController implements PropertyChangeListener {
      *
      * @param workerAction of type BuildAction - the right type of BuildAction.
      */
-    private void checkBuildAction(BuildAction workerAction) {
+    public void checkBuildAction(BuildAction workerAction) {
         String end =" end your turn.";
         if(workerAction.getAction().equals(Action.REMOVE)){
             Worker unusedWorker = controller.getModel().getCurrentPlayer().getWorkers().get(findUnusedWorker
@@ -180,6 +183,29 @@ public class TurnController implements PropertyChangeListener {
         }
     }
 
+    /**
+     * Method checkPackedAction unpacks an encoded step and handles it as the action it stands for. The step must be
+     * a single action of the worker playing the turn.
+     *
+     * @param packedAction of type PackedAction - the action received.
+     */
+    public void checkPackedAction(PackedAction packedAction) {
+        Worker worker = actionController.getWorker();
+        if (!Step.isSingle(packedAction.getMessage()) || worker == null
+                || controller.getModel().getCurrentPlayer().getWorkers().indexOf(worker) + 1
+                != packedAction.getWorkerNum()) {
+            gameHandler.singleSend(new GameError(ErrorsType.INVALIDINPUT, "Not an action of your worker!"),
+                    gameHandler.getCurrentPlayerID());
+            return;
+        }
+        WorkerAction action = packedAction.toAction();
+        if (action instanceof MoveAction) {
+            checkMoveAction((MoveAction) action);
+        } else {
+            checkBuildAction((BuildAction) action);
+        }
+    }
+
     /**
      * Method sendModifiedTurnMessage sends a new ModifiedTurnMessage to the client.
      *
@@ -231,17 +257,33 @@ public class TurnController implements PropertyChangeListener {
     }
 
     /**
-     * Method startTurnAction defines the type of StartTurnAction.
+     * Method startTurnAction defines the type of StartTurnAction. Blocked workers are found through the board
+     * mobility counts: if both workers are blocked the player loses.
      *
      * @param i of type int - one worker.
      * @param j of type int - the other one.
      */
     public void startTurnAction(int i, int j) {
+        if (controller.getModel().getCurrentPlayer() == null
+                || controller.getModel().getCurrentPlayer().getWorkers().size() <= Math.max(i, j)) {
+            gameHandler.singleSend(new GameError(ErrorsType.INVALIDINPUT), gameHandler.getCurrentPlayerID());
+            return;
+        }
+        List<Worker> workers = controller.getModel().getCurrentPlayer().getWorkers();
+        Mobility mobility = controller.getModel().getGameBoard().getMobility();
         if(actionController.phase!=0) {
             gameHandler.singleSend(new GameError(ErrorsType.INVALIDINPUT, "You can't change your worker!"),
                     gameHandler.getCurrentPlayerID());
+            return;
+        }
+        workers.forEach(worker -> worker.setBlocked(mobility.isBlocked(worker)));
+        if (workers.get(i).isBlocked() && workers.get(j).isBlocked()) {
+            endGame();
         }
-        else if (actionController.startAction(controller.getModel().getCurrentPlayer().getWorkers().get(i))) {
+        else if (workers.get(i).isBlocked()) {
+            gameHandler.singleSend(new GameError(ErrorsType.WORKERBLOCKED), gameHandler.getCurrentPlayerID());
+        }
+        else if (actionController.startAction(workers.get(i))) {
             if (actionController.getWorker().getPhase(actionController.phase).getAction().equals(Action.SELECT_BUILD)) {
                 gameHandler.singleSend(new ModifiedTurnMessage("You can either type move (no args) or build " +
                                 "(no args) based on your choice."),
@@ -254,37 +296,46 @@ public class TurnController implements PropertyChangeListener {
                         gameHandler.getCurrentPlayerID());
             }
         }
-        else if(actionController.phase==0){
-            if(controller.getModel().getCurrentPlayer().getWorkers().get(j).isBlocked()) {
-                endGame();
-            }
-            else if(controller.getModel().getCurrentPlayer().getWorkers().get(i).isBlocked()) {
-                gameHandler.singleSend(new GameError(ErrorsType.WORKERBLOCKED), gameHandler.getCurrentPlayerID());
-            }
-            else {
-                gameHandler.singleSend(new GameError(ErrorsType.INVALIDINPUT), gameHandler.getCurrentPlayerID());
-            }
+        else {
+            gameHandler.singleSend(new GameError(ErrorsType.INVALIDINPUT), gameHandler.getCurrentPlayerID());
         }
     }
 
     /**
-     * Method startTurn handles the start of the turn.
+     * Method isTurnStarted returns true if the current player has already played a part of the turn, so that a
+     * hint for a whole turn would not apply anymore.
+     *
+     * @return boolean true if the turn has started, false otherwise.
+     */
+    public boolean isTurnStarted() {
+        return actionController.phase != 0;
+    }
+
+    /**
+     * Method isCurrentPlayerBlocked returns true if none of the current player's workers can move, using the board
+     * mobility counts.
+     *
+     * @return boolean true if the current player has lost by being blocked, false otherwise.
+     */
+    public boolean isCurrentPlayerBlocked() {
+        return controller.getModel().getGameBoard().getMobility().isBlocked(
+                controller.getModel().getCurrentPlayer().getWorkers());
+    }
+
+    /**
+     * Method startTurn handles the start of the turn. A missing option is reported as an invalid input.
      *
      * @param arg StartTurnAction - the action received.
      */
 
     public void startTurn(StartTurnAction arg) {
-        try {
-            switch (arg.option) {
-                case "start" -> gameHandler.singleSend(new WorkersRequestMessage(), gameHandler.getCurrentPlayerID());
-                case "worker1" -> startTurnAction(0, 1);
-                case "worker2" -> startTurnAction(1, 0);
-                default -> gameHandler.singleSend(new GameError(ErrorsType.INVALIDINPUT), gameHandler.getCurrentPlayerID());
-            }
-        } catch (NullPointerException e) {
-            gameHandler.singleSend(new GameError(ErrorsType.INVALIDINPUT), gameHandler.getCurrentPlayerID());
+        String option = arg == null || arg.option == null ? "" : arg.option;
+        switch (option) {
+            case "start" -> gameHandler.singleSend(new WorkersRequestMessage(), gameHandler.getCurrentPlayerID());
+            case "worker1" -> startTurnAction(0, 1);
+            case "worker2" -> startTurnAction(1, 0);
+            default -> gameHandler.singleSend(new GameError(ErrorsType.INVALIDINPUT), gameHandler.getCurrentPlayerID());
         }
-
     }
 
     /**
@@ -317,18 +368,26 @@ public class TurnController implements PropertyChangeListener {
     }
 
     /**
-     * Method endTurn handles the end of the turn and switching to the next player.
+     * Method endTurn handles the end of the turn and switching to the next player. A next player whose workers are
+     * all blocked loses right away.
+     *
+     * @return boolean true if the turn has ended, false if the player still has to complete it.
      */
-    public void endTurn() {
+    public boolean endTurn() {
         if (actionController.endAction()) {
             gameHandler.singleSend(new EndTurnMessage("Turn ended :) \n"), gameHandler.getCurrentPlayerID());
             controller.getModel().nextPlayer();
+            if (isCurrentPlayerBlocked()) {
+                endGame();
+                return true;
+            }
             startTurn(new StartTurnAction());
             gameHandler.sendAllExcept(new StartTurnMessage(controller.getModel().getCurrentPlayer().getNickname()),
                     gameHandler.getCurrentPlayerID());
-        } else {
-            gameHandler.singleSend(new GameError(ErrorsType.STILLYOURTURN), gameHandler.getCurrentPlayerID());
+            return true;
         }
+        gameHandler.singleSend(new GameError(ErrorsType.STILLYOURTURN), gameHandler.getCurrentPlayerID());
+        return false;
     }
 
 
@@ -1,10 +1,9 @@
 package it.polimi.ingsw.listeners;
 
-import it.polimi.ingsw.model.board.Space;
+import it.polimi.ingsw.listeners.events.BuildEvent;
 import it.polimi.ingsw.server.VirtualClient;
 import it.polimi.ingsw.server.answers.worker.BuildMessage;
 
-import java.beans.PropertyChangeEvent;
 
 /**
  * BuildListener class is a WorkerListener used for notifying the client after a build action.
@@ -12,7 +11,7 @@ import java.beans.PropertyChangeEvent;
  * @author Alice Piemonti
  * @see WorkerListener
  */
-public class BuildListener extends WorkerListener {
+public class BuildListener extends WorkerListener<BuildEvent> {
 
   /**
    * Constructor WorkerListener creates a new WorkerListener instance.
@@ -24,14 +23,14 @@ public class BuildListener extends WorkerListener {
   }
 
   /**
-   * Method propertyChange notifies the client with a BuildMessage.
+   * Method onEvent notifies the client with a BuildMessage.
    *
-   * @param evt of type PropertyChangeEvent - the event received.
-   * @see WorkerListener#propertyChange(PropertyChangeEvent)
+   * @param event of type BuildEvent - the event received.
+   * @see WorkerEventListener#onEvent
    */
   @Override
-  public void propertyChange(PropertyChangeEvent evt) {
-    BuildMessage message = new BuildMessage((Space) evt.getNewValue(), (Boolean) evt.getOldValue());
+  public void onEvent(BuildEvent event) {
+    BuildMessage message = new BuildMessage(event.getSpace(), event.isDome());
     virtualClient.sendAll(message);
   }
 }
@@ -1,10 +1,9 @@
 package it.polimi.ingsw.listeners;
 
-import it.polimi.ingsw.constants.Move;
+import it.polimi.ingsw.listeners.events.DoubleMoveEvent;
 import it.polimi.ingsw.server.VirtualClient;
 import it.polimi.ingsw.server.answers.worker.DoubleMoveMessage;
 
-import java.beans.PropertyChangeEvent;
 
 /**
  * Class DoubleMoveListener is a WorkerListener used for notifying the client after a double move
@@ -13,7 +12,7 @@ import java.beans.PropertyChangeEvent;
  * @author Alice Piemonti
  * @see WorkerListener
  */
-public class DoubleMoveListener extends WorkerListener {
+public class DoubleMoveListener extends WorkerListener<DoubleMoveEvent> {
 
   /**
    * Constructor WorkerListener creates a new WorkerListener instance.
@@ -25,18 +24,15 @@ public class DoubleMoveListener extends WorkerListener {
   }
 
   /**
-   * Method propertyChange notifies the client with a DoubleMoveMessage.
+   * Method onEvent notifies the client with a DoubleMoveMessage.
    *
-   * @param evt of type PropertyChangeEvent - the event provided.
-   * @see WorkerListener#propertyChange(PropertyChangeEvent)
+   * @param event of type DoubleMoveEvent - the event provided.
+   * @see WorkerEventListener#onEvent
    */
   @Override
-  public void propertyChange(PropertyChangeEvent evt) {
-    Move move1 = (Move) evt.getOldValue();
-    Move move2 = (Move) evt.getNewValue();
-    String god = evt.getPropertyName();
-
-    DoubleMoveMessage message = new DoubleMoveMessage(move1, move2, god);
+  public void onEvent(DoubleMoveEvent event) {
+    DoubleMoveMessage message =
+        new DoubleMoveMessage(event.getMyMove(), event.getOtherMove(), event.getGod());
     virtualClient.sendAll(message);
   }
 }
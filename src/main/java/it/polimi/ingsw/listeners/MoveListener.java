@@ -1,10 +1,9 @@
 package it.polimi.ingsw.listeners;
 
-import it.polimi.ingsw.model.board.Space;
+import it.polimi.ingsw.listeners.events.MoveEvent;
 import it.polimi.ingsw.server.VirtualClient;
 import it.polimi.ingsw.server.answers.worker.MoveMessage;
 
-import java.beans.PropertyChangeEvent;
 
 /**
  * MoveListener class is a WorkerListener used for notifying the client after a move action.
@@ -12,7 +11,7 @@ import java.beans.PropertyChangeEvent;
  * @author Alice Piemonti
  * @see WorkerListener
  */
-public class MoveListener extends WorkerListener {
+public class MoveListener extends WorkerListener<MoveEvent> {
 
   /**
    * Constructor MoveListener creates a new MoveListener instance.
@@ -24,14 +23,14 @@ public class MoveListener extends WorkerListener {
   }
 
   /**
-   * Method propertyChange notifies the client with a MoveMessage.
+   * Method onEvent notifies the client with a MoveMessage.
    *
-   * @param evt of type PropertyChangeEvent - the event received.
-   * @see WorkerListener#propertyChange(PropertyChangeEvent)
+   * @param event of type MoveEvent - the event received.
+   * @see WorkerEventListener#onEvent
    */
   @Override
-  public void propertyChange(PropertyChangeEvent evt) {
-    MoveMessage message = new MoveMessage((Space) evt.getOldValue(), (Space) evt.getNewValue());
+  public void onEvent(MoveEvent event) {
+    MoveMessage message = new MoveMessage(event.getOldPosition(), event.getNewPosition());
     virtualClient.sendAll(message);
   }
 }
@@ -1,11 +1,10 @@
 package it.polimi.ingsw.listeners;
 
-import it.polimi.ingsw.model.board.Space;
+import it.polimi.ingsw.listeners.events.RemoveBlockEvent;
 import it.polimi.ingsw.model.player.Action;
 import it.polimi.ingsw.server.VirtualClient;
 import it.polimi.ingsw.server.answers.worker.BuildMessage;
 
-import java.beans.PropertyChangeEvent;
 
 /**
  * Class RemoveBlockListener is a WorkerListener used for notifying the client after a REMOVELEVEL
@@ -14,7 +13,7 @@ import java.beans.PropertyChangeEvent;
  * @author Alice Piemonti
  * @see WorkerListener
  */
-public class RemoveBlockListener extends WorkerListener {
+public class RemoveBlockListener extends WorkerListener<RemoveBlockEvent> {
 
   /**
    * Constructor WorkerListener creates a new WorkerListener instance.
@@ -26,14 +25,14 @@ public class RemoveBlockListener extends WorkerListener {
   }
 
   /**
-   * Method propertyChange notifies the client with a BuildMessage.
+   * Method onEvent notifies the client with a BuildMessage.
    *
-   * @param evt of type PropertyChangeEvent - the event received.
-   * @see WorkerListener#propertyChange(PropertyChangeEvent)
+   * @param event of type RemoveBlockEvent - the event received.
+   * @see WorkerEventListener#onEvent
    */
   @Override
-  public void propertyChange(PropertyChangeEvent evt) {
-    BuildMessage message = new BuildMessage((Space) evt.getNewValue(), Action.REMOVE);
+  public void onEvent(RemoveBlockEvent event) {
+    BuildMessage message = new BuildMessage(event.getSpace(), Action.REMOVE);
     virtualClient.sendAll(message);
   }
 }
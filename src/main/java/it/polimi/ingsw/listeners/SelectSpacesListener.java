@@ -1,20 +1,16 @@
 package it.polimi.ingsw.listeners;
 
-import it.polimi.ingsw.model.board.Space;
-import it.polimi.ingsw.model.player.Action;
+import it.polimi.ingsw.listeners.events.SelectSpacesEvent;
 import it.polimi.ingsw.server.VirtualClient;
 import it.polimi.ingsw.server.answers.worker.SelectSpacesMessage;
 
-import java.beans.PropertyChangeEvent;
-import java.util.ArrayList;
-
 /**
  * SelectSpacesListener class is a WorkerListener used for notifying client with selectable spaces.
  *
  * @author Alice Piemonti
  * @see WorkerListener
  */
-public class SelectSpacesListener extends WorkerListener {
+public class SelectSpacesListener extends WorkerListener<SelectSpacesEvent> {
 
   /**
    * Constructor WorkerListener creates a new WorkerListener instance.
@@ -26,15 +22,14 @@ public class SelectSpacesListener extends WorkerListener {
   }
 
   /**
-   * Method propertyChange notifies client with a SelectSpacesMessage.
+   * Method onEvent notifies client with a SelectSpacesMessage.
    *
-   * @param evt of type PropertyChangeEvent - the event received.
-   * @see WorkerListener#propertyChange(PropertyChangeEvent)
+   * @param event of type SelectSpacesEvent - the event received.
+   * @see WorkerEventListener#onEvent
    */
   @Override
-  public void propertyChange(PropertyChangeEvent evt) {
-    SelectSpacesMessage message =
-        new SelectSpacesMessage((ArrayList<Space>) evt.getNewValue(), (Action) evt.getOldValue());
+  public void onEvent(SelectSpacesEvent event) {
+    SelectSpacesMessage message = new SelectSpacesMessage(event.getSpaces(), event.getAction());
     virtualClient.send(message);
   }
 }
@@ -1,9 +1,9 @@
 package it.polimi.ingsw.listeners;
 
+import it.polimi.ingsw.listeners.events.WinEvent;
 import it.polimi.ingsw.server.VirtualClient;
 import it.polimi.ingsw.server.answers.worker.WinMessage;
 
-import java.beans.PropertyChangeEvent;
 
 /**
  * WinListener is a WorkerListener used for notifying the client with a WinMessage.
@@ -11,7 +11,7 @@ import java.beans.PropertyChangeEvent;
  * @author Alice Piemonti
  * @see WorkerListener
  */
-public class WinListener extends WorkerListener {
+public class WinListener extends WorkerListener<WinEvent> {
 
   /**
    * Constructor WorkerListener creates a new WorkerListener instance.
@@ -23,13 +23,13 @@ public class WinListener extends WorkerListener {
   }
 
   /**
-   * Method propertyChange notifies client with WinMessage.
+   * Method onEvent notifies client with WinMessage.
    *
-   * @param evt of type PropertyChangeEvent - the event received.
-   * @see WorkerListener#propertyChange(PropertyChangeEvent)
+   * @param event of type WinEvent - the event received.
+   * @see WorkerEventListener#onEvent
    */
   @Override
-  public void propertyChange(PropertyChangeEvent evt) {
+  public void onEvent(WinEvent event) {
     WinMessage message = new WinMessage();
     virtualClient.win(message);
   }
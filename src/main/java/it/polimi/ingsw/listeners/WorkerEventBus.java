@@ -0,0 +1,69 @@
+package it.polimi.ingsw.listeners;
+
+import it.polimi.ingsw.listeners.events.WorkerEvent;
+
+import java.util.Arrays;
+
+/**
+ * WorkerEventBus class delivers the events fired by a worker to the listeners subscribed to their
+ * type. Listeners are kept in one array per event type, indexed by the type ordinal, so publishing
+ * is a plain array walk with no lookup, no locking and no per-call allocation. Subscriptions are
+ * rare (they happen during the match setup), so the whole table is copied on write and published
+ * through a volatile field.
+ *
+ * @author Alice Piemonti
+ * @see WorkerEventListener
+ */
+public class WorkerEventBus {
+
+  private static final WorkerEventListener<?>[] NONE = new WorkerEventListener<?>[0];
+
+  private volatile WorkerEventListener<?>[][] table;
+
+  /** Constructor WorkerEventBus creates a new WorkerEventBus instance, without listeners. */
+  public WorkerEventBus() {
+    WorkerEventListener<?>[][] empty = new WorkerEventListener<?>[WorkerEvent.Type.values().length][];
+    Arrays.fill(empty, NONE);
+    table = empty;
+  }
+
+  /**
+   * Method subscribe adds a listener of a single event type.
+   *
+   * @param eventClass of type Class&lt;E&gt; - the class of the events listened.
+   * @param listener of type WorkerEventListener - the listener to be added.
+   * @param <E> the type of the events listened.
+   */
+  public synchronized <E extends WorkerEvent> void subscribe(
+      Class<E> eventClass, WorkerEventListener<? super E> listener) {
+    int index = WorkerEvent.Type.of(eventClass).ordinal();
+    WorkerEventListener<?>[][] copy = table.clone();
+    WorkerEventListener<?>[] current = copy[index];
+    copy[index] = Arrays.copyOf(current, current.length + 1);
+    copy[index][current.length] = listener;
+    table = copy;
+  }
+
+  /**
+   * Method hasListeners returns true if at least one listener is subscribed to the provided event
+   * type; it lets the caller skip building events nobody listens to.
+   *
+   * @param type of type Type - the event type.
+   * @return boolean true if the type has listeners, false otherwise.
+   */
+  public boolean hasListeners(WorkerEvent.Type type) {
+    return table[type.ordinal()].length > 0;
+  }
+
+  /**
+   * Method publish delivers the event to every listener of its type, in subscription order.
+   *
+   * @param event of type WorkerEvent - the event to be delivered.
+   */
+  @SuppressWarnings("unchecked")
+  public void publish(WorkerEvent event) {
+    for (WorkerEventListener<?> listener : table[event.getType().ordinal()]) {
+      ((WorkerEventListener<WorkerEvent>) listener).onEvent(event);
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package it.polimi.ingsw.listeners;
+
+import it.polimi.ingsw.listeners.events.WorkerEvent;
+
+/**
+ * WorkerEventListener interface defines a listener of a single type of worker event.
+ *
+ * @author Alice Piemonti
+ * @param <E> the type of the event listened.
+ * @see WorkerEventBus
+ */
+@FunctionalInterface
+public interface WorkerEventListener<E extends WorkerEvent> {
+
+  /**
+   * Method onEvent is called by the WorkerEventBus every time an event of the listened type is
+   * published.
+   *
+   * @param event of type E - the event published.
+   */
+  void onEvent(E event);
+}
@@ -1,16 +1,16 @@
 package it.polimi.ingsw.listeners;
 
+import it.polimi.ingsw.listeners.events.WorkerEvent;
 import it.polimi.ingsw.server.VirtualClient;
 
-import java.beans.PropertyChangeListener;
-
 /**
  * WorkerListener class defines an interface used to communicate to View from Model.
  *
  * @author Alice Piemonti
- * @see PropertyChangeListener
+ * @param <E> the type of the worker event listened.
+ * @see WorkerEventListener
  */
-public abstract class WorkerListener implements PropertyChangeListener {
+public abstract class WorkerListener<E extends WorkerEvent> implements WorkerEventListener<E> {
 
   final VirtualClient virtualClient;
 
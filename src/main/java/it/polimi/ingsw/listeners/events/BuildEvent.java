@@ -0,0 +1,44 @@
+package it.polimi.ingsw.listeners.events;
+
+import it.polimi.ingsw.model.board.Space;
+
+/**
+ * BuildEvent class is fired when a worker builds a block or a dome.
+ *
+ * @author Alice Piemonti
+ */
+public final class BuildEvent extends WorkerEvent {
+
+  private final Space space;
+  private final boolean dome;
+
+  /**
+   * Constructor BuildEvent creates a new BuildEvent instance.
+   *
+   * @param space of type Space - the space built onto.
+   * @param dome of type boolean - true if a dome has been placed at any level (Atlas power).
+   */
+  public BuildEvent(Space space, boolean dome) {
+    super(Type.BUILD);
+    this.space = space;
+    this.dome = dome;
+  }
+
+  /**
+   * Method getSpace returns the space of this BuildEvent object.
+   *
+   * @return the space (type Space) of this BuildEvent object.
+   */
+  public Space getSpace() {
+    return space;
+  }
+
+  /**
+   * Method isDome returns the dome of this BuildEvent object.
+   *
+   * @return boolean true if a dome has been placed at any level, false otherwise.
+   */
+  public boolean isDome() {
+    return dome;
+  }
+}
@@ -0,0 +1,57 @@
+package it.polimi.ingsw.listeners.events;
+
+import it.polimi.ingsw.constants.Move;
+
+/**
+ * DoubleMoveEvent class is fired when a god power moves both the worker and an opponent's worker
+ * with a single action (Apollo and Minotaur).
+ *
+ * @author Alice Piemonti
+ */
+public final class DoubleMoveEvent extends WorkerEvent {
+
+  private final Move myMove;
+  private final Move otherMove;
+  private final String god;
+
+  /**
+   * Constructor DoubleMoveEvent creates a new DoubleMoveEvent instance.
+   *
+   * @param myMove of type Move - the move of the acting worker.
+   * @param otherMove of type Move - the move of the opponent's worker.
+   * @param god of type String - the name of the god power which caused the double move.
+   */
+  public DoubleMoveEvent(Move myMove, Move otherMove, String god) {
+    super(Type.DOUBLE_MOVE);
+    this.myMove = myMove;
+    this.otherMove = otherMove;
+    this.god = god;
+  }
+
+  /**
+   * Method getMyMove returns the myMove of this DoubleMoveEvent object.
+   *
+   * @return the myMove (type Move) of this DoubleMoveEvent object.
+   */
+  public Move getMyMove() {
+    return myMove;
+  }
+
+  /**
+   * Method getOtherMove returns the otherMove of this DoubleMoveEvent object.
+   *
+   * @return the otherMove (type Move) of this DoubleMoveEvent object.
+   */
+  public Move getOtherMove() {
+    return otherMove;
+  }
+
+  /**
+   * Method getGod returns the god of this DoubleMoveEvent object.
+   *
+   * @return the god (type String) of this DoubleMoveEvent object.
+   */
+  public String getGod() {
+    return god;
+  }
+}
@@ -0,0 +1,45 @@
+package it.polimi.ingsw.listeners.events;
+
+import it.polimi.ingsw.model.board.Space;
+
+/**
+ * MoveEvent class is fired when a worker (or an opponent's worker forced by a god power) changes
+ * its position.
+ *
+ * @author Alice Piemonti
+ */
+public final class MoveEvent extends WorkerEvent {
+
+  private final Space oldPosition;
+  private final Space newPosition;
+
+  /**
+   * Constructor MoveEvent creates a new MoveEvent instance.
+   *
+   * @param oldPosition of type Space - the position before the move.
+   * @param newPosition of type Space - the position after the move.
+   */
+  public MoveEvent(Space oldPosition, Space newPosition) {
+    super(Type.MOVE);
+    this.oldPosition = oldPosition;
+    this.newPosition = newPosition;
+  }
+
+  /**
+   * Method getOldPosition returns the oldPosition of this MoveEvent object.
+   *
+   * @return the oldPosition (type Space) of this MoveEvent object.
+   */
+  public Space getOldPosition() {
+    return oldPosition;
+  }
+
+  /**
+   * Method getNewPosition returns the newPosition of this MoveEvent object.
+   *
+   * @return the newPosition (type Space) of this MoveEvent object.
+   */
+  public Space getNewPosition() {
+    return newPosition;
+  }
+}
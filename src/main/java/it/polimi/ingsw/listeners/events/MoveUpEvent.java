@@ -0,0 +1,44 @@
+package it.polimi.ingsw.listeners.events;
+
+/**
+ * MoveUpEvent class is fired by Athena after every move, stating whether she moved up or not. Only
+ * two instances exist, shared by every match.
+ *
+ * @author Alice Piemonti
+ */
+public final class MoveUpEvent extends WorkerEvent {
+
+  public static final MoveUpEvent MOVED_UP = new MoveUpEvent(true);
+  public static final MoveUpEvent NORMAL_MOVE = new MoveUpEvent(false);
+
+  private final boolean movedUp;
+
+  /**
+   * Constructor MoveUpEvent creates a new MoveUpEvent instance.
+   *
+   * @param movedUp of type boolean - true if the worker moved up.
+   */
+  private MoveUpEvent(boolean movedUp) {
+    super(Type.MOVE_UP);
+    this.movedUp = movedUp;
+  }
+
+  /**
+   * Method of returns the shared instance describing the provided move.
+   *
+   * @param movedUp of type boolean - true if the worker moved up.
+   * @return MoveUpEvent - the shared event instance.
+   */
+  public static MoveUpEvent of(boolean movedUp) {
+    return movedUp ? MOVED_UP : NORMAL_MOVE;
+  }
+
+  /**
+   * Method isMovedUp returns the movedUp of this MoveUpEvent object.
+   *
+   * @return boolean true if the worker moved up, false otherwise.
+   */
+  public boolean isMovedUp() {
+    return movedUp;
+  }
+}
@@ -0,0 +1,32 @@
+package it.polimi.ingsw.listeners.events;
+
+import it.polimi.ingsw.model.board.Space;
+
+/**
+ * RemoveBlockEvent class is fired when a worker removes a block from a tower (Ares power).
+ *
+ * @author Alice Piemonti
+ */
+public final class RemoveBlockEvent extends WorkerEvent {
+
+  private final Space space;
+
+  /**
+   * Constructor RemoveBlockEvent creates a new RemoveBlockEvent instance.
+   *
+   * @param space of type Space - the space whose tower has been lowered.
+   */
+  public RemoveBlockEvent(Space space) {
+    super(Type.REMOVE_BLOCK);
+    this.space = space;
+  }
+
+  /**
+   * Method getSpace returns the space of this RemoveBlockEvent object.
+   *
+   * @return the space (type Space) of this RemoveBlockEvent object.
+   */
+  public Space getSpace() {
+    return space;
+  }
+}
@@ -0,0 +1,48 @@
+package it.polimi.ingsw.listeners.events;
+
+import it.polimi.ingsw.model.board.Space;
+import it.polimi.ingsw.model.player.Action;
+
+import java.util.List;
+
+/**
+ * SelectSpacesEvent class is fired when a worker computes the spaces available for its next
+ * action.
+ *
+ * @author Alice Piemonti
+ */
+public final class SelectSpacesEvent extends WorkerEvent {
+
+  private final Action action;
+  private final List<Space> spaces;
+
+  /**
+   * Constructor SelectSpacesEvent creates a new SelectSpacesEvent instance.
+   *
+   * @param action of type Action - the selection action (move, build, remove...).
+   * @param spaces of type List&lt;Space&gt; - the selectable spaces.
+   */
+  public SelectSpacesEvent(Action action, List<Space> spaces) {
+    super(Type.SELECT_SPACES);
+    this.action = action;
+    this.spaces = spaces;
+  }
+
+  /**
+   * Method getAction returns the action of this SelectSpacesEvent object.
+   *
+   * @return the action (type Action) of this SelectSpacesEvent object.
+   */
+  public Action getAction() {
+    return action;
+  }
+
+  /**
+   * Method getSpaces returns the spaces of this SelectSpacesEvent object.
+   *
+   * @return the spaces (type List&lt;Space&gt;) of this SelectSpacesEvent object.
+   */
+  public List<Space> getSpaces() {
+    return spaces;
+  }
+}
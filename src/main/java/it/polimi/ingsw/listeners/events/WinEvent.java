@@ -0,0 +1,17 @@
+package it.polimi.ingsw.listeners.events;
+
+/**
+ * WinEvent class is fired when a worker fulfils a winning condition. It carries no data, so a
+ * single shared instance is used.
+ *
+ * @author Alice Piemonti
+ */
+public final class WinEvent extends WorkerEvent {
+
+  public static final WinEvent INSTANCE = new WinEvent();
+
+  /** Constructor WinEvent creates the WinEvent instance. */
+  private WinEvent() {
+    super(Type.WIN);
+  }
+}
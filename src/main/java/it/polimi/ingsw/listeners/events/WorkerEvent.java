@@ -0,0 +1,71 @@
+package it.polimi.ingsw.listeners.events;
+
+/**
+ * WorkerEvent class is the base class of every event fired by a worker towards its listeners.
+ * Its constructor is package-private, so the set of events is closed to the classes of this
+ * package, and every event exposes its Type, which the WorkerEventBus uses as an array index
+ * instead of comparing property names.
+ *
+ * @author Alice Piemonti
+ * @see it.polimi.ingsw.listeners.WorkerEventBus
+ */
+public abstract class WorkerEvent {
+
+  private final Type type;
+
+  /**
+   * Constructor WorkerEvent creates a new WorkerEvent instance.
+   *
+   * @param type of type Type - the event type.
+   */
+  WorkerEvent(Type type) {
+    this.type = type;
+  }
+
+  /**
+   * Method getType returns the type of this WorkerEvent object.
+   *
+   * @return the type (type Type) of this WorkerEvent object.
+   */
+  public final Type getType() {
+    return type;
+  }
+
+  /** Type enum lists every worker event, together with the class which represents it. */
+  public enum Type {
+    MOVE(MoveEvent.class),
+    DOUBLE_MOVE(DoubleMoveEvent.class),
+    BUILD(BuildEvent.class),
+    REMOVE_BLOCK(RemoveBlockEvent.class),
+    SELECT_SPACES(SelectSpacesEvent.class),
+    WIN(WinEvent.class),
+    MOVE_UP(MoveUpEvent.class);
+
+    private final Class<? extends WorkerEvent> eventClass;
+
+    /**
+     * Constructor Type creates a new Type instance.
+     *
+     * @param eventClass of type Class - the class of the events of this type.
+     */
+    Type(Class<? extends WorkerEvent> eventClass) {
+      this.eventClass = eventClass;
+    }
+
+    /**
+     * Method of returns the type of the provided event class.
+     *
+     * @param eventClass of type Class - the event class.
+     * @return Type - the corresponding type.
+     * @throws IllegalArgumentException when the class is not a concrete worker event.
+     */
+    public static Type of(Class<? extends WorkerEvent> eventClass) {
+      for (Type type : values()) {
+        if (type.eventClass == eventClass) {
+          return type;
+        }
+      }
+      throw new IllegalArgumentException(eventClass.getName());
+    }
+  }
+}
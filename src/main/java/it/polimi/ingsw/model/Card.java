@@ -6,11 +6,14 @@ import it.polimi.ingsw.Santorini;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Card class is a enumeration containing the god list and parses the input for them. It also
  * contains an array of gods which are chosen by the challenger in the first phase of the game.
+ * The JSON file is parsed once, the first time a name or a description is requested.
  *
  * @author Luca Pirovano
  */
@@ -47,14 +50,7 @@ public enum Card {
    * @return List&lt;String&gt; - the list of gods' names, parsed from the json file.
    */
   public static List<String> godsName() {
-    Gson gson = new Gson();
-    List<String> result = new ArrayList<>();
-    Reader reader = new InputStreamReader(Santorini.class.getResourceAsStream("/json/gods.json"));
-    God[] god = gson.fromJson(reader, God[].class);
-    for (God god1 : god) {
-      result.add(god1.getName());
-    }
-    return result;
+    return new ArrayList<>(GodsFile.NAMES);
   }
 
   /**
@@ -64,16 +60,31 @@ public enum Card {
    * @return String - the god's description that the user wants to know.
    */
   public String godsDescription() {
+    return GodsFile.DESCRIPTIONS.get(this);
+  }
+
+  /**
+   * GodsFile class holds the content of the gods JSON file. It's loaded by the JVM at its first
+   * use, so the file is parsed only once and lazily.
+   */
+  private static class GodsFile {
+    private static final List<String> NAMES = new ArrayList<>();
+    private static final Map<Card, String> DESCRIPTIONS = new EnumMap<>(Card.class);
 
-    Gson gson = new Gson();
-    Reader reader = new InputStreamReader(Santorini.class.getResourceAsStream("/json/gods.json"));
-    God[] god = gson.fromJson(reader, God[].class);
-    for (God god1 : god) {
-      if (god1.getName().equalsIgnoreCase(this.toString())) {
-        return ("Property: " + god1.getProperty() + "\nDescription: " + god1.getDesc());
+    static {
+      Gson gson = new Gson();
+      Reader reader =
+          new InputStreamReader(Santorini.class.getResourceAsStream("/json/gods.json"));
+      God[] god = gson.fromJson(reader, God[].class);
+      for (God god1 : god) {
+        NAMES.add(god1.getName());
+        for (Card card : Card.values()) {
+          if (god1.getName().equalsIgnoreCase(card.toString())) {
+            DESCRIPTIONS.put(
+                card, "Property: " + god1.getProperty() + "\nDescription: " + god1.getDesc());
+          }
+        }
       }
     }
-
-    return null;
   }
 }
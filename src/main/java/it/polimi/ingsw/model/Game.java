@@ -2,7 +2,10 @@ package it.polimi.ingsw.model;
 
 import it.polimi.ingsw.constants.Constants;
 import it.polimi.ingsw.model.board.GameBoard;
+import it.polimi.ingsw.model.board.Space;
 import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.player.Worker;
+import it.polimi.ingsw.model.rules.Position;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -149,6 +152,38 @@ public class Game {
     setCurrentPlayer(activePlayers.get(currentPlayerN));
   }
 
+  /**
+   * Method toPosition returns a packed snapshot of the board, like the one the client takes of its
+   * own board. The workers of each active player are numbered as in the player's list, starting
+   * from 1.
+   *
+   * @return Position - the snapshot.
+   */
+  public Position toPosition() {
+    Position position = new Position();
+    for (int row = Constants.GRID_MIN_SIZE; row < Constants.GRID_MAX_SIZE; row++) {
+      for (int col = Constants.GRID_MIN_SIZE; col < Constants.GRID_MAX_SIZE; col++) {
+        int index = Position.index(row, col);
+        Space space = gameBoard.getSpace(row, col);
+        position.setHeight(index, space.getTower().getHeight());
+        position.setDome(index, space.getTower().isCompleted());
+      }
+    }
+    for (Player player : activePlayers) {
+      List<Worker> workers = player.getWorkers();
+      for (int i = 0; i < workers.size(); i++) {
+        Space space = workers.get(i).getPosition();
+        if (space != null && player.getColor() != null) {
+          position.setWorker(
+              Position.index(space.getRow(), space.getColumn()),
+              Position.colorId(player.getColor().toString()),
+              i + 1);
+        }
+      }
+    }
+    return position;
+  }
+
   /**
    * Method getDeck returns the deck of this Game object.
    *
@@ -12,6 +12,7 @@ import it.polimi.ingsw.exceptions.InvalidInputException;
  */
 public class GameBoard {
   private final Space[][] grid = new Space[Constants.GRID_MAX_SIZE][Constants.GRID_MAX_SIZE];
+  private final Mobility mobility = new Mobility(this);
 
   /** Constructor GameBoard creates a grid of 25 spaces and set each space coordinate inside it. */
   public GameBoard() {
@@ -24,6 +25,7 @@ public class GameBoard {
         } catch (InvalidInputException e) {
           System.out.println(e.getMessage());
         }
+        grid[i][j].setBoard(this);
       }
     }
   }
@@ -39,4 +41,23 @@ public class GameBoard {
   public Space getSpace(int row, int col) {
     return grid[row][col];
   }
+
+  /**
+   * Method getMobility returns the mobility counts of the workers on this board.
+   *
+   * @return Mobility - the mobility counts.
+   */
+  public Mobility getMobility() {
+    return mobility;
+  }
+
+  /**
+   * Method changed is invoked by a space when its worker or its tower change.
+   *
+   * @param row of type int - the row of the space.
+   * @param col of type int - the column of the space.
+   */
+  void changed(int row, int col) {
+    mobility.invalidate(row, col);
+  }
 }
@@ -0,0 +1,108 @@
+package it.polimi.ingsw.model.board;
+
+import it.polimi.ingsw.model.player.Worker;
+import it.polimi.ingsw.model.rules.Position;
+import it.polimi.ingsw.model.rules.Rules;
+
+/**
+ * Mobility class keeps the number of moves available to the worker standing on each space, so a
+ * blocked worker or player is detected in constant time. Every change of a space invalidates the
+ * counts of the spaces up to two steps away, which is as far as a change can affect a move
+ * (Minotaur pushing a worker onto the space behind); the counts of the invalid spaces are computed
+ * again only when they're read, looking at the neighbours of the worker.
+ *
+ * @author Alice Piemonti
+ * @see Worker#countMoves(GameBoard)
+ */
+public class Mobility {
+  private static final int ALL = (1 << Position.CELLS) - 1;
+  private static final int[] AREA = new int[Position.CELLS];
+  private final GameBoard gameBoard;
+  private final int[] counts = new int[Position.CELLS];
+  private final boolean[] countedMovingUp = new boolean[Position.CELLS];
+  private int invalid = ALL;
+
+  static {
+    for (int i = 0; i < Position.CELLS; i++) {
+      int area = Rules.neighbours(i);
+      for (int near = area; near != 0; near &= near - 1) {
+        area |= Rules.neighbours(Integer.numberOfTrailingZeros(near));
+      }
+      AREA[i] = area | 1 << i;
+    }
+  }
+
+  /**
+   * Constructor Mobility creates a new Mobility instance.
+   *
+   * @param gameBoard of type GameBoard - the board whose workers are counted.
+   */
+  Mobility(GameBoard gameBoard) {
+    this.gameBoard = gameBoard;
+  }
+
+  /**
+   * Method invalidate marks the counts affected by a change of a space.
+   *
+   * @param row of type int - the row of the space changed.
+   * @param col of type int - the column of the space changed.
+   */
+  void invalidate(int row, int col) {
+    invalid |= AREA[Position.index(row, col)];
+  }
+
+  /**
+   * Method getMoves returns the number of moves the worker can make at the beginning of its turn.
+   *
+   * @param worker of type Worker - the worker.
+   * @return int - the number of moves, 0 if the worker is blocked or not on the board.
+   */
+  public int getMoves(Worker worker) {
+    Space space = worker.getPosition();
+    if (space == null || space.getWorker() != worker) {
+      return 0;
+    }
+    int index = Position.index(space.getRow(), space.getColumn());
+    if ((invalid & 1 << index) != 0 || countedMovingUp[index] != worker.canMoveUp()) {
+      counts[index] = worker.countMoves(gameBoard);
+      countedMovingUp[index] = worker.canMoveUp();
+      invalid &= ~(1 << index);
+    }
+    return counts[index];
+  }
+
+  /**
+   * Method isBlocked returns true if the worker can't move.
+   *
+   * @param worker of type Worker - the worker.
+   * @return boolean true if blocked, false otherwise.
+   */
+  public boolean isBlocked(Worker worker) {
+    return getMoves(worker) == 0;
+  }
+
+  /**
+   * Method isBlocked returns true if none of the workers can move, so their player loses.
+   *
+   * @param workers of type Iterable&lt;Worker&gt; - the workers of a player.
+   * @return boolean true if every worker is blocked, false otherwise.
+   */
+  public boolean isBlocked(Iterable<Worker> workers) {
+    for (Worker worker : workers) {
+      if (!isBlocked(worker)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Method getInvalid returns the spaces whose count has to be computed again, for testing.
+   *
+   * @return int - the mask of the spaces, where bit (row * GRID_MAX_SIZE + column) stands for a
+   *     space.
+   */
+  int getInvalid() {
+    return invalid & ALL;
+  }
+}
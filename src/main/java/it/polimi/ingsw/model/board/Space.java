@@ -14,10 +14,12 @@ public class Space {
   private int column;
   private Worker workerHere;
   private Tower builtTower;
+  private GameBoard board;
 
   /** Constructor Space creates a new Space instance. */
   public Space() {
     builtTower = new Tower();
+    builtTower.setSpace(this);
     workerHere = null;
   }
 
@@ -72,6 +74,8 @@ public class Space {
    */
   public void setTower(Tower tower) {
     builtTower = tower;
+    tower.setSpace(this);
+    changed();
   }
 
   /**
@@ -89,7 +93,10 @@ public class Space {
    * @param worker the worker parameter.
    */
   public void setWorker(Worker worker) {
-    workerHere = worker;
+    if (workerHere != worker) {
+      workerHere = worker;
+      changed();
+    }
   }
 
   /**
@@ -109,4 +116,20 @@ public class Space {
   public Tower getTower() {
     return builtTower;
   }
+
+  /**
+   * Method setBoard sets the board this space belongs to, which is notified of every change.
+   *
+   * @param board of type GameBoard - the board.
+   */
+  void setBoard(GameBoard board) {
+    this.board = board;
+  }
+
+  /** Method changed notifies the board, if any, that the worker or the tower have changed. */
+  void changed() {
+    if (board != null) {
+      board.changed(row, column);
+    }
+  }
 }
@@ -10,6 +10,7 @@ import it.polimi.ingsw.exceptions.OutOfBoundException;
 public class Tower {
   private int height;
   private boolean dome;
+  private Space space;
 
   /** Constructor Tower creates a new Tower instance. */
   public Tower() {
@@ -43,6 +44,7 @@ public class Tower {
   public void addLevel() throws OutOfBoundException {
     if ((getHeight() >= 0 && getHeight() < 4) && !isCompleted()) {
       height++;
+      changed();
     } else {
       throw new OutOfBoundException();
     }
@@ -63,6 +65,7 @@ public class Tower {
     } else {
       throw new OutOfBoundException();
     }
+    changed();
   }
 
   /**
@@ -72,5 +75,22 @@ public class Tower {
    */
   public void setDome(boolean dome) {
     this.dome = dome;
+    changed();
+  }
+
+  /**
+   * Method setSpace sets the space the tower is built on, which is notified of every change.
+   *
+   * @param space of type Space - the space.
+   */
+  void setSpace(Space space) {
+    this.space = space;
+  }
+
+  /** Method changed notifies the space, if any, that the tower has changed. */
+  private void changed() {
+    if (space != null) {
+      space.changed();
+    }
   }
 }
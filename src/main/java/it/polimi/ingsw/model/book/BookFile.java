@@ -0,0 +1,378 @@
+package it.polimi.ingsw.model.book;
+
+import it.polimi.ingsw.model.Card;
+import it.polimi.ingsw.model.rules.Position;
+import it.polimi.ingsw.model.rules.PositionKey;
+import it.polimi.ingsw.model.rules.Search;
+import it.polimi.ingsw.model.rules.Symmetry;
+import it.polimi.ingsw.model.rules.Turn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * BookFile class is the storage of opening books and tablebases: a header followed by fixed-size
+ * records sorted by key, each record holding a position key, a turn and a value. The file is
+ * mapped into memory when opened, so a lookup is a binary search straight over the mapped pages,
+ * with no copy and no parsing; lookups don't change the state of the mapping, so they can be made
+ * by many threads at once.
+ *
+ * <p>Positions are stored by their canonical key (see Symmetry), so the symmetric positions share a
+ * single record, whose turn is played on the canonical position: lookups move it back.
+ *
+ * <p>Header: magic (int), version (int), kind (int), first god ordinal (int), second god ordinal
+ * (int), number of records (int). Record: key (long), turn (long), value (int), reserved (int).
+ *
+ * @author Alice Piemonti
+ * @see OpeningBook
+ * @see Tablebase
+ */
+public final class BookFile implements Closeable {
+  public static final int MAGIC = 0x534E4242;
+  public static final int VERSION = 2;
+  public static final int HEADER_SIZE = 24;
+  public static final int RECORD_SIZE = 24;
+  public static final int KIND_BOOK = 0;
+  public static final int KIND_TABLEBASE = 1;
+  private final FileChannel channel;
+  private final MappedByteBuffer buffer;
+  private final int kind;
+  private final Card first;
+  private final Card second;
+  private final int size;
+
+  /**
+   * Constructor BookFile maps a file into memory and checks its header.
+   *
+   * @param file of type Path - the file.
+   * @throws IOException when the file can't be read or is not a book file.
+   */
+  private BookFile(Path file) throws IOException {
+    channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.capacity() < HEADER_SIZE
+          || buffer.getInt(0) != MAGIC
+          || buffer.getInt(4) != VERSION) {
+        throw new IOException(file + " is not a book file");
+      }
+      kind = buffer.getInt(8);
+      first = Card.values()[buffer.getInt(12)];
+      second = Card.values()[buffer.getInt(16)];
+      size = buffer.getInt(20);
+      if ((long) HEADER_SIZE + (long) size * RECORD_SIZE > buffer.capacity()) {
+        throw new IOException(file + " is truncated");
+      }
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e instanceof IOException ? (IOException) e : new IOException(e);
+    }
+  }
+
+  /**
+   * Method open maps a book file into memory.
+   *
+   * @param file of type Path - the file.
+   * @return BookFile - the opened file.
+   * @throws IOException when the file can't be read or is not a book file.
+   */
+  public static BookFile open(Path file) throws IOException {
+    return new BookFile(file);
+  }
+
+  /**
+   * Method fileName returns the name of the file of a pair of gods, which doesn't depend on their
+   * order.
+   *
+   * @param prefix of type String - the kind of file, "book" or "tablebase".
+   * @param god of type Card - a god.
+   * @param other of type Card - the other god.
+   * @return String - the file name.
+   */
+  public static String fileName(String prefix, Card god, Card other) {
+    Card first = god.ordinal() <= other.ordinal() ? god : other;
+    Card second = first == god ? other : god;
+    return prefix + "-" + first + "-" + second + ".bin";
+  }
+
+  /**
+   * Method key returns the key of a position in books and tablebases, the canonical key of the
+   * position mixed with the god of the player about to play.
+   *
+   * @param position of type Position - the board.
+   * @param colorId of type int - the color id of the player about to play.
+   * @param god of type Card - the god of the player about to play.
+   * @param canMoveUp of type boolean - false if the player can't move up this turn.
+   * @return long - the key.
+   */
+  public static long key(Position position, int colorId, Card god, boolean canMoveUp) {
+    int symmetry = PositionKey.canonical(position, colorId, canMoveUp);
+    return key(position, colorId, god, canMoveUp, symmetry);
+  }
+
+  /**
+   * Method key returns the key of a position moved by a symmetry, mixed with the god of the player
+   * about to play.
+   *
+   * @param position of type Position - the board.
+   * @param colorId of type int - the color id of the player about to play.
+   * @param god of type Card - the god of the player about to play.
+   * @param canMoveUp of type boolean - false if the player can't move up this turn.
+   * @param symmetry of type int - the symmetry, usually the canonical one.
+   * @return long - the key.
+   */
+  public static long key(
+      Position position, int colorId, Card god, boolean canMoveUp, int symmetry) {
+    return PositionKey.of(position, colorId, canMoveUp, symmetry) ^ PositionKey.mix(~god.ordinal());
+  }
+
+  /**
+   * Method lookupTurn returns the turn stored for a position, moved back from its canonical
+   * position.
+   *
+   * @param position of type Position - the board.
+   * @param colorId of type int - the color id of the player about to play.
+   * @param god of type Card - the god of the player about to play.
+   * @param canMoveUp of type boolean - false if the player can't move up this turn.
+   * @return long - the turn (see Turn), Search.NO_TURN if the position is not stored.
+   */
+  public long lookupTurn(Position position, int colorId, Card god, boolean canMoveUp) {
+    int symmetry = PositionKey.canonical(position, colorId, canMoveUp);
+    int index = find(key(position, colorId, god, canMoveUp, symmetry));
+    return index < 0 ? Search.NO_TURN : Symmetry.turn(getTurn(index), Symmetry.inverse(symmetry));
+  }
+
+  /**
+   * Method write writes the records into a new file, replacing it atomically. Records are sorted
+   * by key; when a key is repeated only its first record is kept.
+   *
+   * @param file of type Path - the file.
+   * @param kind of type int - KIND_BOOK or KIND_TABLEBASE.
+   * @param first of type Card - the first god of the pair.
+   * @param second of type Card - the second god of the pair.
+   * @param records of type Records - the records.
+   * @return int - the number of records written.
+   * @throws IOException when the file can't be written.
+   */
+  public static int write(Path file, int kind, Card first, Card second, Records records)
+      throws IOException {
+    Integer[] order = new Integer[records.size()];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> Long.compare(records.keys[a], records.keys[b]));
+    ByteBuffer out = ByteBuffer.allocate(HEADER_SIZE + order.length * RECORD_SIZE);
+    out.position(HEADER_SIZE);
+    int count = 0;
+    for (int i = 0; i < order.length; i++) {
+      int record = order[i];
+      if (i > 0 && records.keys[order[i - 1]] == records.keys[record]) {
+        continue;
+      }
+      out.putLong(records.keys[record]).putLong(records.turns[record]);
+      out.putInt(records.values[record]).putInt(0);
+      count++;
+    }
+    out.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, kind);
+    out.putInt(12, first.ordinal()).putInt(16, second.ordinal()).putInt(20, count);
+    out.flip();
+    Path parent = file.toAbsolutePath().getParent();
+    Files.createDirectories(parent);
+    Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+    try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+      while (out.hasRemaining()) {
+        channel.write(out);
+      }
+      channel.force(true);
+    }
+    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    return count;
+  }
+
+  /**
+   * Method find returns the index of the record of a key.
+   *
+   * @param key of type long - the key.
+   * @return int - the index of the record, -1 if the key is not stored.
+   */
+  public int find(long key) {
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      long stored = getKey(middle);
+      if (stored < key) {
+        low = middle + 1;
+      } else if (stored > key) {
+        high = middle - 1;
+      } else {
+        return middle;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Method getKey returns the key of a record.
+   *
+   * @param index of type int - the index of the record.
+   * @return long - the key.
+   */
+  public long getKey(int index) {
+    return buffer.getLong(HEADER_SIZE + index * RECORD_SIZE);
+  }
+
+  /**
+   * Method getTurn returns the turn of a record.
+   *
+   * @param index of type int - the index of the record.
+   * @return long - the turn (see Turn).
+   */
+  public long getTurn(int index) {
+    return buffer.getLong(HEADER_SIZE + index * RECORD_SIZE + 8);
+  }
+
+  /**
+   * Method getValue returns the value of a record.
+   *
+   * @param index of type int - the index of the record.
+   * @return int - the value.
+   */
+  public int getValue(int index) {
+    return buffer.getInt(HEADER_SIZE + index * RECORD_SIZE + 16);
+  }
+
+  /**
+   * Method size returns the number of records.
+   *
+   * @return int - the number of records.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Method getKind returns the kind of the file.
+   *
+   * @return int - KIND_BOOK or KIND_TABLEBASE.
+   */
+  public int getKind() {
+    return kind;
+  }
+
+  /**
+   * Method getFirst returns the first god of the pair.
+   *
+   * @return Card - the god.
+   */
+  public Card getFirst() {
+    return first;
+  }
+
+  /**
+   * Method getSecond returns the second god of the pair.
+   *
+   * @return Card - the god.
+   */
+  public Card getSecond() {
+    return second;
+  }
+
+  /** Method close closes the file; the mapping is released by the garbage collector. */
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  /**
+   * Records class collects the records of a file while it's generated.
+   *
+   * @author Alice Piemonti
+   */
+  public static final class Records {
+    private long[] keys = new long[1024];
+    private long[] turns = new long[1024];
+    private int[] values = new int[1024];
+    private int size;
+
+    /**
+     * Method add appends the record of a position, together with the record of the same position
+     * with the numbers of the player's workers exchanged, so lookups don't depend on which worker
+     * was placed first. Both are stored by their canonical key, with the turn moved accordingly.
+     *
+     * @param position of type Position - the board.
+     * @param colorId of type int - the color id of the player about to play.
+     * @param god of type Card - the god of the player about to play.
+     * @param canMoveUp of type boolean - false if the player can't move up this turn.
+     * @param turn of type long - the turn, or Search.NO_TURN.
+     * @param value of type int - the value.
+     */
+    public void add(
+        Position position, int colorId, Card god, boolean canMoveUp, long turn, int value) {
+      addCanonical(position, colorId, god, canMoveUp, turn, value);
+      Position swapped = position.copy();
+      int first = swapped.find(colorId, 1);
+      int second = swapped.find(colorId, 2);
+      if (first >= 0 && second >= 0) {
+        swapped.setWorker(first, colorId, 2);
+        swapped.setWorker(second, colorId, 1);
+        long other =
+            turn == Search.NO_TURN ? turn : Turn.withWorkerNum(turn, 3 - Turn.getWorkerNum(turn));
+        addCanonical(swapped, colorId, god, canMoveUp, other, value);
+      }
+    }
+
+    /**
+     * Method addCanonical appends the record of a position by its canonical key.
+     *
+     * @param position of type Position - the board.
+     * @param colorId of type int - the color id of the player about to play.
+     * @param god of type Card - the god of the player about to play.
+     * @param canMoveUp of type boolean - false if the player can't move up this turn.
+     * @param turn of type long - the turn, or Search.NO_TURN.
+     * @param value of type int - the value.
+     */
+    private void addCanonical(
+        Position position, int colorId, Card god, boolean canMoveUp, long turn, int value) {
+      int symmetry = PositionKey.canonical(position, colorId, canMoveUp);
+      long key = key(position, colorId, god, canMoveUp, symmetry);
+      add(key, Symmetry.turn(turn, symmetry), value);
+    }
+
+    /**
+     * Method add appends a record.
+     *
+     * @param key of type long - the position key.
+     * @param turn of type long - the turn.
+     * @param value of type int - the value.
+     */
+    public void add(long key, long turn, int value) {
+      if (size == keys.length) {
+        keys = Arrays.copyOf(keys, size * 2);
+        turns = Arrays.copyOf(turns, size * 2);
+        values = Arrays.copyOf(values, size * 2);
+      }
+      keys[size] = key;
+      turns[size] = turn;
+      values[size] = value;
+      size++;
+    }
+
+    /**
+     * Method size returns the number of records.
+     *
+     * @return int - the number of records.
+     */
+    public int size() {
+      return size;
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package it.polimi.ingsw.model.book;
+
+import it.polimi.ingsw.constants.Constants;
+import it.polimi.ingsw.model.Card;
+import it.polimi.ingsw.model.rules.Position;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * BookGenerator class is the offline generator of opening books and tablebases. It writes one
+ * file per pair of gods into the output directory, which bots and hints map at runtime.
+ *
+ * <p>Arguments are provided as key=value pairs: kind (book or tablebase), gods (a comma separated
+ * list of gods, or all; every pair of them is generated), dir (the output directory), depth (the
+ * turns searched for each book position), cells (middle or all, the cells where the workers are
+ * placed in books), endgames (the number of random endgames each tablebase starts from), free
+ * (the cells without a dome in those endgames), turns (the turns played from the endgames),
+ * positions (the maximum number of positions of a tablebase) and seed. The "book" Maven profile
+ * runs it through exec:java, mapping each argument to a book.&lt;key&gt; property.
+ *
+ * @author Alice Piemonti
+ * @see OpeningBook
+ * @see Tablebase
+ */
+public class BookGenerator {
+  private static final Map<String, String> DEFAULTS =
+      Map.of(
+          "kind", "book",
+          "gods", "all",
+          "dir", "santorini-data/books",
+          "depth", "2",
+          "cells", "middle",
+          "endgames", "200",
+          "free", "8",
+          "turns", "6",
+          "positions", "500000",
+          "seed", "0");
+
+  private BookGenerator() {}
+
+  /**
+   * The main method of the generator.
+   *
+   * @param args of type String[] - the key=value arguments described above.
+   * @throws IOException when a file can't be written.
+   */
+  public static void main(String[] args) throws IOException {
+    Map<String, String> settings = Constants.parseArguments(args, DEFAULTS);
+    List<Card> gods = new ArrayList<>();
+    if (settings.get("gods").equalsIgnoreCase("all")) {
+      gods.addAll(Arrays.asList(Card.values()));
+    } else {
+      for (String god : settings.get("gods").split(",")) {
+        gods.add(Card.parseInput(god.trim()));
+      }
+    }
+    Path directory = Path.of(settings.get("dir"));
+    boolean book = settings.get("kind").equalsIgnoreCase("book");
+    Random random = new Random(Long.parseLong(settings.get("seed")));
+    for (int i = 0; i < gods.size(); i++) {
+      for (int j = i; j < gods.size(); j++) {
+        long start = System.currentTimeMillis();
+        int written;
+        if (book) {
+          int cells =
+              settings.get("cells").equalsIgnoreCase("all")
+                  ? (1 << Position.CELLS) - 1
+                  : OpeningBook.MIDDLE;
+          written =
+              OpeningBook.generate(
+                  directory,
+                  gods.get(i),
+                  gods.get(j),
+                  cells,
+                  Integer.parseInt(settings.get("depth")));
+        } else {
+          List<Position> endgames =
+              randomEndgames(
+                  random,
+                  Integer.parseInt(settings.get("endgames")),
+                  Integer.parseInt(settings.get("free")));
+          written =
+              Tablebase.generate(
+                  directory,
+                  gods.get(i),
+                  gods.get(j),
+                  endgames,
+                  Integer.parseInt(settings.get("turns")),
+                  Integer.parseInt(settings.get("positions")));
+        }
+        String prefix = book ? OpeningBook.PREFIX : Tablebase.PREFIX;
+        System.out.println(
+            Constants.getInfo()
+                + BookFile.fileName(prefix, gods.get(i), gods.get(j))
+                + ": "
+                + written
+                + " positions in "
+                + (System.currentTimeMillis() - start)
+                + " ms");
+      }
+    }
+  }
+
+  /**
+   * Method randomEndgames creates endgames with few cells left: all the other cells are domed, the
+   * free ones have random heights and hold the four workers.
+   *
+   * @param random of type Random - the source of randomness.
+   * @param count of type int - the number of endgames.
+   * @param free of type int - the number of cells without a dome, at least 4.
+   * @return List&lt;Position&gt; - the endgames, with the workers of color ids 1 and 2.
+   */
+  static List<Position> randomEndgames(Random random, int count, int free) {
+    List<Position> endgames = new ArrayList<>(count);
+    for (int n = 0; n < count; n++) {
+      Position position = new Position();
+      int[] cells = new int[Position.CELLS];
+      for (int i = 0; i < cells.length; i++) {
+        cells[i] = i;
+      }
+      for (int i = cells.length - 1; i > 0; i--) {
+        int j = random.nextInt(i + 1);
+        int swap = cells[i];
+        cells[i] = cells[j];
+        cells[j] = swap;
+      }
+      for (int i = 0; i < cells.length; i++) {
+        if (i < free) {
+          position.setHeight(cells[i], i < 4 ? random.nextInt(3) : random.nextInt(4));
+        } else {
+          position.setHeight(cells[i], 4);
+        }
+      }
+      for (int i = 0; i < 4; i++) {
+        position.setWorker(cells[i], i / 2 + 1, i % 2 + 1);
+      }
+      endgames.add(position);
+    }
+    return endgames;
+  }
+}
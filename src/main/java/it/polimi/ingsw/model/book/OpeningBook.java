@@ -0,0 +1,143 @@
+package it.polimi.ingsw.model.book;
+
+import it.polimi.ingsw.model.Card;
+import it.polimi.ingsw.model.rules.Evaluator;
+import it.polimi.ingsw.model.rules.Position;
+import it.polimi.ingsw.model.rules.Search;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * OpeningBook class holds the best first turn of the positions reached right after the workers
+ * have been placed, for a pair of gods. Books are generated offline by searching every placement
+ * of the four workers on a set of cells (the middle of the board by default, where most players
+ * place them), from the point of view of both players, and looked up at runtime from their mapped
+ * file. Books cover two player matches.
+ *
+ * @author Alice Piemonti
+ * @see BookFile
+ */
+public final class OpeningBook implements Closeable {
+  public static final String PREFIX = "book";
+  public static final int MIDDLE = 0b00000_01110_01110_01110_00000;
+  private static final int FIRST = 1;
+  private static final int SECOND = 2;
+  private final BookFile file;
+
+  /**
+   * Constructor OpeningBook creates a new OpeningBook instance.
+   *
+   * @param file of type BookFile - the mapped file.
+   */
+  private OpeningBook(BookFile file) {
+    this.file = file;
+  }
+
+  /**
+   * Method open opens the book of a pair of gods.
+   *
+   * @param directory of type Path - the directory of the books.
+   * @param god of type Card - a god.
+   * @param other of type Card - the other god.
+   * @return OpeningBook - the book.
+   * @throws IOException when the book is missing or can't be read.
+   */
+  public static OpeningBook open(Path directory, Card god, Card other) throws IOException {
+    Path file = directory.resolve(BookFile.fileName(PREFIX, god, other));
+    return new OpeningBook(BookFile.open(file));
+  }
+
+  /**
+   * Method lookup returns the best turn of a player.
+   *
+   * @param position of type Position - the board.
+   * @param colorId of type int - the color id of the player about to play.
+   * @param god of type Card - the god of the player.
+   * @return long - the turn (see Turn), Search.NO_TURN if the position is not in the book.
+   */
+  public long lookup(Position position, int colorId, Card god) {
+    return file.lookupTurn(position, colorId, god, true);
+  }
+
+  /**
+   * Method getScore returns the score of the best turn of a player, as found by the search.
+   *
+   * @param position of type Position - the board.
+   * @param colorId of type int - the color id of the player about to play.
+   * @param god of type Card - the god of the player.
+   * @return int - the score, 0 if the position is not in the book.
+   */
+  public int getScore(Position position, int colorId, Card god) {
+    int index = file.find(BookFile.key(position, colorId, god, true));
+    return index < 0 ? 0 : file.getValue(index);
+  }
+
+  /**
+   * Method size returns the number of positions in the book.
+   *
+   * @return int - the number of positions.
+   */
+  public int size() {
+    return file.size();
+  }
+
+  /** Method close closes the book file. */
+  @Override
+  public void close() throws IOException {
+    file.close();
+  }
+
+  /**
+   * Method generate searches every placement of the workers on a set of cells and writes the book
+   * of a pair of gods. A placement symmetric to one already searched is skipped, as it shares its
+   * record.
+   *
+   * @param directory of type Path - the directory of the books.
+   * @param god of type Card - a god.
+   * @param other of type Card - the other god.
+   * @param cells of type int - the mask of the cells where the workers are placed (see Rules).
+   * @param depth of type int - the number of turns searched for each position.
+   * @return int - the number of positions written.
+   * @throws IOException when the book can't be written.
+   */
+  public static int generate(Path directory, Card god, Card other, int cells, int depth)
+      throws IOException {
+    Card[] gods = new Card[Evaluator.COLORS];
+    gods[FIRST] = god;
+    gods[SECOND] = other;
+    Search search = new Search(new Evaluator());
+    BookFile.Records records = new BookFile.Records();
+    Set<Long> searched = new HashSet<>();
+    for (int a = cells; a != 0; a &= a - 1) {
+      int first1 = Integer.numberOfTrailingZeros(a);
+      for (int b = a & a - 1; b != 0; b &= b - 1) {
+        int first2 = Integer.numberOfTrailingZeros(b);
+        int free = cells & ~(1 << first1 | 1 << first2);
+        for (int c = free; c != 0; c &= c - 1) {
+          int second1 = Integer.numberOfTrailingZeros(c);
+          for (int d = c & c - 1; d != 0; d &= d - 1) {
+            int second2 = Integer.numberOfTrailingZeros(d);
+            Position position = new Position();
+            position.setWorker(first1, FIRST, 1);
+            position.setWorker(first2, FIRST, 2);
+            position.setWorker(second1, SECOND, 1);
+            position.setWorker(second2, SECOND, 2);
+            for (int color = FIRST; color <= SECOND; color++) {
+              if (!searched.add(BookFile.key(position, color, gods[color], true))) {
+                continue;
+              }
+              long turn = search.bestTurn(position, color, gods, true, depth);
+              records.add(position, color, gods[color], true, turn, search.getScore());
+            }
+          }
+        }
+      }
+    }
+    Path file = directory.resolve(BookFile.fileName(PREFIX, god, other));
+    return BookFile.write(file, BookFile.KIND_BOOK, god, other, records);
+  }
+}
@@ -0,0 +1,387 @@
+package it.polimi.ingsw.model.book;
+
+import it.polimi.ingsw.model.Card;
+import it.polimi.ingsw.model.rules.Evaluator;
+import it.polimi.ingsw.model.rules.Position;
+import it.polimi.ingsw.model.rules.Search;
+import it.polimi.ingsw.model.rules.Turn;
+import it.polimi.ingsw.model.rules.TurnBuffer;
+import it.polimi.ingsw.model.rules.TurnGenerator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tablebase class holds the solved endgames of a pair of gods: for each position, whether the
+ * player about to play wins or loses with perfect play, how many turns are left and the turn to
+ * play. The whole board has far too many positions to be solved, so a tablebase is generated from
+ * a set of small endgames (few free cells left): every position reachable from them within a
+ * number of turns is listed, then the results are propagated backwards from the positions where
+ * the game ends (retrograde analysis). Positions whose result depends on what happens beyond the
+ * horizon are left out. Tablebases cover two player matches.
+ *
+ * <p>The value of a position is positive if the player about to play wins and negative if it
+ * loses; its absolute value is the number of turns left plus one, so a blocked player has -1 and
+ * a player winning with its turn has 2.
+ *
+ * @author Alice Piemonti
+ * @see BookFile
+ */
+public final class Tablebase implements Closeable {
+  public static final String PREFIX = "tablebase";
+  private static final int UNKNOWN = 0;
+  private static final int WIN = 1;
+  private static final int LOSS = 2;
+  private final BookFile file;
+
+  /**
+   * Constructor Tablebase creates a new Tablebase instance.
+   *
+   * @param file of type BookFile - the mapped file.
+   */
+  private Tablebase(BookFile file) {
+    this.file = file;
+  }
+
+  /**
+   * Method open opens the tablebase of a pair of gods.
+   *
+   * @param directory of type Path - the directory of the tablebases.
+   * @param god of type Card - a god.
+   * @param other of type Card - the other god.
+   * @return Tablebase - the tablebase.
+   * @throws IOException when the tablebase is missing or can't be read.
+   */
+  public static Tablebase open(Path directory, Card god, Card other) throws IOException {
+    Path file = directory.resolve(BookFile.fileName(PREFIX, god, other));
+    return new Tablebase(BookFile.open(file));
+  }
+
+  /**
+   * Method probe returns the value of a position.
+   *
+   * @param position of type Position - the board.
+   * @param colorId of type int - the color id of the player about to play.
+   * @param god of type Card - the god of the player.
+   * @param canMoveUp of type boolean - false if the player can't move up this turn (Athena).
+   * @return int - the value, 0 if the position is not solved.
+   */
+  public int probe(Position position, int colorId, Card god, boolean canMoveUp) {
+    int index = file.find(BookFile.key(position, colorId, god, canMoveUp));
+    return index < 0 ? 0 : file.getValue(index);
+  }
+
+  /**
+   * Method bestTurn returns the turn to play in a solved position: the fastest win, or the
+   * slowest loss.
+   *
+   * @param position of type Position - the board.
+   * @param colorId of type int - the color id of the player about to play.
+   * @param god of type Card - the god of the player.
+   * @param canMoveUp of type boolean - false if the player can't move up this turn (Athena).
+   * @return long - the turn (see Turn), Search.NO_TURN if the position is not solved or the player
+   *     is blocked.
+   */
+  public long bestTurn(Position position, int colorId, Card god, boolean canMoveUp) {
+    return file.lookupTurn(position, colorId, god, canMoveUp);
+  }
+
+  /**
+   * Method size returns the number of solved positions.
+   *
+   * @return int - the number of positions.
+   */
+  public int size() {
+    return file.size();
+  }
+
+  /** Method close closes the tablebase file. */
+  @Override
+  public void close() throws IOException {
+    file.close();
+  }
+
+  /**
+   * Method generate solves the positions reachable from a set of endgames and writes the
+   * tablebase of a pair of gods.
+   *
+   * @param directory of type Path - the directory of the tablebases.
+   * @param god of type Card - the god of the workers with color id 1 in the endgames.
+   * @param other of type Card - the god of the workers with color id 2 in the endgames.
+   * @param endgames of type List&lt;Position&gt; - the endgames, each one solved for both players.
+   * @param maxTurns of type int - the number of turns played from the endgames.
+   * @param maxPositions of type int - the maximum number of positions listed.
+   * @return int - the number of positions written.
+   * @throws IOException when the tablebase can't be written.
+   */
+  public static int generate(
+      Path directory,
+      Card god,
+      Card other,
+      List<Position> endgames,
+      int maxTurns,
+      int maxPositions)
+      throws IOException {
+    Solver solver = new Solver(god, other, maxPositions);
+    for (Position endgame : endgames) {
+      solver.add(endgame, 1, true, 0);
+      solver.add(endgame, 2, true, 0);
+    }
+    solver.expand(maxTurns);
+    solver.solve();
+    Path file = directory.resolve(BookFile.fileName(PREFIX, god, other));
+    return BookFile.write(file, BookFile.KIND_TABLEBASE, god, other, solver.records());
+  }
+
+  /**
+   * Method isWin returns true if a value is a win for the player about to play.
+   *
+   * @param value of type int - the value.
+   * @return boolean true if winning, false if losing or unknown.
+   */
+  public static boolean isWin(int value) {
+    return value > 0;
+  }
+
+  /**
+   * Method turnsLeft returns the number of turns played before the end of the game.
+   *
+   * @param value of type int - a value different from 0.
+   * @return int - the number of turns.
+   */
+  public static int turnsLeft(int value) {
+    return Math.abs(value) - 1;
+  }
+
+  /**
+   * Solver class lists the positions of a tablebase and solves them. Positions are numbered in the
+   * order they're found, which is also the order they're expanded in (breadth first). Positions
+   * are told apart by their canonical key, so symmetric positions are listed and solved once.
+   *
+   * @author Alice Piemonti
+   */
+  private static final class Solver {
+    private final Card[] gods = new Card[Evaluator.COLORS];
+    private final int maxPositions;
+    private final Map<Long, Integer> indexes = new HashMap<>();
+    private final List<Position> positions = new ArrayList<>();
+    private final TurnGenerator generator = new TurnGenerator();
+    private final TurnBuffer turns = new TurnBuffer();
+    private int size;
+    private byte[] colors = new byte[1024];
+    private boolean[] movingUp = new boolean[1024];
+    private int[] depths = new int[1024];
+    private int[][] children = new int[1024][];
+    private long[][] edges = new long[1024][];
+    private byte[] results = new byte[1024];
+    private int[] turnsLeft = new int[1024];
+    private long[] bestTurns = new long[1024];
+
+    /**
+     * Constructor Solver creates a new Solver instance.
+     *
+     * @param god of type Card - the god of the color id 1.
+     * @param other of type Card - the god of the color id 2.
+     * @param maxPositions of type int - the maximum number of positions listed.
+     */
+    Solver(Card god, Card other, int maxPositions) {
+      gods[1] = god;
+      gods[2] = other;
+      this.maxPositions = maxPositions;
+    }
+
+    /**
+     * Method add lists a position, unless it's already listed.
+     *
+     * @param position of type Position - the board, which is copied.
+     * @param colorId of type int - the color id of the player about to play.
+     * @param canMoveUp of type boolean - false if the player can't move up.
+     * @param depth of type int - the number of turns played from the endgame.
+     * @return int - the index of the position, -1 if there's no room for it.
+     */
+    int add(Position position, int colorId, boolean canMoveUp, int depth) {
+      long key = BookFile.key(position, colorId, gods[colorId], canMoveUp);
+      Integer index = indexes.get(key);
+      if (index != null) {
+        return index;
+      }
+      if (size == maxPositions) {
+        return -1;
+      }
+      if (size == colors.length) {
+        grow();
+      }
+      positions.add(position.copy());
+      colors[size] = (byte) colorId;
+      movingUp[size] = canMoveUp;
+      depths[size] = depth;
+      bestTurns[size] = Search.NO_TURN;
+      indexes.put(key, size);
+      return size++;
+    }
+
+    /** Method grow doubles the capacity of the arrays. */
+    private void grow() {
+      int capacity = colors.length * 2;
+      colors = Arrays.copyOf(colors, capacity);
+      movingUp = Arrays.copyOf(movingUp, capacity);
+      depths = Arrays.copyOf(depths, capacity);
+      children = Arrays.copyOf(children, capacity);
+      edges = Arrays.copyOf(edges, capacity);
+      results = Arrays.copyOf(results, capacity);
+      turnsLeft = Arrays.copyOf(turnsLeft, capacity);
+      bestTurns = Arrays.copyOf(bestTurns, capacity);
+    }
+
+    /**
+     * Method expand generates the turns of every listed position, listing the positions they lead
+     * to. The game ends in the positions where the player is blocked or can win with its turn.
+     *
+     * @param maxTurns of type int - the number of turns played from the endgames.
+     */
+    void expand(int maxTurns) {
+      for (int i = 0; i < size; i++) {
+        Position position = positions.get(i);
+        int color = colors[i];
+        int count = generator.generate(position, color, gods[color], movingUp[i], turns);
+        if (count == 0) {
+          results[i] = LOSS;
+          continue;
+        }
+        long win = winningTurn();
+        if (win != Search.NO_TURN) {
+          results[i] = WIN;
+          turnsLeft[i] = 1;
+          bestTurns[i] = win;
+          continue;
+        }
+        if (depths[i] == maxTurns) {
+          continue;
+        }
+        long[] played = new long[count];
+        for (int t = 0; t < count; t++) {
+          played[t] = turns.get(t);
+        }
+        int[] reached = new int[count];
+        for (int t = 0; t < count; t++) {
+          Position child = position.copy();
+          boolean movedUp = Search.movesUp(child, color, played[t]);
+          TurnGenerator.play(child, color, gods[color], played[t]);
+          boolean canMoveUp = !(movedUp && gods[color] == Card.ATHENA);
+          reached[t] = add(child, 3 - color, canMoveUp, depths[i] + 1);
+        }
+        children[i] = reached;
+        edges[i] = played;
+      }
+    }
+
+    /**
+     * Method winningTurn returns a winning turn among the generated ones.
+     *
+     * @return long - the turn, Search.NO_TURN if none wins.
+     */
+    private long winningTurn() {
+      for (int t = 0; t < turns.size(); t++) {
+        if (Turn.isWin(turns.get(t))) {
+          return turns.get(t);
+        }
+      }
+      return Search.NO_TURN;
+    }
+
+    /**
+     * Method solve propagates the results backwards: a position is won if one of its turns leads
+     * to a lost position, and lost if all of them lead to won positions. Positions are solved in
+     * order of distance from the end, so the fastest win and the slowest loss are kept.
+     */
+    void solve() {
+      int[] parentCount = new int[size + 1];
+      for (int i = 0; i < size; i++) {
+        if (children[i] != null) {
+          for (int child : children[i]) {
+            if (child >= 0) {
+              parentCount[child + 1]++;
+            }
+          }
+        }
+      }
+      for (int i = 0; i < size; i++) {
+        parentCount[i + 1] += parentCount[i];
+      }
+      int[] parents = new int[parentCount[size]];
+      long[] parentTurns = new long[parents.length];
+      int[] fill = Arrays.copyOf(parentCount, size);
+      int[] pending = new int[size];
+      for (int i = 0; i < size; i++) {
+        if (children[i] == null) {
+          pending[i] = 1;
+          continue;
+        }
+        pending[i] = children[i].length;
+        for (int t = 0; t < children[i].length; t++) {
+          int child = children[i][t];
+          if (child >= 0) {
+            parents[fill[child]] = i;
+            parentTurns[fill[child]++] = edges[i][t];
+          }
+        }
+      }
+      int[] queue = new int[size];
+      int tail = 0;
+      for (int result = LOSS; result >= WIN; result--) {
+        for (int i = 0; i < size; i++) {
+          if (results[i] == result) {
+            queue[tail++] = i;
+          }
+        }
+      }
+      for (int head = 0; head < tail; head++) {
+        int solved = queue[head];
+        for (int p = parentCount[solved]; p < parentCount[solved + 1]; p++) {
+          int parent = parents[p];
+          if (results[parent] != UNKNOWN) {
+            continue;
+          }
+          if (results[solved] == LOSS) {
+            results[parent] = WIN;
+            turnsLeft[parent] = turnsLeft[solved] + 1;
+            bestTurns[parent] = parentTurns[p];
+            queue[tail++] = parent;
+          } else {
+            if (turnsLeft[solved] + 1 > turnsLeft[parent]) {
+              turnsLeft[parent] = turnsLeft[solved] + 1;
+              bestTurns[parent] = parentTurns[p];
+            }
+            if (--pending[parent] == 0) {
+              results[parent] = LOSS;
+              queue[tail++] = parent;
+            }
+          }
+        }
+      }
+    }
+
+    /**
+     * Method records returns the records of the solved positions.
+     *
+     * @return BookFile.Records - the records.
+     */
+    BookFile.Records records() {
+      BookFile.Records records = new BookFile.Records();
+      for (int i = 0; i < size; i++) {
+        if (results[i] != UNKNOWN) {
+          int value = results[i] == WIN ? turnsLeft[i] + 1 : -(turnsLeft[i] + 1);
+          int color = colors[i];
+          records.add(positions.get(i), color, gods[color], movingUp[i], bestTurns[i], value);
+        }
+      }
+      return records;
+    }
+  }
+}
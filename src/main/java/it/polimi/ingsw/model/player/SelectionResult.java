@@ -0,0 +1,38 @@
+package it.polimi.ingsw.model.player;
+
+/**
+ * SelectionResult enum is the outcome of a worker publishing the spaces the player can choose from.
+ * It carries the ordinary failures of a turn (a blocked worker, nothing to build onto) as plain
+ * values, so the turn pipeline checks them without throwing and catching exceptions.
+ *
+ * @author Alice Piemonti
+ * @see Worker#publishMoves(it.polimi.ingsw.model.board.GameBoard)
+ */
+public enum SelectionResult {
+  /** The spaces have been sent to the listeners. */
+  SELECTED,
+  /** There's no space to choose: nothing has been sent. */
+  NO_SPACES,
+  /** The arguments are not valid, for example a missing game board: nothing has been sent. */
+  INVALID;
+
+  /**
+   * Method isSelected returns true if the spaces have been sent.
+   *
+   * @return boolean true if selected, false otherwise.
+   */
+  public boolean isSelected() {
+    return this == SELECTED;
+  }
+
+  /**
+   * Method orThrow turns the result into the exceptions thrown by the notifyWith methods.
+   *
+   * @throws IllegalArgumentException when the result is INVALID.
+   * @throws IllegalStateException when the result is NO_SPACES.
+   */
+  public void orThrow() throws IllegalArgumentException, IllegalStateException {
+    if (this == INVALID) throw new IllegalArgumentException();
+    if (this == NO_SPACES) throw new IllegalStateException();
+  }
+}
@@ -7,11 +7,17 @@ import it.polimi.ingsw.listeners.BuildListener;
 import it.polimi.ingsw.listeners.MoveListener;
 import it.polimi.ingsw.listeners.SelectSpacesListener;
 import it.polimi.ingsw.listeners.WinListener;
+import it.polimi.ingsw.listeners.WorkerEventBus;
+import it.polimi.ingsw.listeners.events.BuildEvent;
+import it.polimi.ingsw.listeners.events.MoveEvent;
+import it.polimi.ingsw.listeners.events.SelectSpacesEvent;
+import it.polimi.ingsw.listeners.events.WinEvent;
 import it.polimi.ingsw.model.board.GameBoard;
 import it.polimi.ingsw.model.board.Space;
+import it.polimi.ingsw.model.rules.Position;
+import it.polimi.ingsw.model.rules.Rules;
 import it.polimi.ingsw.server.VirtualClient;
 
-import java.beans.PropertyChangeSupport;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -21,15 +27,11 @@ import java.util.List;
  */
 public abstract class Worker {
 
-    public static final String SELECT_SPACES_LISTENER = "selectSpacesListener";
-    public static final String WIN_LISTENER = "winListener";
-    public static final String MOVE_LISTENER = "moveListener";
-    public static final String BUILD_LISTENER = "buildListener";
     protected Space position;
     protected boolean isBlocked;
     protected boolean canMoveUp;
     protected final String workerColor;
-    protected final PropertyChangeSupport listeners = new PropertyChangeSupport(this);
+    protected final WorkerEventBus listeners = new WorkerEventBus();
     protected final ArrayList<Phase> phases = new ArrayList<>();
 
     /**
@@ -63,6 +65,15 @@ public abstract class Worker {
         this.canMoveUp = canMoveUp;
     }
 
+    /**
+     * Method canMoveUp returns if the worker is allowed to move up this turn.
+     *
+     * @return boolean true if it can move up, false otherwise (e.g. after Athena moved up).
+     */
+    public boolean canMoveUp() {
+        return canMoveUp;
+    }
+
 
     /**
      * Method setPhases sets phases.
@@ -119,14 +130,14 @@ public abstract class Worker {
     }
 
     /**
-     * Method createListeners creates the Map of listeners.
+     * Method createListeners subscribes the listeners of the worker events to the event bus.
      * @param client virtualClient - the VirtualClient on the server.
      */
     public void createListeners(VirtualClient client){
-        listeners.addPropertyChangeListener(SELECT_SPACES_LISTENER, new SelectSpacesListener(client));
-        listeners.addPropertyChangeListener(MOVE_LISTENER, new MoveListener(client));
-        listeners.addPropertyChangeListener(WIN_LISTENER, new WinListener(client));
-        listeners.addPropertyChangeListener(BUILD_LISTENER,new BuildListener(client));
+        listeners.subscribe(SelectSpacesEvent.class, new SelectSpacesListener(client));
+        listeners.subscribe(MoveEvent.class, new MoveListener(client));
+        listeners.subscribe(WinEvent.class, new WinListener(client));
+        listeners.subscribe(BuildEvent.class, new BuildListener(client));
 
     }
 
@@ -201,9 +212,9 @@ public abstract class Worker {
         Space oldPosition = position;
         position.setWorker(space.getWorker());
         setPosition(space);
-        listeners.firePropertyChange(MOVE_LISTENER, oldPosition, position);
+        listeners.publish(new MoveEvent(oldPosition, position));
         if(winCondition(oldPosition)) {
-            listeners.firePropertyChange(WIN_LISTENER, null, null);
+            listeners.publish(WinEvent.INSTANCE);
         }
         return true;
     }
@@ -236,9 +247,38 @@ public abstract class Worker {
      */
     public boolean isSelectable(Space space) throws IllegalArgumentException {
         if(space == null) throw new IllegalArgumentException();
-        return canMoveTo(space) &&
-                (space.getTower().getHeight() - position.getTower().getHeight() < 2) &&
-                space.isEmpty();
+        return canMoveTo(space) && space.isEmpty();
+    }
+
+    /**
+     * Method isSelectable returns true if the worker can move to the space received, also when the move involves
+     * other spaces of the board (e.g. Minotaur pushing a worker).
+     * @param space of type Space - the space provided.
+     * @param gameBoard of type GameBoard - the game board.
+     * @return boolean true if space is selectable, false otherwise.
+     */
+    public boolean isSelectable(Space space, GameBoard gameBoard) {
+        return isSelectable(space);
+    }
+
+    /**
+     * Method countMoves returns the number of moves the worker can make at the beginning of its turn, looking only
+     * at the spaces around it.
+     * @param gameBoard of type GameBoard - the game board.
+     * @return int - the number of moves, 0 if the worker is blocked.
+     * @see it.polimi.ingsw.model.board.Mobility
+     */
+    public int countMoves(GameBoard gameBoard) {
+        int count = 0;
+        int neighbours = Rules.neighbours(Position.index(position.getRow(), position.getColumn()));
+        while (neighbours != 0) {
+            int index = Integer.numberOfTrailingZeros(neighbours);
+            neighbours &= neighbours - 1;
+            if (isSelectable(gameBoard.getSpace(Position.row(index), Position.col(index)), gameBoard)) {
+                count++;
+            }
+        }
+        return count;
     }
 
     /**
@@ -246,10 +286,11 @@ public abstract class Worker {
      * space.
      * @param space of type Space - the space provided.
      * @return boolean true if space is reachable and at the correct height, false otherwise.
+     * @see Rules#canClimb(int, int, boolean)
      */
     protected boolean canMoveTo(Space space){
         return isReachable(space) &&
-                !(!canMoveUp && space.getTower().getHeight() - position.getTower().getHeight() > 0);
+                Rules.canClimb(position.getTower().getHeight(), space.getTower().getHeight(), canMoveUp);
     }
 
 
@@ -258,15 +299,28 @@ public abstract class Worker {
      * @param gameBoard of type GameBoard - the game board.
      * @throws IllegalArgumentException when gameBoard is null.
      * @throws IllegalStateException when the worker is blocked.
+     * @see Worker#publishMoves(GameBoard)
      */
     public void notifyWithMoves(GameBoard gameBoard) throws IllegalArgumentException, IllegalStateException {
-        if(gameBoard == null) throw new IllegalArgumentException();
+        publishMoves(gameBoard).orThrow();
+    }
+
+    /**
+     * Method publishMoves notifies the selectSpacesListener with all the moves the worker can do, reporting
+     * a blocked worker through the result instead of an exception.
+     * @param gameBoard of type GameBoard - the game board.
+     * @return SelectionResult - SELECTED if notified, NO_SPACES if the worker is blocked, INVALID if gameBoard
+     * is null.
+     */
+    public SelectionResult publishMoves(GameBoard gameBoard) {
+        if(gameBoard == null) return SelectionResult.INVALID;
         List<Space> moves = selectMoves(gameBoard);
         if(moves.isEmpty()) {
             isBlocked = true;
-            throw new IllegalStateException();
+            return SelectionResult.NO_SPACES;
         }
-        listeners.firePropertyChange(SELECT_SPACES_LISTENER, Action.SELECT_MOVE, moves);
+        listeners.publish(new SelectSpacesEvent(Action.SELECT_MOVE, moves));
+        return SelectionResult.SELECTED;
     }
 
     /**
@@ -313,7 +367,7 @@ public abstract class Worker {
         } catch (OutOfBoundException e) {
             return false;
         }
-        listeners.firePropertyChange(BUILD_LISTENER,false,space);
+        listeners.publish(new BuildEvent(space, false));
         return true;
     }
 
@@ -337,9 +391,7 @@ public abstract class Worker {
      * @return boolean true if reachable, false otherwise.
      */
     protected boolean isReachable(Space space) {
-        return (space.getRow() - position.getRow() < 2) && (position.getRow() - space.getRow() < 2) &&
-                (space.getColumn() - position.getColumn() < 2) && (position.getColumn() - space.getColumn() < 2) &&
-                (space.getRow() != position.getRow() || space.getColumn() != position.getColumn()) &&
+        return Rules.isAdjacent(position.getRow(), position.getColumn(), space.getRow(), space.getColumn()) &&
                 !space.getTower().isCompleted();
     }
 
@@ -347,17 +399,30 @@ public abstract class Worker {
      * Method notifyWithBuildable notifies the selectSpaceListener with all the spaces on which the worker can build
      * onto.
      * @throws IllegalArgumentException when gameBoard is null.
+     * @throws IllegalStateException when there's no space to build onto.
      * @param gameBoard of type GameBoard - the game board.
+     * @see Worker#publishBuildable(GameBoard)
      */
-   public void notifyWithBuildable(GameBoard gameBoard) throws IllegalArgumentException, IllegalStateException {
-       if(gameBoard == null) throw new IllegalArgumentException();
-       List<Space> buildable = getBuildableSpaces(gameBoard);
-       if(buildable.isEmpty()) {
-            throw new IllegalStateException();
-       }
-       listeners.firePropertyChange(SELECT_SPACES_LISTENER, Action.SELECT_BUILD, buildable);
+    public void notifyWithBuildable(GameBoard gameBoard) throws IllegalArgumentException, IllegalStateException {
+        publishBuildable(gameBoard).orThrow();
+    }
 
-   }
+    /**
+     * Method publishBuildable notifies the selectSpaceListener with all the spaces on which the worker can build
+     * onto, reporting the lack of spaces through the result instead of an exception.
+     * @param gameBoard of type GameBoard - the game board.
+     * @return SelectionResult - SELECTED if notified, NO_SPACES if there's no space to build onto, INVALID if
+     * gameBoard is null.
+     */
+    public SelectionResult publishBuildable(GameBoard gameBoard) {
+        if(gameBoard == null) return SelectionResult.INVALID;
+        List<Space> buildable = getBuildableSpaces(gameBoard);
+        if(buildable.isEmpty()) {
+            return SelectionResult.NO_SPACES;
+        }
+        listeners.publish(new SelectSpacesEvent(Action.SELECT_BUILD, buildable));
+        return SelectionResult.SELECTED;
+    }
 
     /**
      * Method getBuildableSpaces returns an List which contains all the buildable spaces.
@@ -382,8 +447,7 @@ public abstract class Worker {
      * @return boolean true if space is a perimeter space, false if it is not.
      */
     public boolean isPerimeter(Space space) {
-        return (space.getRow() == Constants.GRID_MIN_SIZE || space.getRow() == (Constants.GRID_MAX_SIZE - 1) ||
-                (space.getColumn() == Constants.GRID_MIN_SIZE || space.getColumn() == (Constants.GRID_MAX_SIZE - 1)));
+        return Rules.isPerimeter(space.getRow(), space.getColumn());
     }
 
 
@@ -394,10 +458,7 @@ public abstract class Worker {
      * @return boolean true if a space is associated to the coordinates, false if coordinates exceed gameBoard bounds.
      */
     public boolean exists( Couple coordinates) {
-        return coordinates.getRow() >= Constants.GRID_MIN_SIZE
-                && coordinates.getRow() < Constants.GRID_MAX_SIZE
-                && coordinates.getColumn() >= Constants.GRID_MIN_SIZE
-                && coordinates.getColumn() < Constants.GRID_MAX_SIZE;
+        return Rules.exists(coordinates.getRow(), coordinates.getColumn());
     }
 
 
@@ -3,11 +3,14 @@ package it.polimi.ingsw.model.player.gods.advancedgods;
 import it.polimi.ingsw.constants.Constants;
 import it.polimi.ingsw.exceptions.OutOfBoundException;
 import it.polimi.ingsw.listeners.RemoveBlockListener;
+import it.polimi.ingsw.listeners.events.RemoveBlockEvent;
+import it.polimi.ingsw.listeners.events.SelectSpacesEvent;
 import it.polimi.ingsw.model.board.GameBoard;
 import it.polimi.ingsw.model.board.Space;
 import it.polimi.ingsw.model.player.Action;
 import it.polimi.ingsw.model.player.Phase;
 import it.polimi.ingsw.model.player.PlayerColors;
+import it.polimi.ingsw.model.player.SelectionResult;
 import it.polimi.ingsw.model.player.Worker;
 import it.polimi.ingsw.server.VirtualClient;
 
@@ -22,7 +25,6 @@ import java.util.List;
  */
 public class Ares extends Worker {
 
-  private static final String REMOVE_BLOCK_LISTENER = "removeListener";
 
   /**
    * Constructor create an Ares instance.
@@ -42,7 +44,7 @@ public class Ares extends Worker {
   @Override
   public void createListeners(VirtualClient client) {
     super.createListeners(client);
-    listeners.addPropertyChangeListener(REMOVE_BLOCK_LISTENER, new RemoveBlockListener(client));
+    listeners.subscribe(RemoveBlockEvent.class, new RemoveBlockListener(client));
   }
 
   /**
@@ -70,7 +72,7 @@ public class Ares extends Worker {
       return false;
     }
     phases.get(5).changeMust(false);
-    listeners.firePropertyChange(REMOVE_BLOCK_LISTENER, null, space);
+    listeners.publish(new RemoveBlockEvent(space));
     return true;
   }
 
@@ -81,17 +83,32 @@ public class Ares extends Worker {
    * @param unmovedWorkerPosition of type Space - the position of the inactive worker.
    * @throws IllegalArgumentException when receiving a bad position.
    * @throws IllegalStateException when whole list is empty.
+   * @see Ares#publishRemovable(GameBoard, Space)
    */
   public void notifyWithRemovable(GameBoard gameBoard, Space unmovedWorkerPosition)
       throws IllegalArgumentException, IllegalStateException {
+    publishRemovable(gameBoard, unmovedWorkerPosition).orThrow();
+  }
+
+  /**
+   * Method publishRemovable notifies client with possible spaces for a removal, without throwing
+   * when there's none.
+   *
+   * @param gameBoard of type GameBoard - GameBoard reference.
+   * @param unmovedWorkerPosition of type Space - the position of the inactive worker.
+   * @return SelectionResult - SELECTED if notified, NO_SPACES if there's nothing to remove, INVALID
+   *     when receiving a bad position.
+   */
+  public SelectionResult publishRemovable(GameBoard gameBoard, Space unmovedWorkerPosition) {
     if (gameBoard == null || !checkUnmovedWorkerPosition(unmovedWorkerPosition))
-      throw new IllegalArgumentException();
+      return SelectionResult.INVALID;
     List<Space> removable = getRemovableSpaces(gameBoard, unmovedWorkerPosition);
     if (removable.isEmpty()) {
-      throw new IllegalStateException();
+      return SelectionResult.NO_SPACES;
     }
-    listeners.firePropertyChange(SELECT_SPACES_LISTENER, Action.SELECT_REMOVE, removable);
+    listeners.publish(new SelectSpacesEvent(Action.SELECT_REMOVE, removable));
     phases.get(5).changeMust(true);
+    return SelectionResult.SELECTED;
   }
 
   /**
@@ -148,10 +165,12 @@ public class Ares extends Worker {
    * Method checkUnmovedWorkerPosition checks if inactive worker isn't the same as the active one.
    *
    * @param unmovedWorkerPosition of type Space - the position of the inactive worker.
-   * @return boolean true if operation is successful, false otherwise.
+   * @return boolean true if operation is successful, false otherwise or if there's no worker.
    */
   public boolean checkUnmovedWorkerPosition(Space unmovedWorkerPosition) {
-    return ((unmovedWorkerPosition.getWorker().getWorkerColor().equals(this.workerColor))
+    return unmovedWorkerPosition != null
+        && unmovedWorkerPosition.getWorker() != null
+        && ((unmovedWorkerPosition.getWorker().getWorkerColor().equals(this.workerColor))
         && ((unmovedWorkerPosition.getRow() != this.position.getRow())
             || (unmovedWorkerPosition.getColumn() != this.position.getColumn())));
   }
@@ -2,12 +2,17 @@ package it.polimi.ingsw.model.player.gods.advancedgods;
 
 import it.polimi.ingsw.constants.Constants;
 import it.polimi.ingsw.constants.Couple;
+import it.polimi.ingsw.listeners.events.MoveEvent;
+import it.polimi.ingsw.listeners.events.SelectSpacesEvent;
 import it.polimi.ingsw.model.board.GameBoard;
 import it.polimi.ingsw.model.board.Space;
 import it.polimi.ingsw.model.player.Action;
 import it.polimi.ingsw.model.player.Phase;
 import it.polimi.ingsw.model.player.PlayerColors;
+import it.polimi.ingsw.model.player.SelectionResult;
 import it.polimi.ingsw.model.player.Worker;
+import it.polimi.ingsw.model.rules.Position;
+import it.polimi.ingsw.model.rules.Rules;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -45,28 +50,10 @@ public class Charon extends Worker {
    *
    * @param space of type Space - the selected space.
    * @return Couple - the coordinates.
+   * @see Rules#beyond(int, int, int, int)
    */
   private Couple calculateCoordinates(Space space) {
-    int row;
-    int column;
-    // calculate row
-    if (space.getRow() == position.getRow()) {
-      row = position.getRow();
-    } else if (space.getRow() > position.getRow()) { // move toward north
-      row = position.getRow() - 1;
-    } else { // move toward south
-      row = position.getRow() + 1;
-    }
-    // calculate column
-    if (space.getColumn() == position.getColumn()) {
-      column = position.getColumn();
-    } else if (space.getColumn() > position.getColumn()) { // move toward west
-      column = position.getColumn() - 1;
-    } else { // move toward east
-      column = position.getColumn() + 1;
-    }
-
-    return new Couple(row, column);
+    return Rules.beyond(space.getRow(), space.getColumn(), position.getRow(), position.getColumn());
   }
 
   /**
@@ -83,7 +70,7 @@ public class Charon extends Worker {
       if (newOpponentPosition != null && canForceOn(newOpponentPosition)) {
         space.getWorker().setPosition(newOpponentPosition);
         space.setWorker(null);
-        listeners.firePropertyChange(MOVE_LISTENER, space, newOpponentPosition);
+        listeners.publish(new MoveEvent(space, newOpponentPosition));
         phases.get(1).changeMust(false);
         return true;
       }
@@ -92,23 +79,36 @@ public class Charon extends Worker {
   }
 
   /**
-   * Method notifyWithForceWorkerSpaces notifies SELECT_SPACES_LISTENER with all the spaces where
+   * Method notifyWithForceWorkerSpaces notifies the SelectSpacesListener with all the spaces where
    * Charon can apply his power.
    *
    * @param gameBoard of type GameBoard - GameBoard reference.
    * @throws IllegalArgumentException when gameBoard is null.
    * @throws IllegalStateException when there are no spaces on which Charon can apply his power.
+   * @see Charon#publishForceWorkerSpaces(GameBoard)
    */
   public void notifyWithForceWorkerSpaces(GameBoard gameBoard)
       throws IllegalArgumentException, IllegalStateException {
-    if (gameBoard == null) throw new IllegalArgumentException();
+    publishForceWorkerSpaces(gameBoard).orThrow();
+  }
+
+  /**
+   * Method publishForceWorkerSpaces notifies the SelectSpacesListener with all the spaces where
+   * Charon can apply his power, without throwing when there's none.
+   *
+   * @param gameBoard of type GameBoard - GameBoard reference.
+   * @return SelectionResult - SELECTED if notified, NO_SPACES if Charon can't apply his power,
+   *     INVALID if gameBoard is null.
+   */
+  public SelectionResult publishForceWorkerSpaces(GameBoard gameBoard) {
+    if (gameBoard == null) return SelectionResult.INVALID;
     List<Space> forceWorkerSpaces = selectForceWorkerSpaces(gameBoard);
     if (forceWorkerSpaces.isEmpty()) {
-      throw new IllegalStateException();
+      return SelectionResult.NO_SPACES;
     }
-    listeners.firePropertyChange(
-        SELECT_SPACES_LISTENER, Action.SELECT_FORCE_WORKER, forceWorkerSpaces);
+    listeners.publish(new SelectSpacesEvent(Action.SELECT_FORCE_WORKER, forceWorkerSpaces));
     phases.get(1).changeMust(true);
+    return SelectionResult.SELECTED;
   }
 
   /**
@@ -132,6 +132,27 @@ public class Charon extends Worker {
     return spaces;
   }
 
+  /**
+   * Method countMoves returns the number of moves Charon can make at the beginning of his turn,
+   * counting each worker he can force as a move too, since forcing it may free his way.
+   *
+   * @param gameBoard of type GameBoard - the game board.
+   * @return int - the number of moves and forces, 0 if the worker is blocked.
+   * @see Worker#countMoves(GameBoard)
+   */
+  @Override
+  public int countMoves(GameBoard gameBoard) {
+    int count = super.countMoves(gameBoard);
+    for (Couple couple :
+        Rules.toCouples(
+            Rules.neighbours(Position.index(position.getRow(), position.getColumn())))) {
+      if (canForceFrom(gameBoard.getSpace(couple.getRow(), couple.getColumn()), gameBoard)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
   /**
    * Method canForceFrom indicates whether Charon can apply his power on the space received.
    *
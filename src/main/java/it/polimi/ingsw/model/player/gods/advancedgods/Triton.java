@@ -5,6 +5,7 @@ import it.polimi.ingsw.model.board.Space;
 import it.polimi.ingsw.model.player.Action;
 import it.polimi.ingsw.model.player.Phase;
 import it.polimi.ingsw.model.player.PlayerColors;
+import it.polimi.ingsw.model.player.SelectionResult;
 import it.polimi.ingsw.model.player.Worker;
 
 /**
@@ -62,18 +63,17 @@ public class Triton extends Worker {
   }
 
   /**
-   * Method notifyWithMoves notifies the selectSpacesListener with all the moves the worker can do.
+   * Method publishMoves notifies the selectSpacesListener with all the moves the worker can do.
    *
    * @param gameBoard of type GameBoard - the game board.
-   * @throws IllegalArgumentException when gameBoard is null.
-   * @throws IllegalStateException when the worker is blocked.
-   * @see Worker#notifyWithMoves(GameBoard)
+   * @return SelectionResult - SELECTED if notified, NO_SPACES if the worker is blocked, INVALID if
+   *     gameBoard is null.
+   * @see Worker#publishMoves(GameBoard)
    */
   @Override
-  public void notifyWithMoves(GameBoard gameBoard)
-      throws IllegalArgumentException, IllegalStateException {
+  public SelectionResult publishMoves(GameBoard gameBoard) {
     phases.get(2 * numberOfMoves + 1).changeMust(true);
-    super.notifyWithMoves(gameBoard);
+    return super.publishMoves(gameBoard);
   }
 
   /**
@@ -2,6 +2,8 @@ package it.polimi.ingsw.model.player.gods.simplegods;
 
 import it.polimi.ingsw.constants.Move;
 import it.polimi.ingsw.listeners.DoubleMoveListener;
+import it.polimi.ingsw.listeners.events.DoubleMoveEvent;
+import it.polimi.ingsw.listeners.events.WinEvent;
 import it.polimi.ingsw.model.board.Space;
 import it.polimi.ingsw.model.player.PlayerColors;
 import it.polimi.ingsw.model.player.Worker;
@@ -43,7 +45,7 @@ public class Apollo extends Worker {
   @Override
   public void createListeners(VirtualClient client) {
     super.createListeners(client);
-    listeners.addPropertyChangeListener("ApolloDoubleMove", new DoubleMoveListener(client));
+    listeners.subscribe(DoubleMoveEvent.class, new DoubleMoveListener(client));
   }
 
   /**
@@ -57,8 +59,7 @@ public class Apollo extends Worker {
   @Override
   public boolean isSelectable(Space space) throws IllegalArgumentException {
     if (space == null) throw new IllegalArgumentException();
-    boolean result =
-        canMoveTo(space) && (space.getTower().getHeight() - position.getTower().getHeight() < 2);
+    boolean result = canMoveTo(space);
     if (space.isEmpty()) return result;
     return !space.getWorker().getWorkerColor().equals(this.getWorkerColor()) && result;
   }
@@ -92,9 +93,9 @@ public class Apollo extends Worker {
               position.getColumn(),
               oldPosition.getRow(),
               oldPosition.getColumn());
-      listeners.firePropertyChange("ApolloDoubleMove", myMove, otherMove);
+      listeners.publish(new DoubleMoveEvent(myMove, otherMove, "ApolloDoubleMove"));
       if (winCondition(oldPosition)) {
-        listeners.firePropertyChange("winListener", null, null);
+        listeners.publish(WinEvent.INSTANCE);
       }
       return true;
     } else return super.move(space);
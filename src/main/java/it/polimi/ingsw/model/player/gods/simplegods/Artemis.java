@@ -3,6 +3,7 @@ package it.polimi.ingsw.model.player.gods.simplegods;
 import it.polimi.ingsw.model.board.GameBoard;
 import it.polimi.ingsw.model.board.Space;
 import it.polimi.ingsw.model.player.PlayerColors;
+import it.polimi.ingsw.model.player.SelectionResult;
 import it.polimi.ingsw.model.player.Worker;
 
 import java.util.List;
@@ -101,16 +102,17 @@ public class Artemis extends Worker {
   }
 
   /**
-   * Method notifyWithBuildable notifies the selectSpaceListener with all the spaces on which the
+   * Method publishBuildable notifies the selectSpaceListener with all the spaces on which the
    * worker can build.
    *
    * @param gameBoard of type GameBoard - the game board.
-   * @throws IllegalArgumentException when gameBoard is null.
-   * @see Worker#notifyWithBuildable(GameBoard)
+   * @return SelectionResult - SELECTED if notified, NO_SPACES if there's no space to build onto,
+   *     INVALID if gameBoard is null.
+   * @see Worker#publishBuildable(GameBoard)
    */
   @Override
-  public void notifyWithBuildable(GameBoard gameBoard) {
+  public SelectionResult publishBuildable(GameBoard gameBoard) {
     oldPosition = null;
-    super.notifyWithBuildable(gameBoard);
+    return super.publishBuildable(gameBoard);
   }
 }
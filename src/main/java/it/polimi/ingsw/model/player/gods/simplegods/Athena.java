@@ -1,6 +1,7 @@
 package it.polimi.ingsw.model.player.gods.simplegods;
 
 import it.polimi.ingsw.controller.TurnController;
+import it.polimi.ingsw.listeners.events.MoveUpEvent;
 import it.polimi.ingsw.model.board.Space;
 import it.polimi.ingsw.model.player.PlayerColors;
 import it.polimi.ingsw.model.player.Worker;
@@ -13,8 +14,6 @@ import it.polimi.ingsw.model.player.Worker;
  */
 public class Athena extends Worker {
 
-  public static final String MOVE_UP_LISTENER = "moveUpListener";
-
   /**
    * Constructor Athena creates a new Athena instance.
    *
@@ -23,7 +22,9 @@ public class Athena extends Worker {
    */
   public Athena(PlayerColors color, TurnController controller) {
     super(color);
-    listeners.addPropertyChangeListener(MOVE_UP_LISTENER, controller);
+    if (controller != null) {
+      listeners.subscribe(MoveUpEvent.class, controller);
+    }
   }
 
   /**
@@ -48,9 +49,8 @@ public class Athena extends Worker {
   public boolean move(Space space) throws IllegalArgumentException {
     Space oldPosition = position;
     if (super.move(space)) {
-      if (position.getTower().getHeight() - oldPosition.getTower().getHeight() == 1) {
-        listeners.firePropertyChange(MOVE_UP_LISTENER, null, "AthenaMovedUp");
-      } else listeners.firePropertyChange(MOVE_UP_LISTENER, null, "AthenaNormalMove");
+      listeners.publish(
+          MoveUpEvent.of(position.getTower().getHeight() - oldPosition.getTower().getHeight() == 1));
       return true;
     }
     return false;
@@ -1,5 +1,6 @@
 package it.polimi.ingsw.model.player.gods.simplegods;
 
+import it.polimi.ingsw.listeners.events.BuildEvent;
 import it.polimi.ingsw.model.board.Space;
 import it.polimi.ingsw.model.player.PlayerColors;
 import it.polimi.ingsw.model.player.Worker;
@@ -45,7 +46,7 @@ public class Atlas extends Worker {
     if (space == null) throw new IllegalArgumentException();
     if (buildDome) {
       space.getTower().setDome(true);
-      listeners.firePropertyChange("buildListener", true, space);
+      listeners.publish(new BuildEvent(space, true));
       return true;
     } else return super.build(space);
   }
@@ -3,6 +3,7 @@ package it.polimi.ingsw.model.player.gods.simplegods;
 import it.polimi.ingsw.model.board.GameBoard;
 import it.polimi.ingsw.model.board.Space;
 import it.polimi.ingsw.model.player.PlayerColors;
+import it.polimi.ingsw.model.player.SelectionResult;
 import it.polimi.ingsw.model.player.Worker;
 
 import java.util.List;
@@ -87,17 +88,16 @@ public class Demeter extends Worker {
   }
 
   /**
-   * Method notifyWithMoves notifies the selectSpacesListener with all the moves the worker can do.
+   * Method publishMoves notifies the selectSpacesListener with all the moves the worker can do.
    *
    * @param gameBoard of type GameBoard - GameBoard reference.
-   * @throws IllegalArgumentException when gameBoard is null.
-   * @throws IllegalStateException when the worker is blocked.
-   * @see Worker#notifyWithMoves(GameBoard)
+   * @return SelectionResult - SELECTED if notified, NO_SPACES if the worker is blocked, INVALID if
+   *     gameBoard is null.
+   * @see Worker#publishMoves(GameBoard)
    */
   @Override
-  public void notifyWithMoves(GameBoard gameBoard)
-      throws IllegalArgumentException, IllegalStateException {
+  public SelectionResult publishMoves(GameBoard gameBoard) {
     oldPosition = null;
-    super.notifyWithMoves(gameBoard);
+    return super.publishMoves(gameBoard);
   }
 }
@@ -4,10 +4,12 @@ import it.polimi.ingsw.constants.Constants;
 import it.polimi.ingsw.constants.Couple;
 import it.polimi.ingsw.constants.Move;
 import it.polimi.ingsw.listeners.DoubleMoveListener;
+import it.polimi.ingsw.listeners.events.DoubleMoveEvent;
 import it.polimi.ingsw.model.board.GameBoard;
 import it.polimi.ingsw.model.board.Space;
 import it.polimi.ingsw.model.player.PlayerColors;
 import it.polimi.ingsw.model.player.Worker;
+import it.polimi.ingsw.model.rules.Rules;
 import it.polimi.ingsw.server.VirtualClient;
 
 import java.util.ArrayList;
@@ -49,7 +51,7 @@ public class Minotaur extends Worker {
   @Override
   public void createListeners(VirtualClient client) {
     super.createListeners(client);
-    listeners.addPropertyChangeListener("MinotaurDoubleMove", new DoubleMoveListener(client));
+    listeners.subscribe(DoubleMoveEvent.class, new DoubleMoveListener(client));
   }
 
   /**
@@ -60,9 +62,10 @@ public class Minotaur extends Worker {
    * @return boolean true if space is selectable, false otherwise.
    * @throws IllegalArgumentException when space is null.
    */
+  @Override
   public boolean isSelectable(Space space, GameBoard gameBoard) throws IllegalArgumentException {
     if (space == null) throw new IllegalArgumentException();
-    if (canMoveTo(space) && (space.getTower().getHeight() - position.getTower().getHeight() < 2)) {
+    if (canMoveTo(space)) {
       if (space.isEmpty()) {
         return true;
       } else {
@@ -80,28 +83,10 @@ public class Minotaur extends Worker {
    *
    * @param space of type Space - the space provided.
    * @return Couple - the coordinates needed.
+   * @see Rules#beyond(int, int, int, int)
    */
   private Couple calculateCoordinates(Space space) {
-    int row;
-    int column;
-    // calculate row
-    if (space.getRow() == position.getRow()) {
-      row = position.getRow();
-    } else if (space.getRow() > position.getRow()) { // move toward south
-      row = space.getRow() + 1;
-    } else { // move toward north
-      row = space.getRow() - 1;
-    }
-    // calculate column
-    if (space.getColumn() == position.getColumn()) {
-      column = position.getColumn();
-    } else if (space.getColumn() > position.getColumn()) { // move toward east
-      column = space.getColumn() + 1;
-    } else { // move toward west
-      column = space.getColumn() - 1;
-    }
-
-    return new Couple(row, column);
+    return Rules.beyond(position.getRow(), position.getColumn(), space.getRow(), space.getColumn());
   }
 
   /**
@@ -171,7 +156,7 @@ public class Minotaur extends Worker {
     Move otherMove =
         new Move(
             position.getRow(), position.getColumn(), otherSpace.getRow(), otherSpace.getColumn());
-    listeners.firePropertyChange("MinotaurDoubleMove", myMove, otherMove);
+    listeners.publish(new DoubleMoveEvent(myMove, otherMove, "MinotaurDoubleMove"));
     return true;
   }
 }
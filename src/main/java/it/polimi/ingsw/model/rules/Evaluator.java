@@ -0,0 +1,256 @@
+package it.polimi.ingsw.model.rules;
+
+import it.polimi.ingsw.model.Card;
+
+import java.util.Arrays;
+
+/**
+ * Evaluator class scores a Position without searching, for bots and analysis. The board is first
+ * unpacked into bitmasks (one per height, the domes and the workers of each color), then every
+ * feature of a player is computed with bitwise operations on them, so no Space is ever looked at.
+ *
+ * <p>The score of a player is the weighted sum of its features minus the weighted sums of its
+ * opponents', each player weighted with the table of its own god. Weights can be tuned per god,
+ * starting from the defaults. An evaluator is not thread safe, since it unpacks the board into its
+ * own arrays.
+ *
+ * @author Alice Piemonti
+ * @see Feature
+ */
+public final class Evaluator {
+  public static final int WIN = 1_000_000;
+  public static final int COLORS = 4;
+  public static final int FEATURES = Feature.values().length;
+  private static final int GODS = Card.values().length;
+  private final int[] weights = new int[GODS * FEATURES];
+  private final int[] levels = new int[4];
+  private final int[] reach = new int[4];
+  private final int[] workers = new int[COLORS];
+  private final int[] threats = new int[COLORS];
+  private final int[] features = new int[COLORS * FEATURES];
+  private int domes;
+  private int occupied;
+  private int winner;
+
+  /** Feature enum lists the terms of the evaluation, computed for every player. */
+  public enum Feature {
+    /** The sum of the heights the workers stand on. */
+    HEIGHT,
+    /** The number of moves of the workers. */
+    MOBILITY,
+    /** The number of level 3 towers a worker standing on level 2 can climb. */
+    CLIMB_THREAT,
+    /** The number of opponents' climb threats the workers can cover with a dome. */
+    DOME_CONTROL,
+    /** The number of workers on the perimeter. */
+    PERIMETER,
+    /** Pan's drops of two or more levels, Apollo's swaps and Minotaur's pushes. */
+    GOD_THREAT
+  }
+
+  /** Constructor Evaluator creates a new Evaluator instance with the default weights. */
+  public Evaluator() {
+    for (Card god : Card.values()) {
+      System.arraycopy(defaultWeights(god), 0, weights, god.ordinal() * FEATURES, FEATURES);
+    }
+  }
+
+  /**
+   * Method defaultWeights returns the default weight table of a god, in the order of the features.
+   *
+   * @param god of type Card - the god.
+   * @return int[] - the weights.
+   */
+  public static int[] defaultWeights(Card god) {
+    int[] table = {40, 4, 150, 60, -8, 0};
+    switch (god) {
+      case APOLLO -> table[Feature.GOD_THREAT.ordinal()] = 20;
+      case MINOTAUR -> table[Feature.GOD_THREAT.ordinal()] = 30;
+      case PAN -> table[Feature.GOD_THREAT.ordinal()] = 120;
+      case TRITON -> table[Feature.PERIMETER.ordinal()] = 12;
+      case HESTIA -> table[Feature.PERIMETER.ordinal()] = -16;
+      default -> {}
+    }
+    return table;
+  }
+
+  /**
+   * Method getWeight returns the weight of a feature for a god.
+   *
+   * @param god of type Card - the god.
+   * @param feature of type Feature - the feature.
+   * @return int - the weight.
+   */
+  public int getWeight(Card god, Feature feature) {
+    return weights[god.ordinal() * FEATURES + feature.ordinal()];
+  }
+
+  /**
+   * Method setWeight changes the weight of a feature for a god.
+   *
+   * @param god of type Card - the god.
+   * @param feature of type Feature - the feature.
+   * @param weight of type int - the new weight.
+   */
+  public void setWeight(Card god, Feature feature, int weight) {
+    weights[god.ordinal() * FEATURES + feature.ordinal()] = weight;
+  }
+
+  /**
+   * Method evaluate scores a position for the player about to play: WIN if one of its workers
+   * stands on a level 3, -WIN if an opponent's worker does or if the player is blocked.
+   *
+   * @param position of type Position - the board, which is not modified.
+   * @param colorId of type int - the color id of the player.
+   * @param gods of type Card[] - the gods of the players indexed by color id, null for the colors
+   *     not playing.
+   * @return int - the score, the higher the better for the player.
+   */
+  public int evaluate(Position position, int colorId, Card[] gods) {
+    features(position, gods, features);
+    if (winner != 0) {
+      return winner == colorId ? WIN : -WIN;
+    }
+    if (features[colorId * FEATURES + Feature.MOBILITY.ordinal()] == 0) {
+      return -WIN;
+    }
+    int score = 0;
+    for (int color = 1; color < COLORS; color++) {
+      if (gods[color] != null && workers[color] != 0) {
+        int value = dot(gods[color], color);
+        score += color == colorId ? value : -value;
+      }
+    }
+    return score;
+  }
+
+  /**
+   * Method evaluate scores a batch of positions for the same player and gods.
+   *
+   * @param positions of type Position[] - the boards, which are not modified.
+   * @param count of type int - the number of positions to score, from the first.
+   * @param colorId of type int - the color id of the player.
+   * @param gods of type Card[] - the gods of the players indexed by color id.
+   * @param scores of type int[] - the array filled with the scores, as long as count at least.
+   */
+  public void evaluate(Position[] positions, int count, int colorId, Card[] gods, int[] scores) {
+    for (int i = 0; i < count; i++) {
+      scores[i] = evaluate(positions[i], colorId, gods);
+    }
+  }
+
+  /**
+   * Method features computes the features of every player on a position.
+   *
+   * @param position of type Position - the board, which is not modified.
+   * @param gods of type Card[] - the gods of the players indexed by color id, null for the colors
+   *     not playing.
+   * @param out of type int[] - the array filled with the features, where the feature f of the
+   *     color id c is at c * FEATURES + f; it must be COLORS * FEATURES long.
+   */
+  public void features(Position position, Card[] gods, int[] out) {
+    unpack(position);
+    Arrays.fill(out, 0);
+    for (int color = 1; color < COLORS; color++) {
+      Card god = gods[color];
+      for (int cells = workers[color]; cells != 0; cells &= cells - 1) {
+        int cell = Integer.numberOfTrailingZeros(cells);
+        workerFeatures(position, cell, color, god, out, color * FEATURES);
+      }
+    }
+    for (int color = 1; color < COLORS; color++) {
+      int opponents = 0;
+      for (int other = 1; other < COLORS; other++) {
+        opponents |= other == color ? 0 : threats[other];
+      }
+      for (int cells = workers[color]; cells != 0; cells &= cells - 1) {
+        int cell = Integer.numberOfTrailingZeros(cells);
+        int builds = Rules.neighbours(cell) & ~domes & ~occupied;
+        out[color * FEATURES + Feature.DOME_CONTROL.ordinal()] +=
+            Integer.bitCount(builds & opponents);
+      }
+    }
+  }
+
+  /**
+   * Method unpack converts a position into the bitmasks of the heights, the domes and the workers.
+   *
+   * @param position of type Position - the board.
+   */
+  private void unpack(Position position) {
+    Arrays.fill(levels, 0);
+    Arrays.fill(workers, 0);
+    Arrays.fill(threats, 0);
+    domes = 0;
+    winner = 0;
+    for (int i = 0; i < Position.CELLS; i++) {
+      if (position.isDome(i)) {
+        domes |= 1 << i;
+      } else {
+        levels[position.getHeight(i)] |= 1 << i;
+      }
+      workers[position.getColorId(i)] |= 1 << i;
+    }
+    workers[0] = 0;
+    occupied = workers[1] | workers[2] | workers[3];
+    reach[0] = levels[0] | levels[1];
+    reach[1] = reach[0] | levels[2];
+    reach[2] = reach[1] | levels[3];
+    reach[3] = reach[2];
+  }
+
+  /**
+   * Method workerFeatures adds the features of a worker, apart from the dome control, and records
+   * its climb threats.
+   *
+   * @param position of type Position - the board.
+   * @param cell of type int - the worker's cell.
+   * @param color of type int - the worker's color id.
+   * @param god of type Card - the worker's god, null if unknown.
+   * @param out of type int[] - the features.
+   * @param base of type int - the index of the first feature of the worker's color.
+   */
+  private void workerFeatures(
+      Position position, int cell, int color, Card god, int[] out, int base) {
+    int height = position.getHeight(cell);
+    if (height == 3) {
+      winner = color;
+    }
+    int moves;
+    if (god == Card.APOLLO || god == Card.MINOTAUR) {
+      moves = Rules.moves(position, cell, god, true);
+      out[base + Feature.GOD_THREAT.ordinal()] += Integer.bitCount(moves & occupied);
+    } else {
+      moves = Rules.neighbours(cell) & reach[height] & ~occupied;
+    }
+    if (god == Card.PAN && height >= 2) {
+      int drops = height == 2 ? levels[0] : levels[0] | levels[1];
+      out[base + Feature.GOD_THREAT.ordinal()] += Integer.bitCount(moves & drops);
+    }
+    if (height == 2) {
+      int climbs = moves & levels[3];
+      threats[color] |= climbs;
+      out[base + Feature.CLIMB_THREAT.ordinal()] += Integer.bitCount(climbs);
+    }
+    out[base + Feature.HEIGHT.ordinal()] += height;
+    out[base + Feature.MOBILITY.ordinal()] += Integer.bitCount(moves);
+    out[base + Feature.PERIMETER.ordinal()] += (Rules.PERIMETER >>> cell) & 1;
+  }
+
+  /**
+   * Method dot returns the weighted sum of the features of a color.
+   *
+   * @param god of type Card - the god whose weights are used.
+   * @param color of type int - the color id.
+   * @return int - the sum.
+   */
+  private int dot(Card god, int color) {
+    int sum = 0;
+    int table = god.ordinal() * FEATURES;
+    int base = color * FEATURES;
+    for (int f = 0; f < FEATURES; f++) {
+      sum += weights[table + f] * features[base + f];
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,229 @@
+package it.polimi.ingsw.model.rules;
+
+import it.polimi.ingsw.constants.Constants;
+import it.polimi.ingsw.model.player.PlayerColors;
+
+/**
+ * Position class is a packed snapshot of the board, shared by server and client. Every cell is a
+ * single byte holding its height, its dome and the worker standing on it, addressed by its index
+ * (row * 5 + column). A completed tower is stored as a level 3 with a dome, as the client does.
+ *
+ * @author Alice Piemonti
+ * @see Rules
+ */
+public final class Position {
+  public static final int SIZE = Constants.GRID_MAX_SIZE;
+  public static final int CELLS = SIZE * SIZE;
+  private static final int HEIGHT = 0x3;
+  private static final int DOME = 0x4;
+  private static final int COLOR_SHIFT = 3;
+  private static final int COLOR = 0x3 << COLOR_SHIFT;
+  private static final int SECOND_WORKER = 0x20;
+  private final byte[] cells;
+
+  /** Constructor Position creates a new empty Position instance. */
+  public Position() {
+    cells = new byte[CELLS];
+  }
+
+  /**
+   * Constructor Position creates a new Position instance sharing the cells provided.
+   *
+   * @param cells of type byte[] - the packed cells.
+   */
+  private Position(byte[] cells) {
+    this.cells = cells;
+  }
+
+  /**
+   * Method copy returns an independent copy of this position.
+   *
+   * @return Position - the copy.
+   */
+  public Position copy() {
+    return new Position(cells.clone());
+  }
+
+  /**
+   * Method save copies the packed cells into a buffer, to be restored later.
+   *
+   * @param buffer of type byte[] - a buffer of CELLS bytes.
+   */
+  void save(byte[] buffer) {
+    System.arraycopy(cells, 0, buffer, 0, CELLS);
+  }
+
+  /**
+   * Method copyTo overwrites the cells of another position with the ones of this position.
+   *
+   * @param target of type Position - the position overwritten.
+   */
+  void copyTo(Position target) {
+    System.arraycopy(cells, 0, target.cells, 0, CELLS);
+  }
+
+  /**
+   * Method restore overwrites the packed cells with the ones saved into a buffer.
+   *
+   * @param buffer of type byte[] - a buffer filled by save or by another position.
+   */
+  void restore(byte[] buffer) {
+    System.arraycopy(buffer, 0, cells, 0, CELLS);
+  }
+
+  /**
+   * Method index returns the index of a cell.
+   *
+   * @param row of type int - the row of the cell.
+   * @param col of type int - the column of the cell.
+   * @return int - the cell index.
+   */
+  public static int index(int row, int col) {
+    return row * SIZE + col;
+  }
+
+  /**
+   * Method row returns the row of a cell.
+   *
+   * @param index of type int - the cell index.
+   * @return int - the row.
+   */
+  public static int row(int index) {
+    return index / SIZE;
+  }
+
+  /**
+   * Method col returns the column of a cell.
+   *
+   * @param index of type int - the cell index.
+   * @return int - the column.
+   */
+  public static int col(int index) {
+    return index % SIZE;
+  }
+
+  /**
+   * Method colorId returns the number used to store a worker color, which is the color ordinal
+   * plus one (zero stands for no worker).
+   *
+   * @param color of type String - the color name, null if there's no worker.
+   * @return int - the color id.
+   */
+  public static int colorId(String color) {
+    return color == null ? 0 : PlayerColors.parseInput(color).ordinal() + 1;
+  }
+
+  /**
+   * Method getHeight returns the number of blocks of a cell, from 0 to 3.
+   *
+   * @param index of type int - the cell index.
+   * @return int - the height.
+   */
+  public int getHeight(int index) {
+    return cells[index] & HEIGHT;
+  }
+
+  /**
+   * Method setHeight sets the number of blocks of a cell; a height of 4 is a completed tower.
+   *
+   * @param index of type int - the cell index.
+   * @param height of type int - the height, from 0 to 4.
+   */
+  public void setHeight(int index, int height) {
+    if (height > 3) {
+      cells[index] = (byte) ((cells[index] & ~HEIGHT) | 3 | DOME);
+    } else {
+      cells[index] = (byte) ((cells[index] & ~HEIGHT) | height);
+    }
+  }
+
+  /**
+   * Method isDome returns true if the cell is completed by a dome.
+   *
+   * @param index of type int - the cell index.
+   * @return boolean true if there's a dome, false otherwise.
+   */
+  public boolean isDome(int index) {
+    return (cells[index] & DOME) != 0;
+  }
+
+  /**
+   * Method setDome adds or removes the dome of a cell.
+   *
+   * @param index of type int - the cell index.
+   * @param dome of type boolean - true to add the dome.
+   */
+  public void setDome(int index, boolean dome) {
+    cells[index] = (byte) (dome ? cells[index] | DOME : cells[index] & ~DOME);
+  }
+
+  /**
+   * Method getColorId returns the color id of the worker standing on a cell.
+   *
+   * @param index of type int - the cell index.
+   * @return int - the color id, 0 if the cell is free.
+   */
+  public int getColorId(int index) {
+    return (cells[index] & COLOR) >> COLOR_SHIFT;
+  }
+
+  /**
+   * Method getWorkerNum returns the number of the worker standing on a cell.
+   *
+   * @param index of type int - the cell index.
+   * @return int - 1 or 2, 0 if the cell is free.
+   */
+  public int getWorkerNum(int index) {
+    if (!isOccupied(index)) {
+      return 0;
+    }
+    return (cells[index] & SECOND_WORKER) != 0 ? 2 : 1;
+  }
+
+  /**
+   * Method isOccupied returns true if a worker stands on the cell.
+   *
+   * @param index of type int - the cell index.
+   * @return boolean true if occupied, false otherwise.
+   */
+  public boolean isOccupied(int index) {
+    return (cells[index] & COLOR) != 0;
+  }
+
+  /**
+   * Method setWorker places a worker on a cell.
+   *
+   * @param index of type int - the cell index.
+   * @param colorId of type int - the worker color id.
+   * @param workerNum of type int - the worker number (1 or 2).
+   */
+  public void setWorker(int index, int colorId, int workerNum) {
+    int worker = (colorId << COLOR_SHIFT) | (workerNum == 2 ? SECOND_WORKER : 0);
+    cells[index] = (byte) ((cells[index] & (HEIGHT | DOME)) | worker);
+  }
+
+  /**
+   * Method clearWorker removes the worker standing on a cell.
+   *
+   * @param index of type int - the cell index.
+   */
+  public void clearWorker(int index) {
+    cells[index] = (byte) (cells[index] & (HEIGHT | DOME));
+  }
+
+  /**
+   * Method find returns the cell where a worker stands.
+   *
+   * @param colorId of type int - the worker color id.
+   * @param workerNum of type int - the worker number (1 or 2).
+   * @return int - the cell index, -1 if the worker is not on the board.
+   */
+  public int find(int colorId, int workerNum) {
+    for (int i = 0; i < CELLS; i++) {
+      if (getColorId(i) == colorId && getWorkerNum(i) == workerNum) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,115 @@
+package it.polimi.ingsw.model.rules;
+
+/**
+ * PositionKey class computes 64 bit keys of positions, to look them up in books, tables and
+ * caches. A key is seen from the player about to play: its workers are told apart by number, while
+ * the workers of the opponents are all alike, so the same position gets the same key whatever the
+ * colors of the players. Keys are Zobrist hashes built from a fixed table, so they never change
+ * between runs and can be stored into files. The key of a position moved by a symmetry is computed
+ * without moving the position, so the canonical key is found in a single pass per symmetry.
+ *
+ * @author Alice Piemonti
+ * @see Position
+ */
+public final class PositionKey {
+  private static final int STATES = 32;
+  private static final long[] TABLE = new long[Position.CELLS * STATES];
+  private static final long CANT_MOVE_UP = mix(Long.MAX_VALUE);
+
+  static {
+    for (int i = 0; i < TABLE.length; i++) {
+      TABLE[i] = mix(i + 1);
+    }
+  }
+
+  private PositionKey() {}
+
+  /**
+   * Method of returns the key of a position.
+   *
+   * @param position of type Position - the board.
+   * @param colorId of type int - the color id of the player about to play.
+   * @param canMoveUp of type boolean - false if the player can't move up this turn (Athena).
+   * @return long - the key.
+   */
+  public static long of(Position position, int colorId, boolean canMoveUp) {
+    return of(position, colorId, canMoveUp, Symmetry.IDENTITY);
+  }
+
+  /**
+   * Method of returns the key of a position moved by a symmetry.
+   *
+   * @param position of type Position - the board, which is not moved.
+   * @param colorId of type int - the color id of the player about to play.
+   * @param canMoveUp of type boolean - false if the player can't move up this turn (Athena).
+   * @param symmetry of type int - the symmetry (see Symmetry).
+   * @return long - the key.
+   */
+  public static long of(Position position, int colorId, boolean canMoveUp, int symmetry) {
+    long key = canMoveUp ? 0 : CANT_MOVE_UP;
+    for (int i = 0; i < Position.CELLS; i++) {
+      int state = state(position, i, colorId);
+      if (state != 0) {
+        key ^= TABLE[Symmetry.cell(symmetry, i) * STATES + state];
+      }
+    }
+    return key;
+  }
+
+  /**
+   * Method canonical returns the symmetry moving a position to its canonical form, the one with
+   * the smallest key.
+   *
+   * @param position of type Position - the board.
+   * @param colorId of type int - the color id of the player about to play.
+   * @param canMoveUp of type boolean - false if the player can't move up this turn (Athena).
+   * @return int - the symmetry.
+   */
+  public static int canonical(Position position, int colorId, boolean canMoveUp) {
+    return Symmetry.canonical(symmetry -> of(position, colorId, canMoveUp, symmetry));
+  }
+
+  /**
+   * Method board returns a key of the whole board, telling every color apart: it changes with any
+   * build and with any move of any worker, so it works as a fingerprint of the board.
+   *
+   * @param position of type Position - the board.
+   * @return long - the key.
+   */
+  public static long board(Position position) {
+    long key = 0;
+    for (int color = 1; color < Evaluator.COLORS; color++) {
+      key ^= Long.rotateLeft(of(position, color, true), color);
+    }
+    return key;
+  }
+
+  /**
+   * Method state returns the state of a cell: height, dome and whose worker stands on it.
+   *
+   * @param position of type Position - the board.
+   * @param index of type int - the cell index.
+   * @param colorId of type int - the color id of the player about to play.
+   * @return int - the state, lower than 32; 0 is an empty ground level cell.
+   */
+  static int state(Position position, int index, int colorId) {
+    int owner = 0;
+    if (position.isOccupied(index)) {
+      owner = position.getColorId(index) == colorId ? position.getWorkerNum(index) : 3;
+    }
+    return position.getHeight(index) | (position.isDome(index) ? 4 : 0) | owner << 3;
+  }
+
+  /**
+   * Method mix scrambles a value into a well distributed 64 bit number (SplitMix64 finalizer).
+   *
+   * @param value of type long - the value.
+   * @return long - the scrambled value.
+   */
+  public static long mix(long value) {
+    long z = value * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
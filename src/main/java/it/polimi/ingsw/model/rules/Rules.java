@@ -0,0 +1,214 @@
+package it.polimi.ingsw.model.rules;
+
+import it.polimi.ingsw.constants.Constants;
+import it.polimi.ingsw.constants.Couple;
+import it.polimi.ingsw.model.Card;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rules class contains the move and build legality of the game, with no reference to the server
+ * model. The primitives are used by the god workers on the server, while the methods working on a
+ * Position let the client compute the selectable spaces from its own board. Sets of cells are
+ * returned as bitmasks, where bit i stands for the cell with index i.
+ *
+ * @author Alice Piemonti
+ * @see Position
+ */
+public final class Rules {
+  private static final int[] NEIGHBOURS = new int[Position.CELLS];
+  public static final int PERIMETER;
+
+  static {
+    int perimeter = 0;
+    for (int i = 0; i < Position.CELLS; i++) {
+      int row = Position.row(i);
+      int col = Position.col(i);
+      for (int j = 0; j < Position.CELLS; j++) {
+        if (isAdjacent(row, col, Position.row(j), Position.col(j))) {
+          NEIGHBOURS[i] |= 1 << j;
+        }
+      }
+      if (isPerimeter(row, col)) {
+        perimeter |= 1 << i;
+      }
+    }
+    PERIMETER = perimeter;
+  }
+
+  private Rules() {}
+
+  /**
+   * Method isAdjacent returns true if two different cells are at unitary distance.
+   *
+   * @param row1 of type int - the row of the first cell.
+   * @param col1 of type int - the column of the first cell.
+   * @param row2 of type int - the row of the second cell.
+   * @param col2 of type int - the column of the second cell.
+   * @return boolean true if the cells are neighbours, false otherwise.
+   */
+  public static boolean isAdjacent(int row1, int col1, int row2, int col2) {
+    return Math.abs(row1 - row2) < 2
+        && Math.abs(col1 - col2) < 2
+        && (row1 != row2 || col1 != col2);
+  }
+
+  /**
+   * Method exists returns true if the coordinates are inside the board.
+   *
+   * @param row of type int - the row.
+   * @param col of type int - the column.
+   * @return boolean true if the cell exists, false otherwise.
+   */
+  public static boolean exists(int row, int col) {
+    return row >= Constants.GRID_MIN_SIZE
+        && row < Constants.GRID_MAX_SIZE
+        && col >= Constants.GRID_MIN_SIZE
+        && col < Constants.GRID_MAX_SIZE;
+  }
+
+  /**
+   * Method isPerimeter returns true if the cell is on the edge of the board.
+   *
+   * @param row of type int - the row.
+   * @param col of type int - the column.
+   * @return boolean true if it's a perimeter cell, false otherwise.
+   */
+  public static boolean isPerimeter(int row, int col) {
+    return row == Constants.GRID_MIN_SIZE
+        || row == Constants.GRID_MAX_SIZE - 1
+        || col == Constants.GRID_MIN_SIZE
+        || col == Constants.GRID_MAX_SIZE - 1;
+  }
+
+  /**
+   * Method canClimb returns true if a worker can step between the two heights: at most one level
+   * up, and none if moving up is forbidden (e.g. by Athena).
+   *
+   * @param fromHeight of type int - the height of the worker's cell.
+   * @param toHeight of type int - the height of the destination.
+   * @param canMoveUp of type boolean - false if the worker can't move up this turn.
+   * @return boolean true if the step is allowed, false otherwise.
+   */
+  public static boolean canClimb(int fromHeight, int toHeight, boolean canMoveUp) {
+    int difference = toHeight - fromHeight;
+    return difference < 2 && (canMoveUp || difference <= 0);
+  }
+
+  /**
+   * Method beyond returns the cell following "to" on the line going from "from" to "to": it's
+   * where Minotaur pushes a worker and, swapping the arguments, where Charon forces it.
+   *
+   * @param fromRow of type int - the row of the first cell.
+   * @param fromCol of type int - the column of the first cell.
+   * @param toRow of type int - the row of the second cell.
+   * @param toCol of type int - the column of the second cell.
+   * @return Couple - the coordinates, which may be outside the board.
+   */
+  public static Couple beyond(int fromRow, int fromCol, int toRow, int toCol) {
+    return new Couple(
+        toRow + Integer.signum(toRow - fromRow), toCol + Integer.signum(toCol - fromCol));
+  }
+
+  /**
+   * Method neighbours returns the cells around a cell.
+   *
+   * @param index of type int - the cell index.
+   * @return int - the mask of the neighbours.
+   */
+  public static int neighbours(int index) {
+    return NEIGHBOURS[index];
+  }
+
+  /**
+   * Method moves returns the cells the worker standing on a cell can move to at the beginning of
+   * its turn. Apollo can also swap with an opponent, Minotaur can push an opponent away if the
+   * cell behind is free.
+   *
+   * @param position of type Position - the board.
+   * @param from of type int - the worker's cell.
+   * @param god of type Card - the worker's god.
+   * @param canMoveUp of type boolean - false if the worker can't move up this turn.
+   * @return int - the mask of the cells.
+   */
+  public static int moves(Position position, int from, Card god, boolean canMoveUp) {
+    int moves = 0;
+    int color = position.getColorId(from);
+    int candidates = NEIGHBOURS[from];
+    while (candidates != 0) {
+      int to = Integer.numberOfTrailingZeros(candidates);
+      candidates &= candidates - 1;
+      if (position.isDome(to)
+          || !canClimb(position.getHeight(from), position.getHeight(to), canMoveUp)) {
+        continue;
+      }
+      if (!position.isOccupied(to)) {
+        moves |= 1 << to;
+      } else if (position.getColorId(to) != color
+          && (god == Card.APOLLO || god == Card.MINOTAUR && canPush(position, from, to))) {
+        moves |= 1 << to;
+      }
+    }
+    return moves;
+  }
+
+  /**
+   * Method canPush returns true if the worker on "to" can be pushed away from "from".
+   *
+   * @param position of type Position - the board.
+   * @param from of type int - the pushing worker's cell.
+   * @param to of type int - the pushed worker's cell.
+   * @return boolean true if the cell behind exists and is free, false otherwise.
+   */
+  private static boolean canPush(Position position, int from, int to) {
+    Couple target =
+        beyond(Position.row(from), Position.col(from), Position.row(to), Position.col(to));
+    if (!exists(target.getRow(), target.getColumn())) {
+      return false;
+    }
+    int index = Position.index(target.getRow(), target.getColumn());
+    return !position.isOccupied(index) && !position.isDome(index);
+  }
+
+  /**
+   * Method builds returns the cells the worker standing on a cell can build onto with its first
+   * build of the turn. Zeus can also build under itself.
+   *
+   * @param position of type Position - the board.
+   * @param from of type int - the worker's cell.
+   * @param god of type Card - the worker's god.
+   * @return int - the mask of the cells.
+   */
+  public static int builds(Position position, int from, Card god) {
+    int builds = 0;
+    int candidates = NEIGHBOURS[from];
+    while (candidates != 0) {
+      int to = Integer.numberOfTrailingZeros(candidates);
+      candidates &= candidates - 1;
+      if (!position.isDome(to) && !position.isOccupied(to)) {
+        builds |= 1 << to;
+      }
+    }
+    if (god == Card.ZEUS && position.getHeight(from) < 3) {
+      builds |= 1 << from;
+    }
+    return builds;
+  }
+
+  /**
+   * Method toCouples converts a mask of cells to their coordinates, sorted by row and column.
+   *
+   * @param cells of type int - the mask.
+   * @return List&lt;Couple&gt; - the coordinates.
+   */
+  public static List<Couple> toCouples(int cells) {
+    List<Couple> couples = new ArrayList<>(Integer.bitCount(cells));
+    while (cells != 0) {
+      int index = Integer.numberOfTrailingZeros(cells);
+      cells &= cells - 1;
+      couples.add(new Couple(Position.row(index), Position.col(index)));
+    }
+    return couples;
+  }
+}
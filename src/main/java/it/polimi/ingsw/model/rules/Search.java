@@ -0,0 +1,283 @@
+package it.polimi.ingsw.model.rules;
+
+import it.polimi.ingsw.model.Card;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search class looks for the best turn of a player with a depth limited alpha-beta search, the
+ * leaves being scored by an Evaluator. The game is searched as a two player one: after each turn
+ * the other playing color moves. A winning turn ends the search of its branch, a player with no
+ * turn loses, and a player can't move up after Athena moved up. A search can also be bounded by
+ * time instead of depth, deepening it one turn at a time. A search is not thread safe, since it
+ * reuses its boards and turn buffers.
+ *
+ * @author Alice Piemonti
+ * @see TurnGenerator
+ * @see Evaluator
+ */
+public final class Search {
+  public static final long NO_TURN = -1L;
+  private static final int CLOCK_MASK = 0x3ff;
+  private final Evaluator evaluator;
+  private final TurnGenerator generator = new TurnGenerator();
+  private Position[] boards = new Position[0];
+  private TurnBuffer[] buffers = new TurnBuffer[0];
+  private Card[] gods;
+  private int score;
+  private long nodes;
+  private int depth;
+  private boolean timed;
+  private boolean aborted;
+  private long deadline;
+
+  /**
+   * Constructor Search creates a new Search instance.
+   *
+   * @param evaluator of type Evaluator - the evaluator of the leaves.
+   */
+  public Search(Evaluator evaluator) {
+    this.evaluator = evaluator;
+  }
+
+  /**
+   * Method bestTurn returns the best turn of a player.
+   *
+   * @param position of type Position - the board, which is not modified.
+   * @param colorId of type int - the color id of the player.
+   * @param gods of type Card[] - the gods of the players indexed by color id, null for the colors
+   *     not playing.
+   * @param canMoveUp of type boolean - false if the player can't move up this turn (Athena).
+   * @param depth of type int - the number of turns searched, at least 1.
+   * @return long - the best turn (see Turn), NO_TURN if the player is blocked.
+   */
+  public long bestTurn(Position position, int colorId, Card[] gods, boolean canMoveUp, int depth) {
+    this.gods = gods;
+    nodes = 0;
+    timed = false;
+    aborted = false;
+    this.depth = depth;
+    return root(position, colorId, canMoveUp, depth, NO_TURN);
+  }
+
+  /**
+   * Method bestTurn returns the best turn of a player found within a time budget. The position is
+   * searched one turn deeper at a time, trying the best turn found so far first, and the turn of
+   * the deepest completed search is returned; a search interrupted by the deadline is discarded.
+   * Deepening stops as soon as a forced win or loss is found. The first turn is always searched to
+   * the end, so a turn is returned whatever the budget.
+   *
+   * @param position of type Position - the board, which is not modified.
+   * @param colorId of type int - the color id of the player.
+   * @param gods of type Card[] - the gods of the players indexed by color id, null for the colors
+   *     not playing.
+   * @param canMoveUp of type boolean - false if the player can't move up this turn (Athena).
+   * @param maxDepth of type int - the maximum number of turns searched, at least 1.
+   * @param budgetMillis of type long - the time budget, in milliseconds.
+   * @return long - the best turn (see Turn), NO_TURN if the player is blocked.
+   */
+  public long bestTurn(
+      Position position,
+      int colorId,
+      Card[] gods,
+      boolean canMoveUp,
+      int maxDepth,
+      long budgetMillis) {
+    this.gods = gods;
+    nodes = 0;
+    aborted = false;
+    deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    long best = NO_TURN;
+    int bestScore = -Evaluator.WIN;
+    int completed = 0;
+    for (int current = 1; current <= maxDepth; current++) {
+      timed = current > 1;
+      long turn = root(position, colorId, canMoveUp, current, best);
+      if (aborted) {
+        break;
+      }
+      best = turn;
+      bestScore = score;
+      completed = current;
+      if (best == NO_TURN || Math.abs(bestScore) >= Evaluator.WIN - current) {
+        break;
+      }
+    }
+    score = bestScore;
+    depth = completed;
+    return best;
+  }
+
+  /**
+   * Method root searches every turn of the player about to play.
+   *
+   * @param position of type Position - the board, which is not modified.
+   * @param colorId of type int - the color id of the player.
+   * @param canMoveUp of type boolean - false if the player can't move up this turn.
+   * @param depth of type int - the number of turns searched.
+   * @param first of type long - the turn searched first, NO_TURN for none.
+   * @return long - the best turn, NO_TURN if the player is blocked or the search was aborted.
+   */
+  private long root(Position position, int colorId, boolean canMoveUp, int depth, long first) {
+    ensureDepth(depth);
+    TurnBuffer turns = buffers[0];
+    generator.generate(position, colorId, gods[colorId], canMoveUp, turns);
+    long best = NO_TURN;
+    int alpha = -Evaluator.WIN - 1;
+    for (int i = first == NO_TURN ? 0 : -1; i < turns.size(); i++) {
+      long turn = i < 0 ? first : turns.get(i);
+      if (i >= 0 && turn == first) {
+        continue;
+      }
+      int value = child(position, colorId, turn, depth, alpha, Evaluator.WIN + 1, 0);
+      if (aborted) {
+        return NO_TURN;
+      }
+      if (value > alpha) {
+        alpha = value;
+        best = turn;
+      }
+    }
+    score = best == NO_TURN ? -Evaluator.WIN : alpha;
+    return best;
+  }
+
+  /**
+   * Method getScore returns the score of the best turn found by the last search, from the point of
+   * view of its player.
+   *
+   * @return int - the score, close to WIN for a forced win and to -WIN for a forced loss.
+   */
+  public int getScore() {
+    return score;
+  }
+
+  /**
+   * Method getNodes returns the number of positions visited by the last search.
+   *
+   * @return long - the number of positions.
+   */
+  public long getNodes() {
+    return nodes;
+  }
+
+  /**
+   * Method getDepth returns the number of turns searched by the last search, which for a search
+   * bounded by time is the depth of its deepest completed iteration.
+   *
+   * @return int - the depth.
+   */
+  public int getDepth() {
+    return depth;
+  }
+
+  /**
+   * Method negamax returns the score of a position for the player about to play.
+   *
+   * @param position of type Position - the board.
+   * @param colorId of type int - the color id of the player.
+   * @param canMoveUp of type boolean - false if the player can't move up.
+   * @param depth of type int - the number of turns left to search.
+   * @param alpha of type int - the lower bound.
+   * @param beta of type int - the upper bound.
+   * @param ply of type int - the number of turns played since the root.
+   * @return int - the score.
+   */
+  private int negamax(
+      Position position, int colorId, boolean canMoveUp, int depth, int alpha, int beta, int ply) {
+    nodes++;
+    if (timed && (nodes & CLOCK_MASK) == 0 && System.nanoTime() - deadline > 0) {
+      aborted = true;
+    }
+    if (aborted) {
+      return 0;
+    }
+    if (depth == 0) {
+      return evaluator.evaluate(position, colorId, gods);
+    }
+    TurnBuffer turns = buffers[ply];
+    if (generator.generate(position, colorId, gods[colorId], canMoveUp, turns) == 0) {
+      return -Evaluator.WIN + ply;
+    }
+    for (int i = 0; i < turns.size(); i++) {
+      if (Turn.isWin(turns.get(i))) {
+        return Evaluator.WIN - ply - 1;
+      }
+    }
+    for (int i = 0; i < turns.size() && alpha < beta; i++) {
+      alpha = Math.max(alpha, child(position, colorId, turns.get(i), depth, alpha, beta, ply));
+    }
+    return alpha;
+  }
+
+  /**
+   * Method child plays a turn and returns its score for the player who plays it.
+   *
+   * @param position of type Position - the board before the turn.
+   * @param colorId of type int - the color id of the player.
+   * @param turn of type long - the turn.
+   * @param depth of type int - the number of turns left to search, including this one.
+   * @param alpha of type int - the lower bound.
+   * @param beta of type int - the upper bound.
+   * @param ply of type int - the number of turns played before this one.
+   * @return int - the score.
+   */
+  private int child(
+      Position position, int colorId, long turn, int depth, int alpha, int beta, int ply) {
+    if (Turn.isWin(turn)) {
+      return Evaluator.WIN - ply - 1;
+    }
+    Position board = boards[ply + 1];
+    position.copyTo(board);
+    boolean movedUp = movesUp(board, colorId, turn);
+    TurnGenerator.play(board, colorId, gods[colorId], turn);
+    boolean canMoveUp = !(movedUp && gods[colorId] == Card.ATHENA);
+    return -negamax(board, next(colorId), canMoveUp, depth - 1, -beta, -alpha, ply + 1);
+  }
+
+  /**
+   * Method movesUp returns true if the worker playing a turn ends it higher than it started.
+   *
+   * @param position of type Position - the board before the turn.
+   * @param colorId of type int - the color id of the player.
+   * @param turn of type long - the turn.
+   * @return boolean true if the worker moves up, false otherwise.
+   */
+  public static boolean movesUp(Position position, int colorId, long turn) {
+    int from = position.find(colorId, Turn.getWorkerNum(turn));
+    int to =
+        Turn.getSecondMove(turn) == Turn.NONE ? Turn.getMove(turn) : Turn.getSecondMove(turn);
+    return from >= 0 && position.getHeight(to) > position.getHeight(from);
+  }
+
+  /**
+   * Method next returns the color id playing after the provided one.
+   *
+   * @param colorId of type int - the color id.
+   * @return int - the next playing color id.
+   */
+  private int next(int colorId) {
+    int color = colorId;
+    do {
+      color = color % (Evaluator.COLORS - 1) + 1;
+    } while (gods[color] == null && color != colorId);
+    return color;
+  }
+
+  /**
+   * Method ensureDepth allocates the boards and buffers needed by a search.
+   *
+   * @param depth of type int - the depth of the search.
+   */
+  private void ensureDepth(int depth) {
+    if (boards.length > depth) {
+      return;
+    }
+    boards = new Position[depth + 1];
+    buffers = new TurnBuffer[depth + 1];
+    for (int i = 0; i <= depth; i++) {
+      boards[i] = new Position();
+      buffers[i] = new TurnBuffer();
+    }
+  }
+}
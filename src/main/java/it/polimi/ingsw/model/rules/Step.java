@@ -0,0 +1,387 @@
+package it.polimi.ingsw.model.rules;
+
+import it.polimi.ingsw.constants.Couple;
+
+/**
+ * Step class encodes a single step of a turn into a short, the canonical compact form of a worker
+ * action used by the wire protocol, the match history and the search buffers. A step holds a
+ * target cell, a build cell or both (a move followed by its build), as cell indexes (see Position)
+ * in 5 bits, where NONE stands for a cell that's not part of the step:
+ *
+ * <ul>
+ *   <li>bits 0-4: the cell the worker moves to, or the opponent worker forced (Charon);
+ *   <li>bits 5-9: the cell built, or the block removed (Ares);
+ *   <li>bit 10: the worker (0 for worker 1, 1 for worker 2);
+ *   <li>bit 11: the build is a dome (Atlas);
+ *   <li>bit 12: the build cell is a block removed;
+ *   <li>bit 13: the target cell is an opponent worker forced;
+ *   <li>bit 14: the move pushes or swaps an opponent worker (Apollo, Minotaur);
+ *   <li>bit 15: the step wins the game.
+ * </ul>
+ *
+ * <p>The cell the worker starts from is not stored: it's the cell of the worker on the board.
+ *
+ * @author Alice Piemonti
+ * @see Turn
+ */
+public final class Step {
+  public static final int NONE = Turn.NONE;
+  /** The greatest number of steps of a single turn. */
+  public static final int MAX_STEPS = 6;
+  private static final int TO = 0;
+  private static final int BUILD = 5;
+  private static final int WORKER = 1 << 10;
+  private static final int DOME = 1 << 11;
+  private static final int REMOVE = 1 << 12;
+  private static final int FORCE = 1 << 13;
+  private static final int PUSH = 1 << 14;
+  private static final int WIN = 1 << 15;
+  /** The step with no cell at all, which every encoded step starts from. */
+  public static final short EMPTY = (short) (NONE << TO | NONE << BUILD);
+
+  private Step() {}
+
+  /**
+   * Method cell writes a cell index into a field of the step.
+   *
+   * @param step of type int - the step.
+   * @param shift of type int - the position of the field.
+   * @param index of type int - the cell index, or NONE.
+   * @return short - the new step.
+   */
+  private static short cell(int step, int shift, int index) {
+    assert index >= 0 && index <= NONE : index;
+    return (short) ((step & ~(NONE << shift)) | (index << shift));
+  }
+
+  /**
+   * Method cell reads a cell index from a field of the step.
+   *
+   * @param step of type short - the step.
+   * @param shift of type int - the position of the field.
+   * @return int - the cell index, or NONE.
+   */
+  private static int cell(short step, int shift) {
+    return (step >>> shift) & NONE;
+  }
+
+  /**
+   * Method of starts the encoding of a step.
+   *
+   * @param workerNum of type int - the worker playing the step (1 or 2).
+   * @return short - the step, with no cell.
+   */
+  private static short of(int workerNum) {
+    return (short) (EMPTY | (workerNum == 2 ? WORKER : 0));
+  }
+
+  /**
+   * Method move encodes a move.
+   *
+   * @param workerNum of type int - the worker playing the step (1 or 2).
+   * @param to of type int - the cell the worker moves to.
+   * @return short - the step.
+   */
+  public static short move(int workerNum, int to) {
+    return cell(of(workerNum), TO, to);
+  }
+
+  /**
+   * Method force encodes an opponent worker forced to the opposite side of the worker (Charon).
+   *
+   * @param workerNum of type int - the worker playing the step (1 or 2).
+   * @param forced of type int - the cell of the forced worker.
+   * @return short - the step.
+   */
+  public static short force(int workerNum, int forced) {
+    return (short) (move(workerNum, forced) | FORCE);
+  }
+
+  /**
+   * Method build encodes a build.
+   *
+   * @param workerNum of type int - the worker playing the step (1 or 2).
+   * @param build of type int - the cell built.
+   * @param dome of type boolean - true if a dome is built, whatever the height.
+   * @return short - the step.
+   */
+  public static short build(int workerNum, int build, boolean dome) {
+    return withBuild(of(workerNum), build, dome);
+  }
+
+  /**
+   * Method remove encodes a block removed (Ares).
+   *
+   * @param workerNum of type int - the worker playing the step (1 or 2).
+   * @param remove of type int - the cell whose block is removed.
+   * @return short - the step.
+   */
+  public static short remove(int workerNum, int remove) {
+    return (short) (cell(of(workerNum), BUILD, remove) | REMOVE);
+  }
+
+  /**
+   * Method withBuild returns the step with a build after its move.
+   *
+   * @param step of type short - the step.
+   * @param build of type int - the cell built.
+   * @param dome of type boolean - true if a dome is built, whatever the height.
+   * @return short - the new step.
+   */
+  public static short withBuild(short step, int build, boolean dome) {
+    return (short) (cell(step, BUILD, build) | (dome ? DOME : 0));
+  }
+
+  /**
+   * Method withPush returns the step marked as moving onto an opponent worker.
+   *
+   * @param step of type short - the step.
+   * @return short - the new step.
+   */
+  public static short withPush(short step) {
+    return (short) (step | PUSH);
+  }
+
+  /**
+   * Method withWin returns the step marked as winning.
+   *
+   * @param step of type short - the step.
+   * @return short - the new step.
+   */
+  public static short withWin(short step) {
+    return (short) (step | WIN);
+  }
+
+  /**
+   * Method getWorkerNum returns the worker playing the step.
+   *
+   * @param step of type short - the step.
+   * @return int - 1 or 2.
+   */
+  public static int getWorkerNum(short step) {
+    return (step & WORKER) == 0 ? 1 : 2;
+  }
+
+  /**
+   * Method getTo returns the cell the worker moves to, or the opponent worker forced.
+   *
+   * @param step of type short - the step.
+   * @return int - the cell index, NONE if the step has no move.
+   */
+  public static int getTo(short step) {
+    return cell(step, TO);
+  }
+
+  /**
+   * Method getBuild returns the cell built, or the cell whose block is removed.
+   *
+   * @param step of type short - the step.
+   * @return int - the cell index, NONE if the step has no build.
+   */
+  public static int getBuild(short step) {
+    return cell(step, BUILD);
+  }
+
+  /**
+   * Method isDome returns true if the build is a dome built by Atlas.
+   *
+   * @param step of type short - the step.
+   * @return boolean true if it's a dome, false otherwise.
+   */
+  public static boolean isDome(short step) {
+    return (step & DOME) != 0;
+  }
+
+  /**
+   * Method isRemove returns true if the build cell is a block removed.
+   *
+   * @param step of type short - the step.
+   * @return boolean true if a block is removed, false otherwise.
+   */
+  public static boolean isRemove(short step) {
+    return (step & REMOVE) != 0;
+  }
+
+  /**
+   * Method isForce returns true if the target cell is an opponent worker forced.
+   *
+   * @param step of type short - the step.
+   * @return boolean true if a worker is forced, false otherwise.
+   */
+  public static boolean isForce(short step) {
+    return (step & FORCE) != 0;
+  }
+
+  /**
+   * Method isPush returns true if the move pushes or swaps an opponent worker.
+   *
+   * @param step of type short - the step.
+   * @return boolean true if the target cell was occupied, false otherwise.
+   */
+  public static boolean isPush(short step) {
+    return (step & PUSH) != 0;
+  }
+
+  /**
+   * Method isWin returns true if the step wins the game.
+   *
+   * @param step of type short - the step.
+   * @return boolean true if winning, false otherwise.
+   */
+  public static boolean isWin(short step) {
+    return (step & WIN) != 0;
+  }
+
+  /**
+   * Method isSingle returns true if the step is a single worker action: a move, a forced worker, a
+   * build or a block removed.
+   *
+   * @param step of type short - the step.
+   * @return boolean true if exactly one of the cells is set, false otherwise.
+   */
+  public static boolean isSingle(short step) {
+    return (getTo(step) == NONE) != (getBuild(step) == NONE);
+  }
+
+  /**
+   * Method split writes the steps of an encoded turn in the order they're played: the forced
+   * worker, the build before moving, the moves and the builds. The last move and the build right
+   * after it share a single step, so a plain turn takes a single short.
+   *
+   * @param turn of type long - the turn.
+   * @param position of type Position - the board before the turn, telling the moves onto an
+   *     opponent worker.
+   * @param steps of type short[] - the buffer, with room for MAX_STEPS steps from offset.
+   * @param offset of type int - the first index written.
+   * @return int - the number of steps written.
+   */
+  public static int split(long turn, Position position, short[] steps, int offset) {
+    int workerNum = Turn.getWorkerNum(turn);
+    int count = offset;
+    if (Turn.getForce(turn) != NONE) {
+      steps[count++] = force(workerNum, Turn.getForce(turn));
+    }
+    if (Turn.getPreBuild(turn) != NONE) {
+      steps[count++] = build(workerNum, Turn.getPreBuild(turn), false);
+    }
+    short move = move(workerNum, Turn.getMove(turn));
+    if (Turn.getMove(turn) != Turn.getForce(turn) && position.isOccupied(Turn.getMove(turn))) {
+      move = withPush(move);
+    }
+    if (Turn.getSecondMove(turn) != NONE) {
+      steps[count++] = move;
+      move = move(workerNum, Turn.getSecondMove(turn));
+    }
+    move = withBuild(move, Turn.getBuild(turn), Turn.isDome(turn));
+    steps[count++] = Turn.isWin(turn) ? withWin(move) : move;
+    if (Turn.getSecondBuild(turn) != NONE) {
+      steps[count++] = build(workerNum, Turn.getSecondBuild(turn), false);
+    }
+    if (Turn.getRemove(turn) != NONE) {
+      steps[count++] = remove(workerNum, Turn.getRemove(turn));
+    }
+    return count - offset;
+  }
+
+  /**
+   * Method join encodes the turn made of the steps written by split.
+   *
+   * @param steps of type short[] - the buffer.
+   * @param offset of type int - the index of the first step.
+   * @param count of type int - the number of steps of the turn.
+   * @return long - the turn.
+   * @throws IllegalArgumentException when the steps don't make a turn.
+   */
+  public static long join(short[] steps, int offset, int count) {
+    if (count <= 0) {
+      throw new IllegalArgumentException("A turn has at least one step");
+    }
+    long turn = Turn.of(getWorkerNum(steps[offset]), NONE);
+    boolean moved = false;
+    boolean built = false;
+    for (int i = offset; i < offset + count; i++) {
+      short step = steps[i];
+      int to = getTo(step);
+      int build = getBuild(step);
+      if (isForce(step)) {
+        turn = Turn.withForce(turn, to);
+      } else if (to != NONE) {
+        turn = moved ? Turn.withSecondMove(turn, to) : Turn.withMove(turn, to);
+        moved = true;
+      }
+      if (isRemove(step)) {
+        turn = Turn.withRemove(turn, build);
+      } else if (build != NONE && !moved) {
+        turn = Turn.withPreBuild(turn, build);
+      } else if (build != NONE) {
+        turn =
+            built
+                ? Turn.withSecondBuild(turn, build)
+                : Turn.withBuild(turn, build, isDome(step));
+        built = true;
+      }
+      if (isWin(step)) {
+        turn = Turn.withWin(turn);
+      }
+    }
+    if (!moved) {
+      throw new IllegalArgumentException("A turn has a move");
+    }
+    return turn;
+  }
+
+  /**
+   * Method index returns the cell index of a couple of coordinates.
+   *
+   * @param couple of type Couple - the coordinates, as carried by actions and answers.
+   * @return int - the cell index.
+   * @throws IllegalArgumentException when the coordinates are outside the board.
+   */
+  public static int index(Couple couple) {
+    if (couple.getRow() < 0
+        || couple.getRow() >= Position.SIZE
+        || couple.getColumn() < 0
+        || couple.getColumn() >= Position.SIZE) {
+      throw new IllegalArgumentException(
+          "Not a board cell: " + couple.getRow() + "," + couple.getColumn());
+    }
+    return Position.index(couple.getRow(), couple.getColumn());
+  }
+
+  /**
+   * Method couple returns the coordinates of a cell index.
+   *
+   * @param index of type int - the cell index.
+   * @return Couple - the coordinates.
+   */
+  public static Couple couple(int index) {
+    return new Couple(Position.row(index), Position.col(index));
+  }
+
+  /**
+   * Method toString returns a readable description of a step, like "W1 c3 ^d4".
+   *
+   * @param step of type short - the step.
+   * @return String - the description.
+   */
+  public static String toString(short step) {
+    StringBuilder text = new StringBuilder("W").append(getWorkerNum(step));
+    if (getTo(step) != NONE) {
+      text.append(isForce(step) ? " >" : isPush(step) ? " x" : " ").append(name(getTo(step)));
+    }
+    if (getBuild(step) != NONE) {
+      text.append(isRemove(step) ? " -" : isDome(step) ? " *" : " ^").append(name(getBuild(step)));
+    }
+    return isWin(step) ? text.append(" #").toString() : text.toString();
+  }
+
+  /**
+   * Method name returns the name of a cell, a column letter and a row number.
+   *
+   * @param index of type int - the cell index.
+   * @return String - the name.
+   */
+  private static String name(int index) {
+    return (char) ('a' + Position.col(index)) + String.valueOf(Position.row(index) + 1);
+  }
+}
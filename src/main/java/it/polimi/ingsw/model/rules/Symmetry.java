@@ -0,0 +1,140 @@
+package it.polimi.ingsw.model.rules;
+
+import java.util.function.IntToLongFunction;
+
+/**
+ * Symmetry class holds the 8 symmetries of the board (4 rotations, each one with or without a
+ * reflection), which don't change the rules of any god. A position can then be looked up in a
+ * book, a table or a cache by its canonical key, the smallest key among its symmetric positions,
+ * so all of them share a single entry. A turn stored for the canonical position is turned back to
+ * the position looked up with the inverse symmetry.
+ *
+ * <p>A symmetry is a number from 0 to 7: bit 2 transposes the board, then bit 1 mirrors the
+ * columns and bit 0 mirrors the rows. IDENTITY leaves the board as it is.
+ *
+ * @author Alice Piemonti
+ * @see PositionKey
+ */
+public final class Symmetry {
+  public static final int COUNT = 8;
+  public static final int IDENTITY = 0;
+  private static final int TRANSPOSE = 4;
+  private static final int MIRROR_COLUMNS = 2;
+  private static final int MIRROR_ROWS = 1;
+  private static final int[][] CELLS = new int[COUNT][Position.CELLS];
+  private static final int[] INVERSE = new int[COUNT];
+
+  static {
+    for (int symmetry = 0; symmetry < COUNT; symmetry++) {
+      for (int i = 0; i < Position.CELLS; i++) {
+        int row = Position.row(i);
+        int col = Position.col(i);
+        if ((symmetry & TRANSPOSE) != 0) {
+          int swap = row;
+          row = col;
+          col = swap;
+        }
+        if ((symmetry & MIRROR_COLUMNS) != 0) {
+          col = Position.SIZE - 1 - col;
+        }
+        if ((symmetry & MIRROR_ROWS) != 0) {
+          row = Position.SIZE - 1 - row;
+        }
+        CELLS[symmetry][i] = Position.index(row, col);
+      }
+    }
+    for (int symmetry = 0; symmetry < COUNT; symmetry++) {
+      for (int other = 0; other < COUNT; other++) {
+        boolean undoes = true;
+        for (int i = 0; i < Position.CELLS; i++) {
+          undoes &= CELLS[other][CELLS[symmetry][i]] == i;
+        }
+        if (undoes) {
+          INVERSE[symmetry] = other;
+        }
+      }
+    }
+  }
+
+  private Symmetry() {}
+
+  /**
+   * Method cell returns the cell a cell is moved to by a symmetry.
+   *
+   * @param symmetry of type int - the symmetry.
+   * @param index of type int - the cell index, or Turn.NONE.
+   * @return int - the cell index, Turn.NONE if the cell is NONE.
+   */
+  public static int cell(int symmetry, int index) {
+    return index == Turn.NONE ? index : CELLS[symmetry][index];
+  }
+
+  /**
+   * Method inverse returns the symmetry undoing a symmetry.
+   *
+   * @param symmetry of type int - the symmetry.
+   * @return int - the inverse symmetry.
+   */
+  public static int inverse(int symmetry) {
+    return INVERSE[symmetry];
+  }
+
+  /**
+   * Method apply returns the position moved by a symmetry.
+   *
+   * @param position of type Position - the board, which is not changed.
+   * @param symmetry of type int - the symmetry.
+   * @return Position - the new position.
+   */
+  public static Position apply(Position position, int symmetry) {
+    byte[] cells = new byte[Position.CELLS];
+    byte[] moved = new byte[Position.CELLS];
+    position.save(cells);
+    for (int i = 0; i < Position.CELLS; i++) {
+      moved[CELLS[symmetry][i]] = cells[i];
+    }
+    Position result = new Position();
+    result.restore(moved);
+    return result;
+  }
+
+  /**
+   * Method turn returns a turn moved by a symmetry, to be played on the moved position.
+   *
+   * @param turn of type long - the turn (see Turn), or Search.NO_TURN.
+   * @param symmetry of type int - the symmetry.
+   * @return long - the moved turn, Search.NO_TURN if the turn is NO_TURN.
+   */
+  public static long turn(long turn, int symmetry) {
+    if (turn == Search.NO_TURN || symmetry == IDENTITY) {
+      return turn;
+    }
+    long moved = Turn.withMove(turn, cell(symmetry, Turn.getMove(turn)));
+    moved = Turn.withSecondMove(moved, cell(symmetry, Turn.getSecondMove(turn)));
+    moved = Turn.withPreBuild(moved, cell(symmetry, Turn.getPreBuild(turn)));
+    moved = Turn.withForce(moved, cell(symmetry, Turn.getForce(turn)));
+    moved = Turn.withBuild(moved, cell(symmetry, Turn.getBuild(turn)), false);
+    moved = Turn.withSecondBuild(moved, cell(symmetry, Turn.getSecondBuild(turn)));
+    return Turn.withRemove(moved, cell(symmetry, Turn.getRemove(turn)));
+  }
+
+  /**
+   * Method canonical returns the symmetry giving the smallest key. Symmetric positions get the
+   * same smallest key, which is their canonical key.
+   *
+   * @param key of type IntToLongFunction - the key of the position moved by each symmetry.
+   * @return int - the symmetry.
+   */
+  public static int canonical(IntToLongFunction key) {
+    int best = IDENTITY;
+    long smallest = key.applyAsLong(IDENTITY);
+    for (int symmetry = 1; symmetry < COUNT; symmetry++) {
+      long candidate = key.applyAsLong(symmetry);
+      if (candidate < smallest) {
+        smallest = candidate;
+        best = symmetry;
+      }
+    }
+    return best;
+  }
+}
@@ -0,0 +1,280 @@
+package it.polimi.ingsw.model.rules;
+
+/**
+ * Turn class encodes a complete turn into a single long, so turns can be stored in primitive
+ * buffers. Every step is a cell index (see Position) stored in 5 bits, where NONE stands for a
+ * step that's not part of the turn:
+ *
+ * <ul>
+ *   <li>bit 0: the worker (0 for worker 1, 1 for worker 2);
+ *   <li>bits 1-5: the first move;
+ *   <li>bits 6-10: the second move (Artemis), or the last cell of Triton's moves;
+ *   <li>bits 11-15: the build before moving (Prometheus);
+ *   <li>bits 16-20: the opponent worker forced before moving (Charon);
+ *   <li>bits 21-25: the build, NONE for a winning turn;
+ *   <li>bits 26-30: the second build (Demeter, Hephaestus, Hestia);
+ *   <li>bits 31-35: the block removed (Ares);
+ *   <li>bit 36: the build is a dome (Atlas);
+ *   <li>bit 37: the turn wins the game.
+ * </ul>
+ *
+ * @author Alice Piemonti
+ * @see TurnGenerator
+ */
+public final class Turn {
+  public static final int NONE = 0x1f;
+  private static final int CELL_BITS = 5;
+  private static final int MOVE = 1;
+  private static final int SECOND_MOVE = 6;
+  private static final int PRE_BUILD = 11;
+  private static final int FORCE = 16;
+  private static final int BUILD = 21;
+  private static final int SECOND_BUILD = 26;
+  private static final int REMOVE = 31;
+  private static final long DOME = 1L << 36;
+  private static final long WIN = 1L << 37;
+  /** The turn with no step at all, which every encoded turn starts from. */
+  public static final long EMPTY =
+      cell(0, SECOND_MOVE, NONE)
+          | cell(0, PRE_BUILD, NONE)
+          | cell(0, FORCE, NONE)
+          | cell(0, BUILD, NONE)
+          | cell(0, SECOND_BUILD, NONE)
+          | cell(0, REMOVE, NONE);
+
+  private Turn() {}
+
+  /**
+   * Method cell writes a cell index into a field of the turn.
+   *
+   * @param turn of type long - the turn.
+   * @param shift of type int - the position of the field.
+   * @param index of type int - the cell index, or NONE.
+   * @return long - the new turn.
+   */
+  private static long cell(long turn, int shift, int index) {
+    return (turn & ~((long) NONE << shift)) | ((long) index << shift);
+  }
+
+  /**
+   * Method cell reads a cell index from a field of the turn.
+   *
+   * @param turn of type long - the turn.
+   * @param shift of type int - the position of the field.
+   * @return int - the cell index, or NONE.
+   */
+  private static int cell(long turn, int shift) {
+    return (int) (turn >>> shift) & NONE;
+  }
+
+  /**
+   * Method of starts the encoding of a turn.
+   *
+   * @param workerNum of type int - the worker playing the turn (1 or 2).
+   * @param move of type int - the first move.
+   * @return long - the turn.
+   */
+  public static long of(int workerNum, int move) {
+    return cell(EMPTY | (workerNum == 2 ? 1 : 0), MOVE, move);
+  }
+
+  /**
+   * Method withWorkerNum returns the turn played by the other worker, when the numbers of the
+   * workers are exchanged.
+   *
+   * @param turn of type long - the turn.
+   * @param workerNum of type int - the worker playing the turn (1 or 2).
+   * @return long - the new turn.
+   */
+  public static long withWorkerNum(long turn, int workerNum) {
+    return (turn & ~1L) | (workerNum == 2 ? 1 : 0);
+  }
+
+  /**
+   * Method withMove returns the turn with another first move.
+   *
+   * @param turn of type long - the turn.
+   * @param move of type int - the first move.
+   * @return long - the new turn.
+   */
+  public static long withMove(long turn, int move) {
+    return cell(turn, MOVE, move);
+  }
+
+  /**
+   * Method withSecondMove returns the turn with a second move.
+   *
+   * @param turn of type long - the turn.
+   * @param move of type int - the second move.
+   * @return long - the new turn.
+   */
+  public static long withSecondMove(long turn, int move) {
+    return cell(turn, SECOND_MOVE, move);
+  }
+
+  /**
+   * Method withPreBuild returns the turn with a build before moving.
+   *
+   * @param turn of type long - the turn.
+   * @param build of type int - the cell built.
+   * @return long - the new turn.
+   */
+  public static long withPreBuild(long turn, int build) {
+    return cell(turn, PRE_BUILD, build);
+  }
+
+  /**
+   * Method withForce returns the turn with an opponent worker forced before moving.
+   *
+   * @param turn of type long - the turn.
+   * @param force of type int - the cell of the forced worker.
+   * @return long - the new turn.
+   */
+  public static long withForce(long turn, int force) {
+    return cell(turn, FORCE, force);
+  }
+
+  /**
+   * Method withBuild returns the turn with a build.
+   *
+   * @param turn of type long - the turn.
+   * @param build of type int - the cell built.
+   * @param dome of type boolean - true if a dome is built, whatever the height.
+   * @return long - the new turn.
+   */
+  public static long withBuild(long turn, int build, boolean dome) {
+    return cell(turn, BUILD, build) | (dome ? DOME : 0);
+  }
+
+  /**
+   * Method withSecondBuild returns the turn with a second build.
+   *
+   * @param turn of type long - the turn.
+   * @param build of type int - the cell built.
+   * @return long - the new turn.
+   */
+  public static long withSecondBuild(long turn, int build) {
+    return cell(turn, SECOND_BUILD, build);
+  }
+
+  /**
+   * Method withRemove returns the turn with a block removed.
+   *
+   * @param turn of type long - the turn.
+   * @param remove of type int - the cell.
+   * @return long - the new turn.
+   */
+  public static long withRemove(long turn, int remove) {
+    return cell(turn, REMOVE, remove);
+  }
+
+  /**
+   * Method withWin returns the turn marked as winning.
+   *
+   * @param turn of type long - the turn.
+   * @return long - the new turn.
+   */
+  public static long withWin(long turn) {
+    return turn | WIN;
+  }
+
+  /**
+   * Method getWorkerNum returns the worker playing the turn.
+   *
+   * @param turn of type long - the turn.
+   * @return int - 1 or 2.
+   */
+  public static int getWorkerNum(long turn) {
+    return (int) (turn & 1) + 1;
+  }
+
+  /**
+   * Method getMove returns the first move.
+   *
+   * @param turn of type long - the turn.
+   * @return int - the cell index.
+   */
+  public static int getMove(long turn) {
+    return cell(turn, MOVE);
+  }
+
+  /**
+   * Method getSecondMove returns the second move, or the last cell of Triton's moves.
+   *
+   * @param turn of type long - the turn.
+   * @return int - the cell index, NONE if the worker moves once.
+   */
+  public static int getSecondMove(long turn) {
+    return cell(turn, SECOND_MOVE);
+  }
+
+  /**
+   * Method getPreBuild returns the build before moving.
+   *
+   * @param turn of type long - the turn.
+   * @return int - the cell index, NONE if there's none.
+   */
+  public static int getPreBuild(long turn) {
+    return cell(turn, PRE_BUILD);
+  }
+
+  /**
+   * Method getForce returns the opponent worker forced before moving.
+   *
+   * @param turn of type long - the turn.
+   * @return int - the cell index of the forced worker, NONE if there's none.
+   */
+  public static int getForce(long turn) {
+    return cell(turn, FORCE);
+  }
+
+  /**
+   * Method getBuild returns the build.
+   *
+   * @param turn of type long - the turn.
+   * @return int - the cell index, NONE for a winning turn.
+   */
+  public static int getBuild(long turn) {
+    return cell(turn, BUILD);
+  }
+
+  /**
+   * Method getSecondBuild returns the second build.
+   *
+   * @param turn of type long - the turn.
+   * @return int - the cell index, NONE if there's none.
+   */
+  public static int getSecondBuild(long turn) {
+    return cell(turn, SECOND_BUILD);
+  }
+
+  /**
+   * Method getRemove returns the cell whose block is removed.
+   *
+   * @param turn of type long - the turn.
+   * @return int - the cell index, NONE if there's none.
+   */
+  public static int getRemove(long turn) {
+    return cell(turn, REMOVE);
+  }
+
+  /**
+   * Method isDome returns true if the build is a dome built by Atlas.
+   *
+   * @param turn of type long - the turn.
+   * @return boolean true if it's a dome, false otherwise.
+   */
+  public static boolean isDome(long turn) {
+    return (turn & DOME) != 0;
+  }
+
+  /**
+   * Method isWin returns true if the turn wins the game.
+   *
+   * @param turn of type long - the turn.
+   * @return boolean true if winning, false otherwise.
+   */
+  public static boolean isWin(long turn) {
+    return (turn & WIN) != 0;
+  }
+}
@@ -0,0 +1,77 @@
+package it.polimi.ingsw.model.rules;
+
+import java.util.Arrays;
+
+/**
+ * TurnBuffer class is a growable array of encoded turns, meant to be reused between searches so
+ * that enumerating the turns doesn't allocate once the buffer is large enough.
+ *
+ * @author Alice Piemonti
+ * @see Turn
+ */
+public final class TurnBuffer {
+  private long[] turns;
+  private int size;
+
+  /** Constructor TurnBuffer creates a new empty TurnBuffer instance. */
+  public TurnBuffer() {
+    this(256);
+  }
+
+  /**
+   * Constructor TurnBuffer creates a new empty TurnBuffer instance.
+   *
+   * @param capacity of type int - the initial capacity.
+   */
+  public TurnBuffer(int capacity) {
+    turns = new long[Math.max(capacity, 1)];
+  }
+
+  /** Method clear removes every turn, keeping the capacity. */
+  public void clear() {
+    size = 0;
+  }
+
+  /**
+   * Method add appends a turn.
+   *
+   * @param turn of type long - the encoded turn.
+   */
+  public void add(long turn) {
+    if (size == turns.length) {
+      turns = Arrays.copyOf(turns, size * 2);
+    }
+    turns[size++] = turn;
+  }
+
+  /**
+   * Method get returns a turn.
+   *
+   * @param index of type int - the index, lower than the size.
+   * @return long - the encoded turn.
+   */
+  public long get(int index) {
+    if (index >= size) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return turns[index];
+  }
+
+  /**
+   * Method size returns the number of turns.
+   *
+   * @return int - the size.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Method isEmpty returns true if the buffer contains no turn.
+   *
+   * @return boolean true if empty, false otherwise.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+}
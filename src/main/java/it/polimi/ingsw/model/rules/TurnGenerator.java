@@ -0,0 +1,458 @@
+package it.polimi.ingsw.model.rules;
+
+import it.polimi.ingsw.constants.Couple;
+import it.polimi.ingsw.model.Card;
+
+/**
+ * TurnGenerator class enumerates every complete legal turn of a player on a Position, whatever
+ * its god: the worker, the optional build before moving (Prometheus) or forced opponent (Charon),
+ * the move or moves, with Apollo's swap and Minotaur's push, the build or builds, Atlas' domes and
+ * Ares' removals. Turns are written as longs (see Turn) into a TurnBuffer, so the same generator
+ * and buffer can be reused by bots and searches without allocating.
+ *
+ * <p>Turns follow the server workers: a turn ends as soon as a move wins, a turn is legal only if
+ * the worker can build after moving, and Minotaur doesn't win by pushing. Triton's chains of moves
+ * are enumerated by their last cell, see tritonPath for the cells in between. A generator is not
+ * thread safe, since it plays the turns on its own copy of the board.
+ *
+ * @author Alice Piemonti
+ * @see Turn
+ */
+public final class TurnGenerator {
+  private static final int FORCED = 1;
+  private static final int MOVED = 2;
+  private static final int MOVED_AGAIN = 3;
+  private static final int BUILT = 4;
+  private final Position board = new Position();
+  private final byte[][] saved = new byte[BUILT + 1][Position.CELLS];
+  private Card god;
+  private int colorId;
+  private TurnBuffer turns;
+
+  /**
+   * Method generate writes every legal turn of a player into the buffer, replacing its content.
+   *
+   * @param position of type Position - the board, which is not modified.
+   * @param colorId of type int - the color id of the player's workers.
+   * @param god of type Card - the player's god.
+   * @param canMoveUp of type boolean - false if the player can't move up this turn (Athena).
+   * @param turns of type TurnBuffer - the buffer filled with the turns.
+   * @return int - the number of turns, 0 if the player is blocked.
+   */
+  public int generate(
+      Position position, int colorId, Card god, boolean canMoveUp, TurnBuffer turns) {
+    turns.clear();
+    this.god = god;
+    this.colorId = colorId;
+    this.turns = turns;
+    position.save(saved[0]);
+    board.restore(saved[0]);
+    for (int workerNum = 1; workerNum <= 2; workerNum++) {
+      int from = board.find(colorId, workerNum);
+      if (from < 0) {
+        continue;
+      }
+      long turn = Turn.of(workerNum, Turn.NONE);
+      moves(from, turn, canMoveUp);
+      if (god == Card.PROMETHEUS) {
+        preBuilds(from, turn);
+      } else if (god == Card.CHARON) {
+        forces(from, turn, canMoveUp);
+      }
+    }
+    return turns.size();
+  }
+
+  /**
+   * Method preBuilds enumerates the turns of Prometheus building before moving, after which he
+   * can't move up.
+   *
+   * @param from of type int - the worker's cell.
+   * @param turn of type long - the turn so far.
+   */
+  private void preBuilds(int from, long turn) {
+    int cells = Rules.builds(board, from, god);
+    board.save(saved[FORCED]);
+    while (cells != 0) {
+      int cell = Integer.numberOfTrailingZeros(cells);
+      cells &= cells - 1;
+      build(board, cell, false);
+      moves(from, Turn.withPreBuild(turn, cell), false);
+      board.restore(saved[FORCED]);
+    }
+  }
+
+  /**
+   * Method forces enumerates the turns of Charon forcing an opponent worker before moving.
+   *
+   * @param from of type int - the worker's cell.
+   * @param turn of type long - the turn so far.
+   * @param canMoveUp of type boolean - false if the worker can't move up.
+   */
+  private void forces(int from, long turn, boolean canMoveUp) {
+    int cells = Rules.neighbours(from);
+    board.save(saved[FORCED]);
+    while (cells != 0) {
+      int cell = Integer.numberOfTrailingZeros(cells);
+      cells &= cells - 1;
+      if (force(board, from, cell)) {
+        moves(from, Turn.withForce(turn, cell), canMoveUp);
+        board.restore(saved[FORCED]);
+      }
+    }
+  }
+
+  /**
+   * Method moves enumerates the turns going on with each move of the worker.
+   *
+   * @param from of type int - the worker's cell.
+   * @param turn of type long - the turn so far.
+   * @param canMoveUp of type boolean - false if the worker can't move up.
+   */
+  private void moves(int from, long turn, boolean canMoveUp) {
+    int cells = Rules.moves(board, from, god, canMoveUp);
+    board.save(saved[MOVED]);
+    while (cells != 0) {
+      int to = Integer.numberOfTrailingZeros(cells);
+      cells &= cells - 1;
+      long moved = Turn.withMove(turn, to);
+      if (move(board, from, to, god)) {
+        turns.add(Turn.withWin(moved));
+      } else {
+        builds(to, moved);
+        if (god == Card.ARTEMIS) {
+          secondMoves(from, to, moved, canMoveUp);
+        } else if (god == Card.TRITON && (Rules.PERIMETER & 1 << to) != 0) {
+          tritonMoves(to, moved, canMoveUp);
+        }
+      }
+      board.restore(saved[MOVED]);
+    }
+  }
+
+  /**
+   * Method secondMoves enumerates the turns of Artemis moving again, not back to her first cell.
+   *
+   * @param start of type int - the cell where the worker started the turn.
+   * @param from of type int - the worker's cell after the first move.
+   * @param turn of type long - the turn so far.
+   * @param canMoveUp of type boolean - false if the worker can't move up.
+   */
+  private void secondMoves(int start, int from, long turn, boolean canMoveUp) {
+    int cells = Rules.moves(board, from, god, canMoveUp) & ~(1 << start);
+    board.save(saved[MOVED_AGAIN]);
+    while (cells != 0) {
+      int to = Integer.numberOfTrailingZeros(cells);
+      cells &= cells - 1;
+      long moved = Turn.withSecondMove(turn, to);
+      if (move(board, from, to, god)) {
+        turns.add(Turn.withWin(moved));
+      } else {
+        builds(to, moved);
+      }
+      board.restore(saved[MOVED_AGAIN]);
+    }
+  }
+
+  /**
+   * Method tritonMoves enumerates the turns of Triton moving again from the perimeter, once for
+   * every cell reachable by a chain of moves.
+   *
+   * @param start of type int - the worker's cell after the first move, on the perimeter.
+   * @param turn of type long - the turn so far.
+   * @param canMoveUp of type boolean - false if the worker can't move up.
+   */
+  private void tritonMoves(int start, long turn, boolean canMoveUp) {
+    int reached = 1 << start;
+    int won = 0;
+    int frontier = 1 << start;
+    int workerNum = board.getWorkerNum(start);
+    board.save(saved[MOVED_AGAIN]);
+    while (frontier != 0) {
+      int from = Integer.numberOfTrailingZeros(frontier);
+      frontier &= frontier - 1;
+      int cells = tritonSteps(board, start, from, canMoveUp);
+      while (cells != 0) {
+        int to = Integer.numberOfTrailingZeros(cells);
+        cells &= cells - 1;
+        if (wins(board.getHeight(from), board.getHeight(to), god)) {
+          if ((won & 1 << to) == 0) {
+            won |= 1 << to;
+            turns.add(Turn.withWin(Turn.withSecondMove(turn, to)));
+          }
+        } else if ((reached & 1 << to) == 0) {
+          reached |= 1 << to;
+          if ((Rules.PERIMETER & 1 << to) != 0) {
+            frontier |= 1 << to;
+          }
+          board.clearWorker(start);
+          board.setWorker(to, colorId, workerNum);
+          builds(to, Turn.withSecondMove(turn, to));
+          board.restore(saved[MOVED_AGAIN]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Method tritonSteps returns the cells Triton can move to from a cell of his chain of moves.
+   *
+   * @param position of type Position - the board, with Triton still on the first cell of the chain.
+   * @param start of type int - the first cell of the chain.
+   * @param from of type int - the cell Triton moves from.
+   * @param canMoveUp of type boolean - false if the worker can't move up.
+   * @return int - the mask of the cells.
+   */
+  private static int tritonSteps(Position position, int start, int from, boolean canMoveUp) {
+    int steps = 0;
+    int cells = Rules.neighbours(from);
+    while (cells != 0) {
+      int to = Integer.numberOfTrailingZeros(cells);
+      cells &= cells - 1;
+      if (!position.isDome(to)
+          && (to == start || !position.isOccupied(to))
+          && Rules.canClimb(position.getHeight(from), position.getHeight(to), canMoveUp)) {
+        steps |= 1 << to;
+      }
+    }
+    return steps;
+  }
+
+  /**
+   * Method builds enumerates the turns ending with each build of the worker; a worker who can't
+   * build has no legal turn.
+   *
+   * @param at of type int - the worker's cell.
+   * @param turn of type long - the turn so far.
+   */
+  private void builds(int at, long turn) {
+    int cells = Rules.builds(board, at, god);
+    board.save(saved[BUILT]);
+    while (cells != 0) {
+      int cell = Integer.numberOfTrailingZeros(cells);
+      cells &= cells - 1;
+      if (god == Card.ATLAS && board.getHeight(cell) < 3) {
+        turns.add(Turn.withBuild(turn, cell, true));
+      }
+      long built = Turn.withBuild(turn, cell, false);
+      turns.add(built);
+      build(board, cell, false);
+      switch (god) {
+        case DEMETER -> secondBuilds(built, Rules.builds(board, at, god) & ~(1 << cell));
+        case HESTIA -> secondBuilds(built, Rules.builds(board, at, god) & ~Rules.PERIMETER);
+        case HEPHAESTUS -> {
+          if (!board.isDome(cell) && board.getHeight(cell) <= 2) {
+            turns.add(Turn.withSecondBuild(built, cell));
+          }
+        }
+        case ARES -> removals(built, board.find(colorId, 3 - Turn.getWorkerNum(turn)));
+        default -> {}
+      }
+      board.restore(saved[BUILT]);
+    }
+  }
+
+  /**
+   * Method secondBuilds adds a turn for each second build.
+   *
+   * @param turn of type long - the turn so far.
+   * @param cells of type int - the mask of the cells.
+   */
+  private void secondBuilds(long turn, int cells) {
+    while (cells != 0) {
+      int cell = Integer.numberOfTrailingZeros(cells);
+      cells &= cells - 1;
+      turns.add(Turn.withSecondBuild(turn, cell));
+    }
+  }
+
+  /**
+   * Method removals adds a turn for each block Ares can remove around his unmoved worker.
+   *
+   * @param turn of type long - the turn so far.
+   * @param unmoved of type int - the unmoved worker's cell, -1 if it's not on the board.
+   */
+  private void removals(long turn, int unmoved) {
+    if (unmoved < 0) {
+      return;
+    }
+    int cells = Rules.neighbours(unmoved);
+    while (cells != 0) {
+      int cell = Integer.numberOfTrailingZeros(cells);
+      cells &= cells - 1;
+      if (!board.isOccupied(cell) && !board.isDome(cell) && board.getHeight(cell) > 0) {
+        turns.add(Turn.withRemove(turn, cell));
+      }
+    }
+  }
+
+  /**
+   * Method play plays an encoded turn on a position.
+   *
+   * @param position of type Position - the board, which is modified.
+   * @param colorId of type int - the color id of the player's workers.
+   * @param god of type Card - the player's god.
+   * @param turn of type long - a turn generated for this position.
+   * @return boolean true if the turn wins the game, false otherwise.
+   */
+  public static boolean play(Position position, int colorId, Card god, long turn) {
+    int from = position.find(colorId, Turn.getWorkerNum(turn));
+    if (Turn.getPreBuild(turn) != Turn.NONE) {
+      build(position, Turn.getPreBuild(turn), false);
+    }
+    if (Turn.getForce(turn) != Turn.NONE) {
+      force(position, from, Turn.getForce(turn));
+    }
+    move(position, from, Turn.getMove(turn), god);
+    if (Turn.getSecondMove(turn) != Turn.NONE) {
+      move(position, Turn.getMove(turn), Turn.getSecondMove(turn), god);
+    }
+    if (Turn.getBuild(turn) != Turn.NONE) {
+      build(position, Turn.getBuild(turn), Turn.isDome(turn));
+    }
+    if (Turn.getSecondBuild(turn) != Turn.NONE) {
+      build(position, Turn.getSecondBuild(turn), false);
+    }
+    if (Turn.getRemove(turn) != Turn.NONE) {
+      position.setHeight(Turn.getRemove(turn), position.getHeight(Turn.getRemove(turn)) - 1);
+    }
+    return Turn.isWin(turn);
+  }
+
+  /**
+   * Method tritonPath returns the cells Triton goes through in a turn, from the first move to the
+   * last one.
+   *
+   * @param position of type Position - the board at the beginning of the turn.
+   * @param colorId of type int - the color id of Triton's workers.
+   * @param turn of type long - a turn generated for this position.
+   * @param canMoveUp of type boolean - false if the worker couldn't move up.
+   * @return int[] - the cells, in order.
+   */
+  public static int[] tritonPath(Position position, int colorId, long turn, boolean canMoveUp) {
+    int start = Turn.getMove(turn);
+    int end = Turn.getSecondMove(turn);
+    if (end == Turn.NONE) {
+      return new int[] {start};
+    }
+    Position moved = position.copy();
+    move(moved, moved.find(colorId, Turn.getWorkerNum(turn)), start, Card.TRITON);
+    int[] previous = new int[Position.CELLS];
+    previous[start] = start;
+    int reached = 1 << start;
+    int[] queue = new int[Position.CELLS];
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = start;
+    while (head < tail && (reached & 1 << end) == 0) {
+      int from = queue[head++];
+      int cells = tritonSteps(moved, start, from, canMoveUp) & ~reached;
+      while (cells != 0) {
+        int to = Integer.numberOfTrailingZeros(cells);
+        cells &= cells - 1;
+        boolean winning = wins(moved.getHeight(from), moved.getHeight(to), Card.TRITON);
+        if (to == end ? winning == Turn.isWin(turn) : !winning) {
+          reached |= 1 << to;
+          previous[to] = from;
+          if (to != end && (Rules.PERIMETER & 1 << to) != 0) {
+            queue[tail++] = to;
+          }
+        }
+      }
+    }
+    int length = 1;
+    for (int cell = end; cell != start; cell = previous[cell]) {
+      length++;
+    }
+    int[] path = new int[length];
+    for (int cell = end, i = length - 1; i >= 0; cell = previous[cell], i--) {
+      path[i] = cell;
+    }
+    return path;
+  }
+
+  /**
+   * Method move moves a worker, swapping (Apollo) or pushing (Minotaur) the opponent worker on the
+   * destination.
+   *
+   * @param position of type Position - the board.
+   * @param from of type int - the worker's cell.
+   * @param to of type int - the destination.
+   * @param god of type Card - the worker's god.
+   * @return boolean true if the move wins the game, false otherwise.
+   */
+  private static boolean move(Position position, int from, int to, Card god) {
+    int color = position.getColorId(from);
+    int workerNum = position.getWorkerNum(from);
+    boolean pushed = false;
+    if (!position.isOccupied(to)) {
+      position.clearWorker(from);
+    } else if (god == Card.APOLLO) {
+      position.setWorker(from, position.getColorId(to), position.getWorkerNum(to));
+    } else {
+      Couple behind =
+          Rules.beyond(Position.row(from), Position.col(from), Position.row(to), Position.col(to));
+      int index = Position.index(behind.getRow(), behind.getColumn());
+      position.setWorker(index, position.getColorId(to), position.getWorkerNum(to));
+      position.clearWorker(from);
+      pushed = true;
+    }
+    position.setWorker(to, color, workerNum);
+    return !pushed && wins(position.getHeight(from), position.getHeight(to), god);
+  }
+
+  /**
+   * Method wins returns true if a move between the two heights wins the game.
+   *
+   * @param fromHeight of type int - the height the worker moves from.
+   * @param toHeight of type int - the height the worker moves to.
+   * @param god of type Card - the worker's god.
+   * @return boolean true if winning, false otherwise.
+   */
+  private static boolean wins(int fromHeight, int toHeight, Card god) {
+    return fromHeight == 2 && toHeight == 3 || god == Card.PAN && fromHeight - toHeight > 1;
+  }
+
+  /**
+   * Method build adds a block, or a dome, onto a cell.
+   *
+   * @param position of type Position - the board.
+   * @param cell of type int - the cell.
+   * @param dome of type boolean - true to build a dome whatever the height.
+   */
+  private static void build(Position position, int cell, boolean dome) {
+    if (dome || position.getHeight(cell) == 3) {
+      position.setDome(cell, true);
+    } else {
+      position.setHeight(cell, position.getHeight(cell) + 1);
+    }
+  }
+
+  /**
+   * Method force moves the opponent worker on a cell to the other side of Charon, if possible.
+   *
+   * @param position of type Position - the board.
+   * @param from of type int - Charon's cell.
+   * @param opponent of type int - the opponent worker's cell.
+   * @return boolean true if the worker has been forced, false otherwise.
+   */
+  private static boolean force(Position position, int from, int opponent) {
+    if (!position.isOccupied(opponent)
+        || position.getColorId(opponent) == position.getColorId(from)) {
+      return false;
+    }
+    Couple target =
+        Rules.beyond(
+            Position.row(opponent), Position.col(opponent), Position.row(from), Position.col(from));
+    if (!Rules.exists(target.getRow(), target.getColumn())) {
+      return false;
+    }
+    int index = Position.index(target.getRow(), target.getColumn());
+    if (position.isOccupied(index) || position.isDome(index)) {
+      return false;
+    }
+    position.setWorker(index, position.getColorId(opponent), position.getWorkerNum(opponent));
+    position.clearWorker(opponent);
+    return true;
+  }
+}
@@ -0,0 +1,48 @@
+package it.polimi.ingsw.server;
+
+import it.polimi.ingsw.client.messages.actions.UserAction;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * ActionRouter class is the dispatch table of the user actions. For every match phase it maps each
+ * accepted UserAction class to its handler, so that rejecting an action sent in the wrong phase
+ * and routing a valid one both cost a couple of map lookups. Classes are matched exactly: a
+ * subclass (like AtlasBuildAction) must be registered on its own.
+ * @author Luca Pirovano
+ */
+public class ActionRouter {
+  private final Map<MatchPhase, Map<Class<? extends UserAction>, Consumer<UserAction>>> routes =
+      new EnumMap<>(MatchPhase.class);
+
+  /**
+   * Method register adds a route for the provided action type, valid in the listed phases.
+   * @param type of type Class&lt;T&gt; - the exact class of the action.
+   * @param handler of type Consumer&lt;? super T&gt; - the handler of the action.
+   * @param phases of type MatchPhase... - the phases accepting the action.
+   * @param <T> the action type.
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends UserAction> void register(
+      Class<T> type, Consumer<? super T> handler, MatchPhase... phases) {
+    Consumer<UserAction> route = action -> handler.accept((T) action);
+    for (MatchPhase phase : phases) {
+      routes.computeIfAbsent(phase, key -> new HashMap<>()).put(type, route);
+    }
+  }
+
+  /**
+   * Method lookup returns the handler of an action in the provided phase.
+   * @param phase of type MatchPhase - the current match phase.
+   * @param action of type UserAction - the action received from the client.
+   * @return Consumer&lt;UserAction&gt; - the handler, or null if the action is not accepted in
+   *     this phase.
+   */
+  public Consumer<UserAction> lookup(MatchPhase phase, UserAction action) {
+    Map<Class<? extends UserAction>, Consumer<UserAction>> table = routes.get(phase);
+    return table == null ? null : table.get(action.getClass());
+  }
+}
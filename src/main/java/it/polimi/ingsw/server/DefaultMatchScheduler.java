@@ -0,0 +1,37 @@
+package it.polimi.ingsw.server;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DefaultMatchScheduler class is the MatchScheduler shared by every match of the server. A single
+ * daemon thread is enough, since scheduled tasks only send a few messages and never wait.
+ * @author Luca Pirovano
+ */
+public final class DefaultMatchScheduler implements MatchScheduler {
+  private static final DefaultMatchScheduler INSTANCE = new DefaultMatchScheduler();
+  private final ScheduledExecutorService executor =
+      Executors.newSingleThreadScheduledExecutor(
+          task -> {
+            Thread thread = new Thread(task, "match-scheduler");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private DefaultMatchScheduler() {}
+
+  /**
+   * Method getInstance returns the shared scheduler.
+   * @return MatchScheduler - the shared scheduler.
+   */
+  public static MatchScheduler getInstance() {
+    return INSTANCE;
+  }
+
+  /** @see MatchScheduler#schedule(Runnable, long, TimeUnit) */
+  @Override
+  public void schedule(Runnable task, long delay, TimeUnit unit) {
+    executor.schedule(task, delay, unit);
+  }
+}
@@ -3,38 +3,72 @@ package it.polimi.ingsw.server;
 import it.polimi.ingsw.client.messages.actions.ChallengerPhaseAction;
 import it.polimi.ingsw.client.messages.actions.UserAction;
 import it.polimi.ingsw.client.messages.actions.WorkerSetupAction;
+import it.polimi.ingsw.client.messages.actions.turnactions.EndTurnAction;
+import it.polimi.ingsw.client.messages.actions.turnactions.HintAction;
 import it.polimi.ingsw.client.messages.actions.turnactions.StartTurnAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.AtlasBuildAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.BuildAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.MoveAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.PackedAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.SelectBuildAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.SelectMoveAction;
 import it.polimi.ingsw.constants.Constants;
 import it.polimi.ingsw.controller.Controller;
+import it.polimi.ingsw.controller.TurnController;
+import it.polimi.ingsw.model.Card;
 import it.polimi.ingsw.model.Game;
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.player.PlayerColors;
+import it.polimi.ingsw.model.player.Worker;
+import it.polimi.ingsw.model.rules.Evaluator;
+import it.polimi.ingsw.model.rules.Position;
+import it.polimi.ingsw.model.rules.PositionKey;
 import it.polimi.ingsw.server.answers.*;
 import it.polimi.ingsw.server.answers.turn.StartTurnMessage;
+import it.polimi.ingsw.server.storage.MatchJournal;
+import it.polimi.ingsw.server.storage.MatchRecord;
+import it.polimi.ingsw.server.storage.PlayerProfile;
+import it.polimi.ingsw.server.storage.ProfileStore;
 
-import java.beans.PropertyChangeSupport;
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * GameHandler class handles a single match, instantiating a game mode (Game class) and a main controller (Controller
  * class). It also manages the startup phase, like the marker's color selection.
+ * Every random choice of the match comes from a generator seeded at creation, and every input is handled under the
+ * handler lock and written in the match journal first, so a match can be replayed exactly from its journal (see
+ * MatchReplayer).
  * @author Luca Pirovano
 
  */
 public class GameHandler {
     private static final String PLAYER = "Player";
+    private static final int COUNTDOWN_STEPS = 3;
+    private static final long COUNTDOWN_STEP_MILLIS = 500;
+    private static final long PACING_DELAY = 1;
     private final Server server;
     private final Controller controller;
     private final Game game;
-    private final PropertyChangeSupport controllerListener = new PropertyChangeSupport(this);
-    private final Logger logger = Logger.getLogger(getClass().getName());
-    private final Random rnd = new Random();
-    private int started;
+    private final Random rnd;
+    private final MatchJournal journal;
+    private final AtomicInteger timers = new AtomicInteger();
+    private final MatchStateMachine lifecycle;
+    private final ActionRouter router = new ActionRouter();
+    private final Set<VirtualClient> pendingFlush = new LinkedHashSet<>();
+    private volatile Thread batchOwner;
+    private final List<Player> lineup = new ArrayList<>();
+    private long matchStart;
+    private int starterIndex = MatchRecord.NONE;
+    private int turns;
     private int playersNumber;
 
     /**
@@ -43,21 +77,89 @@ public class GameHandler {
      * @param server of type Server - the main server class.
      */
     public GameHandler(Server server) {
+        this(server, DefaultMatchScheduler.getInstance());
+    }
+
+
+    /**
+     * Constructor GameHandler creates a new GameHandler instance, pacing its lifecycle with the provided scheduler.
+     *
+     * @param server of type Server - the main server class.
+     * @param scheduler of type MatchScheduler - the scheduler of the timed phase transitions.
+     */
+    public GameHandler(Server server, MatchScheduler scheduler) {
+        this(server, scheduler, ThreadLocalRandom.current().nextLong());
+    }
+
+
+    /**
+     * Constructor GameHandler creates a new GameHandler instance, whose random choices come from the provided seed.
+     *
+     * @param server of type Server - the main server class.
+     * @param scheduler of type MatchScheduler - the scheduler of the timed phase transitions.
+     * @param seed of type long - the seed of the match random generator.
+     */
+    public GameHandler(Server server, MatchScheduler scheduler, long seed) {
         this.server = server;
-        started = 0;
+        rnd = new Random(seed);
+        journal = new MatchJournal(seed);
+        lifecycle = new MatchStateMachine(journaled(scheduler));
         game = new Game();
         controller = new Controller(game, this);
-        controllerListener.addPropertyChangeListener(controller);
+        registerRoutes();
     }
 
 
     /**
-     * Method isStarted returns if the game has started (the started attribute becomes true after the challenger
-     * selection phase).
-     * @return int - the current game phase.
+     * Method journaled wraps the scheduler of the match: each timed task gets a sequence number, and its firing is
+     * handled like any other input, under the handler lock and after being written in the journal.
+     *
+     * @param scheduler of type MatchScheduler - the scheduler of the timed phase transitions.
+     * @return MatchScheduler - the wrapped scheduler.
      */
-    public int isStarted() {
-        return started;
+    private MatchScheduler journaled(MatchScheduler scheduler) {
+        return (task, delay, unit) -> {
+            int timer = timers.getAndIncrement();
+            scheduler.schedule(() -> {
+                synchronized (this) {
+                    journal.add(new MatchJournal.Entry(MatchJournal.Kind.TIMER, null, null, timer, boardKey()));
+                    task.run();
+                }
+            }, delay, unit);
+        };
+    }
+
+
+    /**
+     * Method registerRoutes fills the dispatch table with the actions accepted in each match phase.
+     */
+    private void registerRoutes() {
+        TurnController turnController = controller.getTurnController();
+        router.register(ChallengerPhaseAction.class, this::challengerPhase, MatchPhase.GOD_SELECTION,
+                MatchPhase.GOD_CHOICE, MatchPhase.STARTER_SELECTION);
+        router.register(WorkerSetupAction.class, this::workerPlacement, MatchPhase.WORKER_PLACEMENT);
+        router.register(StartTurnAction.class, turnController::startTurn, MatchPhase.PLAYING);
+        router.register(SelectMoveAction.class, turnController::checkSelectMoveAction, MatchPhase.PLAYING);
+        router.register(MoveAction.class, turnController::checkMoveAction, MatchPhase.PLAYING);
+        router.register(SelectBuildAction.class, turnController::checkSelectBuildAction, MatchPhase.PLAYING);
+        router.register(BuildAction.class, turnController::checkBuildAction, MatchPhase.PLAYING);
+        router.register(AtlasBuildAction.class, turnController::checkBuildAction, MatchPhase.PLAYING);
+        router.register(PackedAction.class, turnController::checkPackedAction, MatchPhase.PLAYING);
+        router.register(EndTurnAction.class, action -> {
+            if (turnController.endTurn()) {
+                turns++;
+            }
+        }, MatchPhase.PLAYING);
+        router.register(HintAction.class, action -> hint(), MatchPhase.PLAYING);
+    }
+
+
+    /**
+     * Method getPhase returns the current phase of the match lifecycle.
+     * @return MatchPhase - the current game phase.
+     */
+    public MatchPhase getPhase() {
+        return lifecycle.getPhase();
     }
 
 
@@ -69,6 +171,51 @@ public class GameHandler {
      */
     public void setPlayersNumber(int playersNumber) {
         this.playersNumber = playersNumber;
+        journal.setPlayers(playersNumber);
+    }
+
+
+    /**
+     * Method getSeed returns the seed of the match random generator.
+     *
+     * @return the seed (type long) of this GameHandler object.
+     */
+    public long getSeed() {
+        return journal.getSeed();
+    }
+
+
+    /**
+     * Method getJournal returns the input journal of the match.
+     *
+     * @return the journal (type MatchJournal) of this GameHandler object.
+     */
+    public MatchJournal getJournal() {
+        return journal;
+    }
+
+
+    /**
+     * Method record writes an input in the match journal, together with the fingerprint of the board. It must be
+     * called right before handling the input, while holding the handler lock.
+     *
+     * @param kind of type MatchJournal.Kind - the kind of input.
+     * @param nickname of type String - the player the input comes from.
+     * @param message of type Serializable - the message or action received, null if the kind has none.
+     */
+    synchronized void record(MatchJournal.Kind kind, String nickname, Serializable message) {
+        journal.add(new MatchJournal.Entry(kind, nickname, message, 0, boardKey()));
+    }
+
+
+    /**
+     * Method boardKey returns the fingerprint of the board.
+     *
+     * @return long - the fingerprint.
+     * @see PositionKey#board(Position)
+     */
+    synchronized long boardKey() {
+        return PositionKey.board(game.toPosition());
     }
 
 
@@ -133,13 +280,32 @@ public class GameHandler {
     }
 
 
+    /**
+     * Method startCountdown is called by the lobby once the match is full. It notifies the players with a short
+     * countdown and then starts the color selection; every step is scheduled, so the calling thread never waits.
+     */
+    public void startCountdown() {
+        lifecycle.advance(MatchPhase.COUNTDOWN);
+        for (int i = COUNTDOWN_STEPS; i > 0; i--) {
+            String message = "Match starting in " + i;
+            lifecycle.schedule(MatchPhase.COUNTDOWN, (long) (COUNTDOWN_STEPS - i) * COUNTDOWN_STEP_MILLIS,
+                    TimeUnit.MILLISECONDS, () -> sendAll(new CustomMessage(message, false)));
+        }
+        lifecycle.scheduleTransition(MatchPhase.COUNTDOWN, MatchPhase.COLOR_SELECTION,
+                (long) COUNTDOWN_STEPS * COUNTDOWN_STEP_MILLIS, TimeUnit.MILLISECONDS, () -> {
+                    sendAll(new CustomMessage("The match has started!", false));
+                    PlayerColors.reset();
+                    setup();
+                });
+    }
+
+
     /**
      * Method setup handles the preliminary player setup phase; in this phase the color of workers' markers will be
      * asked the player, with a double check (on both client and server sides) of the validity of them
      * (also in case of duplicate colors).
      */
     public void setup() {
-        if(started==0) started=1;
         ColorMessage req = new ColorMessage("Please choose your workers' color.");
         req.addRemaining(PlayerColors.notChosen());
         if(playersNumber==2 && PlayerColors.notChosen().size()>1) {
@@ -160,12 +326,9 @@ public class GameHandler {
                 singleSend(new ColorMessage(null, PlayerColors.notChosen().get(0).toString()),
                         server.getIDByNickname(nickname));
                 PlayerColors.choose(PlayerColors.notChosen().get(0));
-                try {
-                    TimeUnit.SECONDS.sleep(1);
-                } catch (InterruptedException e) {
-                    logger.log(Level.SEVERE, e.getMessage(), e);
-                    Thread.currentThread().interrupt();
-                }
+                lifecycle.scheduleTransition(MatchPhase.COLOR_SELECTION, MatchPhase.GOD_SELECTION, PACING_DELAY,
+                        TimeUnit.SECONDS, this::challengerSelection);
+                return;
             }
             else {
                 server.getClientByID(server.getIDByNickname(nickname)).send(req);
@@ -175,7 +338,15 @@ public class GameHandler {
             }
         }
 
-        //Challenger section
+        lifecycle.advance(MatchPhase.GOD_SELECTION);
+        challengerSelection();
+    }
+
+
+    /**
+     * Method challengerSelection randomly picks the challenger, who is asked to choose the god powers of the match.
+     */
+    private void challengerSelection() {
         game.setCurrentPlayer(game.getActivePlayers().get(rnd.nextInt(playersNumber)));
         singleSend(new ChallengerMessages(game.getCurrentPlayer().getNickname() + ", you are the challenger!\nYou " +
                         "have to choose gods power. Type GODLIST to get a list of available gods, GODDESC <god name>" +
@@ -207,24 +378,82 @@ public class GameHandler {
 
 
     /**
-     * Method makeAction handles an action received from a single client.
-     * It makes several instance checks. It's based on the value of "started", which represents the current
-     * game phase, in this order:
-     * - 0: color phase
-     * - 1: challenger phase;
-     * - 2: players select their god powers;
-     * - 3: board worker placement;
-     * - 4: the game has started.
+     * Method makeAction handles an action received from a single client. If the sender is not the current player, or
+     * if the dispatch table of the current match phase does not accept the action, an error is sent back; otherwise
+     * the action is passed to its handler. The action is written in the journal first.
      *
      * @param action of type UserAction - the action sent by the client.
-     * @param type of type String - the action type.
-     */
-    public void makeAction(UserAction action, String type) {
-        switch (type) {
-            case "ChallengerPhase" -> challengerPhase(action);
-            case "WorkerPlacement" -> workerPlacement((WorkerSetupAction) action);
-            case "turnController" -> controllerListener.firePropertyChange(type, null, action);
-            default -> singleSend(new GameError(ErrorsType.INVALIDINPUT), getCurrentPlayerID());
+     * @param clientID of type int - the unique id of the sender.
+     */
+    public synchronized void makeAction(UserAction action, int clientID) {
+        record(MatchJournal.Kind.MESSAGE, server.getNicknameByID(clientID), action);
+        if (getCurrentPlayerID() != clientID) {
+            singleSend(new GameError(ErrorsType.NOTYOURTURN), clientID);
+            return;
+        }
+        Consumer<UserAction> route = router.lookup(getPhase(), action);
+        if (route == null) {
+            singleSend(new GameError(ErrorsType.INVALIDINPUT, "Not in correct game phase to perform this command!"),
+                    clientID);
+        } else {
+            batchOwner = Thread.currentThread();
+            try {
+                route.accept(action);
+            } finally {
+                batchOwner = null;
+                pendingFlush.forEach(VirtualClient::flush);
+                pendingFlush.clear();
+            }
+        }
+    }
+
+
+    /**
+     * Method deferFlush is called by a virtual client before writing an answer. While an action is being handled,
+     * every answer it produces is written without flushing the socket, and the client is flushed once at the end
+     * of the action: a whole move or build reaches each client as a single coalesced update. Answers sent from
+     * any other thread (like the scheduled phase transitions) are flushed immediately.
+     *
+     * @param client of type VirtualClient - the client which is going to be written.
+     * @return boolean true if the flush has been deferred to the end of the action, false otherwise.
+     */
+    boolean deferFlush(VirtualClient client) {
+        if (Thread.currentThread() != batchOwner) {
+            return false;
+        }
+        pendingFlush.add(client);
+        return true;
+    }
+
+
+    /**
+     * Method hint asks the server hint service for the best turn of the current player. The board is copied on the
+     * thread handling the action, while the search runs on the analysis pool, so turns are never delayed by hints;
+     * the hint is sent back once found, unless the player has left in the meantime.
+     */
+    private void hint() {
+        int clientID = getCurrentPlayerID();
+        Player current = game.getCurrentPlayer();
+        if (controller.getTurnController().isTurnStarted() || current.getWorkers().isEmpty()) {
+            singleSend(new GameError(ErrorsType.INVALIDINPUT, "Hints are given before playing any part of the turn!"),
+                    clientID);
+            return;
+        }
+        Card[] gods = new Card[Evaluator.COLORS];
+        for (Player player : game.getActivePlayers()) {
+            gods[Position.colorId(player.getColor().toString())] = player.getCard();
+        }
+        int colorId = Position.colorId(current.getColor().toString());
+        boolean canMoveUp = current.getWorkers().get(0).canMoveUp();
+        boolean accepted = server.getHints().request(game.toPosition(), colorId, gods, canMoveUp, hint -> {
+            VirtualClient client = server.getClientByID(clientID);
+            if (client != null) {
+                client.send(hint == null ? new GameError(ErrorsType.WORKERBLOCKED) : hint);
+            }
+        });
+        if (!accepted) {
+            singleSend(new GameError(ErrorsType.INVALIDINPUT, "Too many hints requested, please try again later."),
+                    clientID);
         }
     }
 
@@ -237,7 +466,7 @@ public class GameHandler {
      */
     public void workerPlacement(WorkerSetupAction action) {
         if(action!=null) {
-            controllerListener.firePropertyChange("workerPlacement", null, action);
+            controller.placeWorkers(action);
             if(game.getCurrentPlayer().getWorkers().get(0).getPosition()==null) {
                 return;
             }
@@ -250,16 +479,11 @@ public class GameHandler {
             game.getActivePlayers().forEach(n -> startedMessage.setPlayerMapGod(n.getNickname(),
                     n.getCard().toString()));
             sendAll(startedMessage);
-            try {
-                TimeUnit.SECONDS.sleep(1);
-            } catch (InterruptedException e) {
-                System.err.println(e.getMessage());
-                Thread.currentThread().interrupt();
-            }
-            controllerListener.firePropertyChange("turnController", null, new StartTurnAction());
-            sendAllExcept(new StartTurnMessage(controller.getModel().getCurrentPlayer().getNickname()),
-                    getCurrentPlayerID());
-            started = 4;
+            lineup.addAll(game.getActivePlayers());
+            matchStart = System.currentTimeMillis();
+            lifecycle.advance(MatchPhase.MATCH_STARTED);
+            lifecycle.scheduleTransition(MatchPhase.MATCH_STARTED, MatchPhase.PLAYING, PACING_DELAY,
+                    TimeUnit.SECONDS, this::startFirstTurn);
             return;
         }
         List<int[]> spaces = new ArrayList<>();
@@ -281,17 +505,26 @@ public class GameHandler {
     }
 
 
+    /**
+     * Method startFirstTurn starts the turn of the first player, once the board has been shown to everyone.
+     */
+    private void startFirstTurn() {
+        controller.getTurnController().startTurn(new StartTurnAction());
+        sendAllExcept(new StartTurnMessage(controller.getModel().getCurrentPlayer().getNickname()),
+                getCurrentPlayerID());
+    }
+
+
     /**
      * Method challengerPhaseChoose handles the second game phase: the user chooses his god card.
-     * If he is in the wrong turn phase (checked by the "started" int value) an error message in created and sent to the
+     * If he is in the wrong turn phase (checked by the match phase) an error message in created and sent to the
      * client, who is requested to send another command.
      *
      * @param userAction of type ChallengerPhaseAction - the action of the current player.
-     * @param godSelection of type String - the selection of the god card.
      */
-    public void challengerPhaseChoose(ChallengerPhaseAction userAction, String godSelection) {
+    public void challengerPhaseChoose(ChallengerPhaseAction userAction) {
         if(userAction.action.equals("CHOOSE")) {
-            controllerListener.firePropertyChange(godSelection, null, userAction);
+            controller.selectGod(userAction);
             if (game.getDeck().getCards().size() > 1) {
                 if(!game.getCurrentPlayer().getWorkers().isEmpty() && game.getDeck().getCards().size()>1) {
                     game.nextPlayer();
@@ -313,8 +546,7 @@ public class GameHandler {
                         " is choosing his god power...", false), getCurrentPlayerID());
             } else if (game.getDeck().getCards().size() == 1) {
                 game.nextPlayer();
-                controllerListener.firePropertyChange(godSelection, null,
-                        new ChallengerPhaseAction("LASTSELECTION"));
+                controller.selectGod(new ChallengerPhaseAction("LASTSELECTION"));
                 ArrayList<String> players = new ArrayList<>();
                 game.getActivePlayers().forEach(n -> players.add(n.getNickname()));
                 singleSend(new ChallengerMessages(game.getCurrentPlayer().getNickname() + ", choose the " +
@@ -323,7 +555,7 @@ public class GameHandler {
                 sendAllExcept(new CustomMessage(PLAYER + " " + game.getCurrentPlayer().getNickname() + " is " +
                         "choosing the starting player!", false),
                         game.getCurrentPlayer().getClientID());
-                started = 3;
+                lifecycle.advance(MatchPhase.STARTER_SELECTION);
             }
         }
         else {
@@ -335,14 +567,13 @@ public class GameHandler {
 
     /**
      * Method challengerPhase handles the challenger game phase (based on the listener message).
-     * It triggers the correct method relying on the started value.
+     * It triggers the correct method relying on the match phase.
      *
-     * @param action of type UserAction - the action to be performed
+     * @param userAction of type ChallengerPhaseAction - the action to be performed
      */
-    public void challengerPhase(UserAction action) {
-        ChallengerPhaseAction userAction = (ChallengerPhaseAction)action;
-        String godSelection = "godSelection";
-        if (started < 2 || started>3) {
+    public void challengerPhase(ChallengerPhaseAction userAction) {
+        MatchPhase phase = getPhase();
+        if (phase != MatchPhase.GOD_CHOICE && phase != MatchPhase.STARTER_SELECTION) {
             if(userAction.startingPlayer!=null) {
                 singleSend(new GameError(ErrorsType.INVALIDINPUT), game.getCurrentPlayer().getClientID());
                 return;
@@ -352,9 +583,9 @@ public class GameHandler {
                         "this command!" + Constants.ANSI_RESET), getCurrentPlayerID());
                 return;
             }
-            controllerListener.firePropertyChange(godSelection, null, action);
+            controller.selectGod(userAction);
             if (game.getDeck().getCards().size() == playersNumber) {
-                started = 2;
+                lifecycle.advance(MatchPhase.GOD_CHOICE);
                 game.nextPlayer();
                 singleSend(new ChallengerMessages(server.getNicknameByID(getCurrentPlayerID()) +
                         ", please choose your god power from one of the list below.", game.getDeck().getCards()),
@@ -363,12 +594,12 @@ public class GameHandler {
                         " is" + " choosing his god power...", false), getCurrentPlayerID());
             }
         }
-        else if (started == 2) {
+        else if (phase == MatchPhase.GOD_CHOICE) {
             if(userAction.startingPlayer!=null) {
                 singleSend(new GameError(ErrorsType.INVALIDINPUT), game.getCurrentPlayer().getClientID());
                 return;
             }
-            challengerPhaseChoose(userAction, godSelection);
+            challengerPhaseChoose(userAction);
         }
         else if(userAction.startingPlayer!=null) {
             if(userAction.startingPlayer < 0 || userAction.startingPlayer > game.getActivePlayers().size()) {
@@ -377,11 +608,12 @@ public class GameHandler {
                 return;
             }
             game.setCurrentPlayer(game.getActivePlayers().get(userAction.startingPlayer));
+            starterIndex = userAction.startingPlayer;
             singleSend(new CustomMessage(game.getCurrentPlayer().getNickname() + ", you are the first " +
                     "player; let's go!", false), getCurrentPlayerID());
             sendAllExcept(new CustomMessage("Well done! " + game.getCurrentPlayer().getNickname() + " is " +
                     "the first player!", false), getCurrentPlayerID());
-            started = 5;
+            lifecycle.advance(MatchPhase.WORKER_PLACEMENT);
             workerPlacement(null);
         }
     }
@@ -405,6 +637,10 @@ public class GameHandler {
      * @param leftNickname of type String the nickname of the player who left the game.
      */
     public void endGame(String leftNickname) {
+        if (isMatchRunning()) {
+            recordMatch(null);
+        }
+        lifecycle.end();
         sendAll(new ConnectionMessage(PLAYER + " " + leftNickname + " left the game, the match will now end." +
                 "\nThanks for playing!", 1));
         while(!game.getActivePlayers().isEmpty()) {
@@ -418,8 +654,71 @@ public class GameHandler {
      * It also unregisters each client connected to the server, freeing a new lobby.
      */
     public void endGame() {
+        if (isMatchRunning()) {
+            recordMatch(game.getCurrentPlayer());
+        }
+        lifecycle.end();
         while(!game.getActivePlayers().isEmpty()) {
             server.getClientByID(game.getActivePlayers().get(0).getClientID()).getConnection().close();
         }
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Method isMatchRunning checks if the match has started and has not ended yet, so its result has to be stored.
+     *
+     * @return boolean true if the match is running, false otherwise.
+     */
+    private boolean isMatchRunning() {
+        MatchPhase phase = getPhase();
+        return server != null && (phase == MatchPhase.MATCH_STARTED || phase == MatchPhase.PLAYING);
+    }
+
+
+    /**
+     * Method recordMatch stores the summary of the match in the server profile store, updating the ratings of the
+     * players, and closes the journal with the outcome of the match.
+     *
+     * @param winner of type Player - the winner of the match, null if the match has been aborted.
+     */
+    private void recordMatch(Player winner) {
+        int winnerIndex = winner == null ? MatchRecord.NONE : lineup.indexOf(winner);
+        journal.finish(winnerIndex, turns, boardKey());
+        ProfileStore profiles = server.getProfiles();
+        int[] ids = new int[lineup.size()];
+        Card[] gods = new Card[lineup.size()];
+        for (int i = 0; i < lineup.size(); i++) {
+            PlayerProfile profile = profiles.getProfile(lineup.get(i).getNickname());
+            if (profile == null) {
+                return;
+            }
+            ids[i] = profile.getId();
+            gods[i] = lineup.get(i).getCard();
+        }
+        MatchRecord.Cause cause = winnerIndex == MatchRecord.NONE ? MatchRecord.Cause.ABORTED : winCause(winner);
+        profiles.recordMatch(new MatchRecord(matchStart, (int) (System.currentTimeMillis() - matchStart), turns,
+                starterIndex, winnerIndex, cause, ids, gods, journal.getSeed()), journal);
+    }
+
+
+    /**
+     * Method winCause finds out how the match has been won: by blocking every worker of an opponent, by climbing on
+     * a third level or otherwise by moving down two levels (Pan).
+     *
+     * @param winner of type Player - the winner of the match.
+     * @return MatchRecord.Cause - the cause of the win.
+     */
+    private MatchRecord.Cause winCause(Player winner) {
+        for (Player player : game.getActivePlayers()) {
+            if (player != winner && player.getWorkers().stream().allMatch(Worker::isBlocked)) {
+                return MatchRecord.Cause.BLOCK;
+            }
+        }
+        for (Worker worker : winner.getWorkers()) {
+            if (worker.getPosition() != null && worker.getPosition().getTower().getHeight() == 3) {
+                return MatchRecord.Cause.CLIMB;
+            }
+        }
+        return MatchRecord.Cause.DROP;
+    }
+}
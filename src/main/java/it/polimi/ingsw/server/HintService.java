@@ -0,0 +1,339 @@
+package it.polimi.ingsw.server;
+
+import it.polimi.ingsw.model.Card;
+import it.polimi.ingsw.model.book.BookFile;
+import it.polimi.ingsw.model.book.OpeningBook;
+import it.polimi.ingsw.model.book.Tablebase;
+import it.polimi.ingsw.model.rules.Evaluator;
+import it.polimi.ingsw.model.rules.Position;
+import it.polimi.ingsw.model.rules.PositionKey;
+import it.polimi.ingsw.model.rules.Search;
+import it.polimi.ingsw.model.rules.Symmetry;
+import it.polimi.ingsw.model.rules.TurnGenerator;
+import it.polimi.ingsw.server.answers.turn.HintMessage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * HintService class answers the hint requests of every match of the server. Requests are searched
+ * on a small pool of low priority daemon threads with a bounded queue, separated from the threads
+ * handling the turns: when the queue is full a request is refused instead of delaying the game.
+ * Each search is bounded by a time budget. Hints are cached by canonical position key, so asking
+ * twice for the same position, or for a symmetric one, costs a map lookup; two player positions
+ * are looked up in the tablebase and in the opening book of the gods first, when their files are
+ * available.
+ * @author Luca Pirovano
+ */
+public class HintService {
+  public static final String BOOKS_PROPERTY = "santorini.books";
+  public static final String DEFAULT_BOOKS_DIR = "santorini-data/books";
+  public static final long DEFAULT_BUDGET_MILLIS = 300;
+  public static final int MAX_DEPTH = 8;
+  private static final int DEFAULT_QUEUE = 16;
+  private static final int CACHE_SIZE = 4096;
+  private final Path books;
+  private final long budgetMillis;
+  private final ThreadPoolExecutor pool;
+  private final ThreadLocal<Search> searches =
+      ThreadLocal.withInitial(() -> new Search(new Evaluator()));
+  private final Map<String, Optional<OpeningBook>> openings = new ConcurrentHashMap<>();
+  private final Map<String, Optional<Tablebase>> tablebases = new ConcurrentHashMap<>();
+  private final Map<Long, CachedHint> cache =
+      new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CachedHint> eldest) {
+          return size() > CACHE_SIZE;
+        }
+      };
+
+  /**
+   * Constructor HintService creates a new HintService instance with the default budget, using half
+   * of the available processors.
+   *
+   * @param books of type Path - the directory of the opening books and tablebases, null for none.
+   */
+  public HintService(Path books) {
+    this(
+        books,
+        Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+        DEFAULT_QUEUE,
+        DEFAULT_BUDGET_MILLIS);
+  }
+
+  /**
+   * Constructor HintService creates a new HintService instance.
+   *
+   * @param books of type Path - the directory of the opening books and tablebases, null for none.
+   * @param threads of type int - the number of searching threads.
+   * @param queue of type int - the number of requests waiting for a thread.
+   * @param budgetMillis of type long - the time budget of a search, in milliseconds.
+   */
+  public HintService(Path books, int threads, int queue, long budgetMillis) {
+    this.books = books;
+    this.budgetMillis = budgetMillis;
+    AtomicInteger count = new AtomicInteger();
+    pool =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queue),
+            task -> {
+              Thread thread = new Thread(task, "hint-" + count.incrementAndGet());
+              thread.setDaemon(true);
+              thread.setPriority(Thread.MIN_PRIORITY);
+              return thread;
+            });
+  }
+
+  /**
+   * Method request asks for the best turn of a player. A cached hint is handed to the callback
+   * right away, on the calling thread; otherwise the position is searched on the pool and the
+   * callback is invoked by the searching thread.
+   *
+   * @param position of type Position - a snapshot of the board, which must not be modified later.
+   * @param colorId of type int - the color id of the player.
+   * @param gods of type Card[] - the gods of the players indexed by color id, null for the colors
+   *     not playing.
+   * @param canMoveUp of type boolean - false if the player can't move up this turn (Athena).
+   * @param callback of type Consumer&lt;HintMessage&gt; - receives the hint, or null if the player
+   *     is blocked.
+   * @return boolean true if the request has been accepted, false if the pool is full.
+   */
+  public boolean request(
+      Position position,
+      int colorId,
+      Card[] gods,
+      boolean canMoveUp,
+      Consumer<HintMessage> callback) {
+    int symmetry = Symmetry.canonical(s -> key(position, colorId, gods, canMoveUp, s));
+    long key = key(position, colorId, gods, canMoveUp, symmetry);
+    CachedHint cached;
+    synchronized (cache) {
+      cached = cache.get(key);
+    }
+    if (cached != null) {
+      callback.accept(cached.hint(symmetry));
+      return true;
+    }
+    try {
+      pool.execute(
+          () -> {
+            HintMessage hint = hint(position, colorId, gods, canMoveUp);
+            if (hint != null) {
+              synchronized (cache) {
+                cache.put(key, new CachedHint(hint, symmetry));
+              }
+            }
+            callback.accept(hint);
+          });
+      return true;
+    } catch (RejectedExecutionException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Method hint finds the best turn of a player: from the tablebase or the opening book of a two
+   * player match, otherwise by searching the position.
+   *
+   * @param position of type Position - the board.
+   * @param colorId of type int - the color id of the player.
+   * @param gods of type Card[] - the gods of the players.
+   * @param canMoveUp of type boolean - false if the player can't move up this turn.
+   * @return HintMessage - the hint, null if the player is blocked.
+   */
+  HintMessage hint(Position position, int colorId, Card[] gods, boolean canMoveUp) {
+    Card opponent = opponent(gods, colorId);
+    if (opponent != null) {
+      Card god = gods[colorId];
+      Optional<Tablebase> tablebase =
+          tablebases.computeIfAbsent(
+              BookFile.fileName(Tablebase.PREFIX, god, opponent),
+              name -> open(() -> Tablebase.open(books, god, opponent)));
+      if (tablebase.isPresent()) {
+        long turn = tablebase.get().bestTurn(position, colorId, god, canMoveUp);
+        if (turn != Search.NO_TURN) {
+          return message(position, colorId, god, canMoveUp, turn, 0);
+        }
+      }
+      Optional<OpeningBook> book =
+          openings.computeIfAbsent(
+              BookFile.fileName(OpeningBook.PREFIX, god, opponent),
+              name -> open(() -> OpeningBook.open(books, god, opponent)));
+      if (canMoveUp && book.isPresent()) {
+        long turn = book.get().lookup(position, colorId, god);
+        if (turn != Search.NO_TURN) {
+          return message(position, colorId, god, canMoveUp, turn, 0);
+        }
+      }
+    }
+    Search search = searches.get();
+    long turn = search.bestTurn(position, colorId, gods, canMoveUp, MAX_DEPTH, budgetMillis);
+    return turn == Search.NO_TURN
+        ? null
+        : message(position, colorId, gods[colorId], canMoveUp, turn, search.getDepth());
+  }
+
+  /**
+   * Method message returns the hint of a turn. A Triton turn only stores its first and last
+   * moves, so the cells in between are found on the board.
+   *
+   * @param position of type Position - the board.
+   * @param colorId of type int - the color id of the player.
+   * @param god of type Card - the god of the player.
+   * @param canMoveUp of type boolean - false if the player can't move up this turn.
+   * @param turn of type long - the suggested turn.
+   * @param depth of type int - the number of turns searched, 0 for a book or a tablebase.
+   * @return HintMessage - the hint.
+   */
+  private static HintMessage message(
+      Position position, int colorId, Card god, boolean canMoveUp, long turn, int depth) {
+    if (god == Card.TRITON) {
+      return new HintMessage(
+          turn, depth, TurnGenerator.tritonPath(position, colorId, turn, canMoveUp));
+    }
+    return new HintMessage(turn, depth);
+  }
+
+  /**
+   * Method opponent returns the god of the only opponent of a player.
+   *
+   * @param gods of type Card[] - the gods of the players.
+   * @param colorId of type int - the color id of the player.
+   * @return Card - the god of the opponent, null if the player has more than one.
+   */
+  private static Card opponent(Card[] gods, int colorId) {
+    Card opponent = null;
+    for (int color = 1; color < gods.length; color++) {
+      if (color != colorId && gods[color] != null) {
+        if (opponent != null) {
+          return null;
+        }
+        opponent = gods[color];
+      }
+    }
+    return opponent;
+  }
+
+  /**
+   * Method open opens a book or tablebase file, which may be missing.
+   *
+   * @param opener of type Opener&lt;T&gt; - opens the file.
+   * @param <T> the type of file.
+   * @return Optional&lt;T&gt; - the file, empty if there's no directory or it can't be opened.
+   */
+  private <T> Optional<T> open(Opener<T> opener) {
+    if (books == null) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(opener.open());
+    } catch (IOException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Method key returns the cache key of a request: the key of the position seen by each player,
+   * mixed with its god, so the colors of three player matches are told apart.
+   *
+   * @param position of type Position - the board.
+   * @param colorId of type int - the color id of the player about to play.
+   * @param gods of type Card[] - the gods of the players.
+   * @param canMoveUp of type boolean - false if the player can't move up this turn.
+   * @return long - the key.
+   */
+  static long key(Position position, int colorId, Card[] gods, boolean canMoveUp) {
+    return key(position, colorId, gods, canMoveUp, Symmetry.IDENTITY);
+  }
+
+  /**
+   * Method key returns the cache key of a request on the position moved by a symmetry.
+   *
+   * @param position of type Position - the board.
+   * @param colorId of type int - the color id of the player about to play.
+   * @param gods of type Card[] - the gods of the players.
+   * @param canMoveUp of type boolean - false if the player can't move up this turn.
+   * @param symmetry of type int - the symmetry.
+   * @return long - the key.
+   */
+  static long key(Position position, int colorId, Card[] gods, boolean canMoveUp, int symmetry) {
+    long key = PositionKey.of(position, colorId, canMoveUp, symmetry);
+    for (int color = 1; color < gods.length; color++) {
+      if (gods[color] != null) {
+        long seen = color == colorId ? 0 : PositionKey.of(position, color, true, symmetry);
+        key ^= Long.rotateLeft(seen ^ PositionKey.mix(gods[color].ordinal()), color);
+      }
+    }
+    return key;
+  }
+
+  /** Method shutdown stops the searching threads, discarding the waiting requests. */
+  public void shutdown() {
+    pool.shutdownNow();
+  }
+
+  /**
+   * Opener interface opens a file which can throw an IOException.
+   *
+   * @param <T> the type of file.
+   */
+  private interface Opener<T> {
+    T open() throws IOException;
+  }
+
+  /**
+   * CachedHint class is a cached hint, together with the symmetry moving the position it answers
+   * to the canonical one.
+   *
+   * @author Luca Pirovano
+   */
+  private static final class CachedHint {
+    private final HintMessage hint;
+    private final int symmetry;
+
+    /**
+     * Constructor CachedHint creates a new CachedHint instance.
+     *
+     * @param hint of type HintMessage - the hint.
+     * @param symmetry of type int - the canonical symmetry of the position of the hint.
+     */
+    CachedHint(HintMessage hint, int symmetry) {
+      this.hint = hint;
+      this.symmetry = symmetry;
+    }
+
+    /**
+     * Method hint returns the hint for a position sharing the canonical one.
+     *
+     * @param symmetry of type int - the canonical symmetry of the position.
+     * @return HintMessage - the cached hint if the position is the same, otherwise a hint with
+     *     the turn moved onto the position.
+     */
+    HintMessage hint(int symmetry) {
+      if (symmetry == this.symmetry) {
+        return hint;
+      }
+      long canonical = Symmetry.turn(hint.getTurn(), this.symmetry);
+      int[] path = hint.getPath();
+      for (int i = 0; i < path.length; i++) {
+        path[i] = Symmetry.cell(Symmetry.inverse(symmetry), Symmetry.cell(this.symmetry, path[i]));
+      }
+      return new HintMessage(
+          Symmetry.turn(canonical, Symmetry.inverse(symmetry)), hint.getDepth(), path);
+    }
+  }
+}
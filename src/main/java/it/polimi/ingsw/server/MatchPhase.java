@@ -0,0 +1,37 @@
+package it.polimi.ingsw.server;
+
+/**
+ * MatchPhase enum represents the lifecycle of a single match, from the lobby to the end of the
+ * game. Phases are walked in declaration order; ENDED can be reached from any of them.
+ * @author Luca Pirovano
+ */
+public enum MatchPhase {
+  LOBBY,
+  COUNTDOWN,
+  COLOR_SELECTION,
+  GOD_SELECTION,
+  GOD_CHOICE,
+  STARTER_SELECTION,
+  WORKER_PLACEMENT,
+  MATCH_STARTED,
+  PLAYING,
+  ENDED;
+
+  /**
+   * Method canAdvanceTo checks whether the lifecycle can move from this phase to the provided one.
+   * @param next of type MatchPhase - the requested phase.
+   * @return boolean true if next follows this phase or is ENDED, false otherwise.
+   */
+  public boolean canAdvanceTo(MatchPhase next) {
+    return next == ENDED || next.ordinal() == ordinal() + 1;
+  }
+
+  /**
+   * Method isInProgress returns whether the lobby has been closed and the match has not ended yet;
+   * a disconnection in these phases terminates the match for everyone.
+   * @return boolean true if the match is in progress, false otherwise.
+   */
+  public boolean isInProgress() {
+    return this != LOBBY && this != ENDED;
+  }
+}
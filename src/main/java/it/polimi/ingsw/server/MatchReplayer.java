@@ -0,0 +1,308 @@
+package it.polimi.ingsw.server;
+
+import it.polimi.ingsw.client.messages.Message;
+import it.polimi.ingsw.client.messages.SetupConnection;
+import it.polimi.ingsw.client.messages.actions.UserAction;
+import it.polimi.ingsw.constants.Constants;
+import it.polimi.ingsw.exceptions.OutOfBoundException;
+import it.polimi.ingsw.server.answers.RequestPlayersNumber;
+import it.polimi.ingsw.server.answers.SerializedAnswer;
+import it.polimi.ingsw.server.storage.MatchJournal;
+import it.polimi.ingsw.server.storage.ProfileStore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * MatchReplayer class replays the journal of a match on a server without sockets: the match is
+ * created with the same seed, and the inputs of the journal are handled again in their order, the
+ * timed transitions included. Before every input the board must match the one recorded, and the
+ * match must end with the same outcome, otherwise the replay fails telling the first diverging
+ * input. Run from the command line, it replays the stored journals as a regression benchmark.
+ *
+ * @author Luca Pirovano
+ * @see MatchJournal
+ */
+public final class MatchReplayer {
+  private static final Map<String, String> DEFAULTS =
+      Map.of(
+          "journals",
+          Path.of(
+                  System.getProperty(ProfileStore.DATA_PROPERTY, ProfileStore.DEFAULT_DATA_DIR),
+                  ProfileStore.JOURNALS_DIR)
+              .toString(),
+          "rounds",
+          "1");
+
+  private MatchReplayer() {}
+
+  /**
+   * Method replay replays a match from its journal.
+   *
+   * @param journal of type MatchJournal - the journal of the match.
+   * @return MatchJournal - the journal written by the replayed match.
+   * @throws IllegalStateException when the replay diverges from the journal.
+   */
+  public static MatchJournal replay(MatchJournal journal) {
+    return run(journal, true);
+  }
+
+  /**
+   * Method play plays a match from scripted inputs, without checking the boards and the outcome
+   * of the script: the journal written by the match can then be replayed.
+   *
+   * @param script of type MatchJournal - the inputs of the match.
+   * @return MatchJournal - the journal written by the match.
+   */
+  static MatchJournal play(MatchJournal script) {
+    return run(script, false);
+  }
+
+  /**
+   * Method run handles the inputs of a journal on a new match.
+   *
+   * @param journal of type MatchJournal - the journal.
+   * @param verify of type boolean - true if the boards and the outcome must match the journal.
+   * @return MatchJournal - the journal written by the match.
+   * @throws IllegalStateException when the inputs can't be handled, or they're verified and the
+   *     match diverges from the journal.
+   */
+  private static MatchJournal run(MatchJournal journal, boolean verify) {
+    ReplayServer server = new ReplayServer(journal.getSeed());
+    try {
+      Map<String, ReplayConnection> connections = new HashMap<>();
+      List<MatchJournal.Entry> entries = journal.getEntries();
+      for (int i = 0; i < entries.size(); i++) {
+        MatchJournal.Entry entry = entries.get(i);
+        if (verify && server.game != null && server.game.boardKey() != entry.getBoard()) {
+          throw diverged(i, entry, "the board differs");
+        }
+        ReplayConnection connection = connections.get(entry.getNickname());
+        switch (entry.getKind()) {
+          case CONNECT:
+            connection = new ReplayConnection(server, journal.getPlayers());
+            connections.put(entry.getNickname(), connection);
+            connection.actionHandler(new SetupConnection(entry.getNickname()));
+            break;
+          case MESSAGE:
+            if (connection == null) {
+              throw diverged(i, entry, "the player is not connected");
+            }
+            if (entry.getMessage() instanceof UserAction) {
+              connection.actionHandler((UserAction) entry.getMessage());
+            } else {
+              connection.actionHandler((Message) entry.getMessage());
+            }
+            break;
+          case DROP:
+            if (connection == null) {
+              throw diverged(i, entry, "the player is not connected");
+            }
+            connection.dropped();
+            break;
+          case TIMER:
+            if (!server.scheduler.fire(entry.getTimer())) {
+              throw diverged(i, entry, "the timer has not been scheduled");
+            }
+            break;
+        }
+      }
+      MatchJournal replayed = server.game == null ? null : server.game.getJournal();
+      if (replayed == null || verify && !replayed.sameOutcome(journal)) {
+        throw new IllegalStateException("Replay diverged: the match has a different outcome");
+      }
+      return replayed;
+    } finally {
+      server.getHints().shutdown();
+    }
+  }
+
+  /**
+   * Method diverged builds the failure of a replay.
+   *
+   * @param index of type int - the index of the entry.
+   * @param entry of type MatchJournal.Entry - the entry.
+   * @param reason of type String - what differs.
+   * @return IllegalStateException - the failure.
+   */
+  private static IllegalStateException diverged(
+      int index, MatchJournal.Entry entry, String reason) {
+    return new IllegalStateException(
+        "Replay diverged at entry " + index + " (" + entry + "): " + reason);
+  }
+
+  /**
+   * Method main replays every journal found in the provided file or directory, the given number of
+   * rounds, and prints the time taken and the diverging matches. Arguments are key=value pairs:
+   * journals (a journal file or a directory of journals) and rounds.
+   *
+   * @param args of type String[] - the arguments.
+   * @throws IOException when the journals can't be listed.
+   */
+  public static void main(String[] args) throws IOException {
+    Map<String, String> settings = Constants.parseArguments(args, DEFAULTS);
+    Path path = Path.of(settings.get("journals"));
+    if (!Files.exists(path)) {
+      System.err.println(Constants.getErr() + "No journals found in " + path.toAbsolutePath());
+      System.exit(-1);
+    }
+    List<Path> files = new ArrayList<>();
+    if (Files.isDirectory(path)) {
+      try (Stream<Path> list = Files.list(path)) {
+        files.addAll(
+            list.filter(file -> file.toString().endsWith(MatchJournal.EXTENSION))
+                .sorted()
+                .collect(Collectors.toList()));
+      }
+    } else {
+      files.add(path);
+    }
+    List<MatchJournal> journals = new ArrayList<>();
+    for (Path file : files) {
+      journals.add(MatchJournal.read(file));
+    }
+    int rounds = Integer.parseInt(settings.get("rounds"));
+    int diverged = 0;
+    long inputs = 0;
+    long start = System.nanoTime();
+    for (int round = 0; round < rounds; round++) {
+      for (MatchJournal journal : journals) {
+        try {
+          replay(journal);
+          inputs += journal.getEntries().size();
+        } catch (RuntimeException e) {
+          diverged++;
+          System.err.println(Constants.getErr() + journal.getFileName() + ": " + e.getMessage());
+        }
+      }
+    }
+    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    System.out.println(
+        Constants.getInfo()
+            + "Replayed "
+            + journals.size() * rounds
+            + " matches ("
+            + inputs
+            + " inputs) in "
+            + millis
+            + " ms, "
+            + diverged
+            + " diverged.");
+    System.exit(diverged == 0 ? 0 : -1);
+  }
+
+  /** ReplayScheduler class keeps the timed tasks of a replayed match until they're fired. */
+  private static class ReplayScheduler implements MatchScheduler {
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    /** @see MatchScheduler#schedule(Runnable, long, TimeUnit) */
+    @Override
+    public void schedule(Runnable task, long delay, TimeUnit unit) {
+      tasks.add(task);
+    }
+
+    /**
+     * Method fire runs a scheduled task.
+     *
+     * @param timer of type int - the sequence number of the task.
+     * @return boolean true if the task was scheduled, false otherwise.
+     */
+    boolean fire(int timer) {
+      if (timer >= tasks.size()) {
+        return false;
+      }
+      tasks.get(timer).run();
+      return true;
+    }
+  }
+
+  /** ReplayServer class is a server without sockets hosting a single replayed match. */
+  private static class ReplayServer extends Server {
+    private final ReplayScheduler scheduler = new ReplayScheduler();
+    private final long seed;
+    private GameHandler game;
+
+    /**
+     * Constructor ReplayServer creates a new ReplayServer instance, with memory-only profiles.
+     *
+     * @param seed of type long - the seed of the replayed match.
+     */
+    ReplayServer(long seed) {
+      super(
+          ProfileStore.inMemory(), new HintService(null, 1, 1, HintService.DEFAULT_BUDGET_MILLIS));
+      this.seed = seed;
+    }
+
+    /** @see Server#createGame() */
+    @Override
+    protected GameHandler createGame() {
+      game = new GameHandler(this, scheduler, seed);
+      return game;
+    }
+  }
+
+  /**
+   * ReplayConnection class is a connection without socket: answers are discarded, and the number
+   * of players is taken from the journal instead of being asked.
+   */
+  private static class ReplayConnection extends SocketClientConnection {
+    private final Server server;
+    private final int players;
+
+    /**
+     * Constructor ReplayConnection creates a new ReplayConnection instance.
+     *
+     * @param server of type Server - the replay server.
+     * @param players of type int - the number of players of the match.
+     */
+    ReplayConnection(Server server, int players) {
+      super(server);
+      this.server = server;
+      this.players = players;
+    }
+
+    /** @see SocketClientConnection#setPlayers(RequestPlayersNumber) */
+    @Override
+    public void setPlayers(RequestPlayersNumber message) {
+      try {
+        server.setTotalPlayers(players);
+      } catch (OutOfBoundException e) {
+        throw new IllegalStateException("Invalid number of players in the journal: " + players);
+      }
+      server.getGameByID(getClientID()).setPlayersNumber(players);
+    }
+
+    /** @see SocketClientConnection#sendSocketMessage(SerializedAnswer, boolean) */
+    @Override
+    public void sendSocketMessage(SerializedAnswer serverAnswer, boolean flush) {
+      // answers of a replayed match are discarded
+    }
+
+    /** @see SocketClientConnection#flush() */
+    @Override
+    public void flush() {
+      // nothing is ever buffered
+    }
+
+    /**
+     * Method close unregisters the client, once: a leaving player is closed again after the end of
+     * the match has closed everyone.
+     *
+     * @see SocketClientConnection#close()
+     */
+    @Override
+    public void close() {
+      if (server.getClientByID(getClientID()) != null) {
+        server.unregisterClient(getClientID());
+      }
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package it.polimi.ingsw.server;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MatchScheduler interface defines the source of delayed execution used for pacing the match
+ * lifecycle. The server backs it with a ScheduledExecutorService, while tests can provide a
+ * virtual clock.
+ * @author Luca Pirovano
+ */
+@FunctionalInterface
+public interface MatchScheduler {
+
+  /**
+   * Method schedule runs a task once, after the provided delay.
+   * @param task of type Runnable - the task to be executed.
+   * @param delay of type long - the delay.
+   * @param unit of type TimeUnit - the delay unit.
+   */
+  void schedule(Runnable task, long delay, TimeUnit unit);
+}
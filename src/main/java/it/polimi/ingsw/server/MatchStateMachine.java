@@ -0,0 +1,123 @@
+package it.polimi.ingsw.server;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * MatchStateMachine class holds the current MatchPhase of a match and performs its transitions.
+ * Timed transitions (like the lobby countdown) are delegated to a MatchScheduler, so that no
+ * connection thread ever sleeps; a scheduled transition only fires if the match is still in the
+ * phase it was scheduled from, which makes it safe against disconnections in the meantime.
+ * @author Luca Pirovano
+ */
+public class MatchStateMachine {
+  private final Logger logger = Logger.getLogger(getClass().getName());
+  private final MatchScheduler scheduler;
+  private MatchPhase phase;
+
+  /**
+   * Constructor MatchStateMachine creates a new MatchStateMachine instance in the LOBBY phase.
+   * @param scheduler of type MatchScheduler - the scheduler used for timed transitions.
+   */
+  public MatchStateMachine(MatchScheduler scheduler) {
+    this.scheduler = scheduler;
+    this.phase = MatchPhase.LOBBY;
+  }
+
+  /**
+   * Method getPhase returns the current phase of this MatchStateMachine object.
+   * @return the phase (type MatchPhase) of this MatchStateMachine object.
+   */
+  public synchronized MatchPhase getPhase() {
+    return phase;
+  }
+
+  /**
+   * Method advance moves the match to the provided phase.
+   * @param next of type MatchPhase - the next phase.
+   * @throws IllegalStateException when next does not follow the current phase.
+   */
+  public synchronized void advance(MatchPhase next) {
+    if (!phase.canAdvanceTo(next)) {
+      throw new IllegalStateException("Illegal match transition " + phase + " -> " + next);
+    }
+    phase = next;
+  }
+
+  /**
+   * Method advance moves the match from the expected phase to the next one, atomically.
+   * @param expected of type MatchPhase - the phase the match must be in.
+   * @param next of type MatchPhase - the next phase.
+   * @return boolean true if the transition happened, false if the match has left the expected
+   *     phase (for example because it has ended).
+   */
+  public synchronized boolean advance(MatchPhase expected, MatchPhase next) {
+    if (phase != expected) {
+      return false;
+    }
+    advance(next);
+    return true;
+  }
+
+  /**
+   * Method end moves the match to the ENDED phase, cancelling every pending transition.
+   */
+  public synchronized void end() {
+    phase = MatchPhase.ENDED;
+  }
+
+  /**
+   * Method schedule runs a task after the provided delay, provided that the match is still in the
+   * given phase at that time.
+   * @param during of type MatchPhase - the phase the task belongs to.
+   * @param delay of type long - the delay.
+   * @param unit of type TimeUnit - the delay unit.
+   * @param task of type Runnable - the task to be executed.
+   */
+  public void schedule(MatchPhase during, long delay, TimeUnit unit, Runnable task) {
+    scheduler.schedule(
+        () -> {
+          if (getPhase() == during) {
+            run(task);
+          }
+        },
+        delay,
+        unit);
+  }
+
+  /**
+   * Method scheduleTransition moves the match from one phase to the following one after the
+   * provided delay, then runs the entry task of the new phase. Nothing happens if the match has
+   * left the starting phase in the meantime.
+   * @param from of type MatchPhase - the phase the transition starts from.
+   * @param to of type MatchPhase - the phase the transition leads to.
+   * @param delay of type long - the delay.
+   * @param unit of type TimeUnit - the delay unit.
+   * @param onEnter of type Runnable - the task executed after the transition.
+   */
+  public void scheduleTransition(
+      MatchPhase from, MatchPhase to, long delay, TimeUnit unit, Runnable onEnter) {
+    scheduler.schedule(
+        () -> {
+          if (advance(from, to)) {
+            run(onEnter);
+          }
+        },
+        delay,
+        unit);
+  }
+
+  /**
+   * Method run executes a scheduled task, logging its failures instead of losing them inside the
+   * scheduler.
+   * @param task of type Runnable - the task to be executed.
+   */
+  private void run(Runnable task) {
+    try {
+      task.run();
+    } catch (RuntimeException e) {
+      logger.log(Level.SEVERE, e.getMessage(), e);
+    }
+  }
+}
@@ -2,13 +2,14 @@ package it.polimi.ingsw.server;
 
 import it.polimi.ingsw.constants.Constants;
 import it.polimi.ingsw.exceptions.OutOfBoundException;
-import it.polimi.ingsw.model.player.PlayerColors;
 import it.polimi.ingsw.server.answers.*;
+import it.polimi.ingsw.server.storage.PlayerProfile;
+import it.polimi.ingsw.server.storage.ProfileStore;
 
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Server class is the main one of the server side, it allows clients to connect, play together and
@@ -19,6 +20,12 @@ import java.util.concurrent.TimeUnit;
 public class Server {
   private final SocketServer socketServer;
 
+  /** Persistent store of player profiles, ratings and match history. */
+  private final ProfileStore profiles;
+
+  /** Analysis pool answering the hint requests of every match. */
+  private final HintService hints;
+
   /**
    * This hashmap permits identifying a Virtual Client relying on his client ID, which was set at
    * the join. The client has to be connected to the server.
@@ -71,17 +78,39 @@ public class Server {
 
   /**
    * Constructor Server creates the instance of the server, based on a socket and the mapping
-   * between VirtualClient, nicknames and client ids. It also creates a new game session.
+   * between VirtualClient, nicknames and client ids. It also creates a new game session. Profiles
+   * are kept in memory only.
    */
   public Server() {
+    this(ProfileStore.inMemory());
+  }
+
+  /**
+   * Constructor Server creates the instance of the server, storing the player profiles in the
+   * provided store.
+   *
+   * @param profiles of type ProfileStore - the profile store.
+   */
+  public Server(ProfileStore profiles) {
+    this(profiles, new HintService(null));
+  }
+
+  /**
+   * Constructor Server creates the instance of the server, storing the player profiles in the
+   * provided store and answering hints with the provided service.
+   *
+   * @param profiles of type ProfileStore - the profile store.
+   * @param hints of type HintService - the hint service.
+   */
+  public Server(ProfileStore profiles, HintService hints) {
+    this.profiles = profiles;
+    this.hints = hints;
     socketServer = new SocketServer(Constants.getPort(), this);
     idMapClient = new HashMap<>();
     nameMapId = new HashMap<>();
     clientToConnection = new HashMap<>();
     idMapName = new HashMap<>();
     totalPlayers = -1;
-    Thread thread = new Thread(this::quitter);
-    thread.start();
   }
 
   /**
@@ -93,6 +122,24 @@ public class Server {
     return socketServer;
   }
 
+  /**
+   * Method getProfiles returns the profiles of this Server object.
+   *
+   * @return the profiles (type ProfileStore) of this Server object.
+   */
+  public ProfileStore getProfiles() {
+    return profiles;
+  }
+
+  /**
+   * Method getHints returns the hint service of this Server object.
+   *
+   * @return the hints (type HintService) of this Server object.
+   */
+  public HintService getHints() {
+    return hints;
+  }
+
   /**
    * Method getGameByID returns the game handler by having the client ID. It's useful for getting
    * the game handler from the socket handler.
@@ -120,6 +167,15 @@ public class Server {
     }
   }
 
+  /**
+   * Method createGame creates the handler of a new lobby.
+   *
+   * @return GameHandler - the new game handler.
+   */
+  protected GameHandler createGame() {
+    return new GameHandler(this);
+  }
+
   /**
    * Method getClientByID returns a link to the desired virtual client, in order to make operations
    * on it (like send, etc).
@@ -160,9 +216,8 @@ public class Server {
    *
    * @param c of type SocketClientConnection - a single client connection, which is used for common
    *     operations(like sending/receiving commands, etc).
-   * @throws InterruptedException when TimeUnit throws it.
    */
-  public synchronized void lobby(SocketClientConnection c) throws InterruptedException {
+  public synchronized void lobby(SocketClientConnection c) {
     waiting.add(c);
     if (waiting.size() == 1) {
       c.setPlayers(
@@ -174,14 +229,8 @@ public class Server {
     } else if (waiting.size() == totalPlayers) {
       System.err.println(
           Constants.getInfo() + "Minimum player number reached. The match is starting.");
-      for (int i = 3; i > 0; i--) {
-        currentGame.sendAll(new CustomMessage("Match starting in " + i, false));
-        TimeUnit.MILLISECONDS.sleep(500);
-      }
-      currentGame.sendAll(new CustomMessage("The match has started!", false));
       waiting.clear();
-      PlayerColors.reset();
-      currentGame.setup();
+      currentGame.startCountdown();
     } else {
       currentGame.sendAll(
           new CustomMessage((totalPlayers - waiting.size()) + " slots left.", false));
@@ -223,7 +272,7 @@ public class Server {
 
     if (clientID == null) { // Player has never connected to the server before.
       if (waiting.isEmpty()) {
-        currentGame = new GameHandler(this);
+        currentGame = createGame();
       }
       if (nameMapId.keySet().stream().anyMatch(nickname::equalsIgnoreCase)) {
         SerializedAnswer error = new SerializedAnswer();
@@ -258,6 +307,21 @@ public class Server {
               + ", has successfully connected!");
       client.send(
           new ConnectionMessage("Connection was successfully set-up! You are now connected.", 0));
+      PlayerProfile profile = profiles.login(nickname);
+      if (profile.getPlayed() > 0) {
+        client.send(
+            new CustomMessage(
+                "Welcome back, "
+                    + nickname
+                    + "! Rating: "
+                    + profile.getRating()
+                    + " ("
+                    + profile.getWon()
+                    + " wins in "
+                    + profile.getPlayed()
+                    + " matches)",
+                false));
+      }
       if (waiting.size() > 1) {
         currentGame.sendAll(
             new CustomMessage("Client " + client.getNickname() + " joined the game", false));
@@ -310,7 +374,17 @@ public class Server {
     }
     Constants.setPort(port);
     System.err.println(Constants.getInfo() + "Starting Socket Server");
-    Server server = new Server();
+    Server server =
+        new Server(
+            ProfileStore.open(
+                Paths.get(
+                    System.getProperty(
+                        ProfileStore.DATA_PROPERTY, ProfileStore.DEFAULT_DATA_DIR))),
+            new HintService(
+                Paths.get(
+                    System.getProperty(
+                        HintService.BOOKS_PROPERTY, HintService.DEFAULT_BOOKS_DIR))));
+    new Thread(server::quitter).start();
     ExecutorService executor = Executors.newCachedThreadPool();
     System.out.println(Constants.getInfo() + "Instantiating server class...");
     executor.submit(server.socketServer);
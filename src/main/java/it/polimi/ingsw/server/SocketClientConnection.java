@@ -1,13 +1,12 @@
 package it.polimi.ingsw.server;
 
 import it.polimi.ingsw.client.messages.*;
-import it.polimi.ingsw.client.messages.actions.ChallengerPhaseAction;
 import it.polimi.ingsw.client.messages.actions.UserAction;
-import it.polimi.ingsw.client.messages.actions.WorkerSetupAction;
 import it.polimi.ingsw.constants.Constants;
 import it.polimi.ingsw.exceptions.OutOfBoundException;
 import it.polimi.ingsw.model.player.PlayerColors;
 import it.polimi.ingsw.server.answers.*;
+import it.polimi.ingsw.server.storage.MatchJournal;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
@@ -26,6 +25,7 @@ import java.util.logging.Logger;
  */
 public class SocketClientConnection implements ClientConnection, Runnable {
   private final Socket socket;
+  private final Object outputLock = new Object();
   private final Server server;
   private ObjectInputStream inputStream;
   private ObjectOutputStream outputStream;
@@ -63,6 +63,19 @@ public class SocketClientConnection implements ClientConnection, Runnable {
     }
   }
 
+  /**
+   * Constructor SocketClientConnection creates a connection without a socket, whose messages are
+   * passed to the action handlers directly. It's used for replaying matches.
+   *
+   * @param server of type Server - the main server class.
+   */
+  protected SocketClientConnection(Server server) {
+    this.server = server;
+    socket = null;
+    clientID = -1;
+    active = true;
+  }
+
   /**
    * Method getSocket returns the socket of this SocketClientConnection object.
    *
@@ -81,6 +94,13 @@ public class SocketClientConnection implements ClientConnection, Runnable {
    */
   public void close() {
     server.unregisterClient(this.getClientID());
+    try {
+      synchronized (outputLock) {
+        outputStream.flush();
+      }
+    } catch (IOException e) {
+      System.err.println(e.getMessage());
+    }
     try {
       socket.close();
     } catch (IOException e) {
@@ -118,22 +138,34 @@ public class SocketClientConnection implements ClientConnection, Runnable {
         readFromStream();
       }
     } catch (IOException e) {
-      GameHandler game = server.getGameByID(clientID);
-      String player = server.getNicknameByID(clientID);
-      server.unregisterClient(clientID);
-      if (game.isStarted() > 0) {
-        game.endGame(player);
-      }
+      dropped();
       System.err.println(Constants.getInfo() + e.getMessage());
     } catch (ClassNotFoundException e) {
       logger.log(Level.SEVERE, e.getMessage(), e);
     }
   }
 
+  /**
+   * Method dropped handles the loss of the connection with the client, unregistering it and ending
+   * its match if it's in progress.
+   */
+  protected void dropped() {
+    GameHandler game = server.getGameByID(clientID);
+    String player = server.getNicknameByID(clientID);
+    synchronized (game) {
+      game.record(MatchJournal.Kind.DROP, player, null);
+      server.unregisterClient(clientID);
+      if (game.getPhase().isInProgress()) {
+        game.endGame(player);
+      }
+    }
+  }
+
   /**
    * Method actionHandler handles an action by receiving a message from the client. The "Message"
    * interface permits splitting the information into several types of messages. This method invokes
-   * another one relying on the implementation type of the message received.
+   * another one relying on the implementation type of the message received. The messages of a
+   * match are handled under the lock of its handler, after being written in the match journal.
    *
    * @param command of type Message - the Message interface type command, which needs to be checked
    *     in order to perform an action.
@@ -142,36 +174,52 @@ public class SocketClientConnection implements ClientConnection, Runnable {
     if (command instanceof SetupConnection) {
       checkConnection((SetupConnection) command);
     } else if (command instanceof ChosenColor) {
-      if (PlayerColors.isChosen(((ChosenColor) command).getColor())) {
-        server
-            .getClientByID(clientID)
-            .send(
-                new ColorMessage(
-                    "Error! This color is not available anymore. " + "Please choose another one!"));
-        return;
+      GameHandler game = server.getGameByID(clientID);
+      synchronized (game) {
+        game.record(MatchJournal.Kind.MESSAGE, server.getNicknameByID(clientID), command);
+        chooseColor((ChosenColor) command);
       }
-      server
-          .getGameByID(clientID)
-          .getController()
-          .setColor(
-              ((ChosenColor) command).getColor(), server.getClientByID(clientID).getNickname());
-      PlayerColors.choose(((ChosenColor) command).getColor());
-      server
-          .getGameByID(clientID)
-          .singleSend(
-              new ColorMessage(null, ((ChosenColor) command).getColor().toString()), clientID);
-      server.getGameByID(clientID).setup();
     } else if (command instanceof Disconnect) {
+      GameHandler game = server.getGameByID(clientID);
+      synchronized (game) {
+        game.record(MatchJournal.Kind.MESSAGE, server.getNicknameByID(clientID), command);
+        game.sendAllExcept(
+            new CustomMessage(
+                "Client " + server.getNicknameByID(clientID) + " disconnected from the server.",
+                false),
+            clientID);
+        game.endGame(server.getNicknameByID(clientID));
+        close();
+      }
+    }
+  }
+
+  /**
+   * Method chooseColor handles the worker color chosen by the client.
+   *
+   * @param command of type ChosenColor - the chosen color.
+   */
+  private void chooseColor(ChosenColor command) {
+    GameHandler game = server.getGameByID(clientID);
+    if (game.getPhase() != MatchPhase.COLOR_SELECTION) {
+      game.singleSend(
+          new GameError(
+              ErrorsType.INVALIDINPUT, "Not in correct game phase to perform this command!"),
+          clientID);
+      return;
+    }
+    if (PlayerColors.isChosen(command.getColor())) {
       server
-          .getGameByID(clientID)
-          .sendAllExcept(
-              new CustomMessage(
-                  "Client " + server.getNicknameByID(clientID) + " disconnected from the server.",
-                  false),
-              clientID);
-      server.getGameByID(clientID).endGame(server.getNicknameByID(clientID));
-      close();
+          .getClientByID(clientID)
+          .send(
+              new ColorMessage(
+                  "Error! This color is not available anymore. " + "Please choose another one!"));
+      return;
     }
+    game.getController().setColor(command.getColor(), server.getClientByID(clientID).getNickname());
+    PlayerColors.choose(command.getColor());
+    game.singleSend(new ColorMessage(null, command.getColor().toString()), clientID);
+    game.setup();
   }
 
   /**
@@ -180,60 +228,28 @@ public class SocketClientConnection implements ClientConnection, Runnable {
    * @param command of type SetupConnection - the connection command.
    */
   private void checkConnection(SetupConnection command) {
-    try {
-      clientID = server.registerConnection(command.getNickname(), this);
-      if (clientID == null) {
-        active = false;
-        return;
-      }
-      server.lobby(this);
-    } catch (InterruptedException e) {
-      System.err.println(e.getMessage());
-      Thread.currentThread().interrupt();
+    clientID = server.registerConnection(command.getNickname(), this);
+    if (clientID == null) {
+      active = false;
+      return;
     }
+    server.getGameByID(clientID).record(MatchJournal.Kind.CONNECT, command.getNickname(), null);
+    server.lobby(this);
   }
 
   /**
    * Method actionHandler handles an action by receiving a message from the client. The "Action"
    * interface permits splitting the information into several types of action (like move, build,
-   * etc). This method invokes the correct part of the server relying on the action type received.
+   * etc). The action is dispatched by the GameHandler, relying on the current match phase and on the
+   * action type received.
    *
    * @param action of type UserAction the Action interface type command received from the client.
    */
   public void actionHandler(UserAction action) {
-    if (server.getGameByID(clientID).getCurrentPlayerID() != clientID) {
-      server.getGameByID(clientID).singleSend(new GameError(ErrorsType.NOTYOURTURN), clientID);
-      return;
-    }
-    if (action instanceof ChallengerPhaseAction) {
-      if (server.getGameByID(clientID).isStarted() > 3) {
-        server
-            .getGameByID(clientID)
-            .singleSend(
-                new GameError(
-                    ErrorsType.INVALIDINPUT,
-                    "Not in " + "correct game phase to perform this command!"),
-                clientID);
-        return;
-      }
-      server.getGameByID(clientID).makeAction(action, "ChallengerPhase");
-    } else if (action instanceof WorkerSetupAction) {
-      if (server.getGameByID(clientID).isStarted() != 5) {
-        server
-            .getGameByID(clientID)
-            .singleSend(
-                new GameError(
-                    ErrorsType.INVALIDINPUT,
-                    "Not in " + "correct game phase to perform this command!"),
-                clientID);
-        return;
-      }
-      server.getGameByID(clientID).makeAction(action, "WorkerPlacement");
-    } else {
-      server.getGameByID(clientID).makeAction(action, "turnController");
-    }
+    server.getGameByID(clientID).makeAction(action, clientID);
   }
 
+
   /**
    * Method setPlayers is a setup method. It permits setting the number of the players in the match,
    * which is decided by the first user connected to the server. It waits for a NumberOfPlayers
@@ -287,10 +303,41 @@ public class SocketClientConnection implements ClientConnection, Runnable {
    * @param serverAnswer of type SerializedAnswer - the serialized server answer (interface Answer).
    */
   public void sendSocketMessage(SerializedAnswer serverAnswer) {
+    sendSocketMessage(serverAnswer, true);
+  }
+
+  /**
+   * Method sendSocketMessage writes the server's Answer on the client stream, optionally leaving it
+   * in the stream buffer: answers written without flushing are sent together with the next flush.
+   *
+   * @param serverAnswer of type SerializedAnswer - the serialized server answer.
+   * @param flush of type boolean - true if the stream has to be flushed immediately.
+   */
+  public void sendSocketMessage(SerializedAnswer serverAnswer, boolean flush) {
     try {
-      outputStream.reset();
-      outputStream.writeObject(serverAnswer);
-      outputStream.flush();
+      synchronized (outputLock) {
+        outputStream.reset();
+        outputStream.writeObject(serverAnswer);
+        if (flush) {
+          outputStream.flush();
+        }
+      }
+    } catch (IOException e) {
+      close();
+    }
+  }
+
+  /**
+   * Method flush sends the answers written without flushing, if the connection is still open.
+   */
+  public void flush() {
+    if (socket.isClosed()) {
+      return;
+    }
+    try {
+      synchronized (outputLock) {
+        outputStream.flush();
+      }
     } catch (IOException e) {
       close();
     }
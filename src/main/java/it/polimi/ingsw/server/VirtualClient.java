@@ -103,7 +103,17 @@ public class VirtualClient implements PropertyChangeListener {
   public void send(Answer serverAnswer) {
     SerializedAnswer message = new SerializedAnswer();
     message.setServerAnswer(serverAnswer);
-    socketClientConnection.sendSocketMessage(message);
+    boolean deferred = gameHandler != null && gameHandler.deferFlush(this);
+    socketClientConnection.sendSocketMessage(message, !deferred);
+  }
+
+  /**
+   * Method flush pushes through the network the answers written without flushing during an action.
+   *
+   * @see GameHandler#deferFlush(VirtualClient)
+   */
+  public void flush() {
+    socketClientConnection.flush();
   }
 
   /**
@@ -113,9 +123,7 @@ public class VirtualClient implements PropertyChangeListener {
    * @param win of type Answer - the message to be sent to the winner.
    */
   public void win(Answer win) {
-    SerializedAnswer winner = new SerializedAnswer();
-    winner.setServerAnswer(win);
-    socketClientConnection.sendSocketMessage(winner);
+    send(win);
     gameHandler.sendAllExcept(new LoseMessage(nickname), clientID);
     gameHandler.endGame();
   }
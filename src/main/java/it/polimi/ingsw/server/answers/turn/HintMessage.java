@@ -0,0 +1,125 @@
+package it.polimi.ingsw.server.answers.turn;
+
+import it.polimi.ingsw.model.rules.Position;
+import it.polimi.ingsw.model.rules.Turn;
+import it.polimi.ingsw.server.answers.CustomMessage;
+
+/**
+ * HintMessage class is an Answer used for suggesting a client the turn to play. It's displayed as
+ * a custom message, while bots can read the encoded turn and the cells the worker moves through.
+ *
+ * @author Luca Pirovano
+ * @see CustomMessage
+ */
+public class HintMessage extends CustomMessage {
+  private final long turn;
+  private final int depth;
+  private final int[] path;
+
+  /**
+   * Constructor HintMessage creates a new HintMessage instance, whose worker moves to the cells
+   * stored in the turn.
+   *
+   * @param turn of type long - the suggested turn (see Turn).
+   * @param depth of type int - the number of turns searched, 0 if the turn comes from a book or a
+   *     tablebase.
+   */
+  public HintMessage(long turn, int depth) {
+    this(turn, depth, path(turn));
+  }
+
+  /**
+   * Constructor HintMessage creates a new HintMessage instance, whose worker may move through more
+   * cells than the ones stored in the turn (Triton).
+   *
+   * @param turn of type long - the suggested turn (see Turn).
+   * @param depth of type int - the number of turns searched, 0 if the turn comes from a book or a
+   *     tablebase.
+   * @param path of type int[] - the cells the worker moves to, in order (see
+   *     TurnGenerator.tritonPath).
+   */
+  public HintMessage(long turn, int depth, int[] path) {
+    super(describe(turn, depth, path), true);
+    this.turn = turn;
+    this.depth = depth;
+    this.path = path.clone();
+  }
+
+  /**
+   * Method path returns the cells stored in a turn the worker moves to.
+   *
+   * @param turn of type long - the turn.
+   * @return int[] - the first move and, if any, the second one.
+   */
+  private static int[] path(long turn) {
+    return Turn.getSecondMove(turn) == Turn.NONE
+        ? new int[] {Turn.getMove(turn)}
+        : new int[] {Turn.getMove(turn), Turn.getSecondMove(turn)};
+  }
+
+  /**
+   * Method describe returns the text of a hint.
+   *
+   * @param turn of type long - the suggested turn.
+   * @param depth of type int - the number of turns searched.
+   * @param path of type int[] - the cells the worker moves to.
+   * @return String - the text.
+   */
+  private static String describe(long turn, int depth, int[] path) {
+    StringBuilder text = new StringBuilder("Hint: select worker").append(Turn.getWorkerNum(turn));
+    append(text, ", build on", Turn.getPreBuild(turn));
+    append(text, ", force the worker on", Turn.getForce(turn));
+    for (int i = 0; i < path.length; i++) {
+      append(text, i == 0 ? ", move to" : ", move again to", path[i]);
+    }
+    if (Turn.isWin(turn)) {
+      text.append(" and win!");
+      return text.toString();
+    }
+    append(text, Turn.isDome(turn) ? ", place a dome on" : ", build on", Turn.getBuild(turn));
+    append(text, ", build again on", Turn.getSecondBuild(turn));
+    append(text, ", remove a block from", Turn.getRemove(turn));
+    text.append(depth > 0 ? " (" + depth + " turns deep)." : " (from the book).");
+    return text.toString();
+  }
+
+  /**
+   * Method append appends a step of the turn, if it's part of it.
+   *
+   * @param text of type StringBuilder - the text.
+   * @param step of type String - the description of the step.
+   * @param cell of type int - the cell index of the step, or Turn.NONE.
+   */
+  private static void append(StringBuilder text, String step, int cell) {
+    if (cell != Turn.NONE) {
+      text.append(step).append(' ').append(Position.row(cell)).append(' ').append(Position.col(cell));
+    }
+  }
+
+  /**
+   * Method getTurn returns the suggested turn.
+   *
+   * @return long - the turn (see Turn).
+   */
+  public long getTurn() {
+    return turn;
+  }
+
+  /**
+   * Method getPath returns the cells the worker moves to.
+   *
+   * @return int[] - the cell indexes, in order.
+   */
+  public int[] getPath() {
+    return path.clone();
+  }
+
+  /**
+   * Method getDepth returns the number of turns searched.
+   *
+   * @return int - the depth, 0 if the turn comes from a book or a tablebase.
+   */
+  public int getDepth() {
+    return depth;
+  }
+}
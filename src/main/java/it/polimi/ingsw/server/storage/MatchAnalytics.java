@@ -0,0 +1,447 @@
+package it.polimi.ingsw.server.storage;
+
+import it.polimi.ingsw.constants.Constants;
+import it.polimi.ingsw.model.Card;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MatchAnalytics class computes the outcome statistics of the stored matches: win rates of every
+ * god and of every pairing of gods, match length, first player advantage and win causes. The match
+ * log is memory mapped in read-only regions, and each region is split into ranges of records which
+ * are aggregated in parallel on a fork-join pool and then merged. Records are decoded in place from
+ * the mapped bytes, so scanning costs no allocation per match and the log is never loaded on the
+ * heap. It runs offline, on a copy of the log or next to a running server: records appended after
+ * the scan has started are not counted.
+ *
+ * @author Luca Pirovano
+ * @see MatchRecord
+ */
+public class MatchAnalytics {
+  public static final int DEFAULT_LEAF_RECORDS = 1 << 14;
+  private static final int MAX_REGION_RECORDS = Integer.MAX_VALUE / MatchRecord.RECORD_SIZE;
+  private static final Map<String, String> DEFAULTS =
+      Map.of(
+          "log",
+          Path.of(
+                  System.getProperty(ProfileStore.DATA_PROPERTY, ProfileStore.DEFAULT_DATA_DIR),
+                  ProfileStore.MATCHES_FILE)
+              .toString(),
+          "threads",
+          String.valueOf(Runtime.getRuntime().availableProcessors()),
+          "min",
+          "1");
+
+  private final ForkJoinPool pool;
+  private final int regionRecords;
+  private final int leafRecords;
+
+  /**
+   * Constructor MatchAnalytics creates a new MatchAnalytics instance, running on the provided pool.
+   *
+   * @param pool of type ForkJoinPool - the pool aggregating the records.
+   */
+  public MatchAnalytics(ForkJoinPool pool) {
+    this(pool, MAX_REGION_RECORDS, DEFAULT_LEAF_RECORDS);
+  }
+
+  /**
+   * Constructor MatchAnalytics creates a new MatchAnalytics instance with custom split sizes.
+   *
+   * @param pool of type ForkJoinPool - the pool aggregating the records.
+   * @param regionRecords of type int - the number of records mapped together.
+   * @param leafRecords of type int - the number of records aggregated by a single task.
+   */
+  MatchAnalytics(ForkJoinPool pool, int regionRecords, int leafRecords) {
+    this.pool = pool;
+    this.regionRecords = Math.min(regionRecords, MAX_REGION_RECORDS);
+    this.leafRecords = leafRecords;
+  }
+
+  /**
+   * Method scan aggregates the records of a match log. A truncated tail is ignored.
+   *
+   * @param log of type Path - the match log.
+   * @return Summary - the statistics.
+   * @throws IOException when the log can't be read or has an unknown format.
+   */
+  public Summary scan(Path log) throws IOException {
+    try (FileChannel channel = FileChannel.open(log, StandardOpenOption.READ)) {
+      if (channel.size() < ProfileStore.MATCHES_HEADER_SIZE) {
+        throw new IOException("Unknown match log format");
+      }
+      ByteBuffer header =
+          channel.map(FileChannel.MapMode.READ_ONLY, 0, ProfileStore.MATCHES_HEADER_SIZE);
+      if (header.getInt(0) != ProfileStore.MATCHES_MAGIC
+          || header.getInt(4) != ProfileStore.MATCHES_VERSION) {
+        throw new IOException("Unknown match log format");
+      }
+      long records = (channel.size() - ProfileStore.MATCHES_HEADER_SIZE) / MatchRecord.RECORD_SIZE;
+      List<ScanTask> tasks = new ArrayList<>();
+      for (long first = 0; first < records; first += regionRecords) {
+        int count = (int) Math.min(regionRecords, records - first);
+        ByteBuffer region =
+            channel.map(
+                FileChannel.MapMode.READ_ONLY,
+                ProfileStore.MATCHES_HEADER_SIZE + first * MatchRecord.RECORD_SIZE,
+                (long) count * MatchRecord.RECORD_SIZE);
+        tasks.add(new ScanTask(region, 0, count, leafRecords));
+      }
+      Summary summary = new Summary();
+      tasks.forEach(pool::execute);
+      tasks.forEach(task -> summary.merge(task.join()));
+      return summary;
+    }
+  }
+
+  /**
+   * Method main scans a match log and prints the statistics. Arguments are key=value pairs: log
+   * (the match log), threads (the parallelism) and min (the minimum number of matches of the
+   * pairings printed).
+   *
+   * @param args of type String[] - the arguments.
+   * @throws IOException when the log can't be read.
+   */
+  public static void main(String[] args) throws IOException {
+    Map<String, String> settings = Constants.parseArguments(args, DEFAULTS);
+    ForkJoinPool pool = new ForkJoinPool(Integer.parseInt(settings.get("threads")));
+    long start = System.nanoTime();
+    Summary summary = new MatchAnalytics(pool).scan(Path.of(settings.get("log")));
+    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    pool.shutdown();
+    summary.print(System.out, Long.parseLong(settings.get("min")));
+    System.out.println(
+        Constants.getInfo()
+            + "Scanned "
+            + summary.getMatches()
+            + " matches in "
+            + millis
+            + " ms.");
+  }
+
+  /** ScanTask class aggregates a range of records, splitting it in halves while it's too long. */
+  private static class ScanTask extends RecursiveTask<Summary> {
+    private static final long serialVersionUID = 1L;
+    private final transient ByteBuffer region;
+    private final int from;
+    private final int to;
+    private final int leafRecords;
+
+    /**
+     * Constructor ScanTask creates a new ScanTask instance.
+     *
+     * @param region of type ByteBuffer - the mapped region.
+     * @param from of type int - the first record of the range.
+     * @param to of type int - the end of the range, exclusive.
+     * @param leafRecords of type int - the number of records aggregated without splitting.
+     */
+    ScanTask(ByteBuffer region, int from, int to, int leafRecords) {
+      this.region = region;
+      this.from = from;
+      this.to = to;
+      this.leafRecords = leafRecords;
+    }
+
+    /** @see RecursiveTask#compute() */
+    @Override
+    protected Summary compute() {
+      if (to - from <= leafRecords) {
+        Summary summary = new Summary();
+        ByteBuffer buffer = region.duplicate();
+        for (int i = from; i < to; i++) {
+          summary.add(buffer, i * MatchRecord.RECORD_SIZE);
+        }
+        return summary;
+      }
+      int middle = (from + to) >>> 1;
+      ScanTask left = new ScanTask(region, from, middle, leafRecords);
+      left.fork();
+      Summary summary = new ScanTask(region, middle, to, leafRecords).compute();
+      summary.merge(left.join());
+      return summary;
+    }
+  }
+
+  /**
+   * Summary class holds the aggregated statistics of a set of matches. Win rates only count the
+   * matches with a winner; pairings only count two player matches, indexed by the gods in ordinal
+   * order.
+   *
+   * @author Luca Pirovano
+   */
+  public static class Summary {
+    private static final int GODS = Card.values().length;
+    private static final int PAIR_MATCHES = 0;
+    private static final int PAIR_FIRST_WINS = 1;
+    private static final int PAIR_TURNS = 2;
+    private static final int PAIR_STARTER_WINS = 3;
+    private static final int PAIR_FIELDS = 4;
+    private long matches;
+    private long decided;
+    private long turns;
+    private long duration;
+    private final long[] causes = new long[MatchRecord.Cause.values().length];
+    private final long[][] starters = new long[MatchRecord.MAX_PLAYERS + 1][2];
+    private final long[][] gods = new long[GODS][2];
+    private final long[] pairs = new long[GODS * GODS * PAIR_FIELDS];
+
+    /**
+     * Method add aggregates a record, decoding it in place.
+     *
+     * @param buffer of type ByteBuffer - the buffer holding the record.
+     * @param offset of type int - the absolute offset of the record.
+     */
+    void add(ByteBuffer buffer, int offset) {
+      matches++;
+      int cause = buffer.get(offset + MatchRecord.CAUSE);
+      causes[cause]++;
+      int winner = buffer.get(offset + MatchRecord.WINNER);
+      if (winner == MatchRecord.NONE) {
+        return;
+      }
+      int players = buffer.get(offset + MatchRecord.PLAYERS);
+      int recordTurns = buffer.getShort(offset + MatchRecord.TURNS);
+      boolean starterWon = buffer.get(offset + MatchRecord.STARTER) == winner;
+      decided++;
+      turns += recordTurns;
+      duration += buffer.getInt(offset + MatchRecord.DURATION);
+      starters[players][0]++;
+      starters[players][1] += starterWon ? 1 : 0;
+      for (int i = 0; i < players; i++) {
+        gods[buffer.get(offset + MatchRecord.GODS + i)][0]++;
+      }
+      int winnerGod = buffer.get(offset + MatchRecord.GODS + winner);
+      gods[winnerGod][1]++;
+      if (players == 2) {
+        int first = buffer.get(offset + MatchRecord.GODS);
+        int second = buffer.get(offset + MatchRecord.GODS + 1);
+        int pair = pairIndex(Math.min(first, second), Math.max(first, second));
+        pairs[pair + PAIR_MATCHES]++;
+        pairs[pair + PAIR_FIRST_WINS] += winnerGod == Math.min(first, second) ? 1 : 0;
+        pairs[pair + PAIR_TURNS] += recordTurns;
+        pairs[pair + PAIR_STARTER_WINS] += starterWon ? 1 : 0;
+      }
+    }
+
+    /**
+     * Method merge adds the statistics of another summary to this one.
+     *
+     * @param other of type Summary - the other summary.
+     */
+    void merge(Summary other) {
+      matches += other.matches;
+      decided += other.decided;
+      turns += other.turns;
+      duration += other.duration;
+      for (int i = 0; i < causes.length; i++) {
+        causes[i] += other.causes[i];
+      }
+      for (int i = 0; i < starters.length; i++) {
+        starters[i][0] += other.starters[i][0];
+        starters[i][1] += other.starters[i][1];
+      }
+      for (int i = 0; i < GODS; i++) {
+        gods[i][0] += other.gods[i][0];
+        gods[i][1] += other.gods[i][1];
+      }
+      for (int i = 0; i < pairs.length; i++) {
+        pairs[i] += other.pairs[i];
+      }
+    }
+
+    /**
+     * Method pairIndex returns the index of the first field of a pairing.
+     *
+     * @param first of type int - the ordinal of the first god.
+     * @param second of type int - the ordinal of the second god, not lower than the first one.
+     * @return int - the index.
+     */
+    private static int pairIndex(int first, int second) {
+      return (first * GODS + second) * PAIR_FIELDS;
+    }
+
+    /**
+     * Method percent returns a ratio as a percentage, 0 when the total is 0.
+     *
+     * @param part of type long - the part.
+     * @param total of type long - the total.
+     * @return double - the percentage.
+     */
+    private static double percent(long part, long total) {
+      return total == 0 ? 0 : 100.0 * part / total;
+    }
+
+    /**
+     * Method getMatches returns the number of matches scanned.
+     *
+     * @return the matches (type long) of this Summary object.
+     */
+    public long getMatches() {
+      return matches;
+    }
+
+    /**
+     * Method getDecided returns the number of matches with a winner.
+     *
+     * @return the decided (type long) of this Summary object.
+     */
+    public long getDecided() {
+      return decided;
+    }
+
+    /**
+     * Method getCauses returns the number of matches ended by a cause.
+     *
+     * @param cause of type MatchRecord.Cause - the end cause.
+     * @return long - the number of matches.
+     */
+    public long getCauses(MatchRecord.Cause cause) {
+      return causes[cause.ordinal()];
+    }
+
+    /**
+     * Method getAverageTurns returns the average number of turns of the matches with a winner.
+     *
+     * @return double - the average number of turns.
+     */
+    public double getAverageTurns() {
+      return decided == 0 ? 0 : (double) turns / decided;
+    }
+
+    /**
+     * Method getStarterWinRate returns how often the first player wins.
+     *
+     * @param players of type int - the number of players of the matches.
+     * @return double - the percentage of the matches with a winner won by the first player.
+     */
+    public double getStarterWinRate(int players) {
+      return percent(starters[players][1], starters[players][0]);
+    }
+
+    /**
+     * Method getPlayed returns the number of matches with a winner played by a god.
+     *
+     * @param god of type Card - the god.
+     * @return long - the number of matches.
+     */
+    public long getPlayed(Card god) {
+      return gods[god.ordinal()][0];
+    }
+
+    /**
+     * Method getWon returns the number of matches won by a god.
+     *
+     * @param god of type Card - the god.
+     * @return long - the number of matches.
+     */
+    public long getWon(Card god) {
+      return gods[god.ordinal()][1];
+    }
+
+    /**
+     * Method getPairMatches returns the number of two player matches with a winner between two
+     * gods.
+     *
+     * @param god of type Card - a god.
+     * @param opponent of type Card - the other god.
+     * @return long - the number of matches.
+     */
+    public long getPairMatches(Card god, Card opponent) {
+      return pairs[pair(god, opponent) + PAIR_MATCHES];
+    }
+
+    /**
+     * Method getPairWins returns the number of two player matches won by a god against another one.
+     * Mirror matches are counted as won by both.
+     *
+     * @param god of type Card - the god.
+     * @param opponent of type Card - the opponent god.
+     * @return long - the number of matches won.
+     */
+    public long getPairWins(Card god, Card opponent) {
+      int pair = pair(god, opponent);
+      long firstWins = pairs[pair + PAIR_FIRST_WINS];
+      return god.ordinal() <= opponent.ordinal() ? firstWins : pairs[pair] - firstWins;
+    }
+
+    /**
+     * Method pair returns the index of the first field of the pairing of two gods.
+     *
+     * @param god of type Card - a god.
+     * @param opponent of type Card - the other god.
+     * @return int - the index.
+     */
+    private static int pair(Card god, Card opponent) {
+      return pairIndex(
+          Math.min(god.ordinal(), opponent.ordinal()), Math.max(god.ordinal(), opponent.ordinal()));
+    }
+
+    /**
+     * Method print prints the summary tables: overall figures, win causes, first player advantage,
+     * gods and pairings of gods.
+     *
+     * @param out of type PrintStream - the destination.
+     * @param minMatches of type long - the minimum number of matches of the pairings printed.
+     */
+    public void print(PrintStream out, long minMatches) {
+      out.printf(
+          "Matches: %d, with a winner: %d, average turns: %.1f, average duration: %.1f s%n",
+          matches, decided, getAverageTurns(), decided == 0 ? 0 : duration / 1000.0 / decided);
+      out.println("\nWin causes:");
+      for (MatchRecord.Cause cause : MatchRecord.Cause.values()) {
+        out.printf(
+            "  %-8s %10d %6.1f%%%n", cause, getCauses(cause), percent(getCauses(cause), matches));
+      }
+      out.println("\nFirst player wins:");
+      for (int players = 2; players <= MatchRecord.MAX_PLAYERS; players++) {
+        out.printf(
+            "  %d players %10d %6.1f%%%n",
+            players, starters[players][0], getStarterWinRate(players));
+      }
+      out.println("\nGods:");
+      out.printf("  %-11s %10s %10s %7s%n", "god", "played", "won", "win");
+      for (Card god : Card.values()) {
+        out.printf(
+            "  %-11s %10d %10d %6.1f%%%n",
+            god, getPlayed(god), getWon(god), percent(getWon(god), getPlayed(god)));
+      }
+      out.println("\nPairings (two players):");
+      out.printf(
+          "  %-11s %-11s %10s %7s %7s %7s%n",
+          "god",
+          "opponent",
+          "matches",
+          "win",
+          "turns",
+          "first");
+      for (Card god : Card.values()) {
+        for (Card opponent : Card.values()) {
+          int pair = pair(god, opponent);
+          long pairMatches = pairs[pair + PAIR_MATCHES];
+          if (opponent.ordinal() < god.ordinal() || pairMatches < Math.max(1, minMatches)) {
+            continue;
+          }
+          out.printf(
+              "  %-11s %-11s %10d %6.1f%% %7.1f %6.1f%%%n",
+              god,
+              opponent,
+              pairMatches,
+              god == opponent ? 50.0 : percent(getPairWins(god, opponent), pairMatches),
+              (double) pairs[pair + PAIR_TURNS] / pairMatches,
+              percent(pairs[pair + PAIR_STARTER_WINS], pairMatches));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,292 @@
+package it.polimi.ingsw.server.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * MatchJournal class is the input log of a match: the seed of its random generator, the number of
+ * players and every input handled by its GameHandler, in the order it has been handled. Inputs are
+ * the connections of the players, their messages and actions, their drops and the firings of the
+ * timed phase transitions. Each entry also stores the fingerprint of the board before the input,
+ * and the journal ends with the outcome of the match, so a replay can check that the match goes
+ * exactly the same way. Journals are written with Java serialization, like the messages.
+ *
+ * @author Luca Pirovano
+ * @see MatchRecord
+ */
+public class MatchJournal implements Serializable {
+  public static final String EXTENSION = ".journal";
+  private static final long serialVersionUID = 1L;
+
+  private final long seed;
+  private final List<Entry> entries = new ArrayList<>();
+  private int players;
+  private boolean finished;
+  private int winner = MatchRecord.NONE;
+  private int turns;
+  private long board;
+
+  /** Kind enum represents the inputs of a match. */
+  public enum Kind {
+    CONNECT,
+    MESSAGE,
+    DROP,
+    TIMER
+  }
+
+  /**
+   * Constructor MatchJournal creates a new, empty MatchJournal instance.
+   *
+   * @param seed of type long - the seed of the match random generator.
+   */
+  public MatchJournal(long seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * Method read reads a journal from its file.
+   *
+   * @param file of type Path - the journal file.
+   * @return MatchJournal - the journal.
+   * @throws IOException when the file can't be read or doesn't hold a journal.
+   */
+  public static MatchJournal read(Path file) throws IOException {
+    try (ObjectInputStream input =
+        new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      return (MatchJournal) input.readObject();
+    } catch (ClassNotFoundException | ClassCastException e) {
+      throw new IOException("Not a match journal: " + file, e);
+    }
+  }
+
+  /**
+   * Method write writes the journal to a file, replacing it.
+   *
+   * @param file of type Path - the journal file.
+   * @throws IOException when the file can't be written.
+   */
+  public synchronized void write(Path file) throws IOException {
+    try (ObjectOutputStream output =
+        new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+      output.writeObject(this);
+    }
+  }
+
+  /**
+   * Method add appends an input to the journal.
+   *
+   * @param entry of type Entry - the input.
+   */
+  public synchronized void add(Entry entry) {
+    entries.add(entry);
+  }
+
+  /**
+   * Method finish stores the outcome of the match.
+   *
+   * @param winner of type int - the lineup slot of the winner, NONE for aborted matches.
+   * @param turns of type int - the number of turns played.
+   * @param board of type long - the fingerprint of the final board.
+   */
+  public synchronized void finish(int winner, int turns, long board) {
+    finished = true;
+    this.winner = winner;
+    this.turns = turns;
+    this.board = board;
+  }
+
+  /**
+   * Method sameOutcome checks if two journals have the same outcome.
+   *
+   * @param other of type MatchJournal - the other journal.
+   * @return boolean true if both matches have ended with the same winner, number of turns and
+   *     board.
+   */
+  public boolean sameOutcome(MatchJournal other) {
+    return isFinished() == other.isFinished()
+        && getWinner() == other.getWinner()
+        && getTurns() == other.getTurns()
+        && getBoard() == other.getBoard();
+  }
+
+  /**
+   * Method getFileName returns the name of the journal file, made from the seed.
+   *
+   * @return the fileName (type String) of this MatchJournal object.
+   */
+  public String getFileName() {
+    return Long.toHexString(seed) + EXTENSION;
+  }
+
+  /**
+   * Method getSeed returns the seed of the match random generator.
+   *
+   * @return the seed (type long) of this MatchJournal object.
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Method getPlayers returns the number of players of the match.
+   *
+   * @return the players (type int) of this MatchJournal object.
+   */
+  public synchronized int getPlayers() {
+    return players;
+  }
+
+  /**
+   * Method setPlayers sets the number of players of the match.
+   *
+   * @param players the players of this MatchJournal object.
+   */
+  public synchronized void setPlayers(int players) {
+    this.players = players;
+  }
+
+  /**
+   * Method getEntries returns the inputs of the match.
+   *
+   * @return the entries (type List&lt;Entry&gt;) of this MatchJournal object, as an unmodifiable
+   *     copy.
+   */
+  public synchronized List<Entry> getEntries() {
+    return Collections.unmodifiableList(new ArrayList<>(entries));
+  }
+
+  /**
+   * Method isFinished returns true if the outcome of the match has been stored.
+   *
+   * @return the finished (type boolean) of this MatchJournal object.
+   */
+  public synchronized boolean isFinished() {
+    return finished;
+  }
+
+  /**
+   * Method getWinner returns the lineup slot of the winner.
+   *
+   * @return the winner (type int) of this MatchJournal object, NONE if the match was aborted.
+   */
+  public synchronized int getWinner() {
+    return winner;
+  }
+
+  /**
+   * Method getTurns returns the number of turns played.
+   *
+   * @return the turns (type int) of this MatchJournal object.
+   */
+  public synchronized int getTurns() {
+    return turns;
+  }
+
+  /**
+   * Method getBoard returns the fingerprint of the final board.
+   *
+   * @return the board (type long) of this MatchJournal object.
+   */
+  public synchronized long getBoard() {
+    return board;
+  }
+
+  /**
+   * Entry class is a single input of a match.
+   *
+   * @author Luca Pirovano
+   */
+  public static class Entry implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private final Kind kind;
+    private final String nickname;
+    private final Serializable message;
+    private final int timer;
+    private final long board;
+
+    /**
+     * Constructor Entry creates a new Entry instance.
+     *
+     * @param kind of type Kind - the kind of input.
+     * @param nickname of type String - the player the input comes from, null for timers.
+     * @param message of type Serializable - the message or action received, null if the kind has
+     *     none.
+     * @param timer of type int - the sequence number of the fired timer, 0 for the other kinds.
+     * @param board of type long - the fingerprint of the board before the input.
+     */
+    public Entry(Kind kind, String nickname, Serializable message, int timer, long board) {
+      this.kind = kind;
+      this.nickname = nickname;
+      this.message = message;
+      this.timer = timer;
+      this.board = board;
+    }
+
+    /**
+     * Method getKind returns the kind of input.
+     *
+     * @return the kind (type Kind) of this Entry object.
+     */
+    public Kind getKind() {
+      return kind;
+    }
+
+    /**
+     * Method getNickname returns the player the input comes from.
+     *
+     * @return the nickname (type String) of this Entry object, null for timers.
+     */
+    public String getNickname() {
+      return nickname;
+    }
+
+    /**
+     * Method getMessage returns the message or action received.
+     *
+     * @return the message (type Serializable) of this Entry object.
+     */
+    public Serializable getMessage() {
+      return message;
+    }
+
+    /**
+     * Method getTimer returns the sequence number of the fired timer.
+     *
+     * @return the timer (type int) of this Entry object.
+     */
+    public int getTimer() {
+      return timer;
+    }
+
+    /**
+     * Method getBoard returns the fingerprint of the board before the input.
+     *
+     * @return the board (type long) of this Entry object.
+     */
+    public long getBoard() {
+      return board;
+    }
+
+    /**
+     * Method toString returns a readable description of the entry.
+     *
+     * @return String - the description.
+     */
+    @Override
+    public String toString() {
+      return kind
+          + (nickname == null ? "" : " " + nickname)
+          + (message == null ? "" : " " + message.getClass().getSimpleName())
+          + (kind == Kind.TIMER ? " #" + timer : "");
+    }
+  }
+}
@@ -0,0 +1,285 @@
+package it.polimi.ingsw.server.storage;
+
+import it.polimi.ingsw.model.Card;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * MatchRecord class is the summary of a finished match, as stored inside the match log. Every
+ * record is written with the same fixed-size binary layout, so the log can be scanned (or memory
+ * mapped) as an array of records without any parsing:
+ *
+ * <pre>
+ *  0 timestamp (long)    8 duration millis (int)   12 turns (short)   14 players (byte)
+ * 15 starter (byte)     16 winner (byte)           17 cause (byte)    18 gods (3 bytes)
+ * 24 profile ids (3 ints)                          36 seed (long)     44 reserved, up to 48
+ * </pre>
+ *
+ * Player slots are ordered as the match lineup; unused slots hold -1. The seed is the one of the
+ * match random generator, which names the journal of the match (see MatchJournal).
+ *
+ * @author Luca Pirovano
+ */
+public class MatchRecord {
+  public static final int RECORD_SIZE = 48;
+  public static final int MAX_PLAYERS = 3;
+  public static final int NONE = -1;
+  static final int TIMESTAMP = 0;
+  static final int DURATION = 8;
+  static final int TURNS = 12;
+  static final int PLAYERS = 14;
+  static final int STARTER = 15;
+  static final int WINNER = 16;
+  static final int CAUSE = 17;
+  static final int GODS = 18;
+  static final int PROFILE_IDS = 24;
+  static final int SEED = 36;
+  static final int RESERVED = 44;
+
+  private final long timestamp;
+  private final int duration;
+  private final int turns;
+  private final int starter;
+  private final int winner;
+  private final Cause cause;
+  private final int[] profileIds;
+  private final Card[] gods;
+  private final long seed;
+
+  /** Cause enum represents the way a match has ended. */
+  public enum Cause {
+    CLIMB,
+    DROP,
+    BLOCK,
+    ABORTED
+  }
+
+  /**
+   * Constructor MatchRecord creates a new MatchRecord instance.
+   *
+   * @param timestamp of type long - the match end time, in epoch milliseconds.
+   * @param duration of type int - the match duration, in milliseconds.
+   * @param turns of type int - the number of turns played.
+   * @param starter of type int - the lineup slot of the first player.
+   * @param winner of type int - the lineup slot of the winner, NONE for aborted matches.
+   * @param cause of type Cause - the end cause.
+   * @param profileIds of type int[] - the profile ids of the lineup.
+   * @param gods of type Card[] - the god cards of the lineup.
+   */
+  public MatchRecord(
+      long timestamp,
+      int duration,
+      int turns,
+      int starter,
+      int winner,
+      Cause cause,
+      int[] profileIds,
+      Card[] gods) {
+    this(timestamp, duration, turns, starter, winner, cause, profileIds, gods, 0);
+  }
+
+  /**
+   * Constructor MatchRecord creates a new MatchRecord instance of a seeded match.
+   *
+   * @param timestamp of type long - the match end time, in epoch milliseconds.
+   * @param duration of type int - the match duration, in milliseconds.
+   * @param turns of type int - the number of turns played.
+   * @param starter of type int - the lineup slot of the first player.
+   * @param winner of type int - the lineup slot of the winner, NONE for aborted matches.
+   * @param cause of type Cause - the end cause.
+   * @param profileIds of type int[] - the profile ids of the lineup.
+   * @param gods of type Card[] - the god cards of the lineup.
+   * @param seed of type long - the seed of the match random generator.
+   */
+  public MatchRecord(
+      long timestamp,
+      int duration,
+      int turns,
+      int starter,
+      int winner,
+      Cause cause,
+      int[] profileIds,
+      Card[] gods,
+      long seed) {
+    if (profileIds.length != gods.length || profileIds.length > MAX_PLAYERS) {
+      throw new IllegalArgumentException("Invalid lineup size");
+    }
+    this.timestamp = timestamp;
+    this.duration = duration;
+    this.turns = Math.min(turns, Short.MAX_VALUE);
+    this.starter = starter;
+    this.winner = winner;
+    this.cause = cause;
+    this.profileIds = profileIds.clone();
+    this.gods = gods.clone();
+    this.seed = seed;
+  }
+
+  /**
+   * Method readFrom decodes the record starting at the provided absolute buffer offset.
+   *
+   * @param buffer of type ByteBuffer - the buffer containing the record.
+   * @param offset of type int - the absolute offset of the record.
+   * @return MatchRecord - the decoded record.
+   */
+  public static MatchRecord readFrom(ByteBuffer buffer, int offset) {
+    int players = buffer.get(offset + PLAYERS);
+    int[] ids = new int[players];
+    Card[] gods = new Card[players];
+    for (int i = 0; i < players; i++) {
+      ids[i] = buffer.getInt(offset + PROFILE_IDS + 4 * i);
+      gods[i] = Card.values()[buffer.get(offset + GODS + i)];
+    }
+    return new MatchRecord(
+        buffer.getLong(offset + TIMESTAMP),
+        buffer.getInt(offset + DURATION),
+        buffer.getShort(offset + TURNS),
+        buffer.get(offset + STARTER),
+        buffer.get(offset + WINNER),
+        Cause.values()[buffer.get(offset + CAUSE)],
+        ids,
+        gods,
+        buffer.getLong(offset + SEED));
+  }
+
+  /**
+   * Method writeTo encodes the record at the current buffer position, advancing it by RECORD_SIZE.
+   *
+   * @param buffer of type ByteBuffer - the destination buffer.
+   */
+  public void writeTo(ByteBuffer buffer) {
+    int offset = buffer.position();
+    buffer.putLong(offset + TIMESTAMP, timestamp);
+    buffer.putInt(offset + DURATION, duration);
+    buffer.putShort(offset + TURNS, (short) turns);
+    buffer.put(offset + PLAYERS, (byte) profileIds.length);
+    buffer.put(offset + STARTER, (byte) starter);
+    buffer.put(offset + WINNER, (byte) winner);
+    buffer.put(offset + CAUSE, (byte) cause.ordinal());
+    for (int i = 0; i < MAX_PLAYERS; i++) {
+      boolean used = i < profileIds.length;
+      buffer.put(offset + GODS + i, (byte) (used ? gods[i].ordinal() : NONE));
+      buffer.putInt(offset + PROFILE_IDS + 4 * i, used ? profileIds[i] : NONE);
+    }
+    buffer.putLong(offset + SEED, seed);
+    for (int i = RESERVED; i < RECORD_SIZE; i++) {
+      buffer.put(offset + i, (byte) 0);
+    }
+    buffer.position(offset + RECORD_SIZE);
+  }
+
+  /**
+   * Method getTimestamp returns the match end time.
+   *
+   * @return the timestamp (type long) of this MatchRecord object, in epoch milliseconds.
+   */
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  /**
+   * Method getDuration returns the match duration.
+   *
+   * @return the duration (type int) of this MatchRecord object, in milliseconds.
+   */
+  public int getDuration() {
+    return duration;
+  }
+
+  /**
+   * Method getTurns returns the number of turns played.
+   *
+   * @return the turns (type int) of this MatchRecord object.
+   */
+  public int getTurns() {
+    return turns;
+  }
+
+  /**
+   * Method getStarter returns the lineup slot of the first player.
+   *
+   * @return the starter (type int) of this MatchRecord object.
+   */
+  public int getStarter() {
+    return starter;
+  }
+
+  /**
+   * Method getWinner returns the lineup slot of the winner.
+   *
+   * @return the winner (type int) of this MatchRecord object, NONE if the match was aborted.
+   */
+  public int getWinner() {
+    return winner;
+  }
+
+  /**
+   * Method getCause returns the end cause of the match.
+   *
+   * @return the cause (type Cause) of this MatchRecord object.
+   */
+  public Cause getCause() {
+    return cause;
+  }
+
+  /**
+   * Method getProfileIds returns the profile ids of the lineup.
+   *
+   * @return the profileIds (type int[]) of this MatchRecord object.
+   */
+  public int[] getProfileIds() {
+    return profileIds.clone();
+  }
+
+  /**
+   * Method getGods returns the god cards of the lineup.
+   *
+   * @return the gods (type Card[]) of this MatchRecord object.
+   */
+  public Card[] getGods() {
+    return gods.clone();
+  }
+
+  /**
+   * Method getSeed returns the seed of the match random generator.
+   *
+   * @return the seed (type long) of this MatchRecord object, 0 for the matches stored before seeds.
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Method slotOf returns the lineup slot of the provided profile.
+   *
+   * @param profileId of type int - the profile id.
+   * @return int - the slot, NONE if the profile did not play the match.
+   */
+  public int slotOf(int profileId) {
+    for (int i = 0; i < profileIds.length; i++) {
+      if (profileIds[i] == profileId) {
+        return i;
+      }
+    }
+    return NONE;
+  }
+
+  /**
+   * Method toString returns a readable description of the record.
+   *
+   * @return String - the description.
+   */
+  @Override
+  public String toString() {
+    return "MatchRecord{gods="
+        + Arrays.toString(gods)
+        + ", winner="
+        + winner
+        + ", cause="
+        + cause
+        + ", turns="
+        + turns
+        + "}";
+  }
+}
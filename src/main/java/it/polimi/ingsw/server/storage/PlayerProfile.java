@@ -0,0 +1,125 @@
+package it.polimi.ingsw.server.storage;
+
+/**
+ * PlayerProfile class represents the persistent account of a player, identified by his nickname
+ * (case insensitive) and by a numeric id, which is the one stored inside the match records.
+ * Profiles are owned by the ProfileStore, which is the only class allowed to modify them.
+ *
+ * @author Luca Pirovano
+ * @see ProfileStore
+ */
+public class PlayerProfile {
+  public static final int INITIAL_RATING = 1500;
+
+  private final int id;
+  private final String nickname;
+  private int rating;
+  private int played;
+  private int won;
+  private long lastSeen;
+
+  /**
+   * Constructor PlayerProfile creates a new PlayerProfile instance.
+   *
+   * @param id of type int - the unique profile id.
+   * @param nickname of type String - the player's nickname.
+   * @param rating of type int - the Elo rating.
+   * @param played of type int - the number of rated matches played.
+   * @param won of type int - the number of rated matches won.
+   * @param lastSeen of type long - the last login time, in epoch milliseconds.
+   */
+  PlayerProfile(int id, String nickname, int rating, int played, int won, long lastSeen) {
+    this.id = id;
+    this.nickname = nickname;
+    this.rating = rating;
+    this.played = played;
+    this.won = won;
+    this.lastSeen = lastSeen;
+  }
+
+  /**
+   * Method copy returns a snapshot of this profile, which can be safely handed out of the store.
+   *
+   * @return PlayerProfile - the snapshot.
+   */
+  PlayerProfile copy() {
+    return new PlayerProfile(id, nickname, rating, played, won, lastSeen);
+  }
+
+  /**
+   * Method getId returns the id of this PlayerProfile object.
+   *
+   * @return the id (type int) of this PlayerProfile object.
+   */
+  public int getId() {
+    return id;
+  }
+
+  /**
+   * Method getNickname returns the nickname of this PlayerProfile object.
+   *
+   * @return the nickname (type String) of this PlayerProfile object.
+   */
+  public String getNickname() {
+    return nickname;
+  }
+
+  /**
+   * Method getRating returns the Elo rating of this PlayerProfile object.
+   *
+   * @return the rating (type int) of this PlayerProfile object.
+   */
+  public int getRating() {
+    return rating;
+  }
+
+  /**
+   * Method getPlayed returns the number of rated matches played.
+   *
+   * @return the played (type int) of this PlayerProfile object.
+   */
+  public int getPlayed() {
+    return played;
+  }
+
+  /**
+   * Method getWon returns the number of rated matches won.
+   *
+   * @return the won (type int) of this PlayerProfile object.
+   */
+  public int getWon() {
+    return won;
+  }
+
+  /**
+   * Method getLastSeen returns the last login time of this PlayerProfile object.
+   *
+   * @return the lastSeen (type long) of this PlayerProfile object, in epoch milliseconds.
+   */
+  public long getLastSeen() {
+    return lastSeen;
+  }
+
+  /**
+   * Method seen updates the last login time.
+   *
+   * @param time of type long - the login time, in epoch milliseconds.
+   */
+  void seen(long time) {
+    lastSeen = time;
+  }
+
+  /**
+   * Method addResult updates the counters and the rating after a rated match.
+   *
+   * @param ratingDelta of type int - the rating variation.
+   * @param winner of type boolean - true if the player won the match.
+   */
+  void addResult(int ratingDelta, boolean winner) {
+    rating += ratingDelta;
+    played++;
+    if (winner) {
+      won++;
+    }
+  }
+}
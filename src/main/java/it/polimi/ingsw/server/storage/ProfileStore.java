@@ -0,0 +1,747 @@
+package it.polimi.ingsw.server.storage;
+
+import it.polimi.ingsw.constants.Constants;
+import it.polimi.ingsw.model.Card;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * ProfileStore class is the embedded storage of player profiles, ratings, match history and god
+ * statistics. It keeps two append-only logs inside its data directory:
+ *
+ * <ul>
+ *   <li>profiles.log, where every change of a profile appends its whole new version; the last
+ *       version of each id wins on load, and the log is compacted when it grows too much;
+ *   <li>matches.log, a header followed by fixed-size MatchRecord entries.
+ * </ul>
+ *
+ * The journal of each stored match is written inside the journals directory, named after the seed
+ * of the match, so the match can be replayed.
+ *
+ * Every profile lives in memory, so lookups never touch the disk. Changes are applied to the
+ * memory copy and marked dirty (write-back cache); a background thread writes all the dirty
+ * profiles and the new match records in a single batch every FLUSH_PERIOD_MILLIS, or earlier when
+ * FLUSH_THRESHOLD changes are pending. A store created without a directory keeps everything in
+ * memory only.
+ *
+ * @author Luca Pirovano
+ * @see PlayerProfile
+ * @see MatchRecord
+ * @see MatchJournal
+ */
+public class ProfileStore implements Closeable {
+  public static final String DATA_PROPERTY = "santorini.data";
+  public static final String DEFAULT_DATA_DIR = "santorini-data";
+  public static final String PROFILES_FILE = "profiles.log";
+  public static final String MATCHES_FILE = "matches.log";
+  public static final String JOURNALS_DIR = "journals";
+  public static final int MATCHES_MAGIC = 0x534E544D;
+  public static final int MATCHES_VERSION = 1;
+  public static final int MATCHES_HEADER_SIZE = 8;
+  private static final int ELO_FACTOR = 32;
+  private static final long FLUSH_PERIOD_MILLIS = 2000;
+  static final int FLUSH_THRESHOLD = 512;
+  private static final int COMPACTION_MIN_RECORDS = 1024;
+  private static final int SCAN_CHUNK_RECORDS = 4096;
+  private static final Logger LOGGER = Logger.getLogger(ProfileStore.class.getName());
+
+  private final Path directory;
+  private final Map<String, PlayerProfile> profiles = new HashMap<>();
+  private final List<PlayerProfile> byId = new ArrayList<>();
+  private final Set<PlayerProfile> dirty = new LinkedHashSet<>();
+  private final List<MatchRecord> pendingMatches = new ArrayList<>();
+  private final List<MatchJournal> pendingJournals = new ArrayList<>();
+  private final int[][] godStats = new int[Card.values().length][2];
+  private final Object flushLock = new Object();
+  private final ScheduledExecutorService flusher;
+  private FileChannel profileLog;
+  private FileChannel matchLog;
+  private int profileLogRecords;
+  private long matchLogSize;
+  private long storedMatches;
+  private boolean closed;
+  private boolean flushRequested;
+
+  /**
+   * Constructor ProfileStore creates a new ProfileStore instance, loading the logs found inside
+   * the provided directory (which is created if missing).
+   *
+   * @param directory of type Path - the data directory, null for a memory-only store.
+   * @throws IOException when the logs can't be opened or read.
+   */
+  public ProfileStore(Path directory) throws IOException {
+    this(directory, FLUSH_PERIOD_MILLIS);
+  }
+
+  /**
+   * Constructor ProfileStore creates a new ProfileStore instance, flushed with the provided period.
+   *
+   * @param directory of type Path - the data directory, null for a memory-only store.
+   * @param flushPeriodMillis of type long - the period of the background flush.
+   * @throws IOException when the logs can't be opened or read.
+   */
+  ProfileStore(Path directory, long flushPeriodMillis) throws IOException {
+    this.directory = directory;
+    if (directory != null) {
+      Files.createDirectories(directory);
+      loadProfiles();
+      loadMatches();
+      flusher =
+          Executors.newSingleThreadScheduledExecutor(
+              task -> {
+                Thread thread = new Thread(task, "profile-store-flusher");
+                thread.setDaemon(true);
+                return thread;
+              });
+      flusher.scheduleWithFixedDelay(
+          this::flushQuietly, flushPeriodMillis, flushPeriodMillis, TimeUnit.MILLISECONDS);
+    } else {
+      flusher = null;
+    }
+  }
+
+  /**
+   * Method inMemory creates a store which is never persisted.
+   *
+   * @return ProfileStore - the memory-only store.
+   */
+  public static ProfileStore inMemory() {
+    try {
+      return new ProfileStore(null);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Method open opens the store inside the provided directory, registering a shutdown hook which
+   * flushes it when the server exits. If the directory can't be used, the server goes on with a
+   * memory-only store.
+   *
+   * @param directory of type Path - the data directory.
+   * @return ProfileStore - the opened store.
+   */
+  public static ProfileStore open(Path directory) {
+    try {
+      ProfileStore store = new ProfileStore(directory);
+      Runtime.getRuntime().addShutdownHook(new Thread(store::close, "profile-store-shutdown"));
+      System.out.println(
+          Constants.getInfo()
+              + "Profile store loaded from "
+              + directory.toAbsolutePath()
+              + " ("
+              + store.profiles.size()
+              + " profiles, "
+              + store.storedMatches
+              + " matches)");
+      return store;
+    } catch (IOException e) {
+      System.err.println(
+          Constants.getErr() + "Unable to open the profile store: " + e.getMessage());
+      System.err.println(Constants.getErr() + "Profiles will not be persisted.");
+      return inMemory();
+    }
+  }
+
+  /**
+   * Method login returns the profile of a connecting player, creating it at the first login, and
+   * updates his last login time.
+   *
+   * @param nickname of type String - the player's nickname.
+   * @return PlayerProfile - a snapshot of the profile.
+   */
+  public synchronized PlayerProfile login(String nickname) {
+    String key = nickname.toLowerCase(Locale.ROOT);
+    PlayerProfile profile = profiles.get(key);
+    if (profile == null) {
+      profile = new PlayerProfile(byId.size(), nickname, PlayerProfile.INITIAL_RATING, 0, 0, 0);
+      profiles.put(key, profile);
+      byId.add(profile);
+    }
+    profile.seen(System.currentTimeMillis());
+    markDirty(profile);
+    return profile.copy();
+  }
+
+  /**
+   * Method getProfile returns the profile of a player.
+   *
+   * @param nickname of type String - the player's nickname.
+   * @return PlayerProfile - a snapshot of the profile, null if the player has never logged in.
+   */
+  public synchronized PlayerProfile getProfile(String nickname) {
+    PlayerProfile profile = profiles.get(nickname.toLowerCase(Locale.ROOT));
+    return profile == null ? null : profile.copy();
+  }
+
+  /**
+   * Method getProfile returns the profile with the provided id.
+   *
+   * @param id of type int - the profile id.
+   * @return PlayerProfile - a snapshot of the profile, null if the id is unknown.
+   */
+  public synchronized PlayerProfile getProfile(int id) {
+    return id >= 0 && id < byId.size() && byId.get(id) != null ? byId.get(id).copy() : null;
+  }
+
+  /**
+   * Method recordMatch stores a finished match. If the match has a winner, the Elo ratings of the
+   * lineup are updated (the winner against every other player), together with the player counters
+   * and the god statistics; aborted matches are only stored in the history.
+   *
+   * @param record of type MatchRecord - the match summary.
+   */
+  public synchronized void recordMatch(MatchRecord record) {
+    int[] ids = record.getProfileIds();
+    Card[] gods = record.getGods();
+    if (record.getWinner() != MatchRecord.NONE) {
+      PlayerProfile winner = byId.get(ids[record.getWinner()]);
+      int winnerDelta = 0;
+      int[] deltas = new int[ids.length];
+      for (int i = 0; i < ids.length; i++) {
+        if (i != record.getWinner()) {
+          int delta = ratingDelta(winner.getRating(), byId.get(ids[i]).getRating());
+          winnerDelta += delta;
+          deltas[i] = -delta;
+        }
+      }
+      deltas[record.getWinner()] = winnerDelta;
+      for (int i = 0; i < ids.length; i++) {
+        PlayerProfile profile = byId.get(ids[i]);
+        profile.addResult(deltas[i], i == record.getWinner());
+        dirty.add(profile);
+        godStats[gods[i].ordinal()][0]++;
+      }
+      godStats[gods[record.getWinner()].ordinal()][1]++;
+    }
+    pendingMatches.add(record);
+    storedMatches++;
+    requestFlushIfNeeded();
+  }
+
+  /**
+   * Method recordMatch stores a finished match together with its journal, which is written on the
+   * next flush. A memory-only store discards the journal.
+   *
+   * @param record of type MatchRecord - the match summary.
+   * @param journal of type MatchJournal - the journal of the match.
+   */
+  public synchronized void recordMatch(MatchRecord record, MatchJournal journal) {
+    if (directory != null) {
+      pendingJournals.add(journal);
+    }
+    recordMatch(record);
+  }
+
+  /**
+   * Method ratingDelta returns the Elo points the winner takes from the loser.
+   *
+   * @param winnerRating of type int - the winner rating.
+   * @param loserRating of type int - the loser rating.
+   * @return int - the rating variation.
+   */
+  static int ratingDelta(int winnerRating, int loserRating) {
+    double expected = 1 / (1 + Math.pow(10, (loserRating - winnerRating) / 400.0));
+    return (int) Math.round(ELO_FACTOR * (1 - expected));
+  }
+
+  /**
+   * Method getGodStats returns the rated matches played and won by a god.
+   *
+   * @param card of type Card - the god.
+   * @return int[] - the number of matches played (index 0) and won (index 1).
+   */
+  public synchronized int[] getGodStats(Card card) {
+    return godStats[card.ordinal()].clone();
+  }
+
+  /**
+   * Method getMatchesCount returns the number of matches stored.
+   *
+   * @return long - the number of matches.
+   */
+  public synchronized long getMatchesCount() {
+    return storedMatches;
+  }
+
+  /**
+   * Method getRecentMatches returns the last matches played by a player, newest first. Pending
+   * records are read from memory, then the match log is scanned backwards in chunks, so only the
+   * tail of the history is read for active players. The scan holds the flush lock, so no record
+   * moves from memory to the log meanwhile and none is returned twice.
+   *
+   * @param nickname of type String - the player's nickname.
+   * @param limit of type int - the maximum number of records returned.
+   * @return List&lt;MatchRecord&gt; - the matches found.
+   * @throws IOException when the match log can't be read, or the store is closed.
+   */
+  public List<MatchRecord> getRecentMatches(String nickname, int limit) throws IOException {
+    List<MatchRecord> result = new ArrayList<>();
+    synchronized (flushLock) {
+      int id;
+      synchronized (this) {
+        PlayerProfile profile = profiles.get(nickname.toLowerCase(Locale.ROOT));
+        if (profile == null || limit <= 0) {
+          return result;
+        }
+        if (closed && directory != null) {
+          throw new IOException("The profile store is closed");
+        }
+        id = profile.getId();
+        for (int i = pendingMatches.size() - 1; i >= 0 && result.size() < limit; i--) {
+          if (pendingMatches.get(i).slotOf(id) != MatchRecord.NONE) {
+            result.add(pendingMatches.get(i));
+          }
+        }
+      }
+      if (matchLog == null) {
+        return result;
+      }
+      ByteBuffer buffer = ByteBuffer.allocate(SCAN_CHUNK_RECORDS * MatchRecord.RECORD_SIZE);
+      long end = matchLogSize;
+      while (end > MATCHES_HEADER_SIZE && result.size() < limit) {
+        long start = Math.max(MATCHES_HEADER_SIZE, end - buffer.capacity());
+        buffer.clear().limit((int) (end - start));
+        readFully(matchLog, buffer, start);
+        for (int offset = buffer.limit() - MatchRecord.RECORD_SIZE;
+            offset >= 0 && result.size() < limit;
+            offset -= MatchRecord.RECORD_SIZE) {
+          MatchRecord record = MatchRecord.readFrom(buffer, offset);
+          if (record.slotOf(id) != MatchRecord.NONE) {
+            result.add(record);
+          }
+        }
+        end = start;
+      }
+      return result;
+    }
+  }
+
+  /**
+   * Method getTopPlayers returns the players with the highest rating.
+   *
+   * @param limit of type int - the maximum number of profiles returned.
+   * @return List&lt;PlayerProfile&gt; - the snapshots of the profiles, best first.
+   */
+  public synchronized List<PlayerProfile> getTopPlayers(int limit) {
+    List<PlayerProfile> sorted = new ArrayList<>(byId);
+    sorted.removeIf(Objects::isNull);
+    sorted.sort((a, b) -> Integer.compare(b.getRating(), a.getRating()));
+    List<PlayerProfile> result = new ArrayList<>();
+    for (PlayerProfile profile : sorted.subList(0, Math.min(limit, sorted.size()))) {
+      result.add(profile.copy());
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  /**
+   * Method flush writes every pending change with a single write per log, followed by a single
+   * sync. Profiles are copied while holding the store lock, so logins are never blocked by the
+   * disk. When a write fails, the changes not written yet are queued again for the next flush and
+   * a partially written profile record is cut off the log.
+   *
+   * @throws IOException when the logs can't be written.
+   */
+  public void flush() throws IOException {
+    if (directory == null) {
+      return;
+    }
+    synchronized (flushLock) {
+      List<PlayerProfile> dirtyBatch;
+      List<PlayerProfile> profilesBatch = new ArrayList<>();
+      List<MatchRecord> matchesBatch;
+      List<MatchJournal> journalsBatch;
+      synchronized (this) {
+        dirtyBatch = new ArrayList<>(dirty);
+        dirty.forEach(profile -> profilesBatch.add(profile.copy()));
+        dirty.clear();
+        matchesBatch = new ArrayList<>(pendingMatches);
+        pendingMatches.clear();
+        journalsBatch = new ArrayList<>(pendingJournals);
+        pendingJournals.clear();
+        flushRequested = false;
+      }
+      try {
+        if (!profilesBatch.isEmpty()) {
+          long size = profileLog.size();
+          try {
+            writeFully(profileLog, encodeProfiles(profilesBatch), size);
+            profileLog.force(false);
+          } catch (IOException e) {
+            truncateQuietly(profileLog, size);
+            throw e;
+          }
+          profileLogRecords += profilesBatch.size();
+          dirtyBatch.clear();
+        }
+        if (!matchesBatch.isEmpty()) {
+          ByteBuffer buffer = ByteBuffer.allocate(matchesBatch.size() * MatchRecord.RECORD_SIZE);
+          matchesBatch.forEach(record -> record.writeTo(buffer));
+          buffer.flip();
+          writeFully(matchLog, buffer, matchLogSize);
+          matchLog.force(false);
+          matchLogSize += matchesBatch.size() * (long) MatchRecord.RECORD_SIZE;
+          matchesBatch.clear();
+        }
+      } catch (IOException e) {
+        requeue(dirtyBatch, matchesBatch, journalsBatch);
+        throw e;
+      }
+      List<MatchJournal> failed = writeJournals(journalsBatch);
+      if (!failed.isEmpty()) {
+        requeue(List.of(), List.of(), failed);
+      }
+    }
+  }
+
+  /**
+   * Method writeJournals writes each journal into its own file. A journal which can't be written
+   * is logged and skipped, so it doesn't stop the others.
+   *
+   * @param journalsBatch of type List&lt;MatchJournal&gt; - the journals.
+   * @return List&lt;MatchJournal&gt; - the journals not written.
+   */
+  private List<MatchJournal> writeJournals(List<MatchJournal> journalsBatch) {
+    if (journalsBatch.isEmpty()) {
+      return journalsBatch;
+    }
+    Path journals;
+    try {
+      journals = Files.createDirectories(directory.resolve(JOURNALS_DIR));
+    } catch (IOException e) {
+      LOGGER.log(Level.SEVERE, "Unable to create the journals directory", e);
+      return journalsBatch;
+    }
+    List<MatchJournal> failed = new ArrayList<>();
+    for (MatchJournal journal : journalsBatch) {
+      try {
+        journal.write(journals.resolve(journal.getFileName()));
+      } catch (IOException e) {
+        LOGGER.log(Level.SEVERE, "Unable to write the journal " + journal.getFileName(), e);
+        failed.add(journal);
+      }
+    }
+    return failed;
+  }
+
+  /**
+   * Method requeue puts back the changes of a failed flush, ahead of the ones queued meanwhile.
+   *
+   * @param profilesBatch of type List&lt;PlayerProfile&gt; - the profiles not written.
+   * @param matchesBatch of type List&lt;MatchRecord&gt; - the match records not written.
+   * @param journalsBatch of type List&lt;MatchJournal&gt; - the journals not written.
+   */
+  private synchronized void requeue(
+      List<PlayerProfile> profilesBatch,
+      List<MatchRecord> matchesBatch,
+      List<MatchJournal> journalsBatch) {
+    dirty.addAll(profilesBatch);
+    pendingMatches.addAll(0, matchesBatch);
+    pendingJournals.addAll(0, journalsBatch);
+  }
+
+  /**
+   * Method truncateQuietly cuts a log back to its size before a failed write, logging the
+   * failures.
+   *
+   * @param channel of type FileChannel - the log.
+   * @param size of type long - the size to restore.
+   */
+  private static void truncateQuietly(FileChannel channel, long size) {
+    try {
+      channel.truncate(size);
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Unable to truncate a failed write", e);
+    }
+  }
+
+  /** Method flushQuietly flushes the store, logging the failures. */
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (IOException e) {
+      LOGGER.log(Level.SEVERE, "Unable to flush the profile store", e);
+    }
+  }
+
+  /**
+   * Method close flushes the pending changes and releases the logs. It's idempotent.
+   *
+   * @see Closeable#close()
+   */
+  @Override
+  public void close() {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+    }
+    if (directory == null) {
+      return;
+    }
+    flusher.shutdownNow();
+    flushQuietly();
+    synchronized (flushLock) {
+      try {
+        profileLog.close();
+        matchLog.close();
+      } catch (IOException e) {
+        LOGGER.log(Level.WARNING, "Unable to close the profile store", e);
+      }
+    }
+  }
+
+  /**
+   * Method markDirty marks a profile for the next flush.
+   *
+   * @param profile of type PlayerProfile - the changed profile.
+   */
+  private void markDirty(PlayerProfile profile) {
+    dirty.add(profile);
+    requestFlushIfNeeded();
+  }
+
+  /**
+   * Method requestFlushIfNeeded anticipates the flush when too many changes are pending. The flush
+   * is requested once, until it takes the pending changes.
+   */
+  private void requestFlushIfNeeded() {
+    if (flusher != null
+        && !closed
+        && !flushRequested
+        && dirty.size() + pendingMatches.size() >= FLUSH_THRESHOLD) {
+      flushRequested = true;
+      flusher.execute(this::flushQuietly);
+    }
+  }
+
+  /**
+   * Method loadProfiles replays the profile log, keeping the last version of every profile. A
+   * truncated tail (left by a crash during a write) is discarded. The log is compacted when it
+   * holds too many stale versions.
+   *
+   * @throws IOException when the log can't be read.
+   */
+  private void loadProfiles() throws IOException {
+    Path path = directory.resolve(PROFILES_FILE);
+    profileLog =
+        FileChannel.open(
+            path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    ByteBuffer buffer = ByteBuffer.allocate((int) profileLog.size());
+    readFully(profileLog, buffer, 0);
+    buffer.flip();
+    int valid = 0;
+    while (buffer.hasRemaining()) {
+      PlayerProfile profile = decodeProfile(buffer);
+      if (profile == null) {
+        break;
+      }
+      valid = buffer.position();
+      profileLogRecords++;
+      while (byId.size() <= profile.getId()) {
+        byId.add(null);
+      }
+      byId.set(profile.getId(), profile);
+      profiles.put(profile.getNickname().toLowerCase(Locale.ROOT), profile);
+    }
+    if (valid < buffer.limit()) {
+      LOGGER.warning("Discarding a truncated profile record");
+      profileLog.truncate(valid);
+    }
+    if (profileLogRecords > 2 * byId.size() + COMPACTION_MIN_RECORDS) {
+      compactProfiles(path);
+    }
+  }
+
+  /**
+   * Method compactProfiles rewrites the profile log with the last version of every profile only,
+   * atomically replacing the old one.
+   *
+   * @param path of type Path - the profile log path.
+   * @throws IOException when the log can't be rewritten.
+   */
+  private void compactProfiles(Path path) throws IOException {
+    Path temp = directory.resolve(PROFILES_FILE + ".tmp");
+    try (FileChannel channel =
+        FileChannel.open(
+            temp,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      writeFully(channel, encodeProfiles(byId), 0);
+      channel.force(false);
+    }
+    profileLog.close();
+    Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    profileLog = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    profileLogRecords = profiles.size();
+  }
+
+  /**
+   * Method loadMatches checks the match log header and scans its records, rebuilding the god
+   * statistics. A truncated tail is discarded.
+   *
+   * @throws IOException when the log can't be read or has an unknown format.
+   */
+  private void loadMatches() throws IOException {
+    matchLog =
+        FileChannel.open(
+            directory.resolve(MATCHES_FILE),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+    ByteBuffer header = ByteBuffer.allocate(MATCHES_HEADER_SIZE);
+    if (matchLog.size() < MATCHES_HEADER_SIZE) {
+      header.putInt(MATCHES_MAGIC).putInt(MATCHES_VERSION).flip();
+      matchLog.truncate(0);
+      writeFully(matchLog, header, 0);
+      matchLog.force(false);
+    } else {
+      readFully(matchLog, header, 0);
+      if (header.getInt(0) != MATCHES_MAGIC || header.getInt(4) != MATCHES_VERSION) {
+        throw new IOException("Unknown match log format");
+      }
+    }
+    long records = (matchLog.size() - MATCHES_HEADER_SIZE) / MatchRecord.RECORD_SIZE;
+    matchLogSize = MATCHES_HEADER_SIZE + records * MatchRecord.RECORD_SIZE;
+    if (matchLog.size() > matchLogSize) {
+      LOGGER.warning("Discarding a truncated match record");
+      matchLog.truncate(matchLogSize);
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(SCAN_CHUNK_RECORDS * MatchRecord.RECORD_SIZE);
+    for (long position = MATCHES_HEADER_SIZE; position < matchLogSize; ) {
+      buffer.clear().limit((int) Math.min(buffer.capacity(), matchLogSize - position));
+      readFully(matchLog, buffer, position);
+      for (int offset = 0; offset < buffer.limit(); offset += MatchRecord.RECORD_SIZE) {
+        MatchRecord record = MatchRecord.readFrom(buffer, offset);
+        if (record.getWinner() != MatchRecord.NONE) {
+          for (Card god : record.getGods()) {
+            godStats[god.ordinal()][0]++;
+          }
+          godStats[record.getGods()[record.getWinner()].ordinal()][1]++;
+        }
+      }
+      position += buffer.limit();
+    }
+    storedMatches = records;
+  }
+
+  /**
+   * Method encodeProfiles serializes a list of profiles as profile log records: id, nickname
+   * length and UTF-8 bytes, rating, played, won and last login time. Null slots, the ids whose
+   * profile has never been written, are skipped.
+   *
+   * @param list of type List&lt;PlayerProfile&gt; - the profiles.
+   * @return ByteBuffer - the encoded records, ready to be written.
+   */
+  private static ByteBuffer encodeProfiles(List<PlayerProfile> list) {
+    List<byte[]> names = new ArrayList<>(list.size());
+    int size = 0;
+    for (PlayerProfile profile : list) {
+      if (profile == null) {
+        names.add(null);
+        continue;
+      }
+      byte[] name = profile.getNickname().getBytes(StandardCharsets.UTF_8);
+      names.add(name);
+      size += 26 + name.length;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    for (int i = 0; i < list.size(); i++) {
+      PlayerProfile profile = list.get(i);
+      if (profile == null) {
+        continue;
+      }
+      buffer.putInt(profile.getId());
+      buffer.putShort((short) names.get(i).length).put(names.get(i));
+      buffer.putInt(profile.getRating());
+      buffer.putInt(profile.getPlayed());
+      buffer.putInt(profile.getWon());
+      buffer.putLong(profile.getLastSeen());
+    }
+    return buffer.flip();
+  }
+
+  /**
+   * Method decodeProfile reads a profile log record.
+   *
+   * @param buffer of type ByteBuffer - the log content, positioned at the record start.
+   * @return PlayerProfile - the decoded profile, null if the record is truncated.
+   */
+  private static PlayerProfile decodeProfile(ByteBuffer buffer) {
+    if (buffer.remaining() < 6) {
+      return null;
+    }
+    int id = buffer.getInt();
+    int length = buffer.getShort();
+    if (id < 0 || length < 0 || buffer.remaining() < length + 20) {
+      return null;
+    }
+    byte[] name = new byte[length];
+    buffer.get(name);
+    return new PlayerProfile(
+        id,
+        new String(name, StandardCharsets.UTF_8),
+        buffer.getInt(),
+        buffer.getInt(),
+        buffer.getInt(),
+        buffer.getLong());
+  }
+
+  /**
+   * Method readFully fills the buffer with the channel content starting at the provided position.
+   *
+   * @param channel of type FileChannel - the source channel.
+   * @param buffer of type ByteBuffer - the destination buffer.
+   * @param position of type long - the channel position.
+   * @throws IOException when the channel ends before the buffer is full.
+   */
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position);
+      if (read < 0) {
+        throw new IOException("Unexpected end of log");
+      }
+      position += read;
+    }
+  }
+
+  /**
+   * Method writeFully writes the whole buffer at the provided channel position.
+   *
+   * @param channel of type FileChannel - the destination channel.
+   * @param buffer of type ByteBuffer - the source buffer.
+   * @param position of type long - the channel position.
+   * @throws IOException when the channel can't be written.
+   */
+  private static void writeFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+  }
+}
@@ -0,0 +1,208 @@
+package it.polimi.ingsw.client.replay;
+
+import it.polimi.ingsw.client.ClientBoard;
+import it.polimi.ingsw.model.board.GameBoard;
+import it.polimi.ingsw.model.rules.Position;
+import it.polimi.ingsw.server.answers.Answer;
+import it.polimi.ingsw.server.answers.MatchStartedMessage;
+import it.polimi.ingsw.server.answers.SetWorkersMessage;
+import it.polimi.ingsw.server.answers.turn.StartTurnMessage;
+import it.polimi.ingsw.server.answers.turn.WorkersRequestMessage;
+import it.polimi.ingsw.server.answers.worker.BuildMessage;
+import it.polimi.ingsw.server.answers.worker.MoveMessage;
+import it.polimi.ingsw.server.answers.worker.PlayerLostMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class ReplayTest tests the loading of a recorded match and the rebuilding of its frames.
+ *
+ * @author Alice Piemonti
+ * @see Replay
+ */
+class ReplayTest {
+  private static final int TURNS = 6;
+  @TempDir Path directory;
+
+  /**
+   * Method loadTest loads a recorded match and checks its frames, its turns and its last board.
+   *
+   * @throws IOException when the replay can't be written or read.
+   */
+  @Test
+  @DisplayName("Loading a recorded match")
+  void loadTest() throws IOException {
+    Path file = directory.resolve("match" + ReplayRecorder.EXTENSION);
+    record(file, false);
+    Replay replay = Replay.load(file);
+    assertEquals(2 + 3 * TURNS + 1, replay.getFrameCount());
+    assertEquals(TURNS, replay.getTurnCount());
+    assertEquals(0, replay.getTurnFrame(0));
+    assertEquals(3, replay.getTurnFrame(1));
+    assertEquals(6, replay.getTurnFrame(2));
+    assertEquals(0, replay.getTurn(1));
+    assertEquals(1, replay.getTurn(3));
+    assertEquals(1, replay.getTurn(5));
+    assertEquals(2, replay.getTurn(6));
+    assertEquals("BLUE", replay.getPlayerMapColor().get("Bob"));
+    assertEquals("ATLAS", replay.getPlayerMapGod().get("Bob"));
+    assertTrue(replay.getFrame(5) instanceof StartTurnMessage);
+    assertEquals("Bob", replay.getFrame(5).getMessage());
+
+    ClientBoard board = rebuild(replay, replay.getFrameCount() - 1);
+    assertEquals("BLUE", board.getColor(3, 4));
+    board = rebuild(replay, replay.getFrameCount());
+    assertEquals("RED", board.getColor(1, 0));
+    assertEquals(2, board.getWorkerNum(0, 1));
+    assertEquals(TURNS / 2, board.getHeight(2, 0));
+    for (int row = 0; row < 5; row++) {
+      for (int col = 0; col < 5; col++) {
+        assertNotEquals("BLUE", board.getColor(row, col), "Bob has lost");
+      }
+    }
+  }
+
+  /**
+   * Method seekTest rebuilds every frame from its keyframe and checks it against the board
+   * obtained applying all the answers from the beginning.
+   *
+   * @throws IOException when the replay can't be written or read.
+   */
+  @Test
+  @DisplayName("Frames rebuilt from the keyframes")
+  void seekTest() throws IOException {
+    Path file = directory.resolve("match" + ReplayRecorder.EXTENSION);
+    record(file, false);
+    Replay replay = Replay.load(file);
+    assertTrue(replay.getFrameCount() > Replay.KEYFRAME_INTERVAL);
+    ClientBoard expected = new ClientBoard();
+    String currentPlayer = null;
+    for (int frame = 0; frame <= replay.getFrameCount(); frame++) {
+      Replay.Keyframe keyframe = replay.getKeyframe(frame);
+      if (frame % Replay.KEYFRAME_INTERVAL == 0) {
+        assertEquals(currentPlayer, keyframe.getCurrentPlayer());
+      }
+      assertSameBoard(expected, rebuild(replay, frame), frame);
+      if (frame < replay.getFrameCount()) {
+        currentPlayer = Replay.apply(replay.getFrame(frame), expected, currentPlayer);
+      }
+    }
+    assertEquals("Bob", currentPlayer);
+  }
+
+  /**
+   * Method truncatedTest loads a replay cut while writing its last answer, and a file with no
+   * started match.
+   *
+   * @throws IOException when the replay can't be written or read.
+   */
+  @Test
+  @DisplayName("Truncated and invalid replay files")
+  void truncatedTest() throws IOException {
+    Path file = directory.resolve("truncated" + ReplayRecorder.EXTENSION);
+    record(file, true);
+    Replay replay = Replay.load(file);
+    assertEquals(2 + 3 * TURNS, replay.getFrameCount());
+    assertEquals("BLUE", rebuild(replay, replay.getFrameCount()).getColor(3, 4));
+
+    Path empty = directory.resolve("empty" + ReplayRecorder.EXTENSION);
+    try (ObjectOutputStream output = new ObjectOutputStream(Files.newOutputStream(empty))) {
+      output.writeObject(new StartTurnMessage("Alice"));
+    }
+    assertThrows(IOException.class, () -> Replay.load(empty));
+  }
+
+  /**
+   * Method rebuild returns the board shown at a frame, starting from the closest keyframe like the
+   * ReplayPlayer does.
+   *
+   * @param replay of type Replay - the replay.
+   * @param frame of type int - the frame index.
+   * @return ClientBoard - the board.
+   */
+  private static ClientBoard rebuild(Replay replay, int frame) {
+    Replay.Keyframe keyframe = replay.getKeyframe(frame);
+    ClientBoard board = new ClientBoard();
+    board.load(keyframe.getPosition());
+    String currentPlayer = keyframe.getCurrentPlayer();
+    for (int i = frame - frame % Replay.KEYFRAME_INTERVAL; i < frame; i++) {
+      currentPlayer = Replay.apply(replay.getFrame(i), board, currentPlayer);
+    }
+    return board;
+  }
+
+  /**
+   * Method assertSameBoard checks that two boards have the same buildings and workers.
+   *
+   * @param expected of type ClientBoard - the expected board.
+   * @param actual of type ClientBoard - the board checked.
+   * @param frame of type int - the frame index, for the failure message.
+   */
+  private static void assertSameBoard(ClientBoard expected, ClientBoard actual, int frame) {
+    Position position = actual.toPosition();
+    Position other = expected.toPosition();
+    for (int i = 0; i < Position.CELLS; i++) {
+      assertEquals(other.getHeight(i), position.getHeight(i), "frame " + frame);
+      assertEquals(other.isDome(i), position.isDome(i), "frame " + frame);
+      assertEquals(other.getColorId(i), position.getColorId(i), "frame " + frame);
+      assertEquals(other.getWorkerNum(i), position.getWorkerNum(i), "frame " + frame);
+    }
+  }
+
+  /**
+   * Method record writes a replay file the way a ReplayRecorder does: Alice (RED) and Bob (BLUE)
+   * move a worker back and forth and build, then Bob loses. The file is recorded by Bob, so his
+   * PlayerLostMessage has no color.
+   *
+   * @param file of type Path - the replay file.
+   * @param truncated of type boolean - true to cut the file in the middle of the last answer.
+   * @throws IOException when the file can't be written.
+   */
+  private static void record(Path file, boolean truncated) throws IOException {
+    GameBoard board = new GameBoard();
+    MatchStartedMessage match = new MatchStartedMessage();
+    match.setPlayerMapColor("Alice", "RED");
+    match.setPlayerMapColor("Bob", "BLUE");
+    match.setPlayerMapGod("Alice", "APOLLO");
+    match.setPlayerMapGod("Bob", "ATLAS");
+    List<Answer> answers = new ArrayList<>();
+    answers.add(match);
+    answers.add(new SetWorkersMessage("RED", 0, 0, 0, 1));
+    answers.add(new SetWorkersMessage("BLUE", 4, 4, 4, 3));
+    for (int turn = 0; turn < TURNS; turn++) {
+      boolean alice = turn % 2 == 0;
+      int row = alice ? 0 : 4;
+      int col = alice ? 0 : 4;
+      int step = alice ? 1 : -1;
+      boolean back = turn % 4 >= 2;
+      answers.add(alice ? new StartTurnMessage("Alice") : new WorkersRequestMessage());
+      answers.add(
+          back
+              ? new MoveMessage(board.getSpace(row + step, col), board.getSpace(row, col))
+              : new MoveMessage(board.getSpace(row, col), board.getSpace(row + step, col)));
+      answers.add(new BuildMessage(board.getSpace(row + 2 * step, col), false));
+    }
+    answers.add(new PlayerLostMessage("Bob"));
+    try (ObjectOutputStream output = new ObjectOutputStream(Files.newOutputStream(file))) {
+      for (Answer answer : answers) {
+        output.writeObject(Replay.toFrame(answer, "Bob"));
+        output.reset();
+      }
+    }
+    if (truncated) {
+      byte[] bytes = Files.readAllBytes(file);
+      Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+    }
+  }
+}
@@ -269,6 +269,29 @@ class ActionControllerTest {
     assertTrue(actionController.readMessage(message4), "4");
   }
 
+  /**
+   * Method invalidActionsTest tests that actions without a selected worker or with a blocked one
+   * are refused.
+   */
+  @Test
+  @DisplayName("actions without a worker or with a blocked one")
+  void invalidActionsTest() {
+    assertFalse(actionController.readMessage(new SelectMoveAction()), "1");
+    assertFalse(actionController.readMessage(new SelectBuildAction()), "2");
+    assertFalse(actionController.readMessage(new MoveAction(0, 0)), "3");
+    assertFalse(actionController.readMessage(new BuildAction(0, 0)), "4");
+    assertFalse(actionController.startAction(null), "5");
+
+    worker = new Apollo(PlayerColors.BLUE);
+    worker.setPosition(gameBoard.getSpace(0, 0));
+    gameBoard.getSpace(0, 1).getTower().setDome(true);
+    gameBoard.getSpace(1, 0).getTower().setDome(true);
+    gameBoard.getSpace(1, 1).getTower().setDome(true);
+    assertFalse(actionController.startAction(worker), "6");
+    assertTrue(worker.isBlocked(), "7");
+    assertEquals(0, actionController.getPhase(), "8");
+  }
+
   /** Method endActionTest tests the method endAction with different phase's values. */
   @Test
   @DisplayName("end action test")
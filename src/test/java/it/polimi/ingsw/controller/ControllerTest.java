@@ -18,7 +18,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.beans.PropertyChangeEvent;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -242,7 +241,7 @@ class ControllerTest {
     controller.setSelectionController(i);
   }
 
-  /** Method listenerTest tests firePropertyChange. */
+  /** Method listenerTest tests the routing of the actions to the sub-controllers. */
   @DisplayName("Listener's firing test")
   @Test
   void listenerTest() {
@@ -250,9 +249,8 @@ class ControllerTest {
     assert (new1 instanceof WorkerSetupAction);
     assert (new2 instanceof EndTurnAction);
     assertNull(new3);
-    controller.propertyChange(new PropertyChangeEvent(this, "godSelection", null, new0));
-    controller.propertyChange(new PropertyChangeEvent(this, "workerPlacement", null, new1));
-    controller.propertyChange(new PropertyChangeEvent(this, "turnController", null, new2));
-    controller.propertyChange(new PropertyChangeEvent(this, "nonSensePhrase", null, new3));
+    controller.selectGod((ChallengerPhaseAction) new0);
+    controller.placeWorkers((WorkerSetupAction) new1);
+    controller.getTurnController().endTurn();
   }
 }
@@ -8,6 +8,7 @@ import it.polimi.ingsw.model.Deck;
 import it.polimi.ingsw.model.Game;
 import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.server.GameHandler;
+import it.polimi.ingsw.server.MatchPhase;
 import it.polimi.ingsw.server.Server;
 import it.polimi.ingsw.server.VirtualClient;
 import it.polimi.ingsw.server.answers.Answer;
@@ -60,7 +61,7 @@ class GodSelectionControllerTest {
 
   /** Class GameHandlerStub defines a stub for GameHandler class. */
   private static class GameHandlerStub extends GameHandler {
-    public int started = 1;
+    public MatchPhase phase = MatchPhase.GOD_SELECTION;
 
     /**
      * Constructor GameHandler creates a new GameHandler instance.
@@ -131,15 +132,14 @@ class GodSelectionControllerTest {
     }
 
     /**
-     * Method isStarted returns if the game has started (the started attribute becomes true after
-     * the challenger selection phase).
+     * Method getPhase returns the current phase of the match lifecycle.
      *
-     * @return int - the current game phase.
-     * @see GameHandler#isStarted()
+     * @return MatchPhase - the current game phase.
+     * @see GameHandler#getPhase()
      */
     @Override
-    public int isStarted() {
-      return started;
+    public MatchPhase getPhase() {
+      return phase;
     }
   }
 
@@ -206,13 +206,11 @@ class GodSelectionControllerTest {
     controller.getModel().setCurrentPlayer(controller.getModel().getActivePlayers().get(0));
     // God list and description testing
 
-    selectionController.propertyChange(
-        new PropertyChangeEvent(this, null, null, new ChallengerPhaseAction("LIST", null)));
+    selectionController.handle(new ChallengerPhaseAction("LIST", null));
     assertTrue(virtualClient.notified);
     assertEquals(Card.godsName(), virtualClient.gods);
     virtualClient.notified = false;
-    selectionController.propertyChange(
-        new PropertyChangeEvent(this, null, null, new ChallengerPhaseAction("DESC", Card.APOLLO)));
+    selectionController.handle(new ChallengerPhaseAction("DESC", Card.APOLLO));
     assertTrue(virtualClient.notified);
     assertEquals(virtualClient.message, Card.APOLLO.godsDescription());
 
@@ -226,7 +224,7 @@ class GodSelectionControllerTest {
     assertFalse(selectionController.add(Card.PROMETHEUS));
 
     // God choosing test
-    gameHandler.started = 2;
+    gameHandler.phase = MatchPhase.GOD_CHOICE;
     controller.getModel().setCurrentPlayer(controller.getModel().getActivePlayers().get(0));
     assertFalse(selectionController.lastSelection());
     assertTrue(selectionController.choose(Card.APOLLO));
@@ -6,6 +6,7 @@ import it.polimi.ingsw.client.messages.actions.workeractions.BuildAction;
 import it.polimi.ingsw.client.messages.actions.workeractions.MoveAction;
 import it.polimi.ingsw.client.messages.actions.workeractions.SelectBuildAction;
 import it.polimi.ingsw.client.messages.actions.workeractions.SelectMoveAction;
+import it.polimi.ingsw.listeners.events.MoveUpEvent;
 import it.polimi.ingsw.model.Game;
 import it.polimi.ingsw.model.board.GameBoard;
 import it.polimi.ingsw.model.player.Action;
@@ -24,11 +25,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.beans.PropertyChangeEvent;
 import java.net.Socket;
 import java.util.HashMap;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -69,19 +70,19 @@ public class TurnControllerTest {
   final ControllerStub controllerStub = new ControllerStub(game, handler);
   final TurnController turnController =
       new TurnController(new Controller(game, handler), handler, actionControllerStub);
-  PropertyChangeEvent evt1;
-  PropertyChangeEvent evt2;
-  PropertyChangeEvent evt3;
-  PropertyChangeEvent evt4;
-  PropertyChangeEvent evt5;
-  PropertyChangeEvent evt6;
-  PropertyChangeEvent evt7;
-  PropertyChangeEvent evt8;
-  PropertyChangeEvent evt9;
-  PropertyChangeEvent evt10;
-  PropertyChangeEvent evt11;
-  PropertyChangeEvent evt12;
-  PropertyChangeEvent evt13;
+  StartTurnAction start;
+  StartTurnAction worker1;
+  StartTurnAction worker2;
+  EndTurnAction endTurn;
+  SelectBuildAction selectBuild;
+  SelectMoveAction selectMove;
+  MoveAction move;
+  BuildAction build;
+  MoveUpEvent evt9;
+  MoveUpEvent evt10;
+  SelectMoveAction wrongSelectMove;
+  SelectBuildAction selectRemove;
+  StartTurnAction worker1Again;
 
   /** Method init initializes values. */
   @BeforeEach
@@ -108,84 +109,75 @@ public class TurnControllerTest {
     controllerStub.getModel().getActivePlayers().add(sonny);
     controllerStub.getModel().setCurrentPlayer(piro);
     game.setCurrentPlayer(piro);
-    evt1 = new PropertyChangeEvent(1, null, null, new StartTurnAction("start"));
-    evt2 = new PropertyChangeEvent(2, null, null, new StartTurnAction("worker1"));
-    evt3 = new PropertyChangeEvent(3, null, null, new StartTurnAction("worker2"));
-    evt4 = new PropertyChangeEvent(4, null, null, new EndTurnAction());
-    evt5 = new PropertyChangeEvent(5, null, null, new SelectBuildAction());
-    evt6 = new PropertyChangeEvent(6, null, null, new SelectMoveAction(Action.SELECT_MOVE));
-    evt7 = new PropertyChangeEvent(7, null, null, new MoveAction(1, 1));
-    evt8 = new PropertyChangeEvent(8, null, null, new BuildAction(1, 1));
-    evt9 = new PropertyChangeEvent(9, null, null, "AthenaMovedUp");
-    evt10 = new PropertyChangeEvent(10, null, null, "AthenaNormalMove");
-    evt11 = new PropertyChangeEvent(6, null, null, new SelectMoveAction(Action.BUILD));
-    evt12 = new PropertyChangeEvent(6, null, null, new SelectBuildAction(Action.SELECT_REMOVE));
-    evt13 = new PropertyChangeEvent(6, null, null, new StartTurnAction("worker1"));
+    start = new StartTurnAction("start");
+    worker1 = new StartTurnAction("worker1");
+    worker2 = new StartTurnAction("worker2");
+    endTurn = new EndTurnAction();
+    selectBuild = new SelectBuildAction();
+    selectMove = new SelectMoveAction(Action.SELECT_MOVE);
+    move = new MoveAction(1, 1);
+    build = new BuildAction(1, 1);
+    evt9 = MoveUpEvent.of(true);
+    evt10 = MoveUpEvent.of(false);
+    wrongSelectMove = new SelectMoveAction(Action.BUILD);
+    selectRemove = new SelectBuildAction(Action.SELECT_REMOVE);
+    worker1Again = new StartTurnAction("worker1");
   }
 
   /** Method endTurnActionTest tests EndTurnAction. */
   @Test
   @DisplayName("EndTurnAction test")
   public void endTurnActionTest() {
-    assertTrue(evt4.getNewValue() instanceof EndTurnAction);
     actionControllerStub.setPhase(7);
-    turnController.propertyChange(evt4);
+    turnController.endTurn();
   }
 
   /** Method startTurnActionTest tests StartTurnAction. */
   @Test
   @DisplayName("StartTurnAction test")
   public void startTurnActionTest() {
-    assertTrue(evt1.getNewValue() instanceof StartTurnAction);
-    assertTrue(evt2.getNewValue() instanceof StartTurnAction);
-    assertTrue(evt3.getNewValue() instanceof StartTurnAction);
-    turnController.propertyChange(evt1);
+    turnController.startTurn(start);
     controllerStub.getModel().getCurrentPlayer().getWorkers().get(0).setBlocked(true);
-    turnController.propertyChange(evt3);
+    turnController.startTurn(worker2);
     controllerStub.getModel().getCurrentPlayer().getWorkers().get(0).setBlocked(false);
-    turnController.propertyChange(evt3);
+    turnController.startTurn(worker2);
     actionControllerStub.setPhase(1);
-    turnController.propertyChange(evt2);
+    turnController.startTurn(worker1);
     controllerStub.getModel().getCurrentPlayer().getWorkers().get(0).setBlocked(false);
     controllerStub.getModel().getCurrentPlayer().getWorkers().get(1).setBlocked(false);
     actionControllerStub.setPhase(0);
     controllerStub.getModel().setCurrentPlayer(piro);
     game.setCurrentPlayer(piro);
-    turnController.propertyChange(evt13);
+    turnController.startTurn(worker1Again);
   }
   /** Method AthenaMovesTest tests Athena power active. */
   @Test
   @DisplayName("Testing Athena moves")
   public void AthenaMovesTest() {
-    assertEquals("AthenaMovedUp", evt9.getNewValue());
-    assertEquals("AthenaNormalMove", evt10.getNewValue());
-    turnController.propertyChange(evt9);
-    turnController.propertyChange(evt10);
+    assertTrue(evt9.isMovedUp());
+    assertFalse(evt10.isMovedUp());
+    turnController.onEvent(evt9);
+    turnController.onEvent(evt10);
   }
   /** Method actionsTest tests all possible actions. */
   @Test
   @DisplayName("Testing all actions")
   public void actionsTest() {
-    assertTrue(evt5.getNewValue() instanceof SelectBuildAction);
-    assertTrue(evt6.getNewValue() instanceof SelectMoveAction);
-    assertTrue(evt11.getNewValue() instanceof SelectMoveAction);
-    assertTrue(evt7.getNewValue() instanceof MoveAction);
-    assertTrue(evt8.getNewValue() instanceof BuildAction);
     actionControllerStub.setPhase(2);
     game.setCurrentPlayer(ali);
     controllerStub.getModel().setCurrentPlayer(ali);
     game.getCurrentPlayer().getWorkers().get(0).setBlocked(false);
     game.getCurrentPlayer().getWorkers().get(1).setBlocked(false);
     actionControllerStub.setWorker(ali.getWorkers().get(0));
-    turnController.propertyChange(evt5);
+    turnController.checkSelectBuildAction(selectBuild);
     actionControllerStub.setPhase(2);
     actionControllerStub.getWorker().setBlocked(true);
-    turnController.propertyChange(evt5);
-    turnController.propertyChange(evt6);
-    turnController.propertyChange(evt7);
-    turnController.propertyChange(evt8);
+    turnController.checkSelectBuildAction(selectBuild);
+    turnController.checkSelectMoveAction(selectMove);
+    turnController.checkMoveAction(move);
+    turnController.checkBuildAction(build);
     actionControllerStub.setPhase(3);
-    turnController.propertyChange(evt11);
+    turnController.checkSelectMoveAction(wrongSelectMove);
   }
   /** Method unusedWorkerTest tests Ares power. */
   @Test
@@ -198,7 +190,7 @@ public class TurnControllerTest {
     actionControllerStub.setWorker(ali.getWorkers().get(0));
     assertEquals(ali.getWorkers().get(0), actionControllerStub.getWorker());
     actionControllerStub.setPhase(1);
-    turnController.propertyChange(evt12);
+    turnController.checkSelectBuildAction(selectRemove);
   }
   /** Method endGameTest tests endGame method. */
   @Test
@@ -212,7 +204,7 @@ public class TurnControllerTest {
     assertEquals(Action.SELECT_MOVE, ali.getWorkers().get(0).getPhase(0).getAction());
     ali.getWorkers().get(1).setBlocked(true);
     ali.getWorkers().get(1).setPhases();
-    turnController.propertyChange(evt2);
+    turnController.startTurn(worker1);
   }
 
   /** Class ActionControllerStub defines a stub for ActionController class. */
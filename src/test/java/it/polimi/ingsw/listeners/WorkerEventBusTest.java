@@ -0,0 +1,55 @@
+package it.polimi.ingsw.listeners;
+
+import it.polimi.ingsw.listeners.events.MoveEvent;
+import it.polimi.ingsw.listeners.events.MoveUpEvent;
+import it.polimi.ingsw.listeners.events.WinEvent;
+import it.polimi.ingsw.listeners.events.WorkerEvent;
+import it.polimi.ingsw.model.board.GameBoard;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class WorkerEventBusTest tests WorkerEventBus class.
+ *
+ * @author Alice Piemonti
+ * @see WorkerEventBus
+ */
+class WorkerEventBusTest {
+
+  final WorkerEventBus bus = new WorkerEventBus();
+  final List<String> received = new ArrayList<>();
+
+  /** Method typedDispatchTest tests that events reach only the listeners of their type. */
+  @Test
+  @DisplayName("Events are delivered to the listeners of their type, in subscription order")
+  void typedDispatchTest() {
+    GameBoard board = new GameBoard();
+    assertFalse(bus.hasListeners(WorkerEvent.Type.MOVE));
+    bus.subscribe(MoveEvent.class, event -> received.add("first " + event.getNewPosition().getRow()));
+    bus.subscribe(MoveEvent.class, event -> received.add("second"));
+    bus.subscribe(WinEvent.class, event -> received.add("win"));
+    assertTrue(bus.hasListeners(WorkerEvent.Type.MOVE));
+    assertFalse(bus.hasListeners(WorkerEvent.Type.BUILD));
+
+    bus.publish(new MoveEvent(board.getSpace(0, 0), board.getSpace(1, 1)));
+    bus.publish(MoveUpEvent.MOVED_UP);
+    assertEquals(List.of("first 1", "second"), received);
+    bus.publish(WinEvent.INSTANCE);
+    assertEquals(List.of("first 1", "second", "win"), received);
+  }
+
+  /** Method typeTest tests the mapping between event classes and types. */
+  @Test
+  @DisplayName("Every event class is mapped to its type")
+  void typeTest() {
+    assertEquals(WorkerEvent.Type.MOVE_UP, WorkerEvent.Type.of(MoveUpEvent.class));
+    assertEquals(WorkerEvent.Type.MOVE_UP, MoveUpEvent.of(false).getType());
+    assertSame(MoveUpEvent.NORMAL_MOVE, MoveUpEvent.of(false));
+    assertThrows(IllegalArgumentException.class, () -> WorkerEvent.Type.of(WorkerEvent.class));
+  }
+}
@@ -60,6 +60,7 @@ class CardTest {
       for (God god : gods) {
         if (god.getName().equalsIgnoreCase(card.name())) {
           assertTrue(Objects.requireNonNull(card.godsDescription()).contains(god.getDesc()));
+          assertSame(card.godsDescription(), card.godsDescription());
         }
       }
     }
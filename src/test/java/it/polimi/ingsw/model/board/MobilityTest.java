@@ -0,0 +1,130 @@
+package it.polimi.ingsw.model.board;
+
+import it.polimi.ingsw.exceptions.OutOfBoundException;
+import it.polimi.ingsw.model.player.PlayerColors;
+import it.polimi.ingsw.model.player.Worker;
+import it.polimi.ingsw.model.player.gods.advancedgods.Charon;
+import it.polimi.ingsw.model.player.gods.simplegods.Apollo;
+import it.polimi.ingsw.model.player.gods.simplegods.Atlas;
+import it.polimi.ingsw.model.player.gods.simplegods.Minotaur;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MobilityTest class tests Mobility class.
+ *
+ * @author Alice Piemonti
+ * @see Mobility
+ */
+class MobilityTest {
+  private GameBoard gameBoard;
+  private Mobility mobility;
+
+  /** Method init creates an empty board. */
+  @BeforeEach
+  void init() {
+    gameBoard = new GameBoard();
+    mobility = gameBoard.getMobility();
+  }
+
+  /**
+   * Method invalidationTest checks that a change only invalidates the counts nearby.
+   *
+   * @throws OutOfBoundException when a tower is raised over its limit.
+   */
+  @Test
+  @DisplayName("Only nearby counts are invalidated")
+  void invalidationTest() throws OutOfBoundException {
+    Worker worker = new Atlas(PlayerColors.RED);
+    worker.setPosition(gameBoard.getSpace(0, 0));
+    assertEquals(3, mobility.getMoves(worker));
+    assertEquals(0, mobility.getInvalid() & 1);
+    gameBoard.getSpace(4, 4).getTower().addLevel();
+    assertEquals(0, mobility.getInvalid() & 1);
+    gameBoard.getSpace(2, 2).getTower().addLevel();
+    assertEquals(1, mobility.getInvalid() & 1);
+    gameBoard.getSpace(1, 1).getTower().addLevel();
+    gameBoard.getSpace(1, 1).getTower().addLevel();
+    assertEquals(2, mobility.getMoves(worker));
+    worker.setCanMoveUp(false);
+    gameBoard.getSpace(0, 1).getTower().addLevel();
+    assertEquals(1, mobility.getMoves(worker));
+    worker.setCanMoveUp(true);
+    assertEquals(2, mobility.getMoves(worker));
+  }
+
+  /** Method blockedTest checks the detection of blocked workers and players. */
+  @Test
+  @DisplayName("Blocked workers and players")
+  void blockedTest() {
+    Worker first = new Apollo(PlayerColors.BLUE);
+    Worker second = new Apollo(PlayerColors.BLUE);
+    first.setPosition(gameBoard.getSpace(0, 0));
+    second.setPosition(gameBoard.getSpace(4, 4));
+    gameBoard.getSpace(0, 1).getTower().setDome(true);
+    gameBoard.getSpace(1, 0).getTower().setDome(true);
+    assertFalse(mobility.isBlocked(first));
+    gameBoard.getSpace(1, 1).getTower().setDome(true);
+    assertTrue(mobility.isBlocked(first));
+    assertFalse(mobility.isBlocked(List.of(first, second)));
+    gameBoard.getSpace(3, 3).getTower().setDome(true);
+    gameBoard.getSpace(3, 4).getTower().setDome(true);
+    gameBoard.getSpace(4, 3).getTower().setDome(true);
+    assertTrue(mobility.isBlocked(List.of(first, second)));
+    gameBoard.getSpace(0, 0).setWorker(null);
+    assertEquals(0, mobility.getMoves(first));
+  }
+
+  /**
+   * Method serverParityTest moves workers and builds at random, checking after every change that
+   * the counts match the moves selected by the workers on the whole board.
+   *
+   * @throws OutOfBoundException when a tower is raised over its limit.
+   */
+  @Test
+  @DisplayName("Counts match the moves of the workers")
+  void serverParityTest() throws OutOfBoundException {
+    Random random = new Random(3);
+    for (int round = 0; round < 50; round++) {
+      init();
+      Worker[] workers = {
+        new Minotaur(PlayerColors.RED),
+        new Minotaur(PlayerColors.RED),
+        new Charon(PlayerColors.BLUE),
+        new Apollo(PlayerColors.GREEN)
+      };
+      for (Worker worker : workers) {
+        Space space;
+        do {
+          space = gameBoard.getSpace(random.nextInt(5), random.nextInt(5));
+        } while (!space.isEmpty());
+        worker.setPosition(space);
+      }
+      for (int step = 0; step < 60; step++) {
+        Worker worker = workers[random.nextInt(workers.length)];
+        List<Space> moves = worker.selectMoves(gameBoard);
+        int expected = moves.size();
+        if (worker instanceof Charon) {
+          expected += ((Charon) worker).selectForceWorkerSpaces(gameBoard).size();
+        }
+        assertEquals(expected, mobility.getMoves(worker));
+        Space space = gameBoard.getSpace(random.nextInt(5), random.nextInt(5));
+        if (random.nextBoolean() && !moves.isEmpty()) {
+          Space target = moves.get(random.nextInt(moves.size()));
+          if (target.isEmpty()) {
+            worker.getPosition().setWorker(null);
+            worker.setPosition(target);
+          }
+        } else if (space.isEmpty() && !space.getTower().isCompleted()) {
+          space.getTower().addLevel();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package it.polimi.ingsw.model.book;
+
+import it.polimi.ingsw.model.Card;
+import it.polimi.ingsw.model.rules.Evaluator;
+import it.polimi.ingsw.model.rules.Position;
+import it.polimi.ingsw.model.rules.Search;
+import it.polimi.ingsw.model.rules.Symmetry;
+import it.polimi.ingsw.model.rules.Turn;
+import it.polimi.ingsw.model.rules.TurnBuffer;
+import it.polimi.ingsw.model.rules.TurnGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class BookTest tests the OpeningBook and Tablebase classes, written to and read from
+ * their files.
+ *
+ * @author Alice Piemonti
+ * @see OpeningBook
+ * @see Tablebase
+ */
+class BookTest {
+  @TempDir Path directory;
+
+  /**
+   * Method contains returns true if a turn is one of the legal turns of a player.
+   *
+   * @param position of type Position - the board.
+   * @param colorId of type int - the color id of the player.
+   * @param god of type Card - the god of the player.
+   * @param turn of type long - the turn.
+   * @return boolean true if legal, false otherwise.
+   */
+  private static boolean contains(Position position, int colorId, Card god, long turn) {
+    TurnBuffer turns = new TurnBuffer();
+    new TurnGenerator().generate(position, colorId, god, true, turns);
+    for (int i = 0; i < turns.size(); i++) {
+      if (turns.get(i) == turn) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Method bookTest generates a small book and looks up its positions, whatever the numbers of the
+   * workers. The placements on the second row alone are stored once with their mirror image.
+   *
+   * @throws IOException when the book can't be written or read.
+   */
+  @Test
+  @DisplayName("Opening book")
+  void bookTest() throws IOException {
+    int cells = 0b11111_00001;
+    // 30 of the 90 placements are on the second row alone, sharing their records with the mirror
+    int records = 2 * 2 * (15 * 6 - 15);
+    assertEquals(records, OpeningBook.generate(directory, Card.PAN, Card.APOLLO, cells, 1));
+    assertTrue(Files.exists(directory.resolve("book-APOLLO-PAN.bin")));
+    try (OpeningBook book = OpeningBook.open(directory, Card.APOLLO, Card.PAN)) {
+      assertEquals(records, book.size());
+      Position position = new Position();
+      position.setWorker(0, 1, 2);
+      position.setWorker(7, 1, 1);
+      position.setWorker(5, 2, 1);
+      position.setWorker(9, 2, 2);
+      long turn = book.lookup(position, 1, Card.PAN);
+      assertNotEquals(Search.NO_TURN, turn);
+      assertTrue(contains(position, 1, Card.PAN, turn));
+      assertTrue(contains(position, 2, Card.APOLLO, book.lookup(position, 2, Card.APOLLO)));
+      assertEquals(Search.NO_TURN, book.lookup(position, 1, Card.ATLAS));
+
+      Position row = new Position();
+      row.setWorker(5, 1, 1);
+      row.setWorker(6, 1, 2);
+      row.setWorker(8, 2, 1);
+      row.setWorker(9, 2, 2);
+      Position mirrored = Symmetry.apply(row, 2);
+      long rowTurn = book.lookup(row, 1, Card.PAN);
+      assertTrue(contains(row, 1, Card.PAN, rowTurn));
+      assertEquals(Symmetry.turn(rowTurn, 2), book.lookup(mirrored, 1, Card.PAN));
+      assertTrue(contains(mirrored, 1, Card.PAN, book.lookup(mirrored, 1, Card.PAN)));
+      position.setWorker(12, 1, 1);
+      position.clearWorker(7);
+      assertEquals(Search.NO_TURN, book.lookup(position, 1, Card.PAN));
+    }
+  }
+
+  /**
+   * Method tablebaseTest solves endgames and checks the results: a blocked player, a win with the
+   * turn, and that the best turn of every solved endgame keeps the result.
+   *
+   * @throws IOException when the tablebase can't be written or read.
+   */
+  @Test
+  @DisplayName("Tablebase")
+  void tablebaseTest() throws IOException {
+    Position blocked = new Position();
+    for (int i = 0; i < Position.CELLS; i++) {
+      blocked.setHeight(i, 4);
+    }
+    int[] cells = {0, 1, 5, 6, 12};
+    for (int cell : cells) {
+      blocked.setDome(cell, false);
+      blocked.setHeight(cell, 0);
+    }
+    blocked.setHeight(1, 2);
+    blocked.setHeight(6, 3);
+    blocked.setWorker(0, 1, 1);
+    blocked.setWorker(5, 1, 2);
+    blocked.setWorker(1, 2, 1);
+    blocked.setWorker(12, 2, 2);
+    List<Position> endgames = BookGenerator.randomEndgames(new Random(1), 100, 7);
+    endgames.add(blocked);
+    int written = Tablebase.generate(directory, Card.ATLAS, Card.ARTEMIS, endgames, 4, 200_000);
+    assertTrue(written > 0);
+    try (Tablebase tablebase = Tablebase.open(directory, Card.ARTEMIS, Card.ATLAS)) {
+      assertEquals(written, tablebase.size());
+      assertEquals(2, tablebase.probe(blocked, 2, Card.ARTEMIS, true));
+      assertTrue(Turn.isWin(tablebase.bestTurn(blocked, 2, Card.ARTEMIS, true)));
+      assertEquals(-1, tablebase.probe(blocked, 1, Card.ATLAS, true));
+      assertEquals(Search.NO_TURN, tablebase.bestTurn(blocked, 1, Card.ATLAS, true));
+
+      Card[] gods = new Card[Evaluator.COLORS];
+      gods[1] = Card.ATLAS;
+      gods[2] = Card.ARTEMIS;
+      int solved = 0;
+      for (Position endgame : endgames) {
+        for (int color = 1; color <= 2; color++) {
+          int value = tablebase.probe(endgame, color, gods[color], true);
+          long turn = tablebase.bestTurn(endgame, color, gods[color], true);
+          if (value == 0 || value == -1 || Turn.isWin(turn)) {
+            continue;
+          }
+          solved++;
+          assertTrue(contains(endgame, color, gods[color], turn));
+          Position next = endgame.copy();
+          boolean canMoveUp = !Search.movesUp(next, color, turn) || gods[color] != Card.ATHENA;
+          TurnGenerator.play(next, color, gods[color], turn);
+          int reply = tablebase.probe(next, 3 - color, gods[3 - color], canMoveUp);
+          assertEquals(Tablebase.isWin(value), !Tablebase.isWin(reply));
+          assertEquals(Tablebase.turnsLeft(value) - 1, Tablebase.turnsLeft(reply));
+        }
+      }
+      assertTrue(solved > 0);
+    }
+  }
+}
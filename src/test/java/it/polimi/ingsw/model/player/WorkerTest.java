@@ -372,6 +372,26 @@ class WorkerTest {
       assertThrows(IllegalStateException.class, () -> worker.notifyWithMoves(gameBoard));
     }
 
+    /**
+     * Method publishResults tests that publishMoves and publishBuildable report a missing board and
+     * a blocked worker through their result.
+     */
+    @Test
+    @DisplayName("result codes: worker blocked")
+    void publishResults() {
+      GameBoard gameBoard = new GameBoard();
+      worker.setPosition(gameBoard.getSpace(0, 0));
+      assertEquals(SelectionResult.INVALID, worker.publishMoves(null), "1");
+      assertEquals(SelectionResult.INVALID, worker.publishBuildable(null), "2");
+      assertEquals(SelectionResult.SELECTED, worker.publishMoves(gameBoard), "3");
+      gameBoard.getSpace(0, 1).getTower().setDome(true);
+      gameBoard.getSpace(1, 0).getTower().setDome(true);
+      gameBoard.getSpace(1, 1).getTower().setDome(true);
+      assertEquals(SelectionResult.NO_SPACES, worker.publishMoves(gameBoard), "4");
+      assertTrue(worker.isBlocked(), "5");
+      assertEquals(SelectionResult.NO_SPACES, worker.publishBuildable(gameBoard), "6");
+    }
+
     /** Method getMovesNotMoveUp tests notifyWithMoves when worker can't move up. */
     @Test
     @DisplayName("worker can't move up")
@@ -5,6 +5,7 @@ import it.polimi.ingsw.controller.ActionController;
 import it.polimi.ingsw.controller.Controller;
 import it.polimi.ingsw.controller.TurnController;
 import it.polimi.ingsw.exceptions.OutOfBoundException;
+import it.polimi.ingsw.listeners.events.MoveUpEvent;
 import it.polimi.ingsw.model.Game;
 import it.polimi.ingsw.model.board.GameBoard;
 import it.polimi.ingsw.model.board.Space;
@@ -18,8 +19,6 @@ import it.polimi.ingsw.server.answers.worker.MoveMessage;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.beans.PropertyChangeEvent;
-
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -146,20 +145,18 @@ class AthenaTest {
     }
 
     /**
-     * Method propertyChange receives a property changed from a PropertyChangeSupport and pass
-     * different arguments to the ActionController.
+     * Method onEvent receives the Athena move notifications.
      *
-     * @param evt of type PropertyChangeEvent - the property change event.
-     * @see TurnController#propertyChange(PropertyChangeEvent)
+     * @param evt of type MoveUpEvent - the Athena move event.
+     * @see TurnController#onEvent(MoveUpEvent)
      */
     @Override
-    public void propertyChange(PropertyChangeEvent evt) {
-
-      if (evt.getNewValue().equals("AthenaMovedUp")) {
+    public void onEvent(MoveUpEvent evt) {
+      if (evt.isMovedUp()) {
         event = "Athena";
-      } else if (evt.getNewValue().equals("AthenaNormalMove")) {
+      } else {
         event = "normal";
-      } else fail("no string");
+      }
     }
   }
 }
@@ -0,0 +1,149 @@
+package it.polimi.ingsw.model.rules;
+
+import it.polimi.ingsw.model.Card;
+import it.polimi.ingsw.model.rules.Evaluator.Feature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class EvaluatorTest tests the Evaluator class.
+ *
+ * @author Alice Piemonti
+ * @see Evaluator
+ */
+class EvaluatorTest {
+  private static final int BLUE = Position.colorId("BLUE");
+  private static final int RED = Position.colorId("RED");
+  private final Evaluator evaluator = new Evaluator();
+  private final int[] features = new int[Evaluator.COLORS * Evaluator.FEATURES];
+  private final Card[] gods = new Card[Evaluator.COLORS];
+  private Position position;
+
+  /** Method init places two blue workers and two red ones on an empty board. */
+  @BeforeEach
+  void init() {
+    position = new Position();
+    position.setWorker(Position.index(2, 2), BLUE, 1);
+    position.setWorker(Position.index(0, 0), BLUE, 2);
+    position.setWorker(Position.index(4, 4), RED, 1);
+    position.setWorker(Position.index(4, 0), RED, 2);
+    gods[BLUE] = Card.ATHENA;
+    gods[RED] = Card.ATHENA;
+  }
+
+  /**
+   * Method feature returns a feature computed by the last call to features.
+   *
+   * @param colorId of type int - the color id.
+   * @param feature of type Feature - the feature.
+   * @return int - the value.
+   */
+  private int feature(int colorId, Feature feature) {
+    return features[colorId * Evaluator.FEATURES + feature.ordinal()];
+  }
+
+  /** Method featuresTest checks the features of both players. */
+  @Test
+  @DisplayName("Features of the players")
+  void featuresTest() {
+    position.setHeight(Position.index(2, 2), 2);
+    position.setHeight(Position.index(1, 1), 3);
+    position.setHeight(Position.index(3, 3), 1);
+    evaluator.features(position, gods, features);
+    assertEquals(2, feature(BLUE, Feature.HEIGHT));
+    assertEquals(8 + 2, feature(BLUE, Feature.MOBILITY));
+    assertEquals(1, feature(BLUE, Feature.CLIMB_THREAT));
+    assertEquals(1, feature(BLUE, Feature.PERIMETER));
+    assertEquals(0, feature(RED, Feature.HEIGHT));
+    assertEquals(3 + 3, feature(RED, Feature.MOBILITY));
+    assertEquals(2, feature(RED, Feature.PERIMETER));
+    assertEquals(0, feature(RED, Feature.DOME_CONTROL));
+
+    position.clearWorker(Position.index(4, 0));
+    position.setWorker(Position.index(0, 1), RED, 2);
+    evaluator.features(position, gods, features);
+    assertEquals(1, feature(RED, Feature.DOME_CONTROL));
+    assertEquals(0, feature(BLUE, Feature.DOME_CONTROL));
+  }
+
+  /** Method godThreatTest checks Pan's drops and Minotaur's pushes. */
+  @Test
+  @DisplayName("God specific features")
+  void godThreatTest() {
+    gods[BLUE] = Card.PAN;
+    position.setHeight(Position.index(2, 2), 2);
+    position.setHeight(Position.index(2, 3), 1);
+    evaluator.features(position, gods, features);
+    assertEquals(7, feature(BLUE, Feature.GOD_THREAT));
+
+    gods[BLUE] = Card.MINOTAUR;
+    position.setHeight(Position.index(2, 2), 0);
+    position.setWorker(Position.index(3, 3), RED, 1);
+    position.clearWorker(Position.index(4, 4));
+    evaluator.features(position, gods, features);
+    assertEquals(1, feature(BLUE, Feature.GOD_THREAT));
+    position.setDome(Position.index(4, 4), true);
+    evaluator.features(position, gods, features);
+    assertEquals(0, feature(BLUE, Feature.GOD_THREAT));
+  }
+
+  /** Method scoreTest checks wins, blocked players and the weights of each god. */
+  @Test
+  @DisplayName("Scores")
+  void scoreTest() {
+    assertEquals(
+        -evaluator.evaluate(position, RED, gods), evaluator.evaluate(position, BLUE, gods));
+    position.setHeight(Position.index(2, 2), 2);
+    assertTrue(evaluator.evaluate(position, BLUE, gods) > 0);
+
+    gods[RED] = Card.TRITON;
+    int triton = evaluator.evaluate(position, RED, gods);
+    evaluator.setWeight(Card.TRITON, Feature.PERIMETER, 0);
+    assertEquals(0, evaluator.getWeight(Card.TRITON, Feature.PERIMETER));
+    assertEquals(triton - 2 * 12, evaluator.evaluate(position, RED, gods));
+
+    position.setHeight(Position.index(1, 1), 3);
+    position.clearWorker(Position.index(2, 2));
+    position.setWorker(Position.index(1, 1), BLUE, 1);
+    assertEquals(Evaluator.WIN, evaluator.evaluate(position, BLUE, gods));
+    assertEquals(-Evaluator.WIN, evaluator.evaluate(position, RED, gods));
+
+    init();
+    position.setDome(Position.index(0, 1), true);
+    position.setDome(Position.index(1, 0), true);
+    position.setDome(Position.index(1, 1), true);
+    position.clearWorker(Position.index(2, 2));
+    assertEquals(-Evaluator.WIN, evaluator.evaluate(position, BLUE, gods));
+  }
+
+  /** Method batchTest checks that a batch is scored as its positions one by one. */
+  @Test
+  @DisplayName("Batch of positions")
+  void batchTest() {
+    Random random = new Random(5);
+    Position[] positions = new Position[64];
+    int[] expected = new int[positions.length];
+    for (int i = 0; i < positions.length; i++) {
+      positions[i] = new Position();
+      for (int cell = 0; cell < Position.CELLS; cell++) {
+        positions[i].setHeight(cell, random.nextInt(4));
+      }
+      for (int placed = 0; placed < 4; ) {
+        int cell = random.nextInt(Position.CELLS);
+        if (!positions[i].isOccupied(cell)) {
+          positions[i].setWorker(cell, placed < 2 ? BLUE : RED, placed % 2 + 1);
+          placed++;
+        }
+      }
+      expected[i] = evaluator.evaluate(positions[i], BLUE, gods);
+    }
+    int[] scores = new int[positions.length];
+    evaluator.evaluate(positions, positions.length, BLUE, gods, scores);
+    assertArrayEquals(expected, scores);
+  }
+}
@@ -0,0 +1,162 @@
+package it.polimi.ingsw.model.rules;
+
+import it.polimi.ingsw.constants.Constants;
+import it.polimi.ingsw.exceptions.OutOfBoundException;
+import it.polimi.ingsw.model.Card;
+import it.polimi.ingsw.model.board.GameBoard;
+import it.polimi.ingsw.model.board.Space;
+import it.polimi.ingsw.model.player.PlayerColors;
+import it.polimi.ingsw.model.player.Worker;
+import it.polimi.ingsw.model.player.gods.advancedgods.Zeus;
+import it.polimi.ingsw.model.player.gods.simplegods.Apollo;
+import it.polimi.ingsw.model.player.gods.simplegods.Minotaur;
+import it.polimi.ingsw.model.player.gods.simplegods.Pan;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class RulesTest tests Rules and Position classes, checking them against the server workers.
+ *
+ * @author Alice Piemonti
+ * @see Rules
+ */
+class RulesTest {
+
+  /**
+   * Method toPosition packs a game board.
+   *
+   * @param gameBoard of type GameBoard - the board.
+   * @return Position - the packed board.
+   */
+  private static Position toPosition(GameBoard gameBoard) {
+    Position position = new Position();
+    for (int row = Constants.GRID_MIN_SIZE; row < Constants.GRID_MAX_SIZE; row++) {
+      for (int col = Constants.GRID_MIN_SIZE; col < Constants.GRID_MAX_SIZE; col++) {
+        Space space = gameBoard.getSpace(row, col);
+        int index = Position.index(row, col);
+        position.setHeight(index, space.getTower().getHeight());
+        if (space.getTower().isCompleted()) {
+          position.setDome(index, true);
+        }
+        if (!space.isEmpty()) {
+          position.setWorker(index, Position.colorId(space.getWorker().getWorkerColor()), 1);
+        }
+      }
+    }
+    return position;
+  }
+
+  /**
+   * Method toMask converts a list of spaces to a mask.
+   *
+   * @param spaces of type List&lt;Space&gt; - the spaces.
+   * @return int - the mask.
+   */
+  private static int toMask(List<Space> spaces) {
+    int mask = 0;
+    for (Space space : spaces) {
+      mask |= 1 << Position.index(space.getRow(), space.getColumn());
+    }
+    return mask;
+  }
+
+  /** Method packingTest tests the cell packing. */
+  @Test
+  @DisplayName("Cells are packed and unpacked")
+  void packingTest() {
+    Position position = new Position();
+    int index = Position.index(2, 3);
+    position.setHeight(index, 2);
+    position.setWorker(index, Position.colorId("green"), 2);
+    assertEquals(2, position.getHeight(index));
+    assertEquals(2, position.getWorkerNum(index));
+    assertEquals(PlayerColors.GREEN.ordinal() + 1, position.getColorId(index));
+    assertEquals(index, position.find(Position.colorId("GREEN"), 2));
+    Position copy = position.copy();
+    position.clearWorker(index);
+    position.setHeight(index, 4);
+    assertFalse(position.isOccupied(index));
+    assertTrue(position.isDome(index));
+    assertEquals(3, position.getHeight(index));
+    assertEquals(2, copy.getWorkerNum(index));
+    assertEquals(-1, position.find(Position.colorId("GREEN"), 2));
+  }
+
+  /** Method geometryTest tests the neighbours and the perimeter masks. */
+  @Test
+  @DisplayName("Neighbours and perimeter")
+  void geometryTest() {
+    assertEquals(3, Integer.bitCount(Rules.neighbours(Position.index(0, 0))));
+    assertEquals(8, Integer.bitCount(Rules.neighbours(Position.index(2, 2))));
+    assertEquals(16, Integer.bitCount(Rules.PERIMETER));
+    assertEquals(1, Rules.beyond(3, 3, 2, 2).getRow());
+    assertEquals(4, Rules.beyond(2, 2, 3, 3).getColumn());
+    assertFalse(Rules.canClimb(0, 2, true));
+    assertFalse(Rules.canClimb(0, 1, false));
+    assertTrue(Rules.canClimb(3, 0, false));
+  }
+
+  /**
+   * Method serverParityTest checks, on random boards, that the moves and builds computed on a
+   * Position match the ones computed by the server workers.
+   *
+   * @throws OutOfBoundException when a tower is raised over its limit.
+   */
+  @Test
+  @DisplayName("Rules match the server workers")
+  void serverParityTest() throws OutOfBoundException {
+    Random random = new Random(42);
+    for (int round = 0; round < 400; round++) {
+      GameBoard gameBoard = new GameBoard();
+      for (int row = Constants.GRID_MIN_SIZE; row < Constants.GRID_MAX_SIZE; row++) {
+        for (int col = Constants.GRID_MIN_SIZE; col < Constants.GRID_MAX_SIZE; col++) {
+          int height = random.nextInt(5);
+          for (int i = 0; i < height; i++) {
+            gameBoard.getSpace(row, col).getTower().addLevel();
+          }
+          if (height < 4 && random.nextInt(10) == 0) {
+            gameBoard.getSpace(row, col).getTower().setDome(true);
+          }
+        }
+      }
+      Card god = new Card[] {Card.APOLLO, Card.MINOTAUR, Card.ZEUS, Card.PAN}[round % 4];
+      Worker worker;
+      switch (god) {
+        case APOLLO -> worker = new Apollo(PlayerColors.GREEN);
+        case MINOTAUR -> worker = new Minotaur(PlayerColors.GREEN);
+        case ZEUS -> worker = new Zeus(PlayerColors.GREEN);
+        default -> worker = new Pan(PlayerColors.GREEN);
+      }
+      Space start = gameBoard.getSpace(random.nextInt(5), random.nextInt(5));
+      start.getTower().setDome(false);
+      while (start.getTower().getHeight() > 3) {
+        start.getTower().removeLevel();
+      }
+      worker.setPosition(start);
+      for (int i = 0; i < 4; i++) {
+        Space space = gameBoard.getSpace(random.nextInt(5), random.nextInt(5));
+        if (space.isEmpty() && !space.getTower().isCompleted()) {
+          new Pan(i == 0 ? PlayerColors.GREEN : PlayerColors.RED).setPosition(space);
+        }
+      }
+      boolean canMoveUp = random.nextBoolean();
+      worker.setCanMoveUp(canMoveUp);
+
+      Position position = toPosition(gameBoard);
+      int from = Position.index(start.getRow(), start.getColumn());
+      assertEquals(
+          toMask(worker.selectMoves(gameBoard)),
+          Rules.moves(position, from, god, canMoveUp),
+          god + " moves, round " + round);
+      assertEquals(
+          toMask(worker.getBuildableSpaces(gameBoard)),
+          Rules.builds(position, from, god),
+          god + " builds, round " + round);
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package it.polimi.ingsw.model.rules;
+
+import it.polimi.ingsw.model.Card;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class SearchTest tests the Search class.
+ *
+ * @author Alice Piemonti
+ * @see Search
+ */
+class SearchTest {
+  private static final int BLUE = Position.colorId("BLUE");
+  private static final int RED = Position.colorId("RED");
+  private final Search search = new Search(new Evaluator());
+  private final Card[] gods = new Card[Evaluator.COLORS];
+  private Position position;
+
+  /** Method init places two blue workers and two red ones, the first red one on a level 2. */
+  @BeforeEach
+  void init() {
+    position = new Position();
+    position.setWorker(Position.index(2, 2), BLUE, 1);
+    position.setWorker(Position.index(0, 0), BLUE, 2);
+    position.setWorker(Position.index(4, 4), RED, 1);
+    position.setWorker(Position.index(4, 0), RED, 2);
+    position.setHeight(Position.index(4, 4), 2);
+    position.setHeight(Position.index(3, 3), 3);
+    gods[BLUE] = Card.ATHENA;
+    gods[RED] = Card.ATHENA;
+  }
+
+  /** Method winTest checks that a winning turn is played as soon as it's available. */
+  @Test
+  @DisplayName("Winning turn")
+  void winTest() {
+    long turn = search.bestTurn(position, RED, gods, true, 3);
+    assertTrue(Turn.isWin(turn));
+    assertEquals(Position.index(3, 3), Turn.getMove(turn));
+    assertEquals(Evaluator.WIN - 1, search.getScore());
+  }
+
+  /** Method defenseTest checks that the threat of the opponent is stopped by a dome. */
+  @Test
+  @DisplayName("Stopping the opponent")
+  void defenseTest() {
+    long turn = search.bestTurn(position, BLUE, gods, true, 2);
+    assertNotEquals(Search.NO_TURN, turn);
+    assertTrue(search.getScore() > -Evaluator.WIN + 2);
+    assertFalse(TurnGenerator.play(position, BLUE, gods[BLUE], turn));
+    assertTrue(position.isDome(Position.index(3, 3)));
+    assertTrue(search.getNodes() > 0);
+  }
+
+  /** Method budgetTest checks the searches bounded by time. */
+  @Test
+  @DisplayName("Search within a time budget")
+  void budgetTest() {
+    long turn = search.bestTurn(position, RED, gods, true, 10, 0);
+    assertTrue(Turn.isWin(turn));
+    assertEquals(1, search.getDepth());
+    turn = search.bestTurn(position, BLUE, gods, true, 2, 10_000);
+    assertEquals(2, search.getDepth());
+    assertFalse(TurnGenerator.play(position, BLUE, gods[BLUE], turn));
+    assertTrue(position.isDome(Position.index(3, 3)));
+    search.bestTurn(position, RED, gods, true, 30, 50);
+    assertTrue(search.getDepth() >= 1 && search.getDepth() < 30);
+  }
+}
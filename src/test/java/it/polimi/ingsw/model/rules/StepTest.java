@@ -0,0 +1,96 @@
+package it.polimi.ingsw.model.rules;
+
+import it.polimi.ingsw.constants.Couple;
+import it.polimi.ingsw.model.Card;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class StepTest tests the Step class.
+ *
+ * @author Alice Piemonti
+ * @see Step
+ */
+class StepTest {
+  private static final int BLUE = Position.colorId("BLUE");
+  private static final int RED = Position.colorId("RED");
+
+  /** Method encodingTest tests the step encoding. */
+  @Test
+  @DisplayName("Steps are encoded and decoded")
+  void encodingTest() {
+    short step = Step.withWin(Step.withBuild(Step.withPush(Step.move(2, 24)), 0, true));
+    assertEquals(2, Step.getWorkerNum(step));
+    assertEquals(24, Step.getTo(step));
+    assertEquals(0, Step.getBuild(step));
+    assertTrue(Step.isDome(step));
+    assertTrue(Step.isPush(step));
+    assertTrue(Step.isWin(step));
+    assertFalse(Step.isForce(step));
+    assertFalse(Step.isRemove(step));
+    assertFalse(Step.isSingle(step));
+    assertEquals("W2 xe5 *a1 #", Step.toString(step));
+
+    short remove = Step.remove(1, 7);
+    assertEquals(1, Step.getWorkerNum(remove));
+    assertEquals(Step.NONE, Step.getTo(remove));
+    assertTrue(Step.isRemove(remove));
+    assertTrue(Step.isSingle(remove));
+    assertTrue(Step.isForce(Step.force(1, 12)));
+    assertEquals(Step.EMPTY, Step.move(1, Step.NONE));
+
+    Couple couple = Step.couple(Position.index(3, 1));
+    assertEquals(3, couple.getRow());
+    assertEquals(1, couple.getColumn());
+    assertEquals(Position.index(3, 1), Step.index(couple));
+    assertEquals(24, Step.index(new Couple(4, 4)));
+    assertThrows(IllegalArgumentException.class, () -> Step.index(new Couple(5, 3)));
+    assertThrows(IllegalArgumentException.class, () -> Step.index(new Couple(3, 5)));
+    assertThrows(IllegalArgumentException.class, () -> Step.index(new Couple(9, 9)));
+    assertThrows(IllegalArgumentException.class, () -> Step.index(new Couple(-1, 2)));
+    assertThrows(IllegalArgumentException.class, () -> Step.index(new Couple(2, -1)));
+  }
+
+  /**
+   * Method turnsTest splits every turn generated for each god into steps and joins them back,
+   * marking the moves onto an opponent worker.
+   */
+  @Test
+  @DisplayName("Turns are split into steps and joined back")
+  void turnsTest() {
+    Position position = new Position();
+    position.setWorker(Position.index(2, 2), BLUE, 1);
+    position.setWorker(Position.index(4, 4), BLUE, 2);
+    position.setWorker(Position.index(2, 3), RED, 1);
+    position.setWorker(Position.index(1, 1), RED, 2);
+    position.setHeight(Position.index(3, 2), 1);
+    position.setHeight(Position.index(3, 3), 2);
+    TurnGenerator generator = new TurnGenerator();
+    TurnBuffer turns = new TurnBuffer(4);
+    short[] steps = new short[Step.MAX_STEPS + 1];
+    int pushes = 0;
+    for (Card card : Card.values()) {
+      int generated = generator.generate(position, BLUE, card, true, turns);
+      for (int i = 0; i < generated; i++) {
+        long turn = turns.get(i);
+        int count = Step.split(turn, position, steps, 1);
+        assertTrue(count >= 1 && count <= Step.MAX_STEPS);
+        assertEquals(turn, Step.join(steps, 1, count), card + " " + Long.toHexString(turn));
+        boolean push = false;
+        for (int j = 1; j <= count; j++) {
+          push |= Step.isPush(steps[j]);
+        }
+        pushes += push ? 1 : 0;
+        if (Turn.getSecondMove(turn) == Turn.NONE && Turn.getForce(turn) == Turn.NONE) {
+          assertEquals(position.isOccupied(Turn.getMove(turn)), push);
+        }
+      }
+    }
+    assertTrue(pushes > 0);
+    assertThrows(IllegalArgumentException.class, () -> Step.join(steps, 0, 0));
+    steps[0] = Step.build(1, 3, false);
+    assertThrows(IllegalArgumentException.class, () -> Step.join(steps, 0, 1));
+  }
+}
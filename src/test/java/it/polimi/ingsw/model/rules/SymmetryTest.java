@@ -0,0 +1,96 @@
+package it.polimi.ingsw.model.rules;
+
+import it.polimi.ingsw.model.Card;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class SymmetryTest tests the Symmetry class and the canonical keys of PositionKey.
+ *
+ * @author Alice Piemonti
+ * @see Symmetry
+ */
+class SymmetryTest {
+  private static final int BLUE = Position.colorId("BLUE");
+  private static final int RED = Position.colorId("RED");
+
+  /**
+   * Method position returns a position with no symmetry of its own.
+   *
+   * @return Position - the board.
+   */
+  private static Position position() {
+    Position position = new Position();
+    position.setWorker(Position.index(0, 1), BLUE, 1);
+    position.setWorker(Position.index(2, 2), BLUE, 2);
+    position.setWorker(Position.index(3, 4), RED, 1);
+    position.setWorker(Position.index(1, 3), RED, 2);
+    position.setHeight(Position.index(1, 1), 2);
+    position.setHeight(Position.index(4, 0), 3);
+    position.setDome(Position.index(2, 0), true);
+    return position;
+  }
+
+  /** Method cellsTest checks that the symmetries are distinct and undone by their inverse. */
+  @Test
+  @DisplayName("The eight symmetries of the board")
+  void cellsTest() {
+    Set<Long> keys = new HashSet<>();
+    Position position = position();
+    for (int symmetry = 0; symmetry < Symmetry.COUNT; symmetry++) {
+      keys.add(PositionKey.of(Symmetry.apply(position, symmetry), BLUE, true));
+      int inverse = Symmetry.inverse(symmetry);
+      for (int i = 0; i < Position.CELLS; i++) {
+        assertEquals(i, Symmetry.cell(inverse, Symmetry.cell(symmetry, i)));
+      }
+      assertEquals(Turn.NONE, Symmetry.cell(symmetry, Turn.NONE));
+      assertEquals(
+          PositionKey.of(Symmetry.apply(position, symmetry), BLUE, false),
+          PositionKey.of(position, BLUE, false, symmetry));
+    }
+    assertEquals(Symmetry.COUNT, keys.size());
+    assertEquals(Position.index(2, 2), Symmetry.cell(5, Position.index(2, 2)));
+    assertEquals(Position.index(4, 0), Symmetry.cell(2, Position.index(4, 4)));
+  }
+
+  /**
+   * Method canonicalTest checks that symmetric positions share their canonical key, and that the
+   * turns of a position are moved onto the legal turns of its symmetric positions.
+   */
+  @Test
+  @DisplayName("Canonical keys and moved turns")
+  void canonicalTest() {
+    Position position = position();
+    int canonical = PositionKey.canonical(position, BLUE, true);
+    long key = PositionKey.of(position, BLUE, true, canonical);
+    TurnGenerator generator = new TurnGenerator();
+    TurnBuffer turns = new TurnBuffer(4);
+    TurnBuffer moved = new TurnBuffer(4);
+    for (int symmetry = 0; symmetry < Symmetry.COUNT; symmetry++) {
+      Position symmetric = Symmetry.apply(position, symmetry);
+      int other = PositionKey.canonical(symmetric, BLUE, true);
+      assertEquals(key, PositionKey.of(symmetric, BLUE, true, other));
+      assertTrue(key <= PositionKey.of(symmetric, BLUE, true));
+
+      for (Card god : new Card[] {Card.CHARON, Card.PROMETHEUS, Card.ARTEMIS, Card.ARES}) {
+        int count = generator.generate(position, BLUE, god, true, turns);
+        assertEquals(count, generator.generate(symmetric, BLUE, god, true, moved));
+        Set<Long> legal = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+          legal.add(moved.get(i));
+        }
+        for (int i = 0; i < count; i++) {
+          long turn = Symmetry.turn(turns.get(i), symmetry);
+          assertTrue(legal.contains(turn), god + " " + Long.toHexString(turns.get(i)));
+          assertEquals(turns.get(i), Symmetry.turn(turn, Symmetry.inverse(symmetry)));
+        }
+      }
+    }
+    assertEquals(Search.NO_TURN, Symmetry.turn(Search.NO_TURN, 3));
+  }
+}
@@ -0,0 +1,237 @@
+package it.polimi.ingsw.model.rules;
+
+import it.polimi.ingsw.model.Card;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.LongPredicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class TurnGeneratorTest tests the TurnGenerator and Turn classes.
+ *
+ * @author Alice Piemonti
+ * @see TurnGenerator
+ */
+class TurnGeneratorTest {
+  private static final int BLUE = Position.colorId("BLUE");
+  private static final int RED = Position.colorId("RED");
+  private final TurnGenerator generator = new TurnGenerator();
+  private final TurnBuffer turns = new TurnBuffer(4);
+  private Position position;
+
+  /** Method init places a blue worker in the middle of an empty board and a red one aside. */
+  @BeforeEach
+  void init() {
+    position = new Position();
+    position.setWorker(Position.index(2, 2), BLUE, 1);
+    position.setWorker(Position.index(0, 4), RED, 1);
+  }
+
+  /**
+   * Method count returns how many generated turns satisfy a condition.
+   *
+   * @param condition of type LongPredicate - the condition.
+   * @return int - the number of turns.
+   */
+  private int count(LongPredicate condition) {
+    int count = 0;
+    for (int i = 0; i < turns.size(); i++) {
+      if (condition.test(turns.get(i))) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /** Method encodingTest tests the turn encoding. */
+  @Test
+  @DisplayName("Turns are encoded and decoded")
+  void encodingTest() {
+    long turn = Turn.withBuild(Turn.withPreBuild(Turn.of(2, 24), 0), 13, true);
+    assertEquals(2, Turn.getWorkerNum(turn));
+    assertEquals(24, Turn.getMove(turn));
+    assertEquals(0, Turn.getPreBuild(turn));
+    assertEquals(13, Turn.getBuild(turn));
+    assertTrue(Turn.isDome(turn));
+    assertFalse(Turn.isWin(turn));
+    assertEquals(Turn.NONE, Turn.getSecondMove(turn));
+    assertEquals(Turn.NONE, Turn.getForce(turn));
+    assertEquals(Turn.NONE, Turn.getRemove(turn));
+    assertEquals(7, Turn.getMove(Turn.withMove(turn, 7)));
+  }
+
+  /** Method simpleTurnsTest counts the turns of a god with no power on the turn. */
+  @Test
+  @DisplayName("A worker in the middle of an empty board")
+  void simpleTurnsTest() {
+    // 8 moves with 8 builds each, but the red worker is next to (1, 3)
+    assertEquals(63, generator.generate(position, BLUE, Card.ATHENA, true, turns));
+    assertEquals(0, count(Turn::isWin));
+    assertEquals(63, count(turn -> Turn.getSecondMove(turn) == Turn.NONE));
+    assertEquals(17, generator.generate(position, RED, Card.ATHENA, true, turns));
+    position.setWorker(Position.index(3, 3), BLUE, 2);
+    assertTrue(generator.generate(position, BLUE, Card.ATHENA, true, turns) > 63);
+  }
+
+  /** Method winAndBlockTest tests winning turns and blocked players. */
+  @Test
+  @DisplayName("Winning turns and blocked players")
+  void winAndBlockTest() {
+    position.setHeight(Position.index(2, 2), 2);
+    position.setHeight(Position.index(1, 1), 3);
+    generator.generate(position, BLUE, Card.ATHENA, true, turns);
+    assertEquals(1, count(Turn::isWin));
+    assertEquals(1, count(turn -> Turn.getBuild(turn) == Turn.NONE));
+    generator.generate(position, BLUE, Card.ATHENA, false, turns);
+    assertEquals(0, count(Turn::isWin));
+    position.setHeight(Position.index(2, 2), 3);
+    position.setHeight(Position.index(1, 1), 1);
+    generator.generate(position, BLUE, Card.PAN, true, turns);
+    assertEquals(8, count(Turn::isWin));
+    for (int cell : new int[] {7, 8, 11, 13, 16, 17, 18}) {
+      position.setHeight(cell, 4);
+    }
+    position.setHeight(Position.index(1, 1), 3);
+    position.setDome(Position.index(1, 1), true);
+    assertEquals(0, generator.generate(position, BLUE, Card.APOLLO, true, turns));
+  }
+
+  /** Method prometheusTest tests the build before moving. */
+  @Test
+  @DisplayName("Prometheus can't move up after building")
+  void prometheusTest() {
+    position.setHeight(Position.index(1, 2), 1);
+    generator.generate(position, BLUE, Card.PROMETHEUS, true, turns);
+    assertTrue(count(turn -> Turn.getPreBuild(turn) != Turn.NONE) > 0);
+    assertEquals(
+        0,
+        count(
+            turn ->
+                Turn.getPreBuild(turn) != Turn.NONE
+                    && Turn.getMove(turn) == Position.index(1, 2)));
+    assertTrue(
+        count(
+                turn ->
+                    Turn.getPreBuild(turn) == Turn.NONE
+                        && Turn.getMove(turn) == Position.index(1, 2))
+            > 0);
+  }
+
+  /** Method doubleMovesTest tests Artemis and Triton. */
+  @Test
+  @DisplayName("Artemis and Triton move again")
+  void doubleMovesTest() {
+    int start = Position.index(2, 2);
+    generator.generate(position, BLUE, Card.ARTEMIS, true, turns);
+    assertEquals(0, count(turn -> Turn.getSecondMove(turn) == start));
+    assertTrue(count(turn -> Turn.getSecondMove(turn) != Turn.NONE) > 0);
+
+    position.clearWorker(start);
+    position.setWorker(Position.index(4, 0), BLUE, 1);
+    position.setHeight(Position.index(4, 1), 1);
+    position.setHeight(Position.index(4, 2), 2);
+    position.setHeight(Position.index(4, 3), 3);
+    generator.generate(position, BLUE, Card.TRITON, true, turns);
+    assertEquals(2, count(Turn::isWin));
+    long win = 0;
+    for (int i = 0; i < turns.size(); i++) {
+      long turn = turns.get(i);
+      int[] path = TurnGenerator.tritonPath(position, BLUE, turn, true);
+      assertEquals(Turn.getMove(turn), path[0]);
+      if (Turn.getSecondMove(turn) != Turn.NONE) {
+        assertEquals(Turn.getSecondMove(turn), path[path.length - 1]);
+      }
+      for (int j = 1; j < path.length; j++) {
+        assertNotEquals(0, Rules.neighbours(path[j - 1]) & 1 << path[j]);
+        assertNotEquals(0, Rules.PERIMETER & 1 << path[j - 1]);
+      }
+      if (Turn.isWin(turn) && Turn.getMove(turn) == Position.index(4, 1)) {
+        win = turn;
+      }
+    }
+    assertArrayEquals(
+        new int[] {Position.index(4, 1), Position.index(4, 2), Position.index(4, 3)},
+        TurnGenerator.tritonPath(position, BLUE, win, true));
+  }
+
+  /** Method buildPowersTest tests the gods building twice, domes and removals. */
+  @Test
+  @DisplayName("Build powers")
+  void buildPowersTest() {
+    position.setHeight(Position.index(2, 3), 2);
+    int simple = generator.generate(position, BLUE, Card.ATHENA, true, turns);
+    generator.generate(position, BLUE, Card.HEPHAESTUS, true, turns);
+    assertTrue(count(turn -> Turn.getSecondBuild(turn) != Turn.NONE) > 0);
+    assertEquals(
+        0,
+        count(
+            turn ->
+                Turn.getSecondBuild(turn) != Turn.NONE
+                    && (Turn.getSecondBuild(turn) != Turn.getBuild(turn)
+                        || Turn.getBuild(turn) == Position.index(2, 3))));
+    generator.generate(position, BLUE, Card.DEMETER, true, turns);
+    assertEquals(0, count(turn -> Turn.getSecondBuild(turn) == Turn.getBuild(turn)));
+    generator.generate(position, BLUE, Card.HESTIA, true, turns);
+    assertEquals(
+        0,
+        count(
+            turn ->
+                Turn.getSecondBuild(turn) != Turn.NONE
+                    && (Rules.PERIMETER & 1 << Turn.getSecondBuild(turn)) != 0));
+    assertEquals(2 * simple, generator.generate(position, BLUE, Card.ATLAS, true, turns));
+    assertTrue(generator.generate(position, BLUE, Card.ZEUS, true, turns) > simple);
+    position.setWorker(Position.index(4, 4), BLUE, 2);
+    position.setHeight(Position.index(4, 3), 1);
+    generator.generate(position, BLUE, Card.ARES, true, turns);
+    assertTrue(count(turn -> Turn.getRemove(turn) == Position.index(4, 3)) > 0);
+  }
+
+  /**
+   * Method playTest plays every turn generated on random boards, checking that the workers are
+   * still on the board and that no turn is listed twice.
+   */
+  @Test
+  @DisplayName("Generated turns can be played")
+  void playTest() {
+    Random random = new Random(7);
+    for (int round = 0; round < 200; round++) {
+      Position board = new Position();
+      for (int i = 0; i < Position.CELLS; i++) {
+        board.setHeight(i, random.nextInt(5));
+      }
+      int placed = 0;
+      while (placed < 4) {
+        int cell = random.nextInt(Position.CELLS);
+        if (!board.isOccupied(cell) && !board.isDome(cell)) {
+          board.setWorker(cell, placed < 2 ? BLUE : RED, placed % 2 + 1);
+          placed++;
+        }
+      }
+      for (Card god : Card.values()) {
+        generator.generate(board, BLUE, god, true, turns);
+        Set<Long> distinct = new HashSet<>();
+        for (int i = 0; i < turns.size(); i++) {
+          long turn = turns.get(i);
+          assertTrue(distinct.add(turn), god + " lists a turn twice");
+          Position played = board.copy();
+          TurnGenerator.play(played, BLUE, god, turn);
+          for (int num = 1; num <= 2; num++) {
+            assertTrue(played.find(BLUE, num) >= 0);
+            assertTrue(played.find(RED, num) >= 0);
+          }
+          int last =
+              Turn.getSecondMove(turn) == Turn.NONE
+                  ? Turn.getMove(turn)
+                  : Turn.getSecondMove(turn);
+          assertEquals(BLUE, played.getColorId(last));
+        }
+      }
+    }
+  }
+}
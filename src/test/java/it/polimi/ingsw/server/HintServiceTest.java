@@ -0,0 +1,167 @@
+package it.polimi.ingsw.server;
+
+import it.polimi.ingsw.model.Card;
+import it.polimi.ingsw.model.book.OpeningBook;
+import it.polimi.ingsw.model.rules.Evaluator;
+import it.polimi.ingsw.model.rules.Position;
+import it.polimi.ingsw.model.rules.Symmetry;
+import it.polimi.ingsw.model.rules.Turn;
+import it.polimi.ingsw.server.answers.turn.HintMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class HintServiceTest tests HintService class.
+ *
+ * @author Luca Pirovano
+ * @see HintService
+ */
+class HintServiceTest {
+  private final Card[] gods = new Card[Evaluator.COLORS];
+  private HintService service;
+  private Position position;
+  @TempDir Path books;
+
+  /** Method init places two workers per player, the first red one next to a level 3. */
+  @BeforeEach
+  void init() {
+    position = new Position();
+    position.setWorker(Position.index(2, 2), 1, 1);
+    position.setWorker(Position.index(0, 0), 1, 2);
+    position.setWorker(Position.index(4, 4), 2, 1);
+    position.setWorker(Position.index(4, 0), 2, 2);
+    position.setHeight(Position.index(4, 4), 2);
+    position.setHeight(Position.index(3, 3), 3);
+    gods[1] = Card.ATLAS;
+    gods[2] = Card.APOLLO;
+  }
+
+  /** Method shutdown stops the service threads. */
+  @AfterEach
+  void shutdown() {
+    service.shutdown();
+  }
+
+  /**
+   * Method request asks for a hint and waits for it.
+   *
+   * @param colorId of type int - the color id of the player.
+   * @return HintMessage - the hint.
+   * @throws Exception when the hint doesn't come.
+   */
+  private HintMessage request(int colorId) throws Exception {
+    CompletableFuture<HintMessage> hint = new CompletableFuture<>();
+    assertTrue(service.request(position, colorId, gods, true, hint::complete));
+    return hint.get(10, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Method searchTest checks that hints are searched and then cached, also for the symmetric
+   * positions.
+   *
+   * @throws Exception when a hint doesn't come.
+   */
+  @Test
+  @DisplayName("Searched and cached hints")
+  void searchTest() throws Exception {
+    service = new HintService(null, 1, 4, 200);
+    HintMessage hint = request(2);
+    assertTrue(Turn.isWin(hint.getTurn()));
+    assertEquals(Position.index(3, 3), Turn.getMove(hint.getTurn()));
+    assertTrue(hint.getMessage().endsWith("move to 3 3 and win!"));
+    HintMessage[] cached = new HintMessage[1];
+    assertTrue(service.request(position, 2, gods, true, result -> cached[0] = result));
+    assertSame(hint, cached[0]);
+
+    position = Symmetry.apply(position, 4);
+    assertTrue(service.request(position, 2, gods, true, result -> cached[0] = result));
+    assertEquals(Symmetry.turn(hint.getTurn(), 4), cached[0].getTurn());
+    assertEquals(Position.index(3, 3), Turn.getMove(cached[0].getTurn()));
+    position = Symmetry.apply(position, 4);
+
+    HintMessage other = request(1);
+    assertNotSame(hint, other);
+    assertFalse(Turn.isWin(other.getTurn()));
+    assertTrue(other.getDepth() >= 1);
+    assertNotEquals(
+        HintService.key(position, 1, gods, true), HintService.key(position, 1, gods, false));
+  }
+
+  /**
+   * Method tritonTest checks that a Triton hint names every cell of its walk along the perimeter,
+   * also when it's moved onto a symmetric position.
+   *
+   * @throws Exception when a hint doesn't come.
+   */
+  @Test
+  @DisplayName("Triton hints")
+  void tritonTest() throws Exception {
+    position = new Position();
+    position.setWorker(Position.index(0, 0), 1, 1);
+    position.setWorker(Position.index(4, 0), 1, 2);
+    position.setWorker(Position.index(4, 4), 2, 1);
+    position.setWorker(Position.index(3, 4), 2, 2);
+    position.setHeight(Position.index(0, 0), 2);
+    position.setHeight(Position.index(0, 1), 2);
+    position.setHeight(Position.index(0, 2), 2);
+    position.setHeight(Position.index(0, 3), 3);
+    gods[1] = Card.TRITON;
+    service = new HintService(null, 1, 4, 200);
+    HintMessage hint = request(1);
+    int[] path = {Position.index(0, 1), Position.index(0, 2), Position.index(0, 3)};
+    assertArrayEquals(path, hint.getPath());
+    assertTrue(
+        hint.getMessage().endsWith("move to 0 1, move again to 0 2, move again to 0 3 and win!"));
+
+    position = Symmetry.apply(position, 4);
+    HintMessage moved = request(1);
+    for (int i = 0; i < path.length; i++) {
+      path[i] = Symmetry.cell(4, path[i]);
+    }
+    assertArrayEquals(path, moved.getPath());
+    assertTrue(moved.getMessage().contains("move again to 2 0"));
+  }
+
+  /**
+   * Method bookTest checks that two player positions are looked up in the opening book.
+   *
+   * @throws Exception when the book can't be written or a hint doesn't come.
+   */
+  @Test
+  @DisplayName("Hints from the opening book")
+  void bookTest() throws Exception {
+    position = new Position();
+    position.setWorker(Position.index(1, 1), 1, 1);
+    position.setWorker(Position.index(1, 2), 1, 2);
+    position.setWorker(Position.index(2, 1), 2, 1);
+    position.setWorker(Position.index(2, 2), 2, 2);
+    writeBook();
+    service = new HintService(books, 1, 4, 200);
+    HintMessage hint = request(1);
+    assertEquals(0, hint.getDepth());
+    assertTrue(hint.getMessage().endsWith("(from the book)."));
+  }
+
+  /**
+   * Method writeBook writes the opening book of the gods on the middle cells.
+   *
+   * @throws IOException when the book can't be written.
+   */
+  private void writeBook() throws IOException {
+    int cells = 1 << Position.index(1, 1);
+    cells |= 1 << Position.index(1, 2);
+    cells |= 1 << Position.index(2, 1);
+    cells |= 1 << Position.index(2, 2);
+    assertTrue(OpeningBook.generate(books, Card.ATLAS, Card.APOLLO, cells, 1) > 0);
+  }
+}
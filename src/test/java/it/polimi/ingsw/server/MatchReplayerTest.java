@@ -0,0 +1,208 @@
+package it.polimi.ingsw.server;
+
+import it.polimi.ingsw.client.messages.ChosenColor;
+import it.polimi.ingsw.client.messages.Disconnect;
+import it.polimi.ingsw.client.messages.actions.ChallengerPhaseAction;
+import it.polimi.ingsw.client.messages.actions.WorkerSetupAction;
+import it.polimi.ingsw.client.messages.actions.turnactions.EndTurnAction;
+import it.polimi.ingsw.client.messages.actions.turnactions.StartTurnAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.BuildAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.MoveAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.PackedAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.SelectBuildAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.SelectMoveAction;
+import it.polimi.ingsw.client.messages.actions.workeractions.WorkerAction;
+import it.polimi.ingsw.model.Card;
+import it.polimi.ingsw.model.player.PlayerColors;
+import it.polimi.ingsw.server.storage.MatchJournal;
+import it.polimi.ingsw.server.storage.MatchRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class MatchReplayerTest tests that seeded matches are replayed exactly from their journals.
+ *
+ * @author Luca Pirovano
+ * @see MatchReplayer
+ */
+class MatchReplayerTest {
+  private static final String ALICE = "alice";
+  private static final String BOB = "bob";
+  private static final long SEED = 42;
+  private static final long OTHER_SEED = 4096;
+  private static final Card APOLLO = Card.APOLLO;
+  private static final Card ATLAS = Card.ATLAS;
+  @TempDir Path directory;
+
+  /**
+   * Method script writes the inputs of a two player match: the challenger comes from the seed,
+   * Alice starts and each player plays a whole turn, then Alice leaves.
+   *
+   * @param packed of type boolean - true if moves and builds are sent as packed actions.
+   * @return MatchJournal - the inputs.
+   */
+  private static MatchJournal script(boolean packed) {
+    MatchJournal script = new MatchJournal(SEED);
+    script.setPlayers(2);
+    String challenger = new Random(SEED).nextInt(2) == 0 ? ALICE : BOB;
+    String other = challenger.equals(ALICE) ? BOB : ALICE;
+    add(script, MatchJournal.Kind.CONNECT, ALICE, null);
+    add(script, MatchJournal.Kind.CONNECT, BOB, null);
+    for (int timer = 0; timer < 4; timer++) {
+      script.add(new MatchJournal.Entry(MatchJournal.Kind.TIMER, null, null, timer, 0));
+    }
+    add(script, MatchJournal.Kind.MESSAGE, ALICE, new ChosenColor(PlayerColors.RED));
+    add(script, MatchJournal.Kind.MESSAGE, BOB, new ChosenColor(PlayerColors.BLUE));
+    add(script, MatchJournal.Kind.MESSAGE, challenger, new ChallengerPhaseAction("ADD", APOLLO));
+    add(script, MatchJournal.Kind.MESSAGE, challenger, new ChallengerPhaseAction("ADD", ATLAS));
+    add(script, MatchJournal.Kind.MESSAGE, other, new ChallengerPhaseAction("CHOOSE", ATLAS));
+    add(script, MatchJournal.Kind.MESSAGE, challenger, new ChallengerPhaseAction(0));
+    add(script, MatchJournal.Kind.MESSAGE, ALICE, new WorkerSetupAction("SET 0 0 0 1".split(" ")));
+    add(script, MatchJournal.Kind.MESSAGE, BOB, new WorkerSetupAction("SET 4 4 4 3".split(" ")));
+    script.add(new MatchJournal.Entry(MatchJournal.Kind.TIMER, null, null, 4, 0));
+    turn(script, ALICE, packed, 1, 1, 1, 2);
+    turn(script, BOB, packed, 3, 3, 3, 2);
+    add(script, MatchJournal.Kind.MESSAGE, ALICE, new Disconnect());
+    return script;
+  }
+
+  /**
+   * Method turn writes the inputs of a turn played with the first worker.
+   *
+   * @param script of type MatchJournal - the inputs.
+   * @param player of type String - the player.
+   * @param packed of type boolean - true if the move and the build are sent as packed actions.
+   * @param moveRow of type int - the row of the move.
+   * @param moveCol of type int - the column of the move.
+   * @param buildRow of type int - the row of the build.
+   * @param buildCol of type int - the column of the build.
+   */
+  private static void turn(
+      MatchJournal script,
+      String player,
+      boolean packed,
+      int moveRow,
+      int moveCol,
+      int buildRow,
+      int buildCol) {
+    WorkerAction move = new MoveAction(moveRow, moveCol);
+    WorkerAction build = new BuildAction(buildRow, buildCol);
+    add(script, MatchJournal.Kind.MESSAGE, player, new StartTurnAction("worker1"));
+    add(script, MatchJournal.Kind.MESSAGE, player, new SelectMoveAction());
+    add(script, MatchJournal.Kind.MESSAGE, player, packed ? PackedAction.of(1, move) : move);
+    add(script, MatchJournal.Kind.MESSAGE, player, new SelectBuildAction());
+    add(script, MatchJournal.Kind.MESSAGE, player, packed ? PackedAction.of(1, build) : build);
+    add(script, MatchJournal.Kind.MESSAGE, player, new EndTurnAction());
+  }
+
+  /**
+   * Method add appends an input of a player.
+   *
+   * @param script of type MatchJournal - the inputs.
+   * @param kind of type MatchJournal.Kind - the kind of input.
+   * @param player of type String - the player.
+   * @param message of type Serializable - the message, null if the kind has none.
+   */
+  private static void add(
+      MatchJournal script, MatchJournal.Kind kind, String player, Serializable message) {
+    script.add(new MatchJournal.Entry(kind, player, message, 0, 0));
+  }
+
+  /**
+   * Method replayTest plays the scripted match and replays its journal, also after storing it.
+   *
+   * @throws Exception when the journal can't be written or read.
+   */
+  @Test
+  @DisplayName("Matches are replayed from their journals")
+  void replayTest() throws Exception {
+    MatchJournal recorded = MatchReplayer.play(script(false));
+    assertTrue(recorded.isFinished());
+    assertEquals(MatchRecord.NONE, recorded.getWinner());
+    assertEquals(2, recorded.getTurns());
+    assertEquals(SEED, recorded.getSeed());
+    assertEquals(script(false).getEntries().size(), recorded.getEntries().size());
+
+    Path file = directory.resolve(recorded.getFileName());
+    recorded.write(file);
+    MatchJournal stored = MatchJournal.read(file);
+    MatchJournal replayed = MatchReplayer.replay(stored);
+    assertTrue(replayed.sameOutcome(recorded));
+    List<MatchJournal.Entry> entries = replayed.getEntries();
+    for (int i = 0; i < entries.size(); i++) {
+      assertEquals(recorded.getEntries().get(i).getBoard(), entries.get(i).getBoard());
+    }
+    assertNotEquals(entries.get(0).getBoard(), recorded.getBoard());
+  }
+
+  /**
+   * Method divergenceTest checks that a replay stops at the first input changing the match, and
+   * that another seed picks another challenger.
+   */
+  @Test
+  @DisplayName("Diverging replays are reported")
+  void divergenceTest() {
+    MatchJournal recorded = MatchReplayer.play(script(false));
+    List<MatchJournal.Entry> entries = recorded.getEntries();
+    MatchJournal tampered = new MatchJournal(SEED);
+    tampered.setPlayers(2);
+    int moved = -1;
+    for (int i = 0; i < entries.size(); i++) {
+      MatchJournal.Entry entry = entries.get(i);
+      if (moved < 0 && entry.getMessage() instanceof MoveAction) {
+        moved = i;
+        entry = new MatchJournal.Entry(
+            entry.getKind(), entry.getNickname(), new MoveAction(1, 0), 0, entry.getBoard());
+      }
+      tampered.add(entry);
+    }
+    IllegalStateException e =
+        assertThrows(IllegalStateException.class, () -> MatchReplayer.replay(tampered));
+    assertTrue(e.getMessage().contains("entry " + (moved + 1)));
+
+    assertNotEquals(new Random(SEED).nextInt(2), new Random(OTHER_SEED).nextInt(2));
+    MatchJournal reseeded = new MatchJournal(OTHER_SEED);
+    reseeded.setPlayers(2);
+    entries.forEach(reseeded::add);
+    reseeded.finish(recorded.getWinner(), recorded.getTurns(), recorded.getBoard());
+    assertThrows(IllegalStateException.class, () -> MatchReplayer.replay(reseeded));
+  }
+
+  /**
+   * Method packedTest checks that moves and builds sent as packed actions play the same match, and
+   * that packed actions of the worker not playing the turn are refused.
+   */
+  @Test
+  @DisplayName("Packed actions play like the actions they stand for")
+  void packedTest() {
+    MatchJournal plain = MatchReplayer.play(script(false));
+    MatchJournal packed = MatchReplayer.play(script(true));
+    assertTrue(packed.sameOutcome(plain));
+    List<MatchJournal.Entry> entries = packed.getEntries();
+    for (int i = 0; i < entries.size(); i++) {
+      assertEquals(plain.getEntries().get(i).getBoard(), entries.get(i).getBoard());
+    }
+    assertTrue(entries.stream().anyMatch(entry -> entry.getMessage() instanceof PackedAction));
+
+    MatchJournal wrongWorker = script(true);
+    MatchJournal script = new MatchJournal(SEED);
+    script.setPlayers(2);
+    for (MatchJournal.Entry entry : wrongWorker.getEntries()) {
+      if (entry.getMessage() instanceof PackedAction) {
+        WorkerAction action = ((PackedAction) entry.getMessage()).toAction();
+        entry = new MatchJournal.Entry(
+            entry.getKind(), entry.getNickname(), PackedAction.of(2, action), 0, 0);
+      }
+      script.add(entry);
+    }
+    assertNotEquals(plain.getBoard(), MatchReplayer.play(script).getBoard());
+  }
+}
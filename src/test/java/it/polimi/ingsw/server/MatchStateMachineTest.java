@@ -0,0 +1,117 @@
+package it.polimi.ingsw.server;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class MatchStateMachineTest tests MatchStateMachine class on a virtual clock.
+ *
+ * @author Luca Pirovano
+ * @see MatchStateMachine
+ */
+class MatchStateMachineTest {
+
+  /** Class ManualScheduler defines a MatchScheduler driven by a virtual clock. */
+  private static class ManualScheduler implements MatchScheduler {
+    private final List<long[]> dueTimes = new ArrayList<>();
+    private final List<Runnable> tasks = new ArrayList<>();
+    private long now;
+
+    /** @see MatchScheduler#schedule(Runnable, long, TimeUnit) */
+    @Override
+    public void schedule(Runnable task, long delay, TimeUnit unit) {
+      dueTimes.add(new long[] {now + unit.toMillis(delay), tasks.size()});
+      tasks.add(task);
+    }
+
+    /**
+     * Method advance moves the virtual clock forward, running the tasks which became due in order.
+     *
+     * @param millis of type long - the elapsed virtual time.
+     */
+    void advance(long millis) {
+      now += millis;
+      List<long[]> due = new ArrayList<>();
+      dueTimes.removeIf(
+          entry -> {
+            if (entry[0] <= now) {
+              due.add(entry);
+              return true;
+            }
+            return false;
+          });
+      due.sort(Comparator.comparingLong((long[] entry) -> entry[0]).thenComparingLong(e -> e[1]));
+      due.forEach(entry -> tasks.get((int) entry[1]).run());
+    }
+  }
+
+  final ManualScheduler scheduler = new ManualScheduler();
+  final MatchStateMachine lifecycle = new MatchStateMachine(scheduler);
+
+  /** Method advanceTest tests the ordering of the lifecycle transitions. */
+  @Test
+  @DisplayName("Phase transitions must follow the lifecycle order")
+  void advanceTest() {
+    assertEquals(MatchPhase.LOBBY, lifecycle.getPhase());
+    assertFalse(lifecycle.getPhase().isInProgress());
+    assertThrows(IllegalStateException.class, () -> lifecycle.advance(MatchPhase.PLAYING));
+    lifecycle.advance(MatchPhase.COUNTDOWN);
+    assertTrue(lifecycle.getPhase().isInProgress());
+    assertFalse(lifecycle.advance(MatchPhase.LOBBY, MatchPhase.COUNTDOWN));
+    assertTrue(lifecycle.advance(MatchPhase.COUNTDOWN, MatchPhase.COLOR_SELECTION));
+    lifecycle.end();
+    assertEquals(MatchPhase.ENDED, lifecycle.getPhase());
+    assertFalse(lifecycle.getPhase().isInProgress());
+  }
+
+  /** Method scheduledTransitionTest tests that timed transitions fire only when due. */
+  @Test
+  @DisplayName("Scheduled transitions fire on the virtual clock")
+  void scheduledTransitionTest() {
+    List<String> sent = new ArrayList<>();
+    lifecycle.advance(MatchPhase.COUNTDOWN);
+    lifecycle.schedule(MatchPhase.COUNTDOWN, 0, TimeUnit.MILLISECONDS, () -> sent.add("3"));
+    lifecycle.schedule(MatchPhase.COUNTDOWN, 500, TimeUnit.MILLISECONDS, () -> sent.add("2"));
+    lifecycle.scheduleTransition(
+        MatchPhase.COUNTDOWN,
+        MatchPhase.COLOR_SELECTION,
+        1,
+        TimeUnit.SECONDS,
+        () -> sent.add("started"));
+
+    scheduler.advance(0);
+    assertEquals(List.of("3"), sent);
+    scheduler.advance(999);
+    assertEquals(List.of("3", "2"), sent);
+    assertEquals(MatchPhase.COUNTDOWN, lifecycle.getPhase());
+    scheduler.advance(1);
+    assertEquals(List.of("3", "2", "started"), sent);
+    assertEquals(MatchPhase.COLOR_SELECTION, lifecycle.getPhase());
+  }
+
+  /** Method cancelledTransitionTest tests that ending the match drops the pending transitions. */
+  @Test
+  @DisplayName("Ending the match cancels pending transitions")
+  void cancelledTransitionTest() {
+    List<String> sent = new ArrayList<>();
+    lifecycle.advance(MatchPhase.COUNTDOWN);
+    lifecycle.schedule(MatchPhase.COUNTDOWN, 500, TimeUnit.MILLISECONDS, () -> sent.add("2"));
+    lifecycle.scheduleTransition(
+        MatchPhase.COUNTDOWN,
+        MatchPhase.COLOR_SELECTION,
+        1,
+        TimeUnit.SECONDS,
+        () -> sent.add("started"));
+    lifecycle.end();
+    scheduler.advance(2000);
+    assertTrue(sent.isEmpty());
+    assertEquals(MatchPhase.ENDED, lifecycle.getPhase());
+  }
+}
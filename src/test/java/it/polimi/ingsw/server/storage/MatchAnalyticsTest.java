@@ -0,0 +1,161 @@
+package it.polimi.ingsw.server.storage;
+
+import it.polimi.ingsw.model.Card;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class MatchAnalyticsTest tests MatchAnalytics class.
+ *
+ * @author Luca Pirovano
+ * @see MatchAnalytics
+ */
+class MatchAnalyticsTest {
+  private static final int RECORDS = 5000;
+  @TempDir Path directory;
+
+  /**
+   * Method randomRecords creates random two and three player matches, some of them aborted.
+   *
+   * @param random of type Random - the generator.
+   * @return List&lt;MatchRecord&gt; - the records.
+   */
+  private static List<MatchRecord> randomRecords(Random random) {
+    List<MatchRecord> records = new ArrayList<>();
+    Card[] cards = Card.values();
+    for (int i = 0; i < RECORDS; i++) {
+      int players = random.nextInt(4) == 0 ? 3 : 2;
+      int[] ids = new int[players];
+      Card[] gods = new Card[players];
+      for (int j = 0; j < players; j++) {
+        ids[j] = random.nextInt(100);
+        gods[j] = cards[random.nextInt(cards.length)];
+      }
+      boolean aborted = random.nextInt(10) == 0;
+      MatchRecord.Cause cause =
+          aborted ? MatchRecord.Cause.ABORTED : MatchRecord.Cause.values()[random.nextInt(3)];
+      records.add(
+          new MatchRecord(
+              i,
+              random.nextInt(600_000),
+              random.nextInt(60),
+              random.nextInt(players),
+              aborted ? MatchRecord.NONE : random.nextInt(players),
+              cause,
+              ids,
+              gods,
+              random.nextLong()));
+    }
+    return records;
+  }
+
+  /**
+   * Method writeLog writes a match log holding the provided records.
+   *
+   * @param records of type List&lt;MatchRecord&gt; - the records.
+   * @return Path - the log.
+   * @throws IOException when the log can't be written.
+   */
+  private Path writeLog(List<MatchRecord> records) throws IOException {
+    ByteBuffer buffer =
+        ByteBuffer.allocate(
+            ProfileStore.MATCHES_HEADER_SIZE + records.size() * MatchRecord.RECORD_SIZE);
+    buffer.putInt(ProfileStore.MATCHES_MAGIC).putInt(ProfileStore.MATCHES_VERSION);
+    records.forEach(record -> record.writeTo(buffer));
+    Path log = directory.resolve(ProfileStore.MATCHES_FILE);
+    Files.write(log, buffer.array());
+    return log;
+  }
+
+  /**
+   * Method scanTest checks the parallel scan of a log mapped in several regions against the
+   * statistics computed on the records.
+   *
+   * @throws IOException when the log can't be written or read.
+   */
+  @Test
+  @DisplayName("Statistics of a match log")
+  void scanTest() throws IOException {
+    List<MatchRecord> records = randomRecords(new Random(7));
+    Path log = writeLog(records);
+    Files.write(log, new byte[5], StandardOpenOption.APPEND);
+    MatchAnalytics.Summary summary =
+        new MatchAnalytics(new ForkJoinPool(4), 1200, 100).scan(log);
+
+    long decided = 0;
+    long turns = 0;
+    long[] starters = new long[2];
+    long apolloPlayed = 0;
+    long apolloWon = 0;
+    long pairMatches = 0;
+    long panWins = 0;
+    for (MatchRecord record : records) {
+      if (record.getWinner() == MatchRecord.NONE) {
+        continue;
+      }
+      decided++;
+      turns += record.getTurns();
+      Card[] gods = record.getGods();
+      Card winner = gods[record.getWinner()];
+      if (gods.length == 2) {
+        starters[0]++;
+        starters[1] += record.getStarter() == record.getWinner() ? 1 : 0;
+        if (gods[0] != gods[1] && List.of(gods).containsAll(List.of(Card.PAN, Card.ATHENA))) {
+          pairMatches++;
+          panWins += winner == Card.PAN ? 1 : 0;
+        }
+      }
+      for (Card god : gods) {
+        apolloPlayed += god == Card.APOLLO ? 1 : 0;
+      }
+      apolloWon += winner == Card.APOLLO ? 1 : 0;
+    }
+    assertEquals(RECORDS, summary.getMatches());
+    assertEquals(decided, summary.getDecided());
+    assertEquals(RECORDS - decided, summary.getCauses(MatchRecord.Cause.ABORTED));
+    assertEquals((double) turns / decided, summary.getAverageTurns(), 1e-9);
+    assertEquals(100.0 * starters[1] / starters[0], summary.getStarterWinRate(2), 1e-9);
+    assertEquals(apolloPlayed, summary.getPlayed(Card.APOLLO));
+    assertEquals(apolloWon, summary.getWon(Card.APOLLO));
+    assertEquals(pairMatches, summary.getPairMatches(Card.PAN, Card.ATHENA));
+    assertEquals(panWins, summary.getPairWins(Card.PAN, Card.ATHENA));
+    assertEquals(pairMatches - panWins, summary.getPairWins(Card.ATHENA, Card.PAN));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    summary.print(new PrintStream(out, true, StandardCharsets.UTF_8), 1);
+    assertTrue(out.toString(StandardCharsets.UTF_8).contains("ATHENA      PAN"));
+  }
+
+  /**
+   * Method formatTest checks that files which aren't match logs are refused.
+   *
+   * @throws IOException when the file can't be written.
+   */
+  @Test
+  @DisplayName("Unknown log formats")
+  void formatTest() throws IOException {
+    Path file = directory.resolve("other.log");
+    Files.write(file, new byte[64]);
+    MatchAnalytics analytics = new MatchAnalytics(new ForkJoinPool(1));
+    assertThrows(IOException.class, () -> analytics.scan(file));
+    MatchAnalytics.Summary empty = analytics.scan(writeLog(List.of()));
+    assertEquals(0, empty.getMatches());
+    assertEquals(0, empty.getAverageTurns());
+  }
+}
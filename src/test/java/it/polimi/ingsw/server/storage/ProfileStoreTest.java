@@ -0,0 +1,231 @@
+package it.polimi.ingsw.server.storage;
+
+import it.polimi.ingsw.model.Card;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class ProfileStoreTest tests ProfileStore class.
+ *
+ * @author Luca Pirovano
+ * @see ProfileStore
+ */
+class ProfileStoreTest {
+  @TempDir Path directory;
+
+  /**
+   * Method match creates a two players match record won by the first player.
+   *
+   * @param first of type PlayerProfile - the winner.
+   * @param second of type PlayerProfile - the loser.
+   * @return MatchRecord - the record.
+   */
+  private static MatchRecord match(PlayerProfile first, PlayerProfile second) {
+    return new MatchRecord(
+        1000,
+        60000,
+        12,
+        0,
+        0,
+        MatchRecord.Cause.CLIMB,
+        new int[] {first.getId(), second.getId()},
+        new Card[] {Card.APOLLO, Card.PAN});
+  }
+
+  /** Method ratingTest tests the rating update after a match. */
+  @Test
+  @DisplayName("Ratings and counters are updated after a match")
+  void ratingTest() {
+    ProfileStore store = ProfileStore.inMemory();
+    PlayerProfile alice = store.login("Alice");
+    PlayerProfile bob = store.login("bob");
+    assertNull(store.getProfile("carol"));
+    assertEquals(alice.getId(), store.getProfile("ALICE").getId());
+
+    store.recordMatch(match(alice, bob));
+    assertEquals(PlayerProfile.INITIAL_RATING + 16, store.getProfile("alice").getRating());
+    assertEquals(PlayerProfile.INITIAL_RATING - 16, store.getProfile("bob").getRating());
+    assertEquals(1, store.getProfile("alice").getWon());
+    assertEquals(0, store.getProfile("bob").getWon());
+    assertEquals(1, store.getProfile("bob").getPlayed());
+    assertArrayEquals(new int[] {1, 1}, store.getGodStats(Card.APOLLO));
+    assertArrayEquals(new int[] {1, 0}, store.getGodStats(Card.PAN));
+    assertTrue(ProfileStore.ratingDelta(1600, 1400) < 16);
+    store.close();
+  }
+
+  /** Method persistenceTest tests that profiles and matches survive a restart. */
+  @Test
+  @DisplayName("Profiles and matches are reloaded from the logs")
+  void persistenceTest() throws IOException {
+    ProfileStore store = new ProfileStore(directory);
+    PlayerProfile alice = store.login("Alice");
+    PlayerProfile bob = store.login("Bob");
+    store.recordMatch(match(alice, bob));
+    store.recordMatch(match(bob, alice));
+    store.close();
+
+    Files.write(
+        directory.resolve(ProfileStore.MATCHES_FILE), new byte[5], StandardOpenOption.APPEND);
+    ProfileStore reloaded = new ProfileStore(directory);
+    assertEquals(2, reloaded.getMatchesCount());
+    assertEquals(2, reloaded.getProfile("alice").getPlayed());
+    assertEquals(store.getProfile("bob").getRating(), reloaded.getProfile("bob").getRating());
+    assertArrayEquals(new int[] {2, 2}, reloaded.getGodStats(Card.APOLLO));
+    assertArrayEquals(new int[] {2, 0}, reloaded.getGodStats(Card.PAN));
+    List<MatchRecord> recent = reloaded.getRecentMatches("alice", 5);
+    assertEquals(2, recent.size());
+    assertEquals(bob.getId(), recent.get(0).getProfileIds()[recent.get(0).getWinner()]);
+    assertEquals(1, reloaded.getRecentMatches("bob", 1).size());
+    reloaded.close();
+  }
+
+  /**
+   * Method profileRecord encodes a profile log record.
+   *
+   * @param id of type int - the profile id.
+   * @param nickname of type String - the nickname.
+   * @return byte[] - the record.
+   */
+  private static byte[] profileRecord(int id, String nickname) {
+    byte[] name = nickname.getBytes(StandardCharsets.UTF_8);
+    ByteBuffer buffer = ByteBuffer.allocate(26 + name.length);
+    buffer.putInt(id).putShort((short) name.length).put(name);
+    buffer.putInt(PlayerProfile.INITIAL_RATING).putInt(0).putInt(0).putLong(0);
+    return buffer.array();
+  }
+
+  /**
+   * Method gapTest tests that a log missing some profile ids is loaded and compacted.
+   *
+   * @throws IOException when the log can't be written or read.
+   */
+  @Test
+  @DisplayName("Profile logs with missing ids")
+  void gapTest() throws IOException {
+    Path log = directory.resolve(ProfileStore.PROFILES_FILE);
+    for (int i = 0; i < 1100; i++) {
+      Files.write(
+          log, profileRecord(0, "Alice"), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+    Files.write(log, profileRecord(2, "Carol"), StandardOpenOption.APPEND);
+    ProfileStore store = new ProfileStore(directory);
+    assertNull(store.getProfile(1));
+    assertEquals("Carol", store.getProfile(2).getNickname());
+    assertEquals(2, store.getTopPlayers(5).size());
+    assertEquals(3, store.login("Dave").getId());
+    store.close();
+    assertTrue(Files.size(log) < 4 * 40);
+
+    ProfileStore reloaded = new ProfileStore(directory);
+    assertEquals(3, reloaded.getTopPlayers(5).size());
+    assertEquals(0, reloaded.getProfile("alice").getId());
+    reloaded.close();
+  }
+
+  /** Method journalTest tests that match journals are written next to the seeded records. */
+  @Test
+  @DisplayName("Seeds and journals are stored with the matches")
+  void journalTest() throws IOException {
+    ProfileStore store = new ProfileStore(directory);
+    PlayerProfile alice = store.login("Alice");
+    PlayerProfile bob = store.login("Bob");
+    MatchJournal journal = new MatchJournal(0xCAFE);
+    journal.setPlayers(2);
+    journal.add(new MatchJournal.Entry(MatchJournal.Kind.CONNECT, "Alice", null, 0, 0));
+    journal.finish(0, 12, 7);
+    MatchRecord record = match(alice, bob);
+    store.recordMatch(
+        new MatchRecord(
+            record.getTimestamp(),
+            record.getDuration(),
+            record.getTurns(),
+            record.getStarter(),
+            record.getWinner(),
+            record.getCause(),
+            record.getProfileIds(),
+            record.getGods(),
+            journal.getSeed()),
+        journal);
+    store.close();
+
+    ProfileStore reloaded = new ProfileStore(directory);
+    assertEquals(0xCAFE, reloaded.getRecentMatches("alice", 1).get(0).getSeed());
+    reloaded.close();
+    MatchJournal stored =
+        MatchJournal.read(directory.resolve(ProfileStore.JOURNALS_DIR).resolve("cafe.journal"));
+    assertEquals(2, stored.getPlayers());
+    assertEquals("Alice", stored.getEntries().get(0).getNickname());
+    assertTrue(stored.sameOutcome(journal));
+  }
+
+  /**
+   * Method thresholdTest tests that a match taking the pending changes past the threshold
+   * anticipates the flush.
+   *
+   * @throws Exception when the store can't be written, or the wait is interrupted.
+   */
+  @Test
+  @DisplayName("Crossing the threshold anticipates the flush")
+  void thresholdTest() throws Exception {
+    ProfileStore store = new ProfileStore(directory, TimeUnit.HOURS.toMillis(1));
+    PlayerProfile alice = store.login("Alice");
+    PlayerProfile bob = store.login("Bob");
+    store.flush();
+    for (int i = 0; i < ProfileStore.FLUSH_THRESHOLD - 2; i++) {
+      store.login("Player" + i);
+    }
+    store.recordMatch(match(alice, bob));
+    Path log = directory.resolve(ProfileStore.MATCHES_FILE);
+    long expected = ProfileStore.MATCHES_HEADER_SIZE + MatchRecord.RECORD_SIZE;
+    long deadline = System.currentTimeMillis() + 10000;
+    while (Files.size(log) < expected && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(expected, Files.size(log));
+    assertEquals(1, store.getRecentMatches("bob", 5).size());
+    store.close();
+  }
+
+  /**
+   * Method journalFailureTest tests that a journal which can't be written doesn't stop the others,
+   * and is written by a later flush.
+   *
+   * @throws IOException when the store can't be written.
+   */
+  @Test
+  @DisplayName("Journals which can't be written are retried")
+  void journalFailureTest() throws IOException {
+    ProfileStore store = new ProfileStore(directory);
+    PlayerProfile alice = store.login("Alice");
+    PlayerProfile bob = store.login("Bob");
+    MatchJournal blocked = new MatchJournal(1);
+    MatchJournal written = new MatchJournal(2);
+    Path journals = directory.resolve(ProfileStore.JOURNALS_DIR);
+    Path blocker = Files.createDirectories(journals.resolve(blocked.getFileName()));
+    Files.write(blocker.resolve("file"), new byte[1]);
+    store.recordMatch(match(alice, bob), blocked);
+    store.recordMatch(match(bob, alice), written);
+    store.flush();
+    assertTrue(Files.isRegularFile(journals.resolve(written.getFileName())));
+    assertEquals(2, store.getRecentMatches("alice", 5).size());
+
+    Files.delete(blocker.resolve("file"));
+    Files.delete(blocker);
+    store.flush();
+    assertEquals(1, MatchJournal.read(journals.resolve(blocked.getFileName())).getSeed());
+    store.close();
+  }
+}